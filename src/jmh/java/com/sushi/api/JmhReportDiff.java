@@ -0,0 +1,71 @@
+package com.sushi.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON reports (for example target/jmh-1.0.0.json and target/jmh-1.1.0.json)
+ * and prints the change of every benchmark present in both. A change is flagged only when
+ * the scores differ by more than the sum of both error margins.
+ */
+public class JmhReportDiff {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: JmhReportDiff <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> candidate = read(new File(args[1]));
+
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : baseline.entrySet()) {
+            JsonNode after = candidate.get(entry.getKey());
+            if (after == null) {
+                System.out.printf("%-90s %14s%n", entry.getKey(), "removed");
+                continue;
+            }
+            JsonNode before = entry.getValue();
+            double oldScore = before.path("score").asDouble();
+            double newScore = after.path("score").asDouble();
+            double margin = before.path("scoreError").asDouble(0) + after.path("scoreError").asDouble(0);
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            String flag = Math.abs(newScore - oldScore) > margin ? " *" : "";
+            String unit = after.path("scoreUnit").asText();
+            System.out.printf("%-90s %14s %14s %+8.1f%%%s%n", entry.getKey(),
+                    format(oldScore, unit), format(newScore, unit), change, flag);
+        }
+        candidate.keySet().stream()
+                .filter(key -> !baseline.containsKey(key))
+                .forEach(key -> System.out.printf("%-90s %14s%n", key, "added"));
+    }
+
+    private static Map<String, JsonNode> read(File report) throws IOException {
+        Map<String, JsonNode> metrics = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(report)) {
+            metrics.put(key(run), run.path("primaryMetric"));
+        }
+        return metrics;
+    }
+
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                .replace("com.sushi.api.", ""));
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+        fields.forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+
+    private static String format(double score, String unit) {
+        return String.format("%.3f %s", score, unit);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sushi.api.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sushi.api.model.dto.order.OrderView;
+import com.sushi.api.model.dto.product.ProductView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies as the message converters write them: JSON by default and XML for
+ * ?mediaType=xml (see WebConfig), for an order with its items and for a product listing.
+ * The view variants write the record projections served by the read endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper xmlMapper;
+    private ObjectWriter jsonProductsWriter;
+    private ObjectWriter xmlProductsWriter;
+    private Order order;
+    private List<Product> products;
+    private OrderView orderView;
+    private List<ProductView> productViews;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = new Jackson2ObjectMapperBuilder().build();
+        xmlMapper = new Jackson2ObjectMapperBuilder().createXmlMapper(true).build();
+        TypeReference<List<Product>> productList = new TypeReference<>() {
+        };
+        jsonProductsWriter = jsonMapper.writerFor(productList);
+        xmlProductsWriter = xmlMapper.writerFor(productList);
+
+        products = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            products.add(new Product(id, "Temaki Salmão " + id, "Salmão, cream cheese e cebolinha " + id,
+                    BigDecimal.valueOf(2990 + id % 10 * 100, 2), 1, "un", "https://images.sushi.com/" + id + ".png"));
+        }
+
+        Customer customer = new Customer(UUID.randomUUID(), "Benchmark", "benchmark@sushi.com", "password", new Phone("11999999999"));
+        order = new Order(1L, customer, new Address(1L, "100", "Rua Augusta", "Consolação"), new ArrayList<>());
+        order.setOrderDate(LocalDateTime.of(2024, 7, 1, 19, 30));
+        for (int i = 0; i < size; i++) {
+            Product product = products.get(i);
+            OrderItem item = new OrderItem((long) i + 1, 1 + i % 3, product.getPrice());
+            item.setProduct(product);
+            item.setOrder(order);
+            item.calculateTotalPrice();
+            order.getItems().add(item);
+        }
+        order.calculateTotalAmount();
+
+        orderView = OrderView.of(order);
+        productViews = products.stream().map(ProductView::of).toList();
+    }
+
+    @Benchmark
+    public byte[] orderJson() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] orderXml() throws JsonProcessingException {
+        return xmlMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] orderViewJson() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(orderView);
+    }
+
+    @Benchmark
+    public byte[] productsJson() throws JsonProcessingException {
+        return jsonProductsWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] productsXml() throws JsonProcessingException {
+        return xmlProductsWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] productViewsJson() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(productViews);
+    }
+}
@@ -0,0 +1,53 @@
+package com.sushi.api.security;
+
+import com.sushi.api.model.Customer;
+import com.sushi.api.model.Phone;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing at login and verification on every authenticated request,
+ * with the verified-token cache warm and disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TokenServiceBenchmark {
+    private static final String SECRET = "benchmark-secret";
+
+    private TokenService cachedTokenService;
+    private TokenService uncachedTokenService;
+    private Customer customer;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedTokenService = new TokenService(SECRET, 10000, new SimpleMeterRegistry());
+        uncachedTokenService = new TokenService(SECRET, 0, new SimpleMeterRegistry());
+        customer = new Customer(UUID.randomUUID(), "Benchmark", "benchmark@sushi.com", "password", new Phone("11999999999"));
+        token = cachedTokenService.generateCustomerToken(customer);
+        cachedTokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedTokenService.generateCustomerToken(customer);
+    }
+
+    @Benchmark
+    public Optional<TokenPrincipal> verifyCached() {
+        return cachedTokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<TokenPrincipal> verifyUncached() {
+        return uncachedTokenService.verifyToken(token);
+    }
+}
@@ -0,0 +1,39 @@
+package com.sushi.api.services;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Map-backed repositories for benchmarks, so service code is measured without a database
+ * or mocking framework in the loop. Only findById, findAllById and save are supported.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R extends JpaRepository<?, ?>> R of(Class<R> type, Map<?, ?> rows) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(rows.get(args[0]));
+                    case "findAllById" -> {
+                        List<Object> found = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            Object row = rows.get(id);
+                            if (row != null) {
+                                found.add(row);
+                            }
+                        }
+                        yield found;
+                    }
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> type.getSimpleName() + rows.keySet();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
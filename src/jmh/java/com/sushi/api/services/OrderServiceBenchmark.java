@@ -0,0 +1,74 @@
+package com.sushi.api.services;
+
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Customer;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.Phone;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.repositories.*;
+import com.sushi.api.services.analytics.OrderSales;
+import com.sushi.api.services.analytics.SalesAggregator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService.createOrder without the database: product lookup by id, item mapping,
+ * line totals and the order total, for small and large baskets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class OrderServiceBenchmark {
+    private static final int MENU_SIZE = 200;
+
+    @Param({"3", "30"})
+    public int items;
+
+    private OrderService orderService;
+    private OrderRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        Customer customer = new Customer(UUID.randomUUID(), "Benchmark", "benchmark@sushi.com", "password", new Phone("11999999999"));
+        Address address = new Address(1L, "100", "Rua Augusta", "Consolação");
+
+        Map<Long, Product> products = new HashMap<>();
+        for (long id = 1; id <= MENU_SIZE; id++) {
+            products.put(id, new Product(id, "Product " + id, "Description " + id, BigDecimal.valueOf(1000 + id % 50 * 99, 2), 8, "un", "image.png"));
+        }
+
+        // createOrder never touches the EntityManager; the sales aggregates are left out.
+        SalesAggregator noSales = new SalesAggregator(null, null) {
+            @Override
+            public void record(OrderSales before, OrderSales after) {
+            }
+        };
+        orderService = new OrderService(
+                InMemoryRepositories.of(OrderRepository.class, Map.of()),
+                InMemoryRepositories.of(CustomerRepository.class, Map.of(customer.getId(), customer)),
+                InMemoryRepositories.of(AddressRepository.class, Map.of(address.getId(), address)),
+                InMemoryRepositories.of(ProductRepository.class, products),
+                InMemoryRepositories.of(OrderItemRepository.class, Map.of()),
+                null,
+                noSales);
+
+        List<OrderItemRequestDTO> itemRequests = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            itemRequests.add(new OrderItemRequestDTO((long) (i * 7 % MENU_SIZE) + 1, 1 + i % 3));
+        }
+        request = new OrderRequestDTO(customer.getId(), address.getId(), itemRequests);
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(request);
+    }
+}
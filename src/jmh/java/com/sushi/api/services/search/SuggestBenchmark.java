@@ -0,0 +1,91 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.model.dto.search.SuggestionDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead lookups against the in-memory prefix index versus the LIKE query the
+ * find/by-name endpoint used to run (lower(name) like %q%), on an in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SuggestBenchmark {
+    private static final String[] STYLES = {"Temaki", "Uramaki", "Hot Roll", "Sashimi", "Nigiri", "Hossomaki", "Joe", "Gunkan"};
+    private static final String[] FISH = {"Salmão", "Atum", "Camarão", "Polvo", "Kani", "Peixe Branco", "Enguia", "Lula"};
+    private static final String[] EXTRAS = {"Cream Cheese", "Cebolinha", "Gergelim", "Maçaricado", "Especial", "Skin", "Filadélfia", "Trufado"};
+
+    @Param({"1000", "10000"})
+    public int products;
+
+    @Param({"sal", "temaki sal", "hot"})
+    public String prefix;
+
+    private PrefixIndex index;
+    private Connection connection;
+    private PreparedStatement likeQuery;
+
+    @Setup
+    public void setUp() throws SQLException {
+        List<SuggestionDTO> names = new ArrayList<>();
+        for (int i = 0; i < products; i++) {
+            String name = STYLES[i % STYLES.length] + " " + FISH[(i / STYLES.length) % FISH.length] + " "
+                    + EXTRAS[(i / (STYLES.length * FISH.length)) % EXTRAS.length] + " " + i;
+            names.add(new SuggestionDTO("product", (long) i, name));
+        }
+        index = PrefixIndex.build(names);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:suggest" + products + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products");
+            statement.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL)");
+            statement.execute("CREATE INDEX idx_products_name ON products (name)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products (id, name) VALUES (?, ?)")) {
+            for (SuggestionDTO name : names) {
+                insert.setLong(1, name.id());
+                insert.setString(2, name.name());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        likeQuery = connection.prepareStatement(
+                "SELECT id, name FROM products WHERE lower(name) LIKE ? ORDER BY name LIMIT 10");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        likeQuery.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> prefixIndex() {
+        return index.lookup(prefix, 10);
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> databaseLike() throws SQLException {
+        likeQuery.setString(1, "%" + prefix.toLowerCase() + "%");
+        List<SuggestionDTO> results = new ArrayList<>();
+        try (ResultSet resultSet = likeQuery.executeQuery()) {
+            while (resultSet.next()) {
+                results.add(new SuggestionDTO("product", resultSet.getLong(1), resultSet.getString(2)));
+            }
+        }
+        return results;
+    }
+}
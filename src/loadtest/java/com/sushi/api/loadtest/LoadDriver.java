@@ -0,0 +1,185 @@
+package com.sushi.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.loadtest.LoadTestDatabase.SeedCustomer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop virtual users. Each one logs in as a seeded customer and then repeatedly picks
+ * a request from the mix below: mostly menu browsing, then order lookups and order creation,
+ * with a share of fresh logins. The orders scenario measures order creation alone, one order
+ * per request and then in batches, each phase with its own warmup.
+ */
+class LoadDriver {
+    private static final String PASSWORD = "123";
+    private static final String[] SEARCH_TERMS = {"roll", "sushi", "tea", "shrimp", "chicken", "tuna"};
+
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final List<SeedCustomer> customers;
+    private final List<Long> orderIds;
+    private final List<Long> productIds;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    LoadDriver(URI baseUri, LoadTestSettings settings, List<SeedCustomer> customers, List<Long> orderIds, List<Long> productIds) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.customers = customers;
+        this.orderIds = orderIds;
+        this.productIds = productIds;
+    }
+
+    List<LatencyRecorder.EndpointResult> run() throws InterruptedException {
+        if (settings.scenario().equals("orders")) {
+            List<LatencyRecorder.EndpointResult> results = new ArrayList<>(measure(Workload.SINGLE_ORDERS));
+            results.addAll(measure(Workload.BATCH_ORDERS));
+            return results;
+        }
+        return measure(Workload.MIX);
+    }
+
+    /**
+     * Runs the workload for the warmup period, discards those samples, then measures for the configured duration.
+     */
+    private List<LatencyRecorder.EndpointResult> measure(Workload workload) throws InterruptedException {
+        drive(workload, new LatencyRecorder(), settings.warmup());
+        LatencyRecorder recorder = new LatencyRecorder();
+        drive(workload, recorder, settings.duration());
+        return recorder.summarize(settings.duration());
+    }
+
+    private void drive(Workload workload, LatencyRecorder recorder, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(settings.users());
+        for (int user = 0; user < settings.users(); user++) {
+            SeedCustomer customer = customers.get(user % customers.size());
+            executor.submit(() -> new VirtualUser(customer, recorder).loop(workload, deadline));
+        }
+        executor.shutdown();
+        executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private final class VirtualUser {
+        private final SeedCustomer customer;
+        private final LatencyRecorder recorder;
+        private String token;
+
+        VirtualUser(SeedCustomer customer, LatencyRecorder recorder) {
+            this.customer = customer;
+            this.recorder = recorder;
+        }
+
+        void loop(Workload workload, long deadline) {
+            login();
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                if (workload == Workload.SINGLE_ORDERS) {
+                    send("POST /api/orders", post("/api/orders", newOrder(random)));
+                    continue;
+                }
+                if (workload == Workload.BATCH_ORDERS) {
+                    List<Map<String, Object>> orders = new ArrayList<>();
+                    for (int i = 0; i < settings.batchSize(); i++) {
+                        orders.add(newOrder(random));
+                    }
+                    send("POST /api/orders/batch", post("/api/orders/batch?mode=best_effort", Map.of("orders", orders)));
+                    continue;
+                }
+                int pick = random.nextInt(100);
+                if (pick < 20) {
+                    send("GET /api/products/list", get("/api/products/list"));
+                } else if (pick < 30) {
+                    send("GET /api/categories/list", get("/api/categories/list"));
+                } else if (pick < 40) {
+                    send("GET /api/products/search", get("/api/products/search?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]));
+                } else if (pick < 45) {
+                    send("GET /api/products/{id}", get("/api/products/" + productIds.get(random.nextInt(productIds.size()))));
+                } else if (pick < 55) {
+                    login();
+                } else if (pick < 75) {
+                    send("POST /api/orders", post("/api/orders", newOrder(random)));
+                } else {
+                    send("GET /api/orders/{id}", get("/api/orders/" + orderIds.get(random.nextInt(orderIds.size()))));
+                }
+            }
+        }
+
+        private void login() {
+            HttpResponse<String> response = send("POST /api/auth/customers/login",
+                    post("/api/auth/customers/login", Map.of("email", customer.email(), "password", PASSWORD)));
+            if (response != null && response.statusCode() == 200) {
+                try {
+                    token = objectMapper.readTree(response.body()).path("token").asText();
+                } catch (IOException exception) {
+                    token = null;
+                }
+            }
+        }
+
+        private Map<String, Object> newOrder(ThreadLocalRandom random) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            int count = 1 + random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                items.add(Map.of("productId", productIds.get(random.nextInt(productIds.size())), "quantity", 1 + random.nextInt(3)));
+            }
+            return Map.of("customerId", customer.id(), "deliveryAddressId", customer.addressId(), "items", items);
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return request(path).GET();
+        }
+
+        private HttpRequest.Builder post(String path, Object body) {
+            try {
+                return request(path)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+                return response;
+            } catch (IOException exception) {
+                recorder.record(endpoint, System.nanoTime() - start, false);
+                return null;
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private enum Workload {
+        MIX, SINGLE_ORDERS, BATCH_ORDERS
+    }
+}
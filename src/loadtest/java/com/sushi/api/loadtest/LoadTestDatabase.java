@@ -0,0 +1,108 @@
+package com.sushi.api.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The database behind a load test run: migrated with the application's Flyway scripts,
+ * filled with data.sql and then scaled up with loadtest-seed.sql.
+ */
+class LoadTestDatabase implements AutoCloseable {
+    private final EmbeddedPostgres embeddedPostgres;
+    private final DataSource dataSource;
+    private final String jdbcUrl;
+    private final JdbcTemplate jdbcTemplate;
+
+    private LoadTestDatabase(EmbeddedPostgres embeddedPostgres, DataSource dataSource, String jdbcUrl) {
+        this.embeddedPostgres = embeddedPostgres;
+        this.dataSource = dataSource;
+        this.jdbcUrl = jdbcUrl;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    static LoadTestDatabase start(LoadTestSettings settings) throws IOException {
+        if (settings.jdbcUrl() != null) {
+            return new LoadTestDatabase(null,
+                    new DriverManagerDataSource(settings.jdbcUrl(), settings.username(), settings.password()),
+                    settings.jdbcUrl());
+        }
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        return new LoadTestDatabase(postgres, postgres.getPostgresDatabase(), postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    void prepare(LoadTestSettings settings) {
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        if (count("products") == 0) {
+            new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(dataSource);
+        }
+        if (count("customers") < settings.customers()) {
+            String script = read("loadtest-seed.sql")
+                    .replace("${customers}", String.valueOf(settings.customers()))
+                    .replace("${orders}", String.valueOf(settings.orders()));
+            long start = System.nanoTime();
+            new ResourceDatabasePopulator(new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8))).execute(dataSource);
+            System.out.printf("Seeded %d customers and %d orders in %d s%n",
+                    settings.customers(), settings.orders(), (System.nanoTime() - start) / 1_000_000_000L);
+        }
+    }
+
+    List<SeedCustomer> customers(int limit) {
+        return jdbcTemplate.query("""
+                        SELECT c.email, c.id, min(a.id) AS address_id
+                        FROM customers c
+                        JOIN addresses a ON a.customer_id = c.id
+                        GROUP BY c.email, c.id
+                        ORDER BY c.email
+                        LIMIT ?
+                        """,
+                (resultSet, rowNum) -> new SeedCustomer(resultSet.getString("email"),
+                        resultSet.getObject("id", UUID.class), resultSet.getLong("address_id")),
+                limit);
+    }
+
+    List<Long> orderIds(int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM orders ORDER BY random() LIMIT ?", Long.class, limit);
+    }
+
+    List<Long> productIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM products ORDER BY id", Long.class);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private static String read(String resource) {
+        try {
+            return new ClassPathResource(resource).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Cannot read " + resource, exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embeddedPostgres != null) {
+            embeddedPostgres.close();
+        }
+    }
+
+    record SeedCustomer(String email, UUID id, Long addressId) {
+    }
+}
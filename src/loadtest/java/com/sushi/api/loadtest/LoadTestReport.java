@@ -0,0 +1,66 @@
+package com.sushi.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sushi.api.loadtest.LatencyRecorder.EndpointResult;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes a run's results to a timestamped directory: summary.csv for spreadsheets and
+ * summary.json with the settings used, so two runs can be compared side by side.
+ */
+class LoadTestReport {
+    private static final DateTimeFormatter DIRECTORY_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private LoadTestReport() {
+    }
+
+    static Path write(LoadTestSettings settings, List<EndpointResult> results) throws IOException {
+        Path directory = settings.output().resolve(LocalDateTime.now().format(DIRECTORY_NAME));
+        Files.createDirectories(directory);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(directory.resolve("summary.csv")))) {
+            csv.println("endpoint,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms");
+            for (EndpointResult result : results) {
+                csv.println(String.format(Locale.ROOT, "\"%s\",%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f",
+                        result.endpoint(), result.requests(), result.errors(), result.throughput(),
+                        result.p50Millis(), result.p90Millis(), result.p99Millis(), result.maxMillis()));
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        Settings recorded = new Settings(settings.customers(), settings.orders(), settings.users(),
+                settings.warmup().toSeconds(), settings.duration().toSeconds(), settings.virtualThreads(), settings.poolSize(),
+                settings.scenario(), settings.batchSize(), Runtime.getRuntime().maxMemory(), settings.jdbcUrl() == null ? "embedded" : "external");
+        objectMapper.writeValue(directory.resolve("summary.json").toFile(), new Summary(Instant.now(), recorded, results));
+        return directory;
+    }
+
+    static void print(List<EndpointResult> results) {
+        System.out.printf("%-36s %9s %7s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "Max ms");
+        for (EndpointResult result : results) {
+            System.out.printf(Locale.ROOT, "%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", result.endpoint(), result.requests(),
+                    result.errors(), result.throughput(), result.p50Millis(), result.p99Millis(), result.maxMillis());
+        }
+    }
+
+    private record Settings(int customers, int orders, int users, long warmupSeconds, long durationSeconds,
+                            boolean virtualThreads, int poolSize, String scenario, int batchSize, long maxHeapBytes, String database) {
+    }
+
+    private record Summary(Instant finishedAt, Settings settings, List<EndpointResult> endpoints) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.sushi.api.loadtest;
+
+import com.sushi.api.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the loadtest profile: prepares the database, boots the API on a random
+ * port against it, drives the request mix and writes the results.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+
+        try (LoadTestDatabase database = LoadTestDatabase.start(settings)) {
+            database.prepare(settings);
+
+            Map<String, Object> properties = Map.of(
+                    "spring.datasource.url", database.jdbcUrl(),
+                    "spring.datasource.username", settings.username(),
+                    "spring.datasource.password", settings.password(),
+                    "spring.threads.virtual.enabled", settings.virtualThreads(),
+                    "spring.datasource.hikari.maximum-pool-size", settings.poolSize(),
+                    "server.port", 0,
+                    "logging.level.root", "WARN");
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                    .properties(properties)
+                    .run()) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+                LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port), settings,
+                        database.customers(Math.max(settings.users(), 1000)), database.orderIds(10000), database.productIds());
+                List<LatencyRecorder.EndpointResult> results = driver.run();
+
+                LoadTestReport.print(results);
+                Path directory = LoadTestReport.write(settings, results);
+                System.out.println("Results written to " + directory.toAbsolutePath());
+            }
+        }
+    }
+}
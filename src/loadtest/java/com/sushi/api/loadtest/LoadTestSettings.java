@@ -0,0 +1,47 @@
+package com.sushi.api.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test knobs, passed as --name=value arguments (see the loadtest profile in pom.xml).
+ * Without --jdbc-url the run uses an embedded Postgres that is thrown away afterwards.
+ * --virtual-threads=true runs the API on virtual threads (Java 21) for comparison with a platform-thread run.
+ * --scenario=orders replaces the request mix with order creation only, first one order per request and
+ * then --batch-size orders per POST /api/orders/batch, to compare the two paths.
+ */
+record LoadTestSettings(int customers, int orders, int users, Duration warmup, Duration duration,
+                        boolean virtualThreads, int poolSize, String scenario, int batchSize, String jdbcUrl, String username, String password,
+                        Path output) {
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String scenario = values.getOrDefault("scenario", "mix");
+        if (!scenario.equals("mix") && !scenario.equals("orders")) {
+            throw new IllegalArgumentException("--scenario must be mix or orders but got: " + scenario);
+        }
+        return new LoadTestSettings(
+                Integer.parseInt(values.getOrDefault("customers", "100000")),
+                Integer.parseInt(values.getOrDefault("orders", "5000000")),
+                Integer.parseInt(values.getOrDefault("users", "32")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "30"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "120"))),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Integer.parseInt(values.getOrDefault("pool-size", "10")),
+                scenario,
+                Integer.parseInt(values.getOrDefault("batch-size", "50")),
+                values.get("jdbc-url"),
+                values.getOrDefault("username", "postgres"),
+                values.getOrDefault("password", ""),
+                Path.of(values.getOrDefault("output", "target/loadtest")));
+    }
+}
@@ -0,0 +1,62 @@
+-- Scales the data.sql menu up to a production-sized customer and order history.
+-- ${customers} and ${orders} are replaced by LoadTestDatabase. Every customer logs in
+-- with the data.sql password (123) and has one phone and one delivery address.
+CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+
+CREATE TEMP TABLE seed_customers AS
+SELECT n, uuid_generate_v4() AS id
+FROM generate_series(1, ${customers}) AS n;
+
+INSERT INTO customers (id, name, email, password)
+SELECT id, 'Customer ' || n, 'customer' || n || '@loadtest.com',
+       '$2a$10$6f0rWHMXsne13lwsQ2V48.PhBkFzfCZzWkIJ/qWD0QLAshq88HOOW'
+FROM seed_customers;
+
+INSERT INTO phone (number, customer_id)
+SELECT lpad((11900000000 + n)::text, 11, '0'), id
+FROM seed_customers;
+
+INSERT INTO addresses (number, street, neighborhood, customer_id)
+SELECT (n % 2000 + 1)::text, 'Rua ' || (n % 500 + 1), 'Bairro ' || (n % 40 + 1), id
+FROM seed_customers;
+
+CREATE TEMP TABLE seed_targets AS
+SELECT c.n, c.id AS customer_id, a.id AS address_id
+FROM seed_customers c
+JOIN addresses a ON a.customer_id = c.id;
+CREATE UNIQUE INDEX ON seed_targets (n);
+
+CREATE TEMP TABLE seed_menu AS
+SELECT array_agg(id ORDER BY id) AS ids, array_agg(price ORDER BY id) AS prices, count(*)::int AS size
+FROM products;
+
+-- Order n has 1 to 3 items whose product and quantity derive from n, so totals can be
+-- computed before the items exist. Ids come from the sequences Hibernate allocates from.
+CREATE TEMP TABLE seed_orders AS
+SELECT n, nextval('orders_id_seq') AS id
+FROM generate_series(1, ${orders}) AS n;
+
+INSERT INTO orders (id, order_date, customer_id, delivery_address_id, total_amount)
+SELECT o.id,
+       now() - (o.n % 525600) * interval '1 minute',
+       t.customer_id,
+       t.address_id,
+       (SELECT sum(m.prices[1 + (o.n * 7 + k * 13) % m.size] * (1 + (o.n + k) % 3))
+        FROM generate_series(1, 1 + o.n % 3) AS k)
+FROM seed_orders o
+JOIN seed_targets t ON t.n = 1 + o.n % ${customers}
+CROSS JOIN seed_menu m;
+
+INSERT INTO order_item (order_id, product_id, quantity, price, total_price)
+SELECT o.id,
+       m.ids[1 + (o.n * 7 + k * 13) % m.size],
+       1 + (o.n + k) % 3,
+       m.prices[1 + (o.n * 7 + k * 13) % m.size],
+       m.prices[1 + (o.n * 7 + k * 13) % m.size] * (1 + (o.n + k) % 3)
+FROM seed_orders o
+CROSS JOIN seed_menu m
+CROSS JOIN LATERAL generate_series(1, 1 + o.n % 3) AS k;
+
+DROP TABLE seed_orders, seed_targets, seed_customers, seed_menu;
+
+ANALYZE;
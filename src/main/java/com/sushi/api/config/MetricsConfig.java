@@ -0,0 +1,51 @@
+package com.sushi.api.config;
+
+import com.sushi.api.config.metrics.EntityLoadCountingIntegrator;
+import com.sushi.api.config.metrics.RequestQueryMetricsFilter;
+import com.sushi.api.config.metrics.StatementCountingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Per-request query metrics. Endpoint timers (http.server.requests), service timers (@Timed),
+ * repository timers, Hikari gauges and Hibernate's own statistics come from Spring Boot's
+ * auto-configuration; see the Actuator section of application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Statements are counted on the DataSource rather than in Hibernate, so JdbcTemplate work
+     * counts against the request's budget too.
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryStatisticsCustomizer() {
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(new EntityLoadCountingIntegrator()));
+    }
+
+    @Bean
+    public RequestQueryMetricsFilter requestQueryMetricsFilter(MeterRegistry meterRegistry) {
+        return new RequestQueryMetricsFilter(meterRegistry);
+    }
+}
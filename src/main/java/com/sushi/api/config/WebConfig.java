@@ -1,10 +1,12 @@
 package com.sushi.api.config;
 
+import com.sushi.api.config.metrics.QueryBudgetInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -13,6 +15,15 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${cors.allowed.origins}")
     private String[] allowedOrigins;
 
+    @Value("${api.query-budget.mode:log}")
+    private String queryBudgetMode;
+
+    @Value("${api.query-budget.default:20}")
+    private int defaultQueryBudget;
+
+    @Value("${api.query-budget.repeat-threshold:10}")
+    private int repeatedQueryThreshold;
+
     @Override
     public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
         configurer.favorParameter(true)
@@ -21,7 +32,14 @@ public class WebConfig implements WebMvcConfigurer {
                 .useRegisteredExtensionsOnly(false)
                 .defaultContentType(MediaType.APPLICATION_JSON)
                 .mediaType("json", MediaType.APPLICATION_JSON)
-                .mediaType("xml", MediaType.APPLICATION_XML);
+                .mediaType("xml", MediaType.APPLICATION_XML)
+                .mediaType("ndjson", MediaType.APPLICATION_NDJSON);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        QueryBudgetInterceptor.Mode mode = QueryBudgetInterceptor.Mode.valueOf(queryBudgetMode.trim().toUpperCase());
+        registry.addInterceptor(new QueryBudgetInterceptor(mode, defaultQueryBudget, repeatedQueryThreshold));
     }
 
     @Override
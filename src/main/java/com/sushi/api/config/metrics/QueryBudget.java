@@ -0,0 +1,17 @@
+package com.sushi.api.config.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements an endpoint may issue on the request thread, lazy loads
+ * during serialization and JdbcTemplate calls included. Streamed response bodies are not
+ * covered, see RequestQueryStatistics. Endpoints without it get api.query-budget.default.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+}
@@ -0,0 +1,10 @@
+package com.sushi.api.config.metrics;
+
+import java.util.Map;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(int statements, int budget, Map<String, Integer> repeatedShapes) {
+        super("Request issued " + statements + " SQL statements, over its budget of " + budget
+                + (repeatedShapes.isEmpty() ? "." : ". Repeated statements: " + repeatedShapes));
+    }
+}
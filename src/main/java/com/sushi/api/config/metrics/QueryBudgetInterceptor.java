@@ -0,0 +1,58 @@
+package com.sushi.api.config.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies the endpoint's @QueryBudget to the request's statement counter.
+ * In log mode an overrun is reported after the request; in fail mode the offending statement throws.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    public enum Mode {LOG, FAIL, OFF}
+
+    private final Mode mode;
+    private final int defaultBudget;
+    private final int repeatThreshold;
+
+    public QueryBudgetInterceptor(Mode mode, int defaultBudget, int repeatThreshold) {
+        this.mode = mode;
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (mode != Mode.OFF && statistics != null && handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            statistics.limit(budget != null ? budget.value() : defaultBudget, mode == Mode.FAIL);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (mode == Mode.OFF || statistics == null) {
+            return;
+        }
+        if (statistics.exceeded()) {
+            log.warn("{} {} issued {} SQL statements, over its budget of {}. Repeated statements: {}",
+                    request.getMethod(), request.getRequestURI(), statistics.statements(), statistics.budget(),
+                    statistics.repeatedShapes());
+        } else {
+            statistics.repeatedShapes().forEach((shape, count) -> {
+                if (count >= repeatThreshold) {
+                    log.warn("{} {} ran the same statement {} times, a likely N+1: {}",
+                            request.getMethod(), request.getRequestURI(), count, shape);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sushi.api.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many statements and entity loads each request needed, tagged like
+ * http.server.requests so both can be read side by side per endpoint. The counter is
+ * also left on the request as an attribute, for tests.
+ */
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+
+    public RequestQueryMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStatistics statistics = RequestQueryStatistics.begin();
+        request.setAttribute(RequestQueryStatistics.class.getName(), statistics);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStatistics.end();
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uri(request));
+            DistributionSummary.builder("hibernate.request.statements")
+                    .baseUnit("statements")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(statistics.statements());
+            DistributionSummary.builder("hibernate.request.entity.loads")
+                    .baseUnit("entities")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(statistics.entityLoads());
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
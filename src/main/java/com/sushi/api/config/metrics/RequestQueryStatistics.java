@@ -0,0 +1,110 @@
+package com.sushi.api.config.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SQL statements and entity loads issued by the current request. Bound to the request
+ * thread by RequestQueryMetricsFilter; statements come from StatementCountingDataSource, so
+ * JdbcTemplate work on the request thread counts as well as Hibernate's. Work done on other
+ * threads is not counted, StreamingResponseBody writers included: they run on the async
+ * executor after the handler returns, and stream from a cursor whatever the table size.
+ * Statements are also grouped by shape (the SQL with literals and IN lists collapsed),
+ * so a statement repeated once per row stands out.
+ */
+public final class RequestQueryStatistics {
+    private static final ThreadLocal<RequestQueryStatistics> CURRENT = new ThreadLocal<>();
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private int statements;
+    private int entityLoads;
+    private int budget = -1;
+    private boolean failOnExceeded;
+
+    private RequestQueryStatistics() {
+    }
+
+    public static RequestQueryStatistics begin() {
+        RequestQueryStatistics statistics = new RequestQueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static RequestQueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared(String sql) {
+        RequestQueryStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.record(sql);
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    /**
+     * Sets the statement budget of the request. When failing, the statement that goes
+     * over the budget throws instead of being sent to the database.
+     */
+    void limit(int budget, boolean failOnExceeded) {
+        this.budget = budget;
+        this.failOnExceeded = failOnExceeded;
+    }
+
+    private void record(String sql) {
+        statements++;
+        shapes.merge(shape(sql), 1, Integer::sum);
+        if (failOnExceeded && exceeded()) {
+            throw new QueryBudgetExceededException(statements, budget, repeatedShapes());
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int entityLoads() {
+        return entityLoads;
+    }
+
+    public int budget() {
+        return budget;
+    }
+
+    public boolean exceeded() {
+        return budget >= 0 && statements > budget;
+    }
+
+    /**
+     * Statement shapes issued more than once, most repeated first.
+     */
+    public Map<String, Integer> repeatedShapes() {
+        return shapes.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
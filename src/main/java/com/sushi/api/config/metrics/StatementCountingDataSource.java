@@ -0,0 +1,75 @@
+package com.sushi.api.config.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Counts every statement sent through the pool, whoever sends it: Hibernate and JdbcTemplate
+ * alike. A prepared statement counts once when prepared, however many times it runs or how many
+ * rows it batches; a plain statement counts once per SQL string it executes or batches.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    private static final Set<String> PREPARE = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            if (PREPARE.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                RequestQueryStatistics.statementPrepared(sql);
+            }
+        }, (method, result) -> "createStatement".equals(method.getName()) ? counting((Statement) result) : result);
+    }
+
+    private static Statement counting(Statement statement) {
+        return proxy(Statement.class, statement, (method, args) -> {
+            if (EXECUTE.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                RequestQueryStatistics.statementPrepared(sql);
+            }
+        }, (method, result) -> result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, BeforeCall before, AfterCall after) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            before.accept(method, args);
+            try {
+                return after.apply(method, method.invoke(target, args));
+            } catch (InvocationTargetException exception) {
+                throw exception.getTargetException();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @FunctionalInterface
+    private interface BeforeCall {
+        void accept(Method method, Object[] args);
+    }
+
+    @FunctionalInterface
+    private interface AfterCall {
+        Object apply(Method method, Object result);
+    }
+}
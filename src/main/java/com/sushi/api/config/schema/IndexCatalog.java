@@ -0,0 +1,86 @@
+package com.sushi.api.config.schema;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Leading keys of the B-tree indexes of each table, parsed from pg_indexes.indexdef. Only the
+ * leading key matters: an index on (a, b) serves a lookup on a but not one on b alone.
+ */
+final class IndexCatalog {
+    private static final Pattern CAST = Pattern.compile("::[a-z ]+(\\(\\d+\\))?");
+    private static final Pattern ORDERING = Pattern.compile("\\s+(asc|desc|nulls first|nulls last)\\b.*$");
+    private static final Pattern DOUBLE_PARENS = Pattern.compile("\\(\\(([^()]*)\\)\\)");
+
+    private final Map<String, Set<String>> leadingKeys;
+
+    private IndexCatalog(Map<String, Set<String>> leadingKeys) {
+        this.leadingKeys = leadingKeys;
+    }
+
+    /**
+     * @param definitions table name to the indexdef of each of its indexes
+     */
+    static IndexCatalog of(Map<String, List<String>> definitions) {
+        Map<String, Set<String>> leadingKeys = new HashMap<>();
+        definitions.forEach((table, indexes) -> indexes.stream()
+                .map(IndexCatalog::leadingKey)
+                .filter(Objects::nonNull)
+                .forEach(key -> leadingKeys.computeIfAbsent(unqualified(table), name -> new HashSet<>()).add(key)));
+        return new IndexCatalog(leadingKeys);
+    }
+
+    boolean isIndexed(LookupColumn column) {
+        return leadingKeys.getOrDefault(unqualified(column.table()), Set.of()).contains(column.key());
+    }
+
+    int size() {
+        return leadingKeys.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * First key of a B-tree or hash index, as "column" or "upper(column)"; null for GIN, GiST and others.
+     */
+    static String leadingKey(String indexdef) {
+        String definition = indexdef.toLowerCase(Locale.ROOT);
+        int using = definition.indexOf(" using ");
+        if (using < 0 || !(definition.startsWith("btree", using + 7) || definition.startsWith("hash", using + 7))) {
+            return null;
+        }
+        int open = definition.indexOf('(', using);
+        if (open < 0) {
+            return null;
+        }
+        int depth = 0;
+        for (int i = open + 1; i < definition.length(); i++) {
+            char c = definition.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if ((c == ',' || c == ')') && depth == 0) {
+                return normalize(definition.substring(open + 1, i));
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String key) {
+        String normalized = CAST.matcher(key.replace("\"", "").trim()).replaceAll("");
+        normalized = ORDERING.matcher(normalized).replaceAll("");
+        String previous;
+        do {
+            previous = normalized;
+            normalized = DOUBLE_PARENS.matcher(normalized).replaceAll("($1)");
+        } while (!normalized.equals(previous));
+        if (normalized.startsWith("(") && normalized.endsWith(")")) {
+            normalized = normalized.substring(1, normalized.length() - 1);
+        }
+        return normalized.replace(" ", "");
+    }
+
+    private static String unqualified(String table) {
+        String name = table.replace("\"", "").toLowerCase(Locale.ROOT);
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
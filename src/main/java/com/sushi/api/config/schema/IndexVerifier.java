@@ -0,0 +1,92 @@
+package com.sushi.api.config.schema;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.util.*;
+
+/**
+ * Checks at startup that every repository lookup and every foreign key has an index leading with
+ * its column, reading the indexes from pg_indexes. Unindexed ones are logged as warnings and
+ * counted in db.schema.unindexed.lookups; the application starts either way. Only runs on PostgreSQL.
+ */
+@Component
+public class IndexVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(IndexVerifier.class);
+    private static final String INDEXES_SQL = "SELECT tablename, indexdef FROM pg_indexes WHERE schemaname = current_schema()";
+    private static final String FOREIGN_KEYS_SQL = """
+            SELECT c.conname, c.conrelid::regclass::text AS table_name, a.attname AS column_name
+            FROM pg_constraint c
+            JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+            WHERE c.contype = 'f' AND c.connamespace = current_schema()::regnamespace
+            """;
+
+    private final boolean enabled;
+    private final ApplicationContext applicationContext;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile List<Lookup> unindexed = List.of();
+
+    public IndexVerifier(@Value("${api.schema.index-check.enabled:true}") boolean enabled,
+                         ApplicationContext applicationContext, EntityManagerFactory entityManagerFactory,
+                         JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.applicationContext = applicationContext;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("db.schema.unindexed.lookups", this, verifier -> verifier.unindexed.size())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+        List<Lookup> lookups = new ArrayList<>(new RepositoryLookups(new Repositories(applicationContext), entityManagerFactory).find());
+        lookups.addAll(jdbcTemplate.query(FOREIGN_KEYS_SQL, (resultSet, rowNum) -> new Lookup(
+                "foreign key " + resultSet.getString("conname"),
+                List.of(new LookupColumn(resultSet.getString("table_name"), resultSet.getString("column_name"), false)))));
+
+        Map<String, List<String>> definitions = new HashMap<>();
+        jdbcTemplate.query(INDEXES_SQL, resultSet -> {
+            definitions.computeIfAbsent(resultSet.getString("tablename"), table -> new ArrayList<>())
+                    .add(resultSet.getString("indexdef"));
+        });
+        IndexCatalog catalog = IndexCatalog.of(definitions);
+
+        unindexed = unindexed(lookups, catalog);
+        unindexed.forEach(lookup -> logger.warn("Unindexed lookup: {} filters on {}, which leads no index",
+                lookup.source(), lookup.columns()));
+        logger.info("Checked {} lookups against {} index keys, {} unindexed", lookups.size(), catalog.size(), unindexed.size());
+    }
+
+    static List<Lookup> unindexed(List<Lookup> lookups, IndexCatalog catalog) {
+        return lookups.stream()
+                .filter(lookup -> lookup.columns().stream().noneMatch(catalog::isIndexed))
+                .toList();
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException exception) {
+            logger.warn("Could not read the database product, skipping the index check", exception);
+            return false;
+        }
+    }
+}
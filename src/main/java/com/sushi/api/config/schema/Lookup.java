@@ -0,0 +1,10 @@
+package com.sushi.api.config.schema;
+
+import java.util.List;
+
+/**
+ * The columns one query method or foreign key filters on. One indexed column is enough for
+ * the planner to avoid a full scan.
+ */
+record Lookup(String source, List<LookupColumn> columns) {
+}
@@ -0,0 +1,17 @@
+package com.sushi.api.config.schema;
+
+/**
+ * A column a query filters on. Case-insensitive lookups compare upper(column) and need an
+ * expression index.
+ */
+record LookupColumn(String table, String column, boolean ignoreCase) {
+
+    String key() {
+        return ignoreCase ? "upper(" + column + ")" : column;
+    }
+
+    @Override
+    public String toString() {
+        return table + "." + key();
+    }
+}
@@ -0,0 +1,164 @@
+package com.sushi.api.config.schema;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The columns each repository query method filters on: derived methods through their PartTree,
+ * JPQL @Query methods through their "alias.attribute operator :parameter" predicates. Native
+ * queries, predicates inside functions and LIKE '%...%' style lookups are left out, since no
+ * B-tree index could serve them anyway.
+ */
+final class RepositoryLookups {
+    private static final Set<Part.Type> INDEXABLE = EnumSet.of(Part.Type.SIMPLE_PROPERTY, Part.Type.IN, Part.Type.BETWEEN,
+            Part.Type.LESS_THAN, Part.Type.LESS_THAN_EQUAL, Part.Type.GREATER_THAN, Part.Type.GREATER_THAN_EQUAL,
+            Part.Type.BEFORE, Part.Type.AFTER);
+    private static final Pattern ALIAS = Pattern.compile(
+            "\\b(?:from|join)\\s+(?:fetch\\s+)?([\\w.]+)\\s+(?:as\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PREDICATE = Pattern.compile(
+            "\\b(\\w+)\\.([\\w.]+)\\s*(?:=|<=|>=|<|>|\\bin\\b|\\bbetween\\b)\\s*\\(?\\s*:\\w+", Pattern.CASE_INSENSITIVE);
+
+    private final Repositories repositories;
+    private final Metamodel metamodel;
+    private final MappingMetamodel mappingMetamodel;
+    private final Map<String, Class<?>> entitiesByName = new HashMap<>();
+
+    RepositoryLookups(Repositories repositories, EntityManagerFactory entityManagerFactory) {
+        this.repositories = repositories;
+        this.metamodel = entityManagerFactory.getMetamodel();
+        this.mappingMetamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+        for (EntityType<?> entity : metamodel.getEntities()) {
+            entitiesByName.put(entity.getName(), entity.getJavaType());
+        }
+    }
+
+    List<Lookup> find() {
+        List<Lookup> lookups = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                List<LookupColumn> columns;
+                if (query == null) {
+                    columns = derived(method.getName(), domainType);
+                } else if (query.nativeQuery()) {
+                    columns = List.of();
+                } else {
+                    columns = jpql(query.value());
+                }
+                if (!columns.isEmpty()) {
+                    lookups.add(new Lookup(information.getRepositoryInterface().getSimpleName() + "." + method.getName(), columns));
+                }
+            }
+        }
+        return lookups;
+    }
+
+    private List<LookupColumn> derived(String methodName, Class<?> domainType) {
+        PartTree tree;
+        try {
+            tree = new PartTree(methodName, domainType);
+        } catch (RuntimeException exception) {
+            return List.of();
+        }
+        List<LookupColumn> columns = new ArrayList<>();
+        for (Part part : tree.getParts()) {
+            if (INDEXABLE.contains(part.getType())) {
+                boolean ignoreCase = part.shouldIgnoreCase() != Part.IgnoreCaseType.NEVER;
+                column(domainType, part.getProperty().toDotPath(), ignoreCase).ifPresent(columns::add);
+            }
+        }
+        return columns;
+    }
+
+    private List<LookupColumn> jpql(String query) {
+        Map<String, Class<?>> aliases = new HashMap<>();
+        Matcher alias = ALIAS.matcher(query);
+        while (alias.find()) {
+            resolve(alias.group(1), aliases).ifPresent(type -> aliases.put(alias.group(2), type));
+        }
+        List<LookupColumn> columns = new ArrayList<>();
+        Matcher predicate = PREDICATE.matcher(query);
+        while (predicate.find()) {
+            Class<?> type = aliases.get(predicate.group(1));
+            if (type != null) {
+                column(type, predicate.group(2), false).ifPresent(columns::add);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * The entity behind "Order" or behind a joined path such as "o.items".
+     */
+    private Optional<Class<?>> resolve(String path, Map<String, Class<?>> aliases) {
+        int dot = path.indexOf('.');
+        if (dot < 0) {
+            return Optional.ofNullable(entitiesByName.get(path));
+        }
+        Class<?> owner = aliases.get(path.substring(0, dot));
+        if (owner == null) {
+            return Optional.empty();
+        }
+        Attribute<?, ?> attribute;
+        try {
+            attribute = metamodel.entity(owner).getAttribute(path.substring(dot + 1));
+        } catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+        Class<?> type = attribute instanceof PluralAttribute<?, ?, ?> plural
+                ? plural.getElementType().getJavaType()
+                : attribute.getJavaType();
+        return entitiesByName.containsValue(type) ? Optional.of(type) : Optional.empty();
+    }
+
+    /**
+     * Column of "email" or, for an association, of "customer" and "customer.id". Deeper paths
+     * need a join and are not a lookup on this table.
+     */
+    private Optional<LookupColumn> column(Class<?> type, String path, boolean ignoreCase) {
+        String[] segments = path.split("\\.");
+        if (segments.length > 2) {
+            return Optional.empty();
+        }
+        try {
+            AbstractEntityPersister persister = (AbstractEntityPersister) mappingMetamodel.getEntityDescriptor(type);
+            if (segments.length == 2 && !isIdentifierOf(metamodel.entity(type).getAttribute(segments[0]).getJavaType(), segments[1])) {
+                return Optional.empty();
+            }
+            String[] columns = segments[0].equals(persister.getIdentifierPropertyName())
+                    ? persister.getIdentifierColumnNames()
+                    : persister.getPropertyColumnNames(segments[0]);
+            if (columns == null || columns.length == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new LookupColumn(persister.getTableName(),
+                    columns[0].replace("\"", "").toLowerCase(Locale.ROOT), ignoreCase));
+        } catch (RuntimeException exception) {
+            // Collections, embeddables and other attributes without a column of their own.
+            return Optional.empty();
+        }
+    }
+
+    private boolean isIdentifierOf(Class<?> type, String attribute) {
+        return entitiesByName.containsValue(type)
+                && attribute.equals(((AbstractEntityPersister) mappingMetamodel.getEntityDescriptor(type)).getIdentifierPropertyName());
+    }
+}
@@ -0,0 +1,80 @@
+package com.sushi.api.config.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the Hikari pool against the machine at startup and logs sizing advice. With platform threads
+ * Tomcat's 200 workers bound how many requests wait for a connection; with virtual threads nothing
+ * does, so the pool size and connection timeout become the real concurrency limit for JDBC work.
+ */
+@Component
+public class ConnectionPoolAdvisor {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolAdvisor.class);
+    private static final long MAX_VIRTUAL_THREAD_TIMEOUT_MILLIS = 10_000;
+
+    private final DataSource dataSource;
+    private final boolean virtualThreads;
+
+    public ConnectionPoolAdvisor(DataSource dataSource,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.dataSource = dataSource;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        HikariDataSource hikari;
+        try {
+            // The pool sits behind the statement counting wrapper, see MetricsConfig.
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return;
+            }
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException exception) {
+            return;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        logger.info("Hikari pool of {} connections, {} ms connection timeout, {} cores, {} threads",
+                hikari.getMaximumPoolSize(), hikari.getConnectionTimeout(), cores, virtualThreads ? "virtual" : "platform");
+        advise(hikari.getMaximumPoolSize(), hikari.getConnectionTimeout(), cores, virtualThreads)
+                .forEach(logger::warn);
+    }
+
+    /**
+     * HikariCP's rule of thumb: twice the database cores plus one spindle. The database usually
+     * runs on a machine like this one, so the local core count stands in for it.
+     */
+    static int recommendedPoolSize(int cores) {
+        return cores * 2 + 1;
+    }
+
+    static List<String> advise(int poolSize, long connectionTimeoutMillis, int cores, boolean virtualThreads) {
+        int recommended = recommendedPoolSize(cores);
+        List<String> advice = new ArrayList<>();
+        if (poolSize > recommended * 2) {
+            advice.add("Hikari pool of " + poolSize + " is well above " + recommended
+                    + " (cores * 2 + 1); extra connections add contention on the database rather than throughput,"
+                    + " lower DB_POOL_SIZE");
+        }
+        if (virtualThreads && poolSize < recommended) {
+            advice.add("Hikari pool of " + poolSize + " is below " + recommended
+                    + " (cores * 2 + 1); with virtual threads every request can reach the pool at once, raise DB_POOL_SIZE");
+        }
+        if (virtualThreads && connectionTimeoutMillis > MAX_VIRTUAL_THREAD_TIMEOUT_MILLIS) {
+            advice.add("Hikari connection timeout of " + connectionTimeoutMillis
+                    + " ms lets requests queue for the pool without bound under virtual threads, lower DB_CONNECTION_TIMEOUT");
+        }
+        return advice;
+    }
+}
@@ -0,0 +1,136 @@
+package com.sushi.api.config.threads;
+
+import com.sushi.api.model.dto.diagnostics.PinnedThreadSiteDTO;
+import com.sushi.api.model.dto.diagnostics.PinnedThreadsReportDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams the JFR jdk.VirtualThreadPinned event while virtual threads are enabled. A virtual thread
+ * blocking inside a synchronized block or a native frame keeps its carrier busy, so enough of them at
+ * once starve the carrier pool. Each pinned site is logged once with its stack, counted in the
+ * jvm.threads.virtual.pinned timer and listed by {@code GET /api/admin/pinned-threads}.
+ */
+@Component
+public class PinnedThreadMonitor implements DisposableBean {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.");
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PinnedSite> sites = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public PinnedThreadMonitor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                               @Value("${api.diagnostics.pinned-threads.enabled:true}") boolean enabled,
+                               @Value("${api.diagnostics.pinned-threads.threshold:20ms}") Duration threshold,
+                               MeterRegistry meterRegistry) {
+        this.enabled = virtualThreads && enabled;
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Recording virtual thread pinning over {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public PinnedThreadsReportDTO report() {
+        List<PinnedThreadSiteDTO> report = sites.values().stream()
+                .map(PinnedSite::toDTO)
+                .sorted(Comparator.comparingDouble(PinnedThreadSiteDTO::totalMillis).reversed())
+                .toList();
+        return new PinnedThreadsReportDTO(enabled, threshold.toMillis(), report);
+    }
+
+    void record(Duration duration, List<String> frames) {
+        String site = site(frames);
+        PinnedSite pinned = sites.computeIfAbsent(site, key -> {
+            logger.warn("Virtual thread pinned for {} ms at {}:\n\t{}", duration.toMillis(), key, String.join("\n\t", frames));
+            return new PinnedSite(key, frames);
+        });
+        pinned.record(duration);
+        meterRegistry.timer("jvm.threads.virtual.pinned", "site", site).record(duration);
+    }
+
+    /**
+     * The first frame outside the JDK, which is where the monitor was taken or the native call made.
+     */
+    static String site(List<String> frames) {
+        return frames.stream()
+                .filter(frame -> JDK_PACKAGES.stream().noneMatch(frame::startsWith))
+                .findFirst()
+                .orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames().stream()
+                .map(PinnedThreadMonitor::frame)
+                .toList();
+        record(event.getDuration(), frames);
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static final class PinnedSite {
+        private final String site;
+        private final List<String> stackTrace;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private PinnedSite(String site, List<String> stackTrace) {
+            this.site = site;
+            this.stackTrace = stackTrace;
+        }
+
+        private void record(Duration duration) {
+            count.increment();
+            totalNanos.add(duration.toNanos());
+            maxNanos.accumulate(duration.toNanos());
+        }
+
+        private PinnedThreadSiteDTO toDTO() {
+            return new PinnedThreadSiteDTO(site, count.sum(), maxNanos.get() / 1_000_000.0,
+                    totalNanos.sum() / 1_000_000.0, stackTrace);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.config.threads.PinnedThreadMonitor;
+import com.sushi.api.model.dto.analytics.SalesBucketDTO;
+import com.sushi.api.model.dto.analytics.SalesTotalsDTO;
+import com.sushi.api.model.dto.diagnostics.PinnedThreadsReportDTO;
+import com.sushi.api.model.dto.menu.MenuSnapshotStatusDTO;
+import com.sushi.api.services.AnalyticsService;
+import com.sushi.api.services.MenuSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/admin", produces = {"application/json"})
+public class AdminController {
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+    @Autowired
+    private PinnedThreadMonitor pinnedThreadMonitor;
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Operation(summary = "Get the menu snapshot status",
+            description = "Reports the age, size and rebuild time of the in-memory menu snapshot.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Snapshot status retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/menu-snapshot")
+    public ResponseEntity<MenuSnapshotStatusDTO> menuSnapshotStatus() {
+        return ResponseEntity.ok(menuSnapshotService.status());
+    }
+
+    @Operation(summary = "Rebuild the menu snapshot",
+            description = "Reloads the menu from the database and replaces the in-memory snapshot.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Snapshot rebuilt successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/menu-snapshot")
+    public ResponseEntity<MenuSnapshotStatusDTO> rebuildMenuSnapshot() {
+        menuSnapshotService.rebuild();
+        return ResponseEntity.ok(menuSnapshotService.status());
+    }
+
+    @Operation(summary = "Get virtual thread pinning",
+            description = "Lists the code locations where virtual threads were pinned to their carrier since startup.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pinning report retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/pinned-threads")
+    public ResponseEntity<PinnedThreadsReportDTO> pinnedThreads() {
+        return ResponseEntity.ok(pinnedThreadMonitor.report());
+    }
+
+    @Operation(summary = "Get the best-selling products",
+            description = "Products ranked by revenue over the last given days, today included, read from the daily sales aggregates.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid period or limit"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/analytics/top-products")
+    public ResponseEntity<List<SalesTotalsDTO>> topProducts(@RequestParam(defaultValue = "7") int days,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(analyticsService.topProducts(days, limit));
+    }
+
+    @Operation(summary = "Get the best-selling categories",
+            description = "Categories ranked by revenue over the last given days, today included, read from the daily sales aggregates.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categories retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid period or limit"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/analytics/top-categories")
+    public ResponseEntity<List<SalesTotalsDTO>> topCategories(@RequestParam(defaultValue = "7") int days,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(analyticsService.topCategories(days, limit));
+    }
+
+    @Operation(summary = "Get the sales of a product",
+            description = "Hourly or daily sales of a product over the last given days; buckets without sales are left out.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sales retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid granularity or period"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/analytics/products/{id}/sales")
+    public ResponseEntity<List<SalesBucketDTO>> productSales(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "day") String granularity,
+                                                             @RequestParam(defaultValue = "7") int days) {
+        return ResponseEntity.ok(analyticsService.productSales(id, granularity, days));
+    }
+
+    @Operation(summary = "Get the sales of a category",
+            description = "Hourly or daily sales of a category over the last given days; buckets without sales are left out.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sales retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid granularity or period"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/analytics/categories/{id}/sales")
+    public ResponseEntity<List<SalesBucketDTO>> categorySales(@PathVariable Long id,
+                                                              @RequestParam(defaultValue = "day") String granularity,
+                                                              @RequestParam(defaultValue = "7") int days) {
+        return ResponseEntity.ok(analyticsService.categorySales(id, granularity, days));
+    }
+}
@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping(value = "/api/auth", produces = {"application/json"})
 public class AuthController {
@@ -29,12 +31,12 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated"),
             @ApiResponse(responseCode = "401", description = "Invalid credentials, authentication failed"),
             @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "503", description = "Password hashing at capacity, retry after the Retry-After delay"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/customers/login")
-    public ResponseEntity<LoginResponseDTO> loginCustomer(@RequestBody @Valid LoginRequestDTO dto) {
-        LoginResponseDTO response = authService.loginCustomer(dto);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> loginCustomer(@RequestBody @Valid LoginRequestDTO dto) {
+        return authService.loginCustomer(dto).thenApply(ResponseEntity::ok);
     }
 
     @Operation(
@@ -44,12 +46,12 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated"),
             @ApiResponse(responseCode = "400", description = "Customer already exists"),
+            @ApiResponse(responseCode = "503", description = "Password hashing at capacity, retry after the Retry-After delay"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/customers/register")
-    public ResponseEntity<RegisterResponseDTO> registerCustomer(@RequestBody @Valid RegisterRequestDTO dto) {
-        RegisterResponseDTO response = authService.registerCustomer(dto);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<RegisterResponseDTO>> registerCustomer(@RequestBody @Valid RegisterRequestDTO dto) {
+        return authService.registerCustomer(dto).thenApply(ResponseEntity::ok);
     }
 
     @Operation(summary = "Authenticate employee",
@@ -58,12 +60,12 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated"),
             @ApiResponse(responseCode = "401", description = "Invalid credentials, authentication failed"),
             @ApiResponse(responseCode = "404", description = "Employee not found"),
+            @ApiResponse(responseCode = "503", description = "Password hashing at capacity, retry after the Retry-After delay"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/employees/login")
-    public ResponseEntity<LoginResponseDTO> loginEmployee(@RequestBody @Valid LoginRequestDTO dto) {
-        LoginResponseDTO response = authService.loginEmployee(dto);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> loginEmployee(@RequestBody @Valid LoginRequestDTO dto) {
+        return authService.loginEmployee(dto).thenApply(ResponseEntity::ok);
     }
 
     @Operation(
@@ -73,11 +75,11 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully registered"),
             @ApiResponse(responseCode = "400", description = "Employee already exists with the provided email"),
+            @ApiResponse(responseCode = "503", description = "Password hashing at capacity, retry after the Retry-After delay"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/employees/register")
-    public ResponseEntity<RegisterResponseDTO> registerEmployee(@RequestBody @Valid RegisterRequestDTO dto) {
-        RegisterResponseDTO response = authService.registerEmployee(dto);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<RegisterResponseDTO>> registerEmployee(@RequestBody @Valid RegisterRequestDTO dto) {
+        return authService.registerEmployee(dto).thenApply(ResponseEntity::ok);
     }
 }
@@ -1,9 +1,16 @@
 package com.sushi.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.config.metrics.QueryBudget;
 import com.sushi.api.model.Category;
 import com.sushi.api.model.dto.category.CategoryRequestDTO;
 import com.sushi.api.model.dto.category.CategoryUpdateDTO;
+import com.sushi.api.model.dto.category.CategoryView;
 import com.sushi.api.services.CategoryService;
+import com.sushi.api.services.MenuSnapshot;
+import com.sushi.api.services.MenuSnapshotService;
+import com.sushi.api.utils.EntityTags;
+import com.sushi.api.utils.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,10 +19,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,17 +33,45 @@ import java.util.List;
 public class CategoryController {
     @Autowired
     private CategoryService categoryService;
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Get all categories (non-pageable)",
-            description = "Returns a list of all categories without pagination.")
+            description = "Returns a list of all categories without pagination, served from the in-memory menu snapshot when loaded.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Categories retrieved successfully",
                     content = @Content(schema = @Schema(implementation = Category.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/list", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
-    public ResponseEntity<List<Category>> listAllNonPageable() {
-        return new ResponseEntity<>(categoryService.listAllNonPageable(), HttpStatus.OK);
+    public ResponseEntity<?> listAllNonPageable(@RequestParam(name = "mediaType", defaultValue = "json") String mediaType) {
+        MenuSnapshot snapshot = menuSnapshotService.current();
+        if (snapshot == null) {
+            return new ResponseEntity<>(categoryService.listAllNonPageable(), HttpStatus.OK);
+        }
+        boolean asXml = "xml".equalsIgnoreCase(mediaType);
+        return ResponseEntity.ok()
+                .contentType(asXml ? MediaType.APPLICATION_XML : MediaType.APPLICATION_JSON)
+                .body(snapshot.categories().body(asXml));
+    }
+
+    @Operation(summary = "Stream all categories (NDJSON)",
+            description = "Streams every category as newline-delimited JSON (mediaType=ndjson) without loading the whole table in memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categories streamed successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter<CategoryView> writer = NdjsonWriter.to(outputStream, objectMapper);
+            categoryService.streamAll(writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @Operation(summary = "Get all categories (pageable)",
@@ -44,8 +81,13 @@ public class CategoryController {
                     content = @Content(schema = @Schema(implementation = Category.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(3)
     @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
-    public ResponseEntity<List<Category>> listAllPageable(Pageable pageable) {
+    public ResponseEntity<List<CategoryView>> listAllPageable(Pageable pageable) {
+        MenuSnapshot snapshot = menuSnapshotService.current();
+        if (snapshot != null && pageable.getSort().isUnsorted()) {
+            return ResponseEntity.ok(snapshot.categories().page(pageable));
+        }
         return new ResponseEntity<>(categoryService.listAllPageable(pageable).getContent(), HttpStatus.OK);
     }
 
@@ -54,13 +96,15 @@ public class CategoryController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Category retrieved successfully",
                     content = @Content(schema = @Schema(implementation = Category.class))),
+            @ApiResponse(responseCode = "304", description = "Category not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Category not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
-    public ResponseEntity<Category> findCategoryById(@PathVariable Long id) {
-        Category category = categoryService.findCategoryById(id);
-        return ResponseEntity.ok(category);
+    public ResponseEntity<CategoryView> findCategoryById(@PathVariable Long id) {
+        CategoryView category = categoryService.findCategoryViewById(id);
+        return EntityTags.ok(category, category.entityTag());
     }
 
     @Operation(summary = "Find categories by name",
@@ -71,8 +115,9 @@ public class CategoryController {
             @ApiResponse(responseCode = "404", description = "No categories found with the given name"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/find/by-name", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
-    public ResponseEntity<List<Category>> findCategoryByName(@RequestParam String name) {
+    public ResponseEntity<List<CategoryView>> findCategoryByName(@RequestParam String name) {
         return ResponseEntity.ok(categoryService.findCategoryByName(name));
     }
 
@@ -96,11 +141,14 @@ public class CategoryController {
             @ApiResponse(responseCode = "204", description = "Category updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Category not found"),
+            @ApiResponse(responseCode = "409", description = "Modified concurrently by another request"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
-    public ResponseEntity<Void> replaceCategory(@Valid @RequestBody CategoryUpdateDTO dto) {
-        categoryService.replaceCategory(dto);
+    public ResponseEntity<Void> replaceCategory(@Valid @RequestBody CategoryUpdateDTO dto,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        categoryService.replaceCategory(dto, ifMatch);
         return ResponseEntity.noContent().build();
     }
 
@@ -1,9 +1,16 @@
 package com.sushi.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.config.metrics.QueryBudget;
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.dto.customer.CustomerRequestDTO;
 import com.sushi.api.model.dto.customer.CustomerUpdateDTO;
+import com.sushi.api.model.dto.customer.CustomerView;
+import com.sushi.api.model.dto.order.OrderSummaryDTO;
+import com.sushi.api.model.dto.page.CursorPageDTO;
 import com.sushi.api.services.CustomerService;
+import com.sushi.api.services.OrderService;
+import com.sushi.api.utils.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -13,16 +20,23 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(value = "/api/customers", produces = {"application/json"})
 public class CustomerController {
     @Autowired
     private CustomerService customerService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Get all customers (pageable)",
             description = "Returns a paginated list of customers.")
@@ -30,8 +44,9 @@ public class CustomerController {
             @ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(3)
     @GetMapping
-    public ResponseEntity<List<Customer>> listAllPageable(Pageable pageable) {
+    public ResponseEntity<List<CustomerView>> listAllPageable(Pageable pageable) {
         return new ResponseEntity<>(customerService.listAllPageable(pageable).getContent(), HttpStatus.OK);
     }
 
@@ -41,11 +56,59 @@ public class CustomerController {
             @ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/list")
-    public ResponseEntity<List<Customer>> listAllNonPageable() {
+    public ResponseEntity<List<CustomerView>> listAllNonPageable() {
         return new ResponseEntity<>(customerService.listAllNonPageable(), HttpStatus.OK);
     }
 
+    @Operation(summary = "Stream all customers (NDJSON)",
+            description = "Streams every customer as newline-delimited JSON (mediaType=ndjson) without loading the whole table in memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers streamed successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter<CustomerView> writer = NdjsonWriter.to(outputStream, objectMapper);
+            customerService.streamAll(writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Get customers by cursor (keyset pagination)",
+            description = "Returns up to 'limit' customers ordered by ID, starting after the continuation token. No count query is run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @QueryBudget(2)
+    @GetMapping(value = "/scroll")
+    public ResponseEntity<CursorPageDTO<CustomerView>> listAllByCursor(@RequestParam(required = false) String after,
+                                                                       @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(customerService.listAllByCursor(after, limit));
+    }
+
+    @Operation(summary = "Get my orders",
+            description = "Order history of the authenticated customer, newest first. Returns up to 'limit' orders "
+                    + "after the continuation token. No count query is run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token"),
+            @ApiResponse(responseCode = "404", description = "The authenticated user is not a customer"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @QueryBudget(2)
+    @GetMapping(value = "/me/orders")
+    public ResponseEntity<CursorPageDTO<OrderSummaryDTO>> listMyOrders(Authentication authentication,
+                                                                       @RequestParam(required = false) String after,
+                                                                       @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(orderService.listCustomerOrders(authentication.getName(), after, limit));
+    }
+
     @Operation(summary = "Get customer by ID",
             description = "Returns a customer by its ID.")
     @ApiResponses(value = {
@@ -53,10 +116,10 @@ public class CustomerController {
             @ApiResponse(responseCode = "404", description = "Customer not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Customer> findCustomerById(@PathVariable UUID id) {
-        Customer customer = customerService.findCustomerById(id);
-        return ResponseEntity.ok(customer);
+    public ResponseEntity<CustomerView> findCustomerById(@PathVariable UUID id) {
+        return ResponseEntity.ok(customerService.findCustomerViewById(id));
     }
 
     @Operation(summary = "Find customers by name",
@@ -66,8 +129,9 @@ public class CustomerController {
             @ApiResponse(responseCode = "404", description = "No customers found with the given name"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/find/by-name")
-    public ResponseEntity<List<Customer>> findCustomerByName(@RequestParam String name) {
+    public ResponseEntity<List<CustomerView>> findCustomerByName(@RequestParam String name) {
         return ResponseEntity.ok(customerService.findCustomerByName(name));
     }
 
@@ -78,8 +142,9 @@ public class CustomerController {
             @ApiResponse(responseCode = "404", description = "Customer not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/find/by-email")
-    public ResponseEntity<Customer> findCustomerByEmail(@RequestParam String email) {
+    public ResponseEntity<CustomerView> findCustomerByEmail(@RequestParam String email) {
         return ResponseEntity.ok(customerService.findCustomerByEmail(email));
     }
 
@@ -88,11 +153,12 @@ public class CustomerController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Customer created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "503", description = "Password hashing at capacity, retry after the Retry-After delay"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<Customer> createCustomer(@Valid @RequestBody CustomerRequestDTO dto) {
-        return new ResponseEntity<>(customerService.createCustomer(dto), HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<Customer>> createCustomer(@Valid @RequestBody CustomerRequestDTO dto) {
+        return customerService.createCustomer(dto).thenApply(customer -> new ResponseEntity<>(customer, HttpStatus.CREATED));
     }
 
     @Operation(summary = "Update an existing customer",
@@ -101,12 +167,12 @@ public class CustomerController {
             @ApiResponse(responseCode = "204", description = "Customer updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "503", description = "Password hashing at capacity, retry after the Retry-After delay"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping
-    public ResponseEntity<Void> replaceCustomer(@Valid @RequestBody CustomerUpdateDTO dto) {
-        customerService.replaceCustomer(dto);
-        return ResponseEntity.noContent().build();
+    public CompletableFuture<ResponseEntity<Void>> replaceCustomer(@Valid @RequestBody CustomerUpdateDTO dto) {
+        return customerService.replaceCustomer(dto).thenApply(done -> ResponseEntity.noContent().build());
     }
 
     @Operation(summary = "Delete a customer by ID",
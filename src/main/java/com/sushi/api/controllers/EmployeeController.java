@@ -1,9 +1,13 @@
 package com.sushi.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.config.metrics.QueryBudget;
 import com.sushi.api.model.Employee;
 import com.sushi.api.model.dto.employee.EmployeeRequestDTO;
 import com.sushi.api.model.dto.employee.EmployeeUpdateDTO;
+import com.sushi.api.model.dto.employee.EmployeeView;
 import com.sushi.api.services.EmployeeService;
+import com.sushi.api.utils.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,8 +15,10 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -23,6 +29,8 @@ public class EmployeeController {
 
     @Autowired
     private EmployeeService employeeService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Get all employees (pageable)",
             description = "Returns a paginated list of employees.")
@@ -30,8 +38,9 @@ public class EmployeeController {
             @ApiResponse(responseCode = "200", description = "Employees retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(2)
     @GetMapping
-    public ResponseEntity<List<Employee>> listAllPageable(Pageable pageable) {
+    public ResponseEntity<List<EmployeeView>> listAllPageable(Pageable pageable) {
         return new ResponseEntity<>(employeeService.listAllPageable(pageable).getContent(), HttpStatus.OK);
     }
 
@@ -41,11 +50,28 @@ public class EmployeeController {
             @ApiResponse(responseCode = "200", description = "Employees retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/list")
-    public ResponseEntity<List<Employee>> listAllNonPageable() {
+    public ResponseEntity<List<EmployeeView>> listAllNonPageable() {
         return new ResponseEntity<>(employeeService.listAllNonPageable(), HttpStatus.OK);
     }
 
+    @Operation(summary = "Stream all employees (NDJSON)",
+            description = "Streams every employee as newline-delimited JSON (mediaType=ndjson) without loading the whole table in memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees streamed successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter<EmployeeView> writer = NdjsonWriter.to(outputStream, objectMapper);
+            employeeService.streamAll(writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @Operation(summary = "Get employee by ID",
             description = "Returns an employee by their ID.")
     @ApiResponses(value = {
@@ -53,10 +79,10 @@ public class EmployeeController {
             @ApiResponse(responseCode = "404", description = "Employee not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Employee> findEmployeeById(@PathVariable UUID id) {
-        Employee employee = employeeService.findEmployeeById(id);
-        return ResponseEntity.ok(employee);
+    public ResponseEntity<EmployeeView> findEmployeeById(@PathVariable UUID id) {
+        return ResponseEntity.ok(employeeService.findEmployeeViewById(id));
     }
 
     @Operation(summary = "Find employee by email",
@@ -66,8 +92,9 @@ public class EmployeeController {
             @ApiResponse(responseCode = "404", description = "Employee not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/find/by-email")
-    public ResponseEntity<Employee> findEmployeeByEmail(@RequestParam String email) {
+    public ResponseEntity<EmployeeView> findEmployeeByEmail(@RequestParam String email) {
         return ResponseEntity.ok(employeeService.findEmployeeByEmail(email));
     }
 
@@ -1,19 +1,31 @@
 package com.sushi.api.controllers;
 
-import com.sushi.api.model.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.config.metrics.QueryBudget;
+import com.sushi.api.model.dto.order.OrderBatchRequestDTO;
+import com.sushi.api.model.dto.order.OrderBatchResultDTO;
 import com.sushi.api.model.dto.order.OrderRequestDTO;
 import com.sushi.api.model.dto.order.OrderUpdateDTO;
+import com.sushi.api.model.dto.order.OrderView;
+import com.sushi.api.model.dto.page.CursorPageDTO;
+import com.sushi.api.services.IdempotencyService;
+import com.sushi.api.services.OrderBatchMode;
+import com.sushi.api.services.OrderBatchService;
 import com.sushi.api.services.OrderService;
+import com.sushi.api.utils.EntityTags;
+import com.sushi.api.utils.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,6 +34,12 @@ import java.util.List;
 public class OrderController {
     @Autowired
     private OrderService orderService;
+    @Autowired
+    private OrderBatchService orderBatchService;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Get all orders (non-pageable)",
             description = "Returns a list of all orders without pagination.")
@@ -29,45 +47,111 @@ public class OrderController {
             @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/list")
-    public ResponseEntity<List<Order>> listAllNonPageable() {
+    public ResponseEntity<List<OrderView>> listAllNonPageable() {
         return new ResponseEntity<>(orderService.listAllNonPageable(), HttpStatus.OK);
     }
 
+    @Operation(summary = "Stream all orders (NDJSON)",
+            description = "Streams every order as newline-delimited JSON (mediaType=ndjson) without loading the whole table in memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders streamed successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter<OrderView> writer = NdjsonWriter.to(outputStream, objectMapper);
+            orderService.streamAll(writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @Operation(summary = "Get all orders (pageable)",
             description = "Returns a paginated list of orders.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(3)
     @GetMapping
-    public ResponseEntity<List<Order>> listAllPageable(Pageable pageable) {
+    public ResponseEntity<List<OrderView>> listAllPageable(Pageable pageable) {
         return new ResponseEntity<>(orderService.listAllPageable(pageable).getContent(), HttpStatus.OK);
     }
 
+    @Operation(summary = "Get orders by cursor (keyset pagination)",
+            description = "Returns up to 'limit' orders ordered by ID, starting after the continuation token. No count query is run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @QueryBudget(2)
+    @GetMapping(value = "/scroll")
+    public ResponseEntity<CursorPageDTO<OrderView>> listAllByCursor(@RequestParam(required = false) String after,
+                                                                    @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(orderService.listAllByCursor(after, limit));
+    }
+
     @Operation(summary = "Get order by ID",
             description = "Returns an order by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Order not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Order not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Order> findOrderById(@PathVariable Long id) {
-        Order order = orderService.findOrderById(id);
-        return ResponseEntity.ok(order);
+    public ResponseEntity<OrderView> findOrderById(@PathVariable Long id) {
+        OrderView order = orderService.findOrderViewById(id);
+        return EntityTags.ok(order, order.entityTag());
     }
 
     @Operation(summary = "Create a new order",
-            description = "Create a new order with the provided details.")
+            description = "Create a new order with the provided details. With an Idempotency-Key header, retries with the same key "
+                    + "return the first response (marked Idempotent-Replayed) instead of creating the order again.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Order created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used with a different request"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody OrderRequestDTO dto) {
-        return new ResponseEntity<>(orderService.createOrder(dto), HttpStatus.CREATED);
+    public ResponseEntity<?> createOrder(@Valid @RequestBody OrderRequestDTO dto,
+                                         @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return new ResponseEntity<>(orderService.createOrder(dto), HttpStatus.CREATED);
+        }
+        return idempotencyService.execute("POST /api/orders", idempotencyKey, dto,
+                () -> new ResponseEntity<>(orderService.createOrder(dto), HttpStatus.CREATED));
+    }
+
+    @Operation(summary = "Create orders in bulk",
+            description = "Creates several orders in one request, with one lookup of the customers, addresses and products "
+                    + "for the whole batch. mode=all_or_nothing (default) creates none unless all are valid; mode=best_effort "
+                    + "creates the valid ones. Each order is reported in request order. Supports Idempotency-Key like POST /api/orders.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All orders created"),
+            @ApiResponse(responseCode = "207", description = "Some orders created, see the per-order results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input, invalid mode or too many orders"),
+            @ApiResponse(responseCode = "422", description = "No order created, see the per-order results"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    // A batch costs an insert and a sequence call per 50 orders or items, plus the lookups.
+    @QueryBudget(60)
+    @PostMapping("/batch")
+    public ResponseEntity<?> createOrders(@Valid @RequestBody OrderBatchRequestDTO dto,
+                                          @RequestParam(defaultValue = "all_or_nothing") String mode,
+                                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        OrderBatchMode batchMode = OrderBatchMode.of(mode);
+        if (idempotencyKey == null) {
+            return batchResponse(orderBatchService.createOrders(dto.orders(), batchMode));
+        }
+        return idempotencyService.execute("POST /api/orders/batch?mode=" + batchMode, idempotencyKey, dto,
+                () -> batchResponse(orderBatchService.createOrders(dto.orders(), batchMode)));
     }
 
     @Operation(summary = "Update an existing order",
@@ -76,12 +160,15 @@ public class OrderController {
             @ApiResponse(responseCode = "200", description = "Order updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Order not found"),
+            @ApiResponse(responseCode = "409", description = "Modified concurrently by another request"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping
-    public ResponseEntity<Order> replaceOrder(@Valid @RequestBody OrderUpdateDTO dto) {
-        orderService.replaceOrder(dto);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<OrderView> replaceOrder(@Valid @RequestBody OrderUpdateDTO dto,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        OrderView order = OrderView.of(orderService.replaceOrder(dto, ifMatch));
+        return EntityTags.ok(order, order.entityTag());
     }
 
     @Operation(summary = "Delete an order by ID",
@@ -96,4 +183,11 @@ public class OrderController {
         orderService.deleteOrder(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<OrderBatchResultDTO> batchResponse(OrderBatchResultDTO result) {
+        HttpStatus status = result.rejected() == 0 ? HttpStatus.CREATED
+                : result.created() == 0 ? HttpStatus.UNPROCESSABLE_ENTITY
+                : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(result, status);
+    }
+}
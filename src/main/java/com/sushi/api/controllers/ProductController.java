@@ -1,21 +1,36 @@
 package com.sushi.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.config.metrics.QueryBudget;
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.product.ProductImportReportDTO;
 import com.sushi.api.model.dto.product.ProductRequestDTO;
 import com.sushi.api.model.dto.product.ProductUpdateDTO;
+import com.sushi.api.model.dto.product.ProductView;
+import com.sushi.api.model.dto.search.SuggestionDTO;
+import com.sushi.api.services.MenuSnapshot;
+import com.sushi.api.services.MenuSnapshotService;
+import com.sushi.api.services.ProductImportService;
 import com.sushi.api.services.ProductService;
+import com.sushi.api.services.imports.ProductFileFormat;
+import com.sushi.api.utils.EntityTags;
+import com.sushi.api.utils.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -23,16 +38,46 @@ import java.util.List;
 public class ProductController {
     @Autowired
     private ProductService productService;
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Get all products (non-pageable)",
-            description = "Retrieve a list of all products without pagination.")
+            description = "Retrieve a list of all products without pagination, served from the in-memory menu snapshot when loaded.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @GetMapping(value = "/list")
-    public ResponseEntity<List<Product>> listAllNonPageable() {
-        return new ResponseEntity<>(productService.listAllNonPageable(), HttpStatus.OK);
+    @QueryBudget(1)
+    @GetMapping(value = "/list", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public ResponseEntity<?> listAllNonPageable(@RequestParam(name = "mediaType", defaultValue = "json") String mediaType) {
+        MenuSnapshot snapshot = menuSnapshotService.current();
+        if (snapshot == null) {
+            return new ResponseEntity<>(productService.listAllNonPageable(), HttpStatus.OK);
+        }
+        boolean asXml = "xml".equalsIgnoreCase(mediaType);
+        return ResponseEntity.ok()
+                .contentType(asXml ? MediaType.APPLICATION_XML : MediaType.APPLICATION_JSON)
+                .body(snapshot.products().body(asXml));
+    }
+
+    @Operation(summary = "Stream all products (NDJSON)",
+            description = "Streams every product as newline-delimited JSON (mediaType=ndjson) without loading the whole table in memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products streamed successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter<ProductView> writer = NdjsonWriter.to(outputStream, objectMapper);
+            productService.streamAll(writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @Operation(summary = "Get all products (pageable)",
@@ -41,35 +86,87 @@ public class ProductController {
             @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(2)
     @GetMapping
-    public ResponseEntity<List<Product>> listAllPageable(Pageable pageable) {
+    public ResponseEntity<List<ProductView>> listAllPageable(Pageable pageable) {
+        MenuSnapshot snapshot = menuSnapshotService.current();
+        if (snapshot != null && pageable.getSort().isUnsorted()) {
+            return ResponseEntity.ok(snapshot.products().page(pageable));
+        }
         return new ResponseEntity<>(productService.listAllPageable(pageable).getContent(), HttpStatus.OK);
     }
 
+    @Operation(summary = "Filter products by categories",
+            description = "Products listed in all (match=all) or any (match=any) of the given categories, ordered by id. "
+                    + "Evaluated on an in-memory category index.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No categories or an invalid match mode"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @QueryBudget(1)
+    @GetMapping(params = "categories")
+    public ResponseEntity<List<ProductView>> filterByCategories(@RequestParam List<Long> categories,
+                                                                @RequestParam(defaultValue = "all") String match) {
+        return ResponseEntity.ok(productService.filterByCategories(categories, match));
+    }
+
     @Operation(summary = "Get product by ID",
             description = "Retrieve a product by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Product not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Product not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Product> findProductById(@PathVariable Long id) {
-        Product product = productService.findProductById(id);
-        return ResponseEntity.ok(product);
+    public ResponseEntity<ProductView> findProductById(@PathVariable Long id) {
+        ProductView product = productService.findProductViewById(id);
+        return EntityTags.ok(product, product.version());
     }
 
     @Operation(summary = "Get products by name",
-            description = "Retrieve a list of products by name.")
+            description = "Retrieve the products whose name contains the given text, ignoring case. "
+                    + "For relevance-ranked results use /api/products/search.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "No products found with the given name"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @QueryBudget(1)
     @GetMapping(value = "/find/by-name")
-    public ResponseEntity<List<Product>> findProductByName(@RequestParam String name) {
+    public ResponseEntity<List<ProductView>> findProductByName(@RequestParam String name) {
         return ResponseEntity.ok(productService.findProductByName(name));
     }
 
+    @Operation(summary = "Search products",
+            description = "Relevance-ranked search over product names, descriptions and category names, best match first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Blank search query"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @QueryBudget(2)
+    @GetMapping(value = "/search")
+    public ResponseEntity<List<ProductView>> searchProducts(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(productService.searchProducts(q, limit));
+    }
+
+    @Operation(summary = "Suggest product and category names",
+            description = "Type-ahead suggestions for names starting with the given prefix, ignoring case and accents.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @QueryBudget(0)
+    @GetMapping(value = "/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(@RequestParam String q,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.suggest(q, limit));
+    }
+
     @Operation(summary = "Create a new product",
             description = "Create a new product with the provided details.")
     @ApiResponses(value = {
@@ -82,17 +179,55 @@ public class ProductController {
         return new ResponseEntity<>(productService.createProduct(dto), HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Import products in bulk",
+            description = "Reads a CSV (text/csv, with a header row) or NDJSON (application/x-ndjson) upload as a stream. "
+                    + "Products are matched by name ignoring case: new ones are created, existing ones updated. "
+                    + "Categories are given by name. Rejected rows are listed in the report and do not stop the import.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Empty file or missing CSV columns"),
+            @ApiResponse(responseCode = "415", description = "Unsupported file format"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ProductImportReportDTO> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                 InputStream body) {
+        return ResponseEntity.ok(productImportService.importProducts(body, ProductFileFormat.of(contentType)));
+    }
+
+    @Operation(summary = "Export all products",
+            description = "Streams every product with its category names as a CSV (format=csv) or NDJSON (format=ndjson) "
+                    + "download, in the layout the import reads back.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid format"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    // No produces: negotiation only reads ?mediaType, so the content type comes from the format instead.
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "csv") String format) {
+        ProductFileFormat fileFormat = ProductFileFormat.of(format);
+        StreamingResponseBody body = outputStream -> productImportService.exportProducts(outputStream, fileFormat);
+        return ResponseEntity.ok()
+                .contentType(fileFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileFormat.fileName()).build().toString())
+                .body(body);
+    }
+
     @Operation(summary = "Update an existing product",
             description = "Update an existing product with the provided details.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Product not found"),
+            @ApiResponse(responseCode = "409", description = "Modified concurrently by another request"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping
-    public ResponseEntity<Void> replaceProduct(@Valid @RequestBody ProductUpdateDTO dto) {
-        productService.replaceProduct(dto);
+    public ResponseEntity<Void> replaceProduct(@Valid @RequestBody ProductUpdateDTO dto,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        productService.replaceProduct(dto, ifMatch);
         return ResponseEntity.noContent().build();
     }
 
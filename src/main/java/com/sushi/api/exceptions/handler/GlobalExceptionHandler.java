@@ -1,8 +1,13 @@
 package com.sushi.api.exceptions.handler;
 
 import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.PreconditionFailedException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.exceptions.ServiceUnavailableException;
+import com.sushi.api.exceptions.UnprocessableEntityException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -40,6 +45,54 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ExceptionResponse> handlerPreconditionFailedException(PreconditionFailedException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Precondition Failed Exception",
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex.getMessage(),
+                ex.getClass().getName(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(UnprocessableEntityException.class)
+    public ResponseEntity<ExceptionResponse> handlerUnprocessableEntityException(UnprocessableEntityException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Unprocessable Entity Exception",
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                ex.getMessage(),
+                ex.getClass().getName(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(response, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ExceptionResponse> handlerServiceUnavailableException(ServiceUnavailableException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Service Unavailable",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                ex.getClass().getName(),
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Concurrent Modification",
+                HttpStatus.CONFLICT.value(),
+                "The resource was modified by another request, reload it and try again.",
+                ex.getClass().getName(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ExceptionResponse> handlerMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
         ExceptionResponse response = new ExceptionResponse(
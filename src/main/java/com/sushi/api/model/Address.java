@@ -24,7 +24,7 @@ public class Address implements Serializable {
     private String neighborhood;
 
     @JsonIgnore
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
     @JsonIgnore
@@ -1,7 +1,9 @@
 package com.sushi.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.util.HashSet;
@@ -19,9 +21,13 @@ public class Category implements Serializable {
     @Column(nullable = false)
     private String name;
     private String description;
+    @JsonIgnore
+    @Version
+    private Long version;
 
     @JsonManagedReference
-    @ManyToMany(mappedBy = "categories", fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
+    @ManyToMany(mappedBy = "categories", fetch = FetchType.LAZY)
     private Set<Product> products = new HashSet<>();
 
     public Category() {}
@@ -69,6 +75,14 @@ public class Category implements Serializable {
         this.products = products;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
@@ -2,10 +2,13 @@ package com.sushi.api.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sushi.api.utils.Money;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,23 +22,30 @@ public class Order implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
     @JsonFormat(pattern = "dd/MM/yyyy hh:mm")
     @Column(name = "order_date", nullable = false)
     private LocalDateTime orderDate;
-    @Column(name = "total_amount", nullable = false)
-    private Double totalAmount;
+    // In cents; see Money.
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
+    private long totalAmount;
 
     @JsonIgnore
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
     @ManyToOne
     @JoinColumn(name = "delivery_address_id", nullable = false)
     private Address deliveryAddress;
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderItem> items = new ArrayList<>();
+    @JsonIgnore
+    @Version
+    private Long version;
 
     public Order() {}
 
@@ -47,9 +57,11 @@ public class Order implements Serializable {
     }
 
     public void calculateTotalAmount() {
-        this.totalAmount = this.items.stream()
-                .mapToDouble(OrderItem::getTotalPrice)
-                .sum();
+        long total = 0;
+        for (OrderItem item : items) {
+            total = Math.addExact(total, item.getTotalPriceInCents());
+        }
+        this.totalAmount = total;
     }
 
     public Long getId() {
@@ -88,16 +100,31 @@ public class Order implements Serializable {
         return items;
     }
 
+    // Replaces the contents rather than the list, so Hibernate deletes the items left out.
     public void setItems(List<OrderItem> items) {
-        this.items = items;
+        this.items.clear();
+        this.items.addAll(items);
+    }
+
+    public BigDecimal getTotalAmount() {
+        return Money.fromCents(totalAmount);
     }
 
-    public Double getTotalAmount() {
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = Money.toCents(totalAmount);
+    }
+
+    @JsonIgnore
+    public long getTotalAmountInCents() {
         return totalAmount;
     }
 
-    public void setTotalAmount(Double totalAmount) {
-        this.totalAmount = totalAmount;
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
     @Override
@@ -1,47 +1,63 @@
 package com.sushi.api.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sushi.api.utils.Money;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 @Entity
 @Table(name = "order_item")
 public class OrderItem implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_id_seq")
+    @SequenceGenerator(name = "order_item_id_seq", sequenceName = "order_item_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private Integer quantity;
-    @Column(nullable = false)
-    private Double price;
-    @Column(nullable = false)
-    private Double totalPrice;
+    // Amounts in cents; see Money.
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 12, scale = 2)
+    private long price;
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 12, scale = 2)
+    private long totalPrice;
 
     @JsonIgnore
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
     @JsonIgnore
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
+    // Categories this line is counted under in the sales aggregates; see SalesAggregator.
+    @JsonIgnore
+    @BatchSize(size = 50)
+    @ElementCollection
+    @CollectionTable(name = "order_item_category", joinColumns = @JoinColumn(name = "order_item_id"))
+    @Column(name = "category_id", nullable = false)
+    private Set<Long> salesCategoryIds = new HashSet<>();
 
     public OrderItem() {}
 
-    public OrderItem(Long id, Integer quantity, Double price) {
+    public OrderItem(Long id, Integer quantity, BigDecimal price) {
         this.id = id;
         this.quantity = quantity;
-        this.price = price;
+        setPrice(price);
     }
 
     public void calculateTotalPrice() {
-        if (price != null && quantity != null) {
-            this.totalPrice = price * quantity;
+        if (quantity != null) {
+            this.totalPrice = Math.multiplyExact(price, quantity.longValue());
         }
     }
 
@@ -61,14 +77,23 @@ public class OrderItem implements Serializable {
         this.quantity = quantity;
     }
 
-    public Double getPrice() {
-        return price;
+    public BigDecimal getPrice() {
+        return Money.fromCents(price);
     }
 
-    public void setPrice(Double price) {
+    public void setPrice(BigDecimal price) {
         if (price == null) {
             throw new IllegalArgumentException("Price cannot be null");
         }
+        this.price = Money.toCents(price);
+    }
+
+    @JsonIgnore
+    public long getPriceInCents() {
+        return price;
+    }
+
+    public void setPriceInCents(long price) {
         this.price = price;
     }
 
@@ -88,12 +113,25 @@ public class OrderItem implements Serializable {
         this.order = order;
     }
 
-    public Double getTotalPrice() {
+    public BigDecimal getTotalPrice() {
+        return Money.fromCents(totalPrice);
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = Money.toCents(totalPrice);
+    }
+
+    @JsonIgnore
+    public long getTotalPriceInCents() {
         return totalPrice;
     }
 
-    public void setTotalPrice(Double totalPrice) {
-        this.totalPrice = totalPrice;
+    public Set<Long> getSalesCategoryIds() {
+        return salesCategoryIds;
+    }
+
+    public void setSalesCategoryIds(Set<Long> salesCategoryIds) {
+        this.salesCategoryIds = salesCategoryIds;
     }
 
     @Override
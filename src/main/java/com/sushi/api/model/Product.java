@@ -1,9 +1,11 @@
 package com.sushi.api.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sushi.api.utils.Money;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -20,14 +22,19 @@ public class Product implements Serializable {
     private String name;
     @Column(nullable = false)
     private String description;
-    @Column(nullable = false)
-    private Double price;
+    // In cents; see Money.
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 12, scale = 2)
+    private Long price;
     @Column(nullable = false)
     private Integer portionQuantity;
     @Column(nullable = false)
     private String portionUnit;
     @Column(name = "url_image", nullable = false)
     private String urlImage;
+    @JsonIgnore
+    @Version
+    private Long version;
 
     @JsonIgnore
     @ManyToMany
@@ -49,21 +56,21 @@ public class Product implements Serializable {
         this.description = description;
     }
 
-    public Product(Long id, String name, String description, Double price, Integer portionQuantity, String portionUnit, String urlImage) {
+    public Product(Long id, String name, String description, BigDecimal price, Integer portionQuantity, String portionUnit, String urlImage) {
         this.id = id;
         this.name = name;
         this.description = description;
-        this.price = price;
+        this.price = price == null ? null : Money.toCents(price);
         this.portionQuantity = portionQuantity;
         this.portionUnit = portionUnit;
         this.urlImage = urlImage;
     }
 
-    public Product(Long id, String name, String description, Double price, Integer portionQuantity, String portionUnit, String urlImage, Set<Category> categories) {
+    public Product(Long id, String name, String description, BigDecimal price, Integer portionQuantity, String portionUnit, String urlImage, Set<Category> categories) {
         this.id = id;
         this.name = name;
         this.description = description;
-        this.price = price;
+        this.price = price == null ? null : Money.toCents(price);
         this.portionQuantity = portionQuantity;
         this.portionUnit = portionUnit;
         this.urlImage = urlImage;
@@ -94,12 +101,17 @@ public class Product implements Serializable {
         this.description = description;
     }
 
-    public Double getPrice() {
-        return price;
+    public BigDecimal getPrice() {
+        return price == null ? null : Money.fromCents(price);
     }
 
-    public void setPrice(Double price) {
-        this.price = price;
+    public void setPrice(BigDecimal price) {
+        this.price = price == null ? null : Money.toCents(price);
+    }
+
+    @JsonIgnore
+    public Long getPriceInCents() {
+        return price;
     }
 
     public Integer getPortionQuantity() {
@@ -142,6 +154,14 @@ public class Product implements Serializable {
         this.orderItems = orderItems;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
@@ -0,0 +1,20 @@
+package com.sushi.api.model.dto.address;
+
+import com.sushi.api.model.Address;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Address View", description = "A delivery address as returned by the read endpoints")
+public record AddressView(
+        @Schema(description = "The address ID", example = "1")
+        Long id,
+        @Schema(description = "The address number", example = "123")
+        String number,
+        @Schema(description = "The street name", example = "Avenida São João")
+        String street,
+        @Schema(description = "The neighborhood name", example = "Centro")
+        String neighborhood
+) {
+    public static AddressView of(Address address) {
+        return new AddressView(address.getId(), address.getNumber(), address.getStreet(), address.getNeighborhood());
+    }
+}
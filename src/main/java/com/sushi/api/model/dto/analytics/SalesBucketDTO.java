@@ -0,0 +1,19 @@
+package com.sushi.api.model.dto.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(name = "Sales Bucket DTO", description = "Sales of a product or category in one hour or day")
+public record SalesBucketDTO(
+        @Schema(description = "Start of the hour or day", example = "2024-07-01T19:00:00")
+        LocalDateTime bucketStart,
+        @Schema(description = "Revenue", example = "179.80")
+        BigDecimal revenue,
+        @Schema(description = "Units sold", example = "20")
+        long quantity,
+        @Schema(description = "Number of orders", example = "9")
+        long orders
+) {
+}
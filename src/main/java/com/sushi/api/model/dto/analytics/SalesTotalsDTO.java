@@ -0,0 +1,20 @@
+package com.sushi.api.model.dto.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(name = "Sales Totals DTO", description = "Sales of a product or category over a period")
+public record SalesTotalsDTO(
+        @Schema(description = "Product or category ID", example = "1")
+        Long id,
+        @Schema(description = "Product or category name, null when it no longer exists", example = "Temaki Salmão")
+        String name,
+        @Schema(description = "Revenue", example = "1249.50")
+        BigDecimal revenue,
+        @Schema(description = "Units sold", example = "87")
+        long quantity,
+        @Schema(description = "Number of orders", example = "41")
+        long orders
+) {
+}
@@ -0,0 +1,55 @@
+package com.sushi.api.model.dto.category;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import com.sushi.api.model.Category;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.product.ProductView;
+import com.sushi.api.utils.EntityTags;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read model of a category with its products, assembled from projection rows (see CategoryViews).
+ * Serializes to the same JSON and XML as the Category entity.
+ */
+@JacksonXmlRootElement(localName = "Category")
+@Schema(name = "Category View", description = "A category as returned by the read endpoints")
+public record CategoryView(
+        @Schema(description = "The category ID", example = "1")
+        Long id,
+        @Schema(description = "The name of the category", example = "Rolls")
+        String name,
+        @Schema(description = "A description of the category", example = "Rice rolls with fish and vegetables")
+        String description,
+        @Schema(description = "The products of the category")
+        List<ProductView> products,
+        @JsonIgnore
+        Long version
+) {
+    public static CategoryView of(Category category) {
+        return new CategoryView(category.getId(), category.getName(), category.getDescription(),
+                category.getProducts().stream()
+                        .sorted(Comparator.comparing(Product::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                        .map(ProductView::of)
+                        .toList(),
+                category.getVersion());
+    }
+
+    /**
+     * ETag over the category and the products it embeds. Editing a product or moving it in or
+     * out of the category does not bump the category version, so each product counts by its id
+     * and its own version.
+     */
+    public String entityTag() {
+        List<Object> values = new ArrayList<>(Arrays.asList(id, name, description));
+        products.stream()
+                .sorted(Comparator.comparing(ProductView::id, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(product -> values.addAll(Arrays.asList(product.id(), product.version())));
+        return EntityTags.digest(version, values.toArray());
+    }
+}
@@ -0,0 +1,38 @@
+package com.sushi.api.model.dto.customer;
+
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Customer;
+import com.sushi.api.model.dto.address.AddressView;
+import com.sushi.api.model.dto.phone.PhoneView;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model of a customer, assembled from projection rows (see CustomerViews) so the password
+ * hash and the orders are never loaded. Serializes to the same JSON as the Customer entity.
+ */
+@Schema(name = "Customer View", description = "A customer as returned by the read endpoints")
+public record CustomerView(
+        @Schema(description = "The customer ID", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+        UUID id,
+        @Schema(description = "The customer's name", example = "Alice")
+        String name,
+        @Schema(description = "The customer's email", example = "alice@example.com")
+        String email,
+        @Schema(description = "The customer's phone number")
+        PhoneView phone,
+        @Schema(description = "The customer's addresses")
+        List<AddressView> addresses
+) {
+    public static CustomerView of(Customer customer) {
+        return new CustomerView(customer.getId(), customer.getName(), customer.getEmail(),
+                PhoneView.of(customer.getPhone()),
+                customer.getAddresses().stream()
+                        .sorted(Comparator.comparing(Address::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                        .map(AddressView::of)
+                        .toList());
+    }
+}
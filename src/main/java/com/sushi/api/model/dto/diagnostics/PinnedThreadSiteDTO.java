@@ -0,0 +1,20 @@
+package com.sushi.api.model.dto.diagnostics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "Pinned Thread Site DTO", description = "A code location where virtual threads were pinned to their carrier")
+public record PinnedThreadSiteDTO(
+        @Schema(description = "First application or library frame of the pinned stack", example = "org.postgresql.core.v3.QueryExecutorImpl.execute:350")
+        String site,
+        @Schema(description = "Number of pinned events over the threshold", example = "12")
+        long count,
+        @Schema(description = "Longest pinned event in milliseconds", example = "48.2")
+        double maxMillis,
+        @Schema(description = "Total time pinned in milliseconds", example = "310.5")
+        double totalMillis,
+        @Schema(description = "Stack trace of the first event seen at this site")
+        List<String> stackTrace
+) {
+}
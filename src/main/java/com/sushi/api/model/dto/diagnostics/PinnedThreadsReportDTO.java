@@ -0,0 +1,16 @@
+package com.sushi.api.model.dto.diagnostics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "Pinned Threads Report DTO", description = "Virtual thread pinning seen since startup, worst sites first")
+public record PinnedThreadsReportDTO(
+        @Schema(description = "Whether pinned events are being recorded; requires virtual threads on Java 21", example = "true")
+        boolean enabled,
+        @Schema(description = "Shortest pinned event recorded, in milliseconds", example = "20")
+        long thresholdMillis,
+        @Schema(description = "Pinned sites ordered by total time pinned")
+        List<PinnedThreadSiteDTO> sites
+) {
+}
@@ -0,0 +1,24 @@
+package com.sushi.api.model.dto.employee;
+
+import com.sushi.api.model.Employee;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * Read model of an employee, selected column by column so the password hash is never loaded.
+ * Serializes to the same JSON as the Employee entity.
+ */
+@Schema(name = "Employee View", description = "An employee as returned by the read endpoints")
+public record EmployeeView(
+        @Schema(description = "The employee ID", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+        UUID id,
+        @Schema(description = "The employee's name", example = "Laura")
+        String name,
+        @Schema(description = "The employee's email", example = "laura@example.com")
+        String email
+) {
+    public static EmployeeView of(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getName(), employee.getEmail());
+    }
+}
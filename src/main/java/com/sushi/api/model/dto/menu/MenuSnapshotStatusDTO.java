@@ -0,0 +1,24 @@
+package com.sushi.api.model.dto.menu;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(name = "Menu Snapshot Status DTO", description = "State of the in-memory snapshot serving the public menu endpoints")
+public record MenuSnapshotStatusDTO(
+        @Schema(description = "Whether a snapshot is loaded; when false the menu is read from the database", example = "true")
+        boolean loaded,
+        @Schema(description = "When the snapshot was built", example = "2024-07-01T12:00:00Z")
+        Instant builtAt,
+        @Schema(description = "Age of the snapshot in milliseconds", example = "5400")
+        long ageMillis,
+        @Schema(description = "Number of products in the snapshot", example = "42")
+        int products,
+        @Schema(description = "Number of categories in the snapshot", example = "6")
+        int categories,
+        @Schema(description = "Size of the serialized JSON and XML bodies in bytes", example = "18432")
+        long sizeBytes,
+        @Schema(description = "Time spent building the snapshot in milliseconds", example = "35")
+        long rebuildTimeMillis
+) {
+}
@@ -0,0 +1,35 @@
+package com.sushi.api.model.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(name = "Order Batch Item DTO", description = "Outcome of one order of a batch")
+public record OrderBatchItemDTO(
+        @Schema(description = "Position of the order in the request, from 0", example = "0")
+        int index,
+        @Schema(description = "CREATED, FAILED, or SKIPPED when another order failed an all-or-nothing batch", example = "CREATED")
+        Status status,
+        @Schema(description = "ID of the created order", example = "1")
+        Long orderId,
+        @Schema(description = "Total amount of the created order", example = "35.97")
+        BigDecimal totalAmount,
+        @Schema(description = "Why the order was not created", example = "Address not found with this id.")
+        String error
+) {
+    public enum Status {
+        CREATED, FAILED, SKIPPED
+    }
+
+    public static OrderBatchItemDTO created(int index, Long orderId, BigDecimal totalAmount) {
+        return new OrderBatchItemDTO(index, Status.CREATED, orderId, totalAmount, null);
+    }
+
+    public static OrderBatchItemDTO failed(int index, String error) {
+        return new OrderBatchItemDTO(index, Status.FAILED, null, null, error);
+    }
+
+    public static OrderBatchItemDTO skipped(int index) {
+        return new OrderBatchItemDTO(index, Status.SKIPPED, null, null, null);
+    }
+}
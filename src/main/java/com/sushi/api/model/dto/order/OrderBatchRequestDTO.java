@@ -0,0 +1,14 @@
+package com.sushi.api.model.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(name = "Order Batch Request DTO", description = "DTO for creating several orders at once")
+public record OrderBatchRequestDTO(
+        @Schema(description = "The orders, answered in the same order")
+        @NotEmpty(message = "Orders cannot be empty")
+        List<@Valid OrderRequestDTO> orders
+) {}
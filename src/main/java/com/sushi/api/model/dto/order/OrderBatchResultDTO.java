@@ -0,0 +1,20 @@
+package com.sushi.api.model.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "Order Batch Result DTO", description = "Outcome of a batch of orders")
+public record OrderBatchResultDTO(
+        @Schema(description = "Orders created", example = "49")
+        int created,
+        @Schema(description = "Orders not created, failed or skipped", example = "1")
+        int rejected,
+        @Schema(description = "One entry per requested order, in request order")
+        List<OrderBatchItemDTO> orders
+) {
+    public static OrderBatchResultDTO of(List<OrderBatchItemDTO> orders) {
+        int created = (int) orders.stream().filter(order -> order.status() == OrderBatchItemDTO.Status.CREATED).count();
+        return new OrderBatchResultDTO(created, orders.size() - created, orders);
+    }
+}
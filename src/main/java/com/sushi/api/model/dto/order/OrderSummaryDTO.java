@@ -0,0 +1,29 @@
+package com.sushi.api.model.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.sushi.api.utils.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of a customer's order history. Only columns of the history index are read.
+ */
+@Schema(name = "Order Summary DTO", description = "An order as listed in the customer's order history")
+public record OrderSummaryDTO(
+        @Schema(description = "The order ID", example = "1")
+        Long id,
+        @Schema(description = "Date and time the order was placed", example = "01/07/2024 07:30")
+        @JsonFormat(pattern = "dd/MM/yyyy hh:mm")
+        LocalDateTime orderDate,
+        @Schema(description = "Total amount of the order", example = "59.90")
+        BigDecimal totalAmount
+) {
+    /**
+     * Used by the JPQL constructor expressions, which read the total in cents.
+     */
+    public OrderSummaryDTO(Long id, LocalDateTime orderDate, Long totalAmountInCents) {
+        this(id, orderDate, totalAmountInCents == null ? null : Money.fromCents(totalAmountInCents));
+    }
+}
@@ -0,0 +1,61 @@
+package com.sushi.api.model.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.address.AddressView;
+import com.sushi.api.model.dto.order_item.OrderItemView;
+import com.sushi.api.utils.EntityTags;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read model of an order, assembled from projection rows (see OrderViews) so serializing it
+ * never reaches a lazy association. Serializes to the same JSON as the Order entity.
+ */
+@Schema(name = "Order View", description = "An order as returned by the read endpoints")
+public record OrderView(
+        @Schema(description = "The order ID", example = "1")
+        Long id,
+        @Schema(description = "When the order was placed", example = "01/07/2024 12:30")
+        @JsonFormat(pattern = "dd/MM/yyyy hh:mm")
+        LocalDateTime orderDate,
+        @Schema(description = "Sum of the item totals", example = "17.98")
+        BigDecimal totalAmount,
+        @Schema(description = "The delivery address")
+        AddressView deliveryAddress,
+        @Schema(description = "The items of the order")
+        List<OrderItemView> items,
+        @JsonIgnore
+        Long version
+) {
+    public static OrderView of(Order order) {
+        return new OrderView(order.getId(), order.getOrderDate(), order.getTotalAmount(),
+                AddressView.of(order.getDeliveryAddress()),
+                order.getItems().stream().map(OrderItemView::of).toList(),
+                order.getVersion());
+    }
+
+    /**
+     * ETag over every serialized field. The delivery address is a row of its own and can be
+     * edited without bumping the order version, so the version alone would not do. Items are
+     * taken by id, so a view read from rows and one built from the entity get the same tag.
+     */
+    public String entityTag() {
+        List<Object> values = new ArrayList<>(Arrays.asList(id, orderDate, totalAmount,
+                deliveryAddress.id(), deliveryAddress.number(), deliveryAddress.street(), deliveryAddress.neighborhood()));
+        List<OrderItemView> byId = items.stream()
+                .sorted(Comparator.comparing(OrderItemView::id, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        for (OrderItemView item : byId) {
+            values.addAll(Arrays.asList(item.id(), item.quantity(), item.price(), item.totalPrice()));
+        }
+        return EntityTags.digest(version, values.toArray());
+    }
+}
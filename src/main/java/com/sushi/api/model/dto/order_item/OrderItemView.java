@@ -0,0 +1,22 @@
+package com.sushi.api.model.dto.order_item;
+
+import com.sushi.api.model.OrderItem;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(name = "Order Item View", description = "An order item as returned by the read endpoints")
+public record OrderItemView(
+        @Schema(description = "The order item ID", example = "1")
+        Long id,
+        @Schema(description = "The quantity of the product", example = "2")
+        Integer quantity,
+        @Schema(description = "The unit price when the order was placed", example = "8.99")
+        BigDecimal price,
+        @Schema(description = "The unit price times the quantity", example = "17.98")
+        BigDecimal totalPrice
+) {
+    public static OrderItemView of(OrderItem item) {
+        return new OrderItemView(item.getId(), item.getQuantity(), item.getPrice(), item.getTotalPrice());
+    }
+}
@@ -0,0 +1,26 @@
+package com.sushi.api.model.dto.page;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Schema(name = "Cursor Page DTO", description = "A page of results read with keyset pagination")
+public record CursorPageDTO<T>(
+        @Schema(description = "The results of this page")
+        List<T> content,
+        @Schema(description = "Token to send as 'after' to read the next page, null on the last page", example = "djE6MjA")
+        String next
+) {
+    /**
+     * Builds a page from a query that fetched one row more than the page size,
+     * which tells whether a next page exists without running a count query.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, String> tokenOf) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<T> content = List.copyOf(rows.subList(0, size));
+        return new CursorPageDTO<>(content, tokenOf.apply(content.get(size - 1)));
+    }
+}
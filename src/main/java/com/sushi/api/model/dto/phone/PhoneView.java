@@ -0,0 +1,16 @@
+package com.sushi.api.model.dto.phone;
+
+import com.sushi.api.model.Phone;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Phone View", description = "A phone number as returned by the read endpoints")
+public record PhoneView(
+        @Schema(description = "The phone ID", example = "1")
+        Long id,
+        @Schema(description = "Phone number", example = "1234567890")
+        String number
+) {
+    public static PhoneView of(Phone phone) {
+        return phone == null ? null : new PhoneView(phone.getId(), phone.getNumber());
+    }
+}
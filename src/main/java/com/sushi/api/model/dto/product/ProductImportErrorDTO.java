@@ -0,0 +1,14 @@
+package com.sushi.api.model.dto.product;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Product Import Error DTO", description = "A row of a bulk import that was not written")
+public record ProductImportErrorDTO(
+        @Schema(description = "Line of the row in the uploaded file, counting from 1", example = "12")
+        long line,
+        @Schema(description = "Product name of the row, if it could be read", example = "California Roll")
+        String name,
+        @Schema(description = "Why the row was rejected", example = "Category not found: Uramaki")
+        String message
+) {
+}
@@ -0,0 +1,20 @@
+package com.sushi.api.model.dto.product;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "Product Import Report DTO", description = "Outcome of a bulk product import")
+public record ProductImportReportDTO(
+        @Schema(description = "Rows read from the file", example = "120")
+        long rows,
+        @Schema(description = "Products created", example = "95")
+        long created,
+        @Schema(description = "Existing products updated", example = "22")
+        long updated,
+        @Schema(description = "Rows rejected, detailed in errors", example = "3")
+        long failed,
+        @Schema(description = "One entry per rejected row")
+        List<ProductImportErrorDTO> errors
+) {
+}
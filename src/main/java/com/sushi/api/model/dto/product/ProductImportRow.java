@@ -0,0 +1,26 @@
+package com.sushi.api.model.dto.product;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(name = "Product Import Row", description = "One product of a bulk import or export, with its categories by name")
+public record ProductImportRow(
+        @Schema(description = "The name of the product; an existing product with this name (ignoring case) is updated",
+                example = "California Roll")
+        String name,
+        @Schema(description = "A description of the product", example = "A delicious roll made with crab meat, avocado, and cucumber")
+        String description,
+        @Schema(description = "The price of the product", example = "8.99")
+        BigDecimal price,
+        @Schema(description = "The quantity of portions in the product", example = "20")
+        Integer portionQuantity,
+        @Schema(description = "The unit of measurement for portions", example = "pieces")
+        String portionUnit,
+        @Schema(description = "The URL of the product's image", example = "http://example.com/images/california_roll.jpg")
+        String urlImage,
+        @Schema(description = "Names of existing categories (separated by | in CSV)", example = "[\"Uramaki\"]")
+        List<String> categories
+) {
+}
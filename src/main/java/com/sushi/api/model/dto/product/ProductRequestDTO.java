@@ -1,10 +1,12 @@
 package com.sushi.api.model.dto.product;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
+import java.math.BigDecimal;
 import java.util.Set;
 
 @Schema(name = "Product Request DTO", description = "DTO for creating a product")
@@ -20,7 +22,8 @@ public record ProductRequestDTO(
         @Schema(description = "The price of the product", example = "8.99")
         @NotNull(message = "Price cannot be null")
         @Positive(message = "Price must be greater than zero")
-        Double price,
+        @Digits(integer = 10, fraction = 2, message = "Price must have at most two decimal places")
+        BigDecimal price,
 
         @Schema(description = "The quantity of portions in the product", example = "20")
         @NotNull(message = "Quantity of portions cannot be null")
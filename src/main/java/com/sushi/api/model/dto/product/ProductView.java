@@ -0,0 +1,46 @@
+package com.sushi.api.model.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sushi.api.model.Product;
+import com.sushi.api.utils.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * Read model of a product, selected column by column so no entity or proxy is involved.
+ * Serializes to the same JSON as the Product entity.
+ */
+@Schema(name = "Product View", description = "A product as returned by the read endpoints")
+public record ProductView(
+        @Schema(description = "The product ID", example = "1")
+        Long id,
+        @Schema(description = "The name of the product", example = "California Roll")
+        String name,
+        @Schema(description = "A description of the product", example = "A delicious roll made with crab meat, avocado, and cucumber")
+        String description,
+        @Schema(description = "The price of the product", example = "8.99")
+        BigDecimal price,
+        @Schema(description = "The quantity of portions in the product", example = "20")
+        Integer portionQuantity,
+        @Schema(description = "The unit of measurement for portions", example = "pieces")
+        String portionUnit,
+        @Schema(description = "The URL of the product's image", example = "http://example.com/images/california_roll.jpg")
+        String urlImage,
+        @JsonIgnore
+        Long version
+) {
+    /**
+     * Used by the JPQL constructor expressions, which read the price in cents.
+     */
+    public ProductView(Long id, String name, String description, Long priceInCents, Integer portionQuantity,
+                       String portionUnit, String urlImage, Long version) {
+        this(id, name, description, priceInCents == null ? null : Money.fromCents(priceInCents),
+                portionQuantity, portionUnit, urlImage, version);
+    }
+
+    public static ProductView of(Product product) {
+        return new ProductView(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getPortionQuantity(), product.getPortionUnit(), product.getUrlImage(), product.getVersion());
+    }
+}
@@ -0,0 +1,14 @@
+package com.sushi.api.model.dto.search;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Suggestion DTO", description = "A product or category name suggested while typing")
+public record SuggestionDTO(
+        @Schema(description = "What the suggestion refers to: product or category", example = "product")
+        String type,
+        @Schema(description = "The product or category ID", example = "12")
+        Long id,
+        @Schema(description = "The name as shown on the menu", example = "Temaki Salmão")
+        String name
+) {
+}
@@ -2,10 +2,14 @@ package com.sushi.api.repositories;
 
 import com.sushi.api.model.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.UUID;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long> {
-}
\ No newline at end of file
+    @Query("select a.id from Address a where a.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+}
@@ -1,13 +1,73 @@
 package com.sushi.api.repositories;
 
 import com.sushi.api.model.Category;
+import com.sushi.api.model.dto.search.SuggestionDTO;
+import com.sushi.api.repositories.projections.CategoryLineRow;
+import com.sushi.api.repositories.projections.CategoryProductRow;
+import com.sushi.api.repositories.projections.CategoryRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    String CATEGORY_ROW = "select new com.sushi.api.repositories.projections.CategoryRow(c.id, c.name, c.description, c.version) "
+            + "from Category c";
+    String CATEGORY_LINE = "select new com.sushi.api.repositories.projections.CategoryLineRow(c.id, c.name, c.description, c.version, "
+            + "p.id, p.name, p.description, p.price, p.portionQuantity, p.portionUnit, p.urlImage, p.version) "
+            + "from Category c left join c.products p";
+    String SUGGESTION = "select new com.sushi.api.model.dto.search.SuggestionDTO('category', c.id, c.name) from Category c";
+
+    @EntityGraph(attributePaths = "products")
+    List<Category> findAll();
+
+    @EntityGraph(attributePaths = "products")
+    Optional<Category> findById(Long id);
+
+    @EntityGraph(attributePaths = "products")
     List<Category> findByNameContainingIgnoreCase(String name);
-}
\ No newline at end of file
+
+    // No collection fetch here so the page limit stays in SQL; products are batch-loaded.
+    Page<Category> findAll(Pageable pageable);
+
+    // Read models for the GET endpoints: only the serialized columns, no entities in the persistence context.
+    @Query(CATEGORY_LINE + " where c.id = :id order by p.id")
+    List<CategoryLineRow> findLinesById(Long id);
+
+    @Query(CATEGORY_LINE + " where upper(c.name) like upper(concat('%', :name, '%')) order by c.id, p.id")
+    List<CategoryLineRow> findLinesByNameContaining(String name);
+
+    @Query(CATEGORY_LINE + " order by c.id, p.id")
+    List<CategoryLineRow> findAllLines();
+
+    // One cursor over categories and their products; the lines of a category arrive together.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(CATEGORY_LINE + " order by c.id, p.id")
+    Stream<CategoryLineRow> streamAllLines();
+
+    // Names only, for the type-ahead index.
+    @Query(SUGGESTION + " order by c.id")
+    List<SuggestionDTO> findSuggestions();
+
+    @Query(SUGGESTION + " where c.id = :id")
+    Optional<SuggestionDTO> findSuggestionById(Long id);
+
+    @Query(value = CATEGORY_ROW, countQuery = "select count(c) from Category c")
+    Page<CategoryRow> findRows(Pageable pageable);
+
+    @Query("select new com.sushi.api.repositories.projections.CategoryProductRow(c.id, p.id, p.name, p.description, p.price, "
+            + "p.portionQuantity, p.portionUnit, p.urlImage, p.version) "
+            + "from Category c join c.products p where c.id in :categoryIds order by p.id")
+    List<CategoryProductRow> findProductRows(Collection<Long> categoryIds);
+}
@@ -3,17 +3,81 @@ package com.sushi.api.repositories;
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.Phone;
 import com.sushi.api.model.dto.phone.PhoneDTO;
+import com.sushi.api.repositories.projections.CustomerAddressRow;
+import com.sushi.api.repositories.projections.CustomerLineRow;
+import com.sushi.api.repositories.projections.CustomerRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
-    List<Customer> findByNameContainingIgnoreCase(String name);
+    String CUSTOMER_ROW = "select new com.sushi.api.repositories.projections.CustomerRow(c.id, c.name, c.email, ph.id, ph.number) "
+            + "from Customer c left join c.phone ph";
+    String CUSTOMER_LINE = "select new com.sushi.api.repositories.projections.CustomerLineRow(c.id, c.name, c.email, ph.id, ph.number, "
+            + "a.id, a.number, a.street, a.neighborhood) from Customer c left join c.phone ph left join c.addresses a";
+
+    @EntityGraph(attributePaths = {"phone", "addresses"})
+    List<Customer> findAll();
+
+    @EntityGraph(attributePaths = {"phone", "addresses"})
+    Optional<Customer> findById(UUID id);
+
     Optional<Customer> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("select c.id from Customer c where c.email = :email")
+    Optional<UUID> findIdByEmail(String email);
+
+    // Existence check only: orders reference the customer by id, so the entity is never loaded.
+    @Query("select c.id from Customer c where c.id in :ids")
+    List<UUID> findExistingIds(Collection<UUID> ids);
+
+    // The inverse one-to-one phone is joined to avoid a select per row; addresses are batch-loaded.
+    @EntityGraph(attributePaths = "phone")
+    Page<Customer> findAll(Pageable pageable);
+
+    // Read models for the GET endpoints: only the serialized columns, no entities in the persistence context.
+    @Query(CUSTOMER_LINE + " where c.id = :id order by a.id")
+    List<CustomerLineRow> findLinesById(UUID id);
+
+    @Query(CUSTOMER_LINE + " where c.email = :email order by a.id")
+    List<CustomerLineRow> findLinesByEmail(String email);
+
+    @Query(CUSTOMER_LINE + " where upper(c.name) like upper(concat('%', :name, '%')) order by c.id, a.id")
+    List<CustomerLineRow> findLinesByNameContaining(String name);
+
+    @Query(CUSTOMER_LINE + " order by c.id, a.id")
+    List<CustomerLineRow> findAllLines();
+
+    // One cursor over customers, phones and addresses; the lines of a customer arrive together.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(CUSTOMER_LINE + " order by c.id, a.id")
+    Stream<CustomerLineRow> streamAllLines();
+
+    @Query(value = CUSTOMER_ROW, countQuery = "select count(c) from Customer c")
+    Page<CustomerRow> findRows(Pageable pageable);
+
+    @Query(CUSTOMER_ROW + " order by c.id")
+    List<CustomerRow> findRowsOrderById(Limit limit);
+
+    @Query(CUSTOMER_ROW + " where c.id > :id order by c.id")
+    List<CustomerRow> findRowsAfter(UUID id, Limit limit);
+
+    @Query("select new com.sushi.api.repositories.projections.CustomerAddressRow(a.customer.id, a.id, a.number, a.street, a.neighborhood) "
+            + "from Address a where a.customer.id in :customerIds order by a.id")
+    List<CustomerAddressRow> findAddressRows(Collection<UUID> customerIds);
+}
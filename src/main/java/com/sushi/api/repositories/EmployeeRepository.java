@@ -1,11 +1,39 @@
 package com.sushi.api.repositories;
 
 import com.sushi.api.model.Employee;
+import com.sushi.api.model.dto.employee.EmployeeView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
+    String EMPLOYEE_VIEW = "select new com.sushi.api.model.dto.employee.EmployeeView(e.id, e.name, e.email) from Employee e";
+
     Optional<Employee> findByEmail(String email);
+
+    // Read models for the GET endpoints: only the serialized columns, no entities in the persistence context.
+    @Query(EMPLOYEE_VIEW + " where e.id = :id")
+    Optional<EmployeeView> findViewById(UUID id);
+
+    @Query(EMPLOYEE_VIEW + " where e.email = :email")
+    Optional<EmployeeView> findViewByEmail(String email);
+
+    @Query(EMPLOYEE_VIEW)
+    List<EmployeeView> findAllViews();
+
+    @Query(value = EMPLOYEE_VIEW, countQuery = "select count(e) from Employee e")
+    Page<EmployeeView> findViews(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(EMPLOYEE_VIEW)
+    Stream<EmployeeView> streamAllViews();
 }
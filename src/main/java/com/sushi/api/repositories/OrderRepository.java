@@ -1,9 +1,77 @@
 package com.sushi.api.repositories;
 
 import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.order.OrderSummaryDTO;
+import com.sushi.api.repositories.projections.OrderItemRow;
+import com.sushi.api.repositories.projections.OrderLineRow;
+import com.sushi.api.repositories.projections.OrderRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-}
\ No newline at end of file
+    String ORDER_ROW = "select new com.sushi.api.repositories.projections.OrderRow(o.id, o.orderDate, o.totalAmount, o.version, "
+            + "a.id, a.number, a.street, a.neighborhood) from Order o join o.deliveryAddress a";
+    String ORDER_LINE = "select new com.sushi.api.repositories.projections.OrderLineRow(o.id, o.orderDate, o.totalAmount, o.version, "
+            + "a.id, a.number, a.street, a.neighborhood, i.id, i.quantity, i.price, i.totalPrice) "
+            + "from Order o join o.deliveryAddress a left join o.items i";
+    String ORDER_SUMMARY = "select new com.sushi.api.model.dto.order.OrderSummaryDTO(o.id, o.orderDate, o.totalAmount) from Order o";
+
+    @EntityGraph(attributePaths = {"items", "deliveryAddress"})
+    List<Order> findAll();
+
+    @EntityGraph(attributePaths = {"items", "deliveryAddress"})
+    Optional<Order> findById(Long id);
+
+    // Paged reads fetch the address in the same row; items are batch-loaded with @BatchSize.
+    @EntityGraph(attributePaths = "deliveryAddress")
+    Page<Order> findAll(Pageable pageable);
+
+    // Read models for the GET endpoints: only the serialized columns, no entities in the persistence context.
+    @Query(ORDER_LINE + " where o.id = :id order by i.id")
+    List<OrderLineRow> findLinesById(Long id);
+
+    @Query(ORDER_LINE + " order by o.id, i.id")
+    List<OrderLineRow> findAllLines();
+
+    // One cursor over orders, addresses and items; the lines of an order arrive together.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ORDER_LINE + " order by o.id, i.id")
+    Stream<OrderLineRow> streamAllLines();
+
+    @Query(value = ORDER_ROW, countQuery = "select count(o) from Order o")
+    Page<OrderRow> findRows(Pageable pageable);
+
+    @Query(ORDER_ROW + " order by o.id")
+    List<OrderRow> findRowsOrderById(Limit limit);
+
+    @Query(ORDER_ROW + " where o.id > :id order by o.id")
+    List<OrderRow> findRowsAfter(Long id, Limit limit);
+
+    @Query("select new com.sushi.api.repositories.projections.OrderItemRow(i.order.id, i.id, i.quantity, i.price, i.totalPrice) "
+            + "from OrderItem i where i.order.id in :orderIds order by i.id")
+    List<OrderItemRow> findItemRows(Collection<Long> orderIds);
+
+    // Customer history, newest first. The row comparison seeks straight into idx_orders_customer_history (V8).
+    @Query(ORDER_SUMMARY + " where o.customer.id = :customerId order by o.orderDate desc, o.id desc")
+    List<OrderSummaryDTO> findSummariesByCustomer(UUID customerId, Limit limit);
+
+    @Query(ORDER_SUMMARY + " where o.customer.id = :customerId and (o.orderDate, o.id) < (:orderDate, :id) "
+            + "order by o.orderDate desc, o.id desc")
+    List<OrderSummaryDTO> findSummariesByCustomerBefore(UUID customerId, LocalDateTime orderDate, Long id, Limit limit);
+}
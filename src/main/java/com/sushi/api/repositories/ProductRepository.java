@@ -1,12 +1,73 @@
 package com.sushi.api.repositories;
 
 import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.product.ProductView;
+import com.sushi.api.model.dto.search.SuggestionDTO;
+import com.sushi.api.repositories.projections.CategoryMembershipRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    List<Product> findByNameContainingIgnoreCase(String name);
-}
\ No newline at end of file
+    String PRODUCT_VIEW = "select new com.sushi.api.model.dto.product.ProductView(p.id, p.name, p.description, p.price, "
+            + "p.portionQuantity, p.portionUnit, p.urlImage, p.version) from Product p";
+    String SUGGESTION = "select new com.sushi.api.model.dto.search.SuggestionDTO('product', p.id, p.name) from Product p";
+
+    boolean existsByNameIgnoreCase(String name);
+
+    @EntityGraph(attributePaths = "categories")
+    @Query("select p from Product p")
+    List<Product> findAllWithCategories();
+
+
+    @Query("select new com.sushi.api.repositories.projections.CategoryMembershipRow(c.id, p.id) "
+            + "from Product p join p.categories c")
+    List<CategoryMembershipRow> findCategoryMemberships();
+
+    @Query("select new com.sushi.api.repositories.projections.CategoryMembershipRow(c.id, p.id) "
+            + "from Product p join p.categories c where p.id in :ids")
+    List<CategoryMembershipRow> findCategoryMembershipsByProductIdIn(Collection<Long> ids);
+
+    @Query("select c.id from Product p join p.categories c where p.id = :id")
+    List<Long> findCategoryIdsById(Long id);
+
+    // Read models for the GET endpoints: only the serialized columns, no entities in the persistence context.
+    @Query(PRODUCT_VIEW + " order by p.id")
+    List<ProductView> findAllViews();
+
+    @Query(value = PRODUCT_VIEW, countQuery = "select count(p) from Product p")
+    Page<ProductView> findViews(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PRODUCT_VIEW + " order by p.id")
+    Stream<ProductView> streamAllViews();
+
+    @Query(PRODUCT_VIEW + " where p.id = :id")
+    Optional<ProductView> findViewById(Long id);
+
+    @Query(PRODUCT_VIEW + " where p.id in :ids")
+    List<ProductView> findViewsByIdIn(Collection<Long> ids);
+
+    // Names only, for the type-ahead index.
+    @Query(SUGGESTION + " order by p.id")
+    List<SuggestionDTO> findSuggestions();
+
+    @Query(SUGGESTION + " where p.id = :id")
+    Optional<SuggestionDTO> findSuggestionById(Long id);
+
+    // Name only, no ranking; idx_products_name_upper_trgm (V12) serves the pattern on Postgres.
+    @Query(PRODUCT_VIEW + " where upper(p.name) like upper(concat('%', :name, '%')) order by p.id")
+    List<ProductView> findViewsByNameContaining(String name);
+}
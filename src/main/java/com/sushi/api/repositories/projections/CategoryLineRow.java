@@ -0,0 +1,16 @@
+package com.sushi.api.repositories.projections;
+
+/**
+ * One row of a category left-joined with its products, for reads that need them in a single
+ * query. The product is null for a category without products.
+ */
+public record CategoryLineRow(CategoryRow category, CategoryProductRow product) {
+
+    public CategoryLineRow(Long id, String name, String description, Long categoryVersion,
+                           Long productId, String productName, String productDescription, Long price,
+                           Integer portionQuantity, String portionUnit, String urlImage, Long version) {
+        this(new CategoryRow(id, name, description, categoryVersion),
+                productId == null ? null : new CategoryProductRow(id, productId, productName, productDescription, price,
+                        portionQuantity, portionUnit, urlImage, version));
+    }
+}
@@ -0,0 +1,7 @@
+package com.sushi.api.repositories.projections;
+
+/**
+ * One row of category_product: a product listed under a category.
+ */
+public record CategoryMembershipRow(Long categoryId, Long productId) {
+}
@@ -0,0 +1,8 @@
+package com.sushi.api.repositories.projections;
+
+/**
+ * A product with the id of one of its categories. The price is in cents.
+ */
+public record CategoryProductRow(Long categoryId, Long id, String name, String description, Long price,
+                                 Integer portionQuantity, String portionUnit, String urlImage, Long version) {
+}
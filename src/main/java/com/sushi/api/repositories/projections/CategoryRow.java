@@ -0,0 +1,7 @@
+package com.sushi.api.repositories.projections;
+
+/**
+ * A category without its products, one row per category.
+ */
+public record CategoryRow(Long id, String name, String description, Long version) {
+}
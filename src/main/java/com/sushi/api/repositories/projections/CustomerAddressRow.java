@@ -0,0 +1,9 @@
+package com.sushi.api.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * An address with the id of its customer.
+ */
+public record CustomerAddressRow(UUID customerId, Long id, String number, String street, String neighborhood) {
+}
@@ -0,0 +1,16 @@
+package com.sushi.api.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * One row of a customer left-joined with their phone and addresses, for reads that need them in
+ * a single query. The address is null for a customer without addresses.
+ */
+public record CustomerLineRow(CustomerRow customer, CustomerAddressRow address) {
+
+    public CustomerLineRow(UUID id, String name, String email, Long phoneId, String phoneNumber,
+                           Long addressId, String number, String street, String neighborhood) {
+        this(new CustomerRow(id, name, email, phoneId, phoneNumber),
+                addressId == null ? null : new CustomerAddressRow(id, addressId, number, street, neighborhood));
+    }
+}
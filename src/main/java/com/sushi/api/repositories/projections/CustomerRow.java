@@ -0,0 +1,9 @@
+package com.sushi.api.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * A customer and their phone, one row per customer. The phone columns are null without a phone.
+ */
+public record CustomerRow(UUID id, String name, String email, Long phoneId, String phoneNumber) {
+}
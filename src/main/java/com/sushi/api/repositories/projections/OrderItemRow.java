@@ -0,0 +1,7 @@
+package com.sushi.api.repositories.projections;
+
+/**
+ * An order item with the id of its order. Amounts are in cents.
+ */
+public record OrderItemRow(Long orderId, Long id, Integer quantity, Long price, Long totalPrice) {
+}
@@ -0,0 +1,17 @@
+package com.sushi.api.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of an order left-joined with its items, for reads that need orders and items in a
+ * single query. The item is null for an order without items.
+ */
+public record OrderLineRow(OrderRow order, OrderItemRow item) {
+
+    public OrderLineRow(Long id, LocalDateTime orderDate, Long totalAmount, Long version,
+                        Long addressId, String number, String street, String neighborhood,
+                        Long itemId, Integer quantity, Long price, Long totalPrice) {
+        this(new OrderRow(id, orderDate, totalAmount, version, addressId, number, street, neighborhood),
+                itemId == null ? null : new OrderItemRow(id, itemId, quantity, price, totalPrice));
+    }
+}
@@ -0,0 +1,10 @@
+package com.sushi.api.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order and its delivery address, one row per order. Amounts are in cents.
+ */
+public record OrderRow(Long id, LocalDateTime orderDate, Long totalAmount, Long version,
+                       Long addressId, String number, String street, String neighborhood) {
+}
@@ -0,0 +1,62 @@
+package com.sushi.api.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt cost factor for this machine. One round is timed at a cheap probe strength,
+ * and since every extra step of the cost factor doubles the work, the strength is raised until
+ * a hash would exceed the target. Never goes below the previous fixed default of 10.
+ */
+final class BCryptCalibration {
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCalibration.class);
+    private static final int PROBE_STRENGTH = 6;
+    private static final int PROBE_ROUNDS = 5;
+    private static final String PROBE_PASSWORD = "calibration";
+
+    private BCryptCalibration() {
+    }
+
+    /**
+     * Returns the configured strength, or calibrates one when the setting is "auto".
+     */
+    static int resolveStrength(String setting, Duration target) {
+        if (!"auto".equalsIgnoreCase(setting.trim())) {
+            return Integer.parseInt(setting.trim());
+        }
+        int strength = strengthFor(probeNanos(), target);
+        logger.info("Calibrated BCrypt strength {} for a target of {} ms per hash", strength, target.toMillis());
+        return strength;
+    }
+
+    static int strengthFor(long probeNanos, Duration target) {
+        long cost = Math.max(1, probeNanos);
+        int strength = PROBE_STRENGTH;
+        while (strength < MAX_STRENGTH && cost * 2 <= target.toNanos()) {
+            cost *= 2;
+            strength++;
+        }
+        return Math.max(MIN_STRENGTH, strength);
+    }
+
+    /**
+     * Fastest of a few rounds at the probe strength, after a first one to warm up the JIT.
+     */
+    private static long probeNanos() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        String hash = probe.encode(PROBE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.matches(PROBE_PASSWORD, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,44 @@
+package com.sushi.api.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Lets a metrics scraper in with a static bearer token, since the ADMIN JWTs expire after an hour.
+ * An ADMIN JWT is still accepted. Without a configured token only ADMINs can scrape.
+ */
+public class MetricsScrapeAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+    private static final String BEARER = "Bearer ";
+
+    private final byte[] scrapeToken;
+    private final AuthorizationManager<RequestAuthorizationContext> admin = AuthorityAuthorizationManager.hasAuthority("ADMIN");
+
+    public MetricsScrapeAuthorizationManager(String scrapeToken) {
+        this.scrapeToken = scrapeToken == null || scrapeToken.isBlank() ? null : scrapeToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        if (hasScrapeToken(context.getRequest())) {
+            return new AuthorizationDecision(true);
+        }
+        return admin.check(authentication, context);
+    }
+
+    private boolean hasScrapeToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (scrapeToken == null || header == null || !header.startsWith(BEARER)) {
+            return false;
+        }
+        // Constant time, so the token cannot be guessed from response times.
+        return MessageDigest.isEqual(scrapeToken, header.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,8 @@
 package com.sushi.api.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,11 +11,11 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -21,7 +23,8 @@ public class SecurityConfig {
     private SecurityFilter securityFilter;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${api.metrics.scrape-token:}") String scrapeToken) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -30,18 +33,24 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/customers/login", "/api/auth/customers/register").permitAll()
                         .requestMatchers("/api/auth/employees/login", "/api/auth/employees/register").permitAll()
 
-                        .requestMatchers(HttpMethod.GET, "/api/categories", "api/categories/list", "/api/categories/find/by-name").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/products", "api/products/list", "/api/products/find/by-name").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/categories", "/api/categories/list", "/api/categories/find/by-name").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/products", "/api/products/list", "/api/products/find/by-name", "/api/products/search", "/api/products/suggest").permitAll()
 
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/prometheus").access(new MetricsScrapeAuthorizationManager(scrapeToken))
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/orders/scroll", "/api/customers/scroll", "/api/products/export").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/categories/{id}", "/api/products/{id}", "/api/orders/{id}").hasAnyAuthority("USER", "ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/api/customers", "/api/orders").hasAnyAuthority("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/customers/me/orders").hasAnyAuthority("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/customers", "/api/orders", "/api/orders/batch").hasAnyAuthority("USER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/customers/{id}", "/api/orders/{id}").hasAnyAuthority("USER", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/orders/{id}").hasAnyAuthority("USER", "ADMIN")
 
                         .requestMatchers(HttpMethod.GET, "/api/employees", "/api/employees/list", "/api/employees/find/by-email").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/customers", "/api/customers/{id}", "/api/customers/find/by-name", "/api/customers/find/by-email").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/orders", "/api/orders/list").hasAuthority("ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/api/categories", "/api/products", "/api/employees").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/categories", "/api/products", "/api/products/import", "/api/employees").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/categories", "/api/products", "/api/orders", "/api/employees", "/api/customers").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/categories/{id}", "/api/products/{id}", "/api/employees/{id}").hasAuthority("ADMIN")
 
@@ -51,9 +60,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt on a bounded pool, see {@link BoundedPasswordEncoder}. With threads set to 0 the pool
+     * takes half of the cores, leaving the rest for everything else the API serves.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${api.security.password.strength:10}") String strength,
+                                           @Value("${api.security.password.calibration-target:100ms}") Duration calibrationTarget,
+                                           @Value("${api.security.password.threads:0}") int threads,
+                                           @Value("${api.security.password.queue-capacity:64}") int queueCapacity,
+                                           @Value("${api.security.password.wait-timeout:5s}") Duration waitTimeout,
+                                           @Value("${api.security.password.retry-after:2}") long retryAfterSeconds,
+                                           MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(BCryptCalibration.resolveStrength(strength, calibrationTarget),
+                poolSize, queueCapacity, waitTimeout, retryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,70 @@
+package com.sushi.api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of already verified tokens, keyed by the SHA-256 of the raw token.
+ * Entries are dropped once the token's own expiry has passed.
+ */
+class TokenCache {
+    private final int maxSize;
+    private final Map<String, TokenPrincipal> entries = new ConcurrentHashMap<>();
+
+    TokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    TokenPrincipal get(String token, Instant now) {
+        String key = hash(token);
+        TokenPrincipal principal = entries.get(key);
+        if (principal == null) {
+            return null;
+        }
+        if (principal.isExpired(now)) {
+            entries.remove(key, principal);
+            return null;
+        }
+        return principal;
+    }
+
+    void put(String token, TokenPrincipal principal, Instant now) {
+        if (maxSize <= 0 || principal.isExpired(now)) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evictExpired(now);
+        }
+        if (entries.size() >= maxSize) {
+            Iterator<String> iterator = entries.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        entries.put(hash(token), principal);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(Instant now) {
+        entries.values().removeIf(principal -> principal.isExpired(now));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
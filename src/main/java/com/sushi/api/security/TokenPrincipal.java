@@ -0,0 +1,10 @@
+package com.sushi.api.security;
+
+import java.time.Instant;
+
+public record TokenPrincipal(String subject, String role, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+}
@@ -1,35 +1,64 @@
 package com.sushi.api.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final String ISSUER = "login-auth-api";
 
-    private Algorithm getAlgorithm() {
-        return Algorithm.HMAC256(secret);
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final TokenCache tokenCache;
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Timer validVerifications;
+    private final Timer invalidVerifications;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.cache.max-size:10000}") int cacheMaxSize,
+                        MeterRegistry meterRegistry) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.tokenCache = new TokenCache(cacheMaxSize);
+
+        this.cacheHits = meterRegistry.counter("security.token.cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("security.token.cache", "result", "miss");
+        this.validVerifications = meterRegistry.timer("security.token.verification", "outcome", "valid");
+        this.invalidVerifications = meterRegistry.timer("security.token.verification", "outcome", "invalid");
+        Gauge.builder("security.token.cache.size", tokenCache, TokenCache::size)
+                .register(meterRegistry);
     }
 
     private String createToken(String subject, String role) {
         try {
             return JWT.create()
-                    .withIssuer("login-auth-api")
+                    .withIssuer(ISSUER)
                     .withSubject(subject)
                     .withClaim("role", role)
                     .withExpiresAt(generateExpirationDate())
-                    .sign(getAlgorithm());
+                    .sign(algorithm);
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error while creating token", exception);
         }
@@ -43,39 +72,35 @@ public class TokenService {
         return createToken(employee.getEmail(), "ADMIN");
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns its subject, role and expiry.
+     * Tokens already verified are served from the cache until they expire.
+     */
+    public Optional<TokenPrincipal> verifyToken(String token) {
+        Instant now = Instant.now();
+        TokenPrincipal cached = tokenCache.get(token, now);
+        if (cached != null) {
+            cacheHits.increment();
+            return Optional.of(cached);
+        }
+        cacheMisses.increment();
+
+        long start = System.nanoTime();
         try {
-            JWT.require(getAlgorithm())
-                    .withIssuer("login-auth-api")
-                    .build()
-                    .verify(token);
-            return true;
+            DecodedJWT decoded = verifier.verify(token);
+            Instant expiresAt = decoded.getExpiresAt() != null ? decoded.getExpiresAt().toInstant() : null;
+            TokenPrincipal principal = new TokenPrincipal(decoded.getSubject(), decoded.getClaim("role").asString(), expiresAt);
+            tokenCache.put(token, principal, now);
+            validVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(principal);
         } catch (JWTVerificationException exception) {
-            return false;
+            invalidVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.empty();
         }
     }
 
-    public String getEmailFromToken(String token) {
-        return JWT.require(getAlgorithm())
-                .withIssuer("login-auth-api")
-                .build()
-                .verify(token)
-                .getSubject();
-    }
-
-    public String getRoleFromToken(String token) {
-        return JWT.require(getAlgorithm())
-                .withIssuer("login-auth-api")
-                .build()
-                .verify(token)
-                .getClaim("role").asString();
-    }
-
     public Instant getExpirationDateFromToken(String token) {
-        return JWT.require(getAlgorithm())
-                .withIssuer("login-auth-api")
-                .build()
-                .verify(token)
+        return verifier.verify(token)
                 .getExpiresAt()
                 .toInstant();
     }
@@ -83,4 +108,4 @@ public class TokenService {
     public Instant generateExpirationDate() {
         return LocalDateTime.now().plusHours(1).toInstant(ZoneOffset.of("-03:00"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.sushi.api.services;
+
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.dto.analytics.SalesBucketDTO;
+import com.sushi.api.model.dto.analytics.SalesTotalsDTO;
+import com.sushi.api.services.analytics.SalesAggregateStore;
+import com.sushi.api.services.analytics.SalesDimension;
+import com.sushi.api.services.analytics.SalesGranularity;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sales figures read from the hourly and daily aggregates, so a report costs one row per
+ * bucket and product instead of a scan of order_item. Periods are the last N days, today included.
+ */
+@Service
+@Timed("api.service")
+public class AnalyticsService {
+    private static final int MAX_DAYS = 366;
+    private static final int MAX_HOURLY_DAYS = 31;
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SalesAggregateStore salesAggregateStore;
+
+    public List<SalesTotalsDTO> topProducts(int days, int limit) {
+        return top(SalesDimension.PRODUCT, days, limit);
+    }
+
+    public List<SalesTotalsDTO> topCategories(int days, int limit) {
+        return top(SalesDimension.CATEGORY, days, limit);
+    }
+
+    public List<SalesBucketDTO> productSales(Long id, String granularity, int days) {
+        return series(SalesDimension.PRODUCT, id, granularity, days);
+    }
+
+    public List<SalesBucketDTO> categorySales(Long id, String granularity, int days) {
+        return series(SalesDimension.CATEGORY, id, granularity, days);
+    }
+
+    private List<SalesTotalsDTO> top(SalesDimension dimension, int days, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("The limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return salesAggregateStore.top(dimension, SalesGranularity.DAY, since(days, MAX_DAYS), tomorrow(), limit);
+    }
+
+    private List<SalesBucketDTO> series(SalesDimension dimension, Long id, String granularity, int days) {
+        SalesGranularity buckets = SalesGranularity.of(granularity);
+        int maxDays = buckets == SalesGranularity.HOUR ? MAX_HOURLY_DAYS : MAX_DAYS;
+        return salesAggregateStore.series(dimension, id, buckets, since(days, maxDays), tomorrow());
+    }
+
+    private static LocalDateTime since(int days, int maxDays) {
+        if (days < 1 || days > maxDays) {
+            throw new BadRequestException("The period must be between 1 and " + maxDays + " days.");
+        }
+        return LocalDate.now().minusDays(days - 1L).atStartOfDay();
+    }
+
+    private static LocalDateTime tomorrow() {
+        return LocalDate.now().plusDays(1).atStartOfDay();
+    }
+}
@@ -9,48 +9,65 @@ import com.sushi.api.model.dto.login.RegisterRequestDTO;
 import com.sushi.api.model.dto.login.RegisterResponseDTO;
 import com.sushi.api.repositories.CustomerRepository;
 import com.sushi.api.repositories.EmployeeRepository;
+import com.sushi.api.security.BoundedPasswordEncoder;
 import com.sushi.api.security.TokenService;
-import jakarta.transaction.Transactional;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Logins and sign-ups return futures that complete once the password hash is done, so the request
+ * thread is released while BCrypt runs on the hashing pool. Token signing runs on the hasher right
+ * after the hash; saving a new account goes back to the application task executor, so hashers
+ * never wait on the database.
+ */
 @Service
+@Timed("api.service")
 public class AuthService {
 
     private final TokenService tokenService;
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
     private final CustomerRepository customerRepository;
     private final EmployeeRepository employeeRepository;
+    private final Executor taskExecutor;
 
-    public AuthService(TokenService tokenService, PasswordEncoder passwordEncoder, CustomerRepository customerRepository, EmployeeRepository employeeRepository) {
+    public AuthService(TokenService tokenService, BoundedPasswordEncoder passwordEncoder, CustomerRepository customerRepository,
+                       EmployeeRepository employeeRepository, @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.tokenService = tokenService;
         this.passwordEncoder = passwordEncoder;
         this.customerRepository = customerRepository;
         this.employeeRepository = employeeRepository;
+        this.taskExecutor = taskExecutor;
     }
 
-    public LoginResponseDTO loginCustomer(LoginRequestDTO dto) {
+    public CompletableFuture<LoginResponseDTO> loginCustomer(LoginRequestDTO dto) {
         Customer customer = customerRepository.findByEmail(dto.email())
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found."));
 
-        if (passwordEncoder.matches(dto.password(), customer.getPassword())) {
-            String token = tokenService.generateCustomerToken(customer);
-            Instant expiresAt = tokenService.getExpirationDateFromToken(token);
-            return new LoginResponseDTO(customer.getName(), token, expiresAt.toString());
-        }
-
-        return new LoginResponseDTO("Invalid credentials", null, null);
+        return passwordEncoder.matchesAsync(dto.password(), customer.getPassword()).thenApply(matches -> {
+            if (matches) {
+                String token = tokenService.generateCustomerToken(customer);
+                Instant expiresAt = tokenService.getExpirationDateFromToken(token);
+                return new LoginResponseDTO(customer.getName(), token, expiresAt.toString());
+            }
+            return new LoginResponseDTO("Invalid credentials", null, null);
+        });
     }
 
-    @Transactional
-    public RegisterResponseDTO registerCustomer(RegisterRequestDTO dto) {
+    public CompletableFuture<RegisterResponseDTO> registerCustomer(RegisterRequestDTO dto) {
         Optional<Customer> existingCustomer = customerRepository.findByEmail(dto.email());
-        if (existingCustomer.isEmpty()) {
+        if (existingCustomer.isPresent()) {
+            return CompletableFuture.completedFuture(new RegisterResponseDTO("Customer already exists", null, null));
+        }
+
+        return passwordEncoder.encodeAsync(dto.password()).thenApplyAsync(encodedPassword -> {
             Customer newCustomer = new Customer();
-            newCustomer.setPassword(passwordEncoder.encode(dto.password()));
+            newCustomer.setPassword(encodedPassword);
             newCustomer.setEmail(dto.email());
             newCustomer.setName(dto.name());
 
@@ -58,38 +75,38 @@ public class AuthService {
             String token = tokenService.generateCustomerToken(newCustomer);
             Instant expiresAt = tokenService.getExpirationDateFromToken(token);
             return new RegisterResponseDTO(newCustomer.getName(), token, expiresAt.toString());
-        }
-
-        return new RegisterResponseDTO("Customer already exists", null, null);
+        }, taskExecutor);
     }
 
-    public LoginResponseDTO loginEmployee(LoginRequestDTO dto) {
+    public CompletableFuture<LoginResponseDTO> loginEmployee(LoginRequestDTO dto) {
         Employee employee = employeeRepository.findByEmail(dto.email())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found."));
 
-        if (passwordEncoder.matches(dto.password(), employee.getPassword())) {
-            String token = tokenService.generateEmployeeToken(employee);
-            Instant expiresAt = tokenService.getExpirationDateFromToken(token);
-            return new LoginResponseDTO(employee.getName(), token, expiresAt.toString());
-        }
-
-        return new LoginResponseDTO("Invalid credentials", null, null);
+        return passwordEncoder.matchesAsync(dto.password(), employee.getPassword()).thenApply(matches -> {
+            if (matches) {
+                String token = tokenService.generateEmployeeToken(employee);
+                Instant expiresAt = tokenService.getExpirationDateFromToken(token);
+                return new LoginResponseDTO(employee.getName(), token, expiresAt.toString());
+            }
+            return new LoginResponseDTO("Invalid credentials", null, null);
+        });
     }
 
-    @Transactional
-    public RegisterResponseDTO registerEmployee(RegisterRequestDTO dto) {
+    public CompletableFuture<RegisterResponseDTO> registerEmployee(RegisterRequestDTO dto) {
         Optional<Employee> existingEmployee = employeeRepository.findByEmail(dto.email());
-        if (existingEmployee.isEmpty()) {
+        if (existingEmployee.isPresent()) {
+            return CompletableFuture.completedFuture(new RegisterResponseDTO("Employee already exists", null, null));
+        }
+
+        return passwordEncoder.encodeAsync(dto.password()).thenApplyAsync(encodedPassword -> {
             Employee newEmployee = new Employee();
-            newEmployee.setPassword(passwordEncoder.encode(dto.password()));
+            newEmployee.setPassword(encodedPassword);
             newEmployee.setEmail(dto.email());
             newEmployee.setName(dto.name());
             employeeRepository.save(newEmployee);
             String token = tokenService.generateEmployeeToken(newEmployee);
             Instant expiresAt = tokenService.getExpirationDateFromToken(token);
             return new RegisterResponseDTO(newEmployee.getName(), token, expiresAt.toString());
-        }
-
-        return new RegisterResponseDTO("Employee already exists", null, null);
+        }, taskExecutor);
     }
 }
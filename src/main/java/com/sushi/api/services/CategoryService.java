@@ -4,18 +4,26 @@ import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Category;
 import com.sushi.api.model.dto.category.CategoryRequestDTO;
 import com.sushi.api.model.dto.category.CategoryUpdateDTO;
+import com.sushi.api.model.dto.category.CategoryView;
 import com.sushi.api.repositories.CategoryRepository;
 import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.repositories.projections.CategoryRow;
+import com.sushi.api.utils.EntityTags;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
+@Timed("api.service")
 public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
@@ -23,12 +31,25 @@ public class CategoryService {
     @Autowired
     private ProductRepository productRepository;
 
-    public List<Category> listAllNonPageable() {
-        return categoryRepository.findAll();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public List<CategoryView> listAllNonPageable() {
+        return CategoryViews.fromLines(categoryRepository.findAllLines());
+    }
+
+    /**
+     * Streams every category in the same shape as the JSON list, from a single query over
+     * projection rows.
+     */
+    @Transactional
+    public void streamAll(Consumer<CategoryView> consumer) {
+        CategoryViews.forEachView(categoryRepository.streamAllLines(), consumer);
     }
 
-    public Page<Category> listAllPageable(Pageable pageable) {
-        return categoryRepository.findAll(pageable);
+    public Page<CategoryView> listAllPageable(Pageable pageable) {
+        Page<CategoryRow> rows = categoryRepository.findRows(pageable);
+        return new PageImpl<>(withProducts(rows.getContent()), pageable, rows.getTotalElements());
     }
 
     public Category findCategoryById(Long id) {
@@ -36,8 +57,16 @@ public class CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with this id."));
     }
 
-    public List<Category> findCategoryByName(String name) {
-        List<Category> categories = categoryRepository.findByNameContainingIgnoreCase(name);
+    public CategoryView findCategoryViewById(Long id) {
+        List<CategoryView> views = CategoryViews.fromLines(categoryRepository.findLinesById(id));
+        if (views.isEmpty()) {
+            throw new ResourceNotFoundException("Category not found with this id.");
+        }
+        return views.get(0);
+    }
+
+    public List<CategoryView> findCategoryByName(String name) {
+        List<CategoryView> categories = CategoryViews.fromLines(categoryRepository.findLinesByNameContaining(name));
         if (categories.isEmpty()) {
             throw new ResourceNotFoundException("No categories found with this name.");
         }
@@ -56,21 +85,45 @@ public class CategoryService {
         category.setName(dto.name());
         category.setDescription(dto.description());
 
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new MenuChangedEvent("category", category.getId()));
+        return savedCategory;
     }
 
     @Transactional
     public void replaceCategory(CategoryUpdateDTO dto) {
+        replaceCategory(dto, null);
+    }
+
+    /**
+     * Replaces the category only when the If-Match header, if any, matches its current ETag (see
+     * CategoryView#entityTag), the one GET /api/categories/{id} returns.
+     */
+    @Transactional
+    public void replaceCategory(CategoryUpdateDTO dto, String ifMatch) {
         Category category = findCategoryById(dto.id());
+        EntityTags.checkIfMatch(ifMatch, CategoryView.of(category).entityTag());
 
         category.setName(dto.name());
         category.setDescription(dto.description());
 
         categoryRepository.save(category);
+        eventPublisher.publishEvent(new MenuChangedEvent("category", dto.id()));
     }
 
     @Transactional
     public void deleteCategory(Long id) {
         categoryRepository.delete(findCategoryById(id));
+        eventPublisher.publishEvent(new MenuChangedEvent("category", id));
+    }
+
+    /**
+     * Loads the products of all the given categories in one query.
+     */
+    private List<CategoryView> withProducts(List<CategoryRow> categories) {
+        if (categories.isEmpty()) {
+            return List.of();
+        }
+        return CategoryViews.assemble(categories, categoryRepository.findProductRows(categories.stream().map(CategoryRow::id).toList()));
     }
 }
\ No newline at end of file
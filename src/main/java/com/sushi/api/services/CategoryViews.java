@@ -0,0 +1,66 @@
+package com.sushi.api.services;
+
+import com.sushi.api.model.dto.category.CategoryView;
+import com.sushi.api.model.dto.product.ProductView;
+import com.sushi.api.repositories.projections.CategoryLineRow;
+import com.sushi.api.repositories.projections.CategoryProductRow;
+import com.sushi.api.repositories.projections.CategoryRow;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Folds category projection rows into CategoryViews, keeping the order of the rows.
+ */
+final class CategoryViews {
+
+    private CategoryViews() {
+    }
+
+    static List<CategoryView> fromLines(List<CategoryLineRow> lines) {
+        Map<Long, CategoryRow> categories = new LinkedHashMap<>();
+        List<CategoryProductRow> products = new ArrayList<>();
+        for (CategoryLineRow line : lines) {
+            categories.putIfAbsent(line.category().id(), line.category());
+            if (line.product() != null) {
+                products.add(line.product());
+            }
+        }
+        return assemble(List.copyOf(categories.values()), products);
+    }
+
+    /**
+     * Folds a stream of lines sorted by category id into views, one category at a time, so only
+     * the lines of the current category are held in memory.
+     */
+    static void forEachView(Stream<CategoryLineRow> lines, Consumer<CategoryView> consumer) {
+        List<CategoryLineRow> current = new ArrayList<>();
+        try (lines) {
+            lines.forEach(line -> {
+                if (!current.isEmpty() && !current.get(0).category().id().equals(line.category().id())) {
+                    fromLines(current).forEach(consumer);
+                    current.clear();
+                }
+                current.add(line);
+            });
+        }
+        fromLines(current).forEach(consumer);
+    }
+
+    static List<CategoryView> assemble(List<CategoryRow> categories, List<CategoryProductRow> products) {
+        Map<Long, List<ProductView>> productsByCategory = products.stream()
+                .collect(Collectors.groupingBy(CategoryProductRow::categoryId,
+                        Collectors.mapping(CategoryViews::product, Collectors.toList())));
+        return categories.stream()
+                .map(category -> new CategoryView(category.id(), category.name(), category.description(),
+                        productsByCategory.getOrDefault(category.id(), List.of()), category.version()))
+                .toList();
+    }
+
+    private static ProductView product(CategoryProductRow row) {
+        return new ProductView(row.id(), row.name(), row.description(), row.price(),
+                row.portionQuantity(), row.portionUnit(), row.urlImage(), row.version());
+    }
+}
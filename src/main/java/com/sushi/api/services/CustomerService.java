@@ -1,38 +1,79 @@
 package com.sushi.api.services;
 
+import com.sushi.api.exceptions.BadRequestException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Address;
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.Phone;
 import com.sushi.api.model.dto.customer.CustomerRequestDTO;
 import com.sushi.api.model.dto.customer.CustomerUpdateDTO;
+import com.sushi.api.model.dto.customer.CustomerView;
+import com.sushi.api.model.dto.page.CursorPageDTO;
 import com.sushi.api.repositories.CustomerRepository;
+import com.sushi.api.repositories.projections.CustomerRow;
+import com.sushi.api.security.BoundedPasswordEncoder;
+import com.sushi.api.utils.ContinuationToken;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("api.service")
 public class CustomerService {
+    private static final int MAX_CURSOR_LIMIT = 100;
+
     @Autowired
     private CustomerRepository customerRepository;
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private BoundedPasswordEncoder passwordEncoder;
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
-    public Page<Customer> listAllPageable(Pageable pageable) {
-        return customerRepository.findAll(pageable);
+    public Page<CustomerView> listAllPageable(Pageable pageable) {
+        Page<CustomerRow> rows = customerRepository.findRows(pageable);
+        return new PageImpl<>(withAddresses(rows.getContent()), pageable, rows.getTotalElements());
     }
 
-    public List<Customer> listAllNonPageable() {
-        return customerRepository.findAll();
+    public List<CustomerView> listAllNonPageable() {
+        return CustomerViews.fromLines(customerRepository.findAllLines());
+    }
+
+    /**
+     * Streams every customer in the same shape as the JSON list, from a single query over
+     * projection rows.
+     */
+    @Transactional
+    public void streamAll(Consumer<CustomerView> consumer) {
+        CustomerViews.forEachView(customerRepository.streamAllLines(), consumer);
+    }
+
+    public CursorPageDTO<CustomerView> listAllByCursor(String after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_CURSOR_LIMIT));
+        List<CustomerRow> rows = after == null
+                ? customerRepository.findRowsOrderById(Limit.of(size + 1))
+                : customerRepository.findRowsAfter(decodeCustomerId(after), Limit.of(size + 1));
+        CursorPageDTO<CustomerRow> page = CursorPageDTO.of(rows, size, row -> ContinuationToken.encode(row.id().toString()));
+        return new CursorPageDTO<>(withAddresses(page.content()), page.next());
     }
 
     public Customer findCustomerById(UUID id) {
@@ -40,28 +81,48 @@ public class CustomerService {
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with this id."));
     }
 
-    public List<Customer> findCustomerByName(String name) {
-        List<Customer> customers = customerRepository.findByNameContainingIgnoreCase(name);
+    public CustomerView findCustomerViewById(UUID id) {
+        List<CustomerView> views = CustomerViews.fromLines(customerRepository.findLinesById(id));
+        if (views.isEmpty()) {
+            throw new ResourceNotFoundException("Customer not found with this id.");
+        }
+        return views.get(0);
+    }
+
+    public List<CustomerView> findCustomerByName(String name) {
+        List<CustomerView> customers = CustomerViews.fromLines(customerRepository.findLinesByNameContaining(name));
         if (customers.isEmpty()) {
             throw new ResourceNotFoundException("No customers found with this name.");
         }
         return customers;
     }
 
-    public Customer findCustomerByEmail(String email) {
-        return customerRepository.findByEmail(email).orElseThrow(() -> new ResourceNotFoundException("Customer not found with this id."));
+    public CustomerView findCustomerByEmail(String email) {
+        List<CustomerView> views = CustomerViews.fromLines(customerRepository.findLinesByEmail(email));
+        if (views.isEmpty()) {
+            throw new ResourceNotFoundException("Customer not found with this id.");
+        }
+        return views.get(0);
     }
 
-    @Transactional
-    public Customer createCustomer(CustomerRequestDTO dto) {
+    /**
+     * Completes once the customer is saved. The password is hashed on the hashing pool and the
+     * customer saved on the application task executor, so the request thread is released meanwhile.
+     */
+    public CompletableFuture<Customer> createCustomer(CustomerRequestDTO dto) {
         if (customerRepository.findByEmail(dto.email()).isPresent()) {
             throw new DataIntegrityViolationException("Data integrity violation error occurred.");
         }
 
+        return passwordEncoder.encodeAsync(dto.password())
+                .thenApplyAsync(encodedPassword -> saveNewCustomer(dto, encodedPassword), taskExecutor);
+    }
+
+    private Customer saveNewCustomer(CustomerRequestDTO dto, String encodedPassword) {
         Customer customer = new Customer();
         customer.setName(dto.name());
         customer.setEmail(dto.email());
-        customer.setPassword(passwordEncoder.encode(dto.password()));
+        customer.setPassword(encodedPassword);
 
         Phone phone = new Phone();
         phone.setNumber(dto.phone().number());
@@ -84,12 +145,21 @@ public class CustomerService {
         return customerRepository.save(customer);
     }
 
-    @Transactional
-    public void replaceCustomer(CustomerUpdateDTO dto) {
+    /**
+     * Completes once the customer is replaced. Like createCustomer, the hash runs on the hashing
+     * pool; the customer is then read and written in one transaction on the task executor.
+     */
+    public CompletableFuture<Void> replaceCustomer(CustomerUpdateDTO dto) {
+        return passwordEncoder.encodeAsync(dto.password())
+                .thenAcceptAsync(encodedPassword -> new TransactionTemplate(transactionManager)
+                        .executeWithoutResult(status -> replaceCustomer(dto, encodedPassword)), taskExecutor);
+    }
+
+    private void replaceCustomer(CustomerUpdateDTO dto, String encodedPassword) {
         Customer savedCustomer = findCustomerById(dto.id());
         savedCustomer.setName(dto.name());
         savedCustomer.setEmail(dto.email());
-        savedCustomer.setPassword(passwordEncoder.encode(dto.password()));
+        savedCustomer.setPassword(encodedPassword);
 
         Phone phone = savedCustomer.getPhone();
         if (phone == null) {
@@ -121,4 +191,22 @@ public class CustomerService {
     public void deleteCustomer(UUID id) {
         customerRepository.delete(findCustomerById(id));
     }
+
+    /**
+     * Loads the addresses of all the given customers in one query.
+     */
+    private List<CustomerView> withAddresses(List<CustomerRow> customers) {
+        if (customers.isEmpty()) {
+            return List.of();
+        }
+        return CustomerViews.assemble(customers, customerRepository.findAddressRows(customers.stream().map(CustomerRow::id).toList()));
+    }
+
+    private UUID decodeCustomerId(String token) {
+        try {
+            return UUID.fromString(ContinuationToken.decode(token));
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Invalid continuation token.");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.sushi.api.services;
+
+import com.sushi.api.model.dto.address.AddressView;
+import com.sushi.api.model.dto.customer.CustomerView;
+import com.sushi.api.model.dto.phone.PhoneView;
+import com.sushi.api.repositories.projections.CustomerAddressRow;
+import com.sushi.api.repositories.projections.CustomerLineRow;
+import com.sushi.api.repositories.projections.CustomerRow;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Folds customer projection rows into CustomerViews, keeping the order of the rows.
+ */
+final class CustomerViews {
+
+    private CustomerViews() {
+    }
+
+    static List<CustomerView> fromLines(List<CustomerLineRow> lines) {
+        Map<UUID, CustomerRow> customers = new LinkedHashMap<>();
+        List<CustomerAddressRow> addresses = new ArrayList<>();
+        for (CustomerLineRow line : lines) {
+            customers.putIfAbsent(line.customer().id(), line.customer());
+            if (line.address() != null) {
+                addresses.add(line.address());
+            }
+        }
+        return assemble(List.copyOf(customers.values()), addresses);
+    }
+
+    /**
+     * Folds a stream of lines sorted by customer id into views, one customer at a time, so only
+     * the lines of the current customer are held in memory.
+     */
+    static void forEachView(Stream<CustomerLineRow> lines, Consumer<CustomerView> consumer) {
+        List<CustomerLineRow> current = new ArrayList<>();
+        try (lines) {
+            lines.forEach(line -> {
+                if (!current.isEmpty() && !current.get(0).customer().id().equals(line.customer().id())) {
+                    fromLines(current).forEach(consumer);
+                    current.clear();
+                }
+                current.add(line);
+            });
+        }
+        fromLines(current).forEach(consumer);
+    }
+
+    static List<CustomerView> assemble(List<CustomerRow> customers, List<CustomerAddressRow> addresses) {
+        Map<UUID, List<AddressView>> addressesByCustomer = addresses.stream()
+                .collect(Collectors.groupingBy(CustomerAddressRow::customerId,
+                        Collectors.mapping(CustomerViews::address, Collectors.toList())));
+        return customers.stream()
+                .map(customer -> new CustomerView(customer.id(), customer.name(), customer.email(),
+                        customer.phoneNumber() == null ? null : new PhoneView(customer.phoneId(), customer.phoneNumber()),
+                        addressesByCustomer.getOrDefault(customer.id(), List.of())))
+                .toList();
+    }
+
+    private static AddressView address(CustomerAddressRow row) {
+        return new AddressView(row.id(), row.number(), row.street(), row.neighborhood());
+    }
+}
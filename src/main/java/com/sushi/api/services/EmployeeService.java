@@ -4,7 +4,9 @@ import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Employee;
 import com.sushi.api.model.dto.employee.EmployeeRequestDTO;
 import com.sushi.api.model.dto.employee.EmployeeUpdateDTO;
+import com.sushi.api.model.dto.employee.EmployeeView;
 import com.sushi.api.repositories.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -15,28 +17,42 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed("api.service")
 public class EmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public Page<Employee> listAllPageable(Pageable pageable) {
-        return employeeRepository.findAll(pageable);
+    public Page<EmployeeView> listAllPageable(Pageable pageable) {
+        return employeeRepository.findViews(pageable);
     }
 
-    public List<Employee> listAllNonPageable() {
-        return employeeRepository.findAll();
+    public List<EmployeeView> listAllNonPageable() {
+        return employeeRepository.findAllViews();
+    }
+
+    @Transactional
+    public void streamAll(Consumer<EmployeeView> consumer) {
+        try (Stream<EmployeeView> employees = employeeRepository.streamAllViews()) {
+            employees.forEach(consumer);
+        }
     }
 
     public Employee findEmployeeById(UUID id) {
         return employeeRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Employee not found with this id."));
     }
 
-    public Employee findEmployeeByEmail(String email) {
-        return employeeRepository.findByEmail(email)
+    public EmployeeView findEmployeeViewById(UUID id) {
+        return employeeRepository.findViewById(id).orElseThrow(() -> new ResourceNotFoundException("Employee not found with this id."));
+    }
+
+    public EmployeeView findEmployeeByEmail(String email) {
+        return employeeRepository.findViewByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with this id."));
     }
 
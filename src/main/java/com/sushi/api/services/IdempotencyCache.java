@@ -0,0 +1,58 @@
+package com.sushi.api.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived front for the idempotency_keys table, so the retries of a storm are answered
+ * without a query. Only completed responses are cached; the table stays the source of truth.
+ */
+class IdempotencyCache {
+    private final Duration ttl;
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    IdempotencyCache(Duration ttl, int maxSize) {
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+    }
+
+    IdempotencyService.StoredResponse get(String key, Instant now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.expiresAt().isAfter(now)) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.response();
+    }
+
+    void put(String key, IdempotencyService.StoredResponse response, Instant now) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        }
+        if (entries.size() >= maxSize) {
+            Iterator<String> iterator = entries.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        entries.put(key, new Entry(response, now.plus(ttl)));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(IdempotencyService.StoredResponse response, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.UnprocessableEntityException;
+import com.sushi.api.model.IdempotencyKey;
+import com.sushi.api.repositories.IdempotencyKeyRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Makes a POST safe to retry with an Idempotency-Key header. The key is stored in the same
+ * transaction as the work it guards, before the work runs: a concurrent retry blocks on the unique
+ * constraint until the first attempt commits, then replays its stored response. A retry after a
+ * failed attempt finds no key and runs again. Reusing a key for a different body is rejected.
+ */
+@Service
+@Timed("api.service")
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransactionTemplate;
+    private final IdempotencyCache cache;
+    private final Duration retention;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${api.idempotency.cache.ttl:10m}") Duration cacheTtl,
+                              @Value("${api.idempotency.cache.max-size:1000}") int cacheMaxSize,
+                              @Value("${api.idempotency.retention:24h}") Duration retention) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransactionTemplate.setReadOnly(true);
+        this.cache = new IdempotencyCache(cacheTtl, cacheMaxSize);
+        this.retention = retention;
+    }
+
+    /**
+     * Runs the action once per caller, scope and key, and replays its response for every retry.
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+        String owner = currentOwner();
+        String requestHash = fingerprint(request);
+        String cacheKey = owner + '\n' + scope + '\n' + key;
+
+        StoredResponse cached = cache.get(cacheKey, Instant.now());
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        try {
+            Outcome outcome = transactionTemplate.execute(status -> {
+                IdempotencyKey record = idempotencyKeyRepository.saveAndFlush(
+                        new IdempotencyKey(owner, scope, key, requestHash, LocalDateTime.now()));
+                ResponseEntity<?> response = action.get();
+                record.complete(response.getStatusCode().value(), serialize(response.getBody()));
+                return new Outcome(response, StoredResponse.of(record));
+            });
+            cache.put(cacheKey, outcome.stored(), Instant.now());
+            return outcome.response();
+        } catch (DataIntegrityViolationException exception) {
+            // Either another attempt with this key committed first, or the action itself hit a constraint.
+            IdempotencyKey existing = readTransactionTemplate.execute(status ->
+                            idempotencyKeyRepository.findByOwnerAndScopeAndKey(owner, scope, key))
+                    .orElseThrow(() -> exception);
+            StoredResponse stored = StoredResponse.of(existing);
+            cache.put(cacheKey, stored, Instant.now());
+            return replay(stored, requestHash);
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${api.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new UnprocessableEntityException("Idempotency-Key was already used with a different request.");
+        }
+        return ResponseEntity.status(stored.statusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.body());
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not serialize the request", exception);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private String serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not serialize the response", exception);
+        }
+    }
+
+    private static String currentOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    record StoredResponse(String requestHash, int statusCode, String body) {
+        static StoredResponse of(IdempotencyKey record) {
+            return new StoredResponse(record.getRequestHash(), record.getStatusCode(), record.getResponseBody());
+        }
+    }
+
+    private record Outcome(ResponseEntity<?> response, StoredResponse stored) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.sushi.api.services;
+
+/**
+ * Published by the product and category services whenever the public menu is modified.
+ */
+public record MenuChangedEvent(String entity, Long id) {
+}
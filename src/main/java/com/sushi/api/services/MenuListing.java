@@ -0,0 +1,33 @@
+package com.sushi.api.services;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * One listing of the menu snapshot with its JSON and XML bodies already serialized.
+ * The byte arrays are shared by every request and must not be modified.
+ */
+public record MenuListing<T>(List<T> items, byte[] json, byte[] xml) {
+
+    public byte[] body(boolean asXml) {
+        return asXml ? xml : json;
+    }
+
+    public List<T> page(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return items;
+        }
+        long offset = pageable.getOffset();
+        if (offset >= items.size()) {
+            return List.of();
+        }
+        int from = (int) offset;
+        int to = Math.min(items.size(), from + pageable.getPageSize());
+        return items.subList(from, to);
+    }
+
+    public int sizeInBytes() {
+        return json.length + xml.length;
+    }
+}
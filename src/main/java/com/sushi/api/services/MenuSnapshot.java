@@ -0,0 +1,15 @@
+package com.sushi.api.services;
+
+import com.sushi.api.model.dto.category.CategoryView;
+import com.sushi.api.model.dto.product.ProductView;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public record MenuSnapshot(MenuListing<ProductView> products, MenuListing<CategoryView> categories,
+                           Instant builtAt, Duration rebuildTime) {
+
+    public long sizeInBytes() {
+        return (long) products.sizeInBytes() + categories.sizeInBytes();
+    }
+}
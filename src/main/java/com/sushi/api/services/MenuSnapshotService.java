@@ -0,0 +1,137 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.model.dto.category.CategoryView;
+import com.sushi.api.model.dto.menu.MenuSnapshotStatusDTO;
+import com.sushi.api.model.dto.product.ProductView;
+import com.sushi.api.repositories.CategoryRepository;
+import com.sushi.api.repositories.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the public menu (products and categories) in memory, already serialized, so the
+ * permit-all listing endpoints are served without touching the database or Jackson.
+ * The snapshot is replaced as a whole after every committed menu change.
+ */
+@Service
+@Timed("api.service")
+public class MenuSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(MenuSnapshotService.class);
+
+    private static final TypeReference<List<ProductView>> PRODUCT_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<CategoryView>> CATEGORY_LIST = new TypeReference<>() {};
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper xmlMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicReference<MenuSnapshot> current = new AtomicReference<>();
+    // Not synchronized: holding a monitor across JDBC calls pins a virtual thread to its carrier.
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public MenuSnapshotService(ProductRepository productRepository,
+                               CategoryRepository categoryRepository,
+                               ObjectMapper objectMapper,
+                               Jackson2ObjectMapperBuilder objectMapperBuilder,
+                               PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.jsonMapper = objectMapper;
+        // Same configuration as the XML message converter, so bodies match what MVC would write.
+        this.xmlMapper = objectMapperBuilder.createXmlMapper(true).build();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Returns the current snapshot, or null when none is loaded and callers must read the database.
+     */
+    public MenuSnapshot current() {
+        return current.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildQuietly();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        rebuildQuietly();
+    }
+
+    /**
+     * Reads and serializes the whole menu in its own read-only transaction, then swaps it in.
+     * Rebuilds are serialized so an older read can never replace a newer snapshot.
+     */
+    public MenuSnapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            MenuSnapshot snapshot = transactionTemplate.execute(status -> {
+                List<ProductView> products = productRepository.findAllViews();
+                List<CategoryView> categories = CategoryViews.fromLines(categoryRepository.findAllLines());
+                return new MenuSnapshot(listing(products, PRODUCT_LIST), listing(categories, CATEGORY_LIST),
+                        Instant.now(), Duration.ofNanos(System.nanoTime() - start));
+            });
+            current.set(snapshot);
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public MenuSnapshotStatusDTO status() {
+        MenuSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return new MenuSnapshotStatusDTO(false, null, 0, 0, 0, 0, 0);
+        }
+        return new MenuSnapshotStatusDTO(true,
+                snapshot.builtAt(),
+                Duration.between(snapshot.builtAt(), Instant.now()).toMillis(),
+                snapshot.products().items().size(),
+                snapshot.categories().items().size(),
+                snapshot.sizeInBytes(),
+                snapshot.rebuildTime().toMillis());
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException exception) {
+            // Serving a stale menu is worse than a slower one: fall back to the database.
+            current.set(null);
+            logger.warn("Could not rebuild the menu snapshot, serving the menu from the database", exception);
+        }
+    }
+
+    private <T> MenuListing<T> listing(List<T> items, TypeReference<List<T>> type) {
+        try {
+            return new MenuListing<>(items,
+                    jsonMapper.writerFor(type).writeValueAsBytes(items),
+                    xmlMapper.writerFor(type).writeValueAsBytes(items));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Error while serializing the menu snapshot", exception);
+        }
+    }
+}
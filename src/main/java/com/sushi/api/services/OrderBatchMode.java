@@ -0,0 +1,22 @@
+package com.sushi.api.services;
+
+import com.sushi.api.exceptions.BadRequestException;
+
+/**
+ * What a batch of orders does when some of them cannot be created.
+ */
+public enum OrderBatchMode {
+    /** Nothing is created unless every order can be. */
+    ALL_OR_NOTHING,
+    /** The valid orders are created; the others are reported as failed. */
+    BEST_EFFORT;
+
+    public static OrderBatchMode of(String value) {
+        for (OrderBatchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.replace('-', '_'))) {
+                return mode;
+            }
+        }
+        throw new BadRequestException("The mode must be 'all_or_nothing' or 'best_effort'.");
+    }
+}
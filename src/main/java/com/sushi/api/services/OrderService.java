@@ -1,47 +1,115 @@
 package com.sushi.api.services;
 
+import com.sushi.api.exceptions.BadRequestException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.*;
 import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order.OrderSummaryDTO;
 import com.sushi.api.model.dto.order.OrderUpdateDTO;
+import com.sushi.api.model.dto.order.OrderView;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemUpdateDTO;
+import com.sushi.api.model.dto.page.CursorPageDTO;
 import com.sushi.api.repositories.*;
+import com.sushi.api.repositories.projections.OrderRow;
+import com.sushi.api.services.analytics.OrderSales;
+import com.sushi.api.services.analytics.SalesAggregator;
+import com.sushi.api.utils.ContinuationToken;
+import com.sushi.api.utils.EntityTags;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("api.service")
 public class OrderService {
+    private static final int MAX_CURSOR_LIMIT = 100;
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final AddressRepository addressRepository;
     private final ProductRepository productRepository;
     private final OrderItemRepository orderItemRepository;
+    private final EntityManager entityManager;
+    private final SalesAggregator salesAggregator;
 
-    public OrderService(OrderRepository orderRepository, CustomerRepository customerRepository, AddressRepository addressRepository, ProductRepository productRepository, OrderItemRepository orderItemRepository) {
+    public OrderService(OrderRepository orderRepository, CustomerRepository customerRepository, AddressRepository addressRepository, ProductRepository productRepository, OrderItemRepository orderItemRepository, EntityManager entityManager, SalesAggregator salesAggregator) {
         this.orderRepository = orderRepository;
         this.customerRepository = customerRepository;
         this.addressRepository = addressRepository;
         this.productRepository = productRepository;
         this.orderItemRepository = orderItemRepository;
+        this.entityManager = entityManager;
+        this.salesAggregator = salesAggregator;
+    }
+
+    public List<OrderView> listAllNonPageable() {
+        return OrderViews.fromLines(orderRepository.findAllLines());
+    }
+
+    /**
+     * Streams every order in the same shape as the JSON list, from a single query over projection
+     * rows, so nothing is loaded per order and no entity enters the persistence context.
+     */
+    @Transactional
+    public void streamAll(Consumer<OrderView> consumer) {
+        OrderViews.forEachView(orderRepository.streamAllLines(), consumer);
+    }
+
+    public Page<OrderView> listAllPageable(Pageable pageable) {
+        Page<OrderRow> rows = orderRepository.findRows(pageable);
+        return new PageImpl<>(withItems(rows.getContent()), pageable, rows.getTotalElements());
     }
 
-    public List<Order> listAllNonPageable() {
-        return orderRepository.findAll();
+    public CursorPageDTO<OrderView> listAllByCursor(String after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_CURSOR_LIMIT));
+        List<OrderRow> rows = after == null
+                ? orderRepository.findRowsOrderById(Limit.of(size + 1))
+                : orderRepository.findRowsAfter(decodeOrderId(after), Limit.of(size + 1));
+        CursorPageDTO<OrderRow> page = CursorPageDTO.of(rows, size, row -> ContinuationToken.encode(row.id().toString()));
+        return new CursorPageDTO<>(withItems(page.content()), page.next());
     }
 
-    public Page<Order> listAllPageable(Pageable pageable) {
-        return orderRepository.findAll(pageable);
+    /**
+     * Order history of the customer with this email, newest first, in keyset pages.
+     * The continuation token carries the date and id of the last order of the previous page.
+     */
+    public CursorPageDTO<OrderSummaryDTO> listCustomerOrders(String email, String after, int limit) {
+        UUID customerId = customerRepository.findIdByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with this email."));
+        int size = Math.max(1, Math.min(limit, MAX_CURSOR_LIMIT));
+        List<OrderSummaryDTO> rows = after == null
+                ? orderRepository.findSummariesByCustomer(customerId, Limit.of(size + 1))
+                : findSummariesBefore(customerId, after, size + 1);
+        return CursorPageDTO.of(rows, size, order -> ContinuationToken.encode(order.orderDate() + "," + order.id()));
     }
 
     public Order findOrderById(Long id) {
         return orderRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Order not found with this id."));
     }
 
+    public OrderView findOrderViewById(Long id) {
+        List<OrderView> views = OrderViews.fromLines(orderRepository.findLinesById(id));
+        if (views.isEmpty()) {
+            throw new ResourceNotFoundException("Order not found with this id.");
+        }
+        return views.get(0);
+    }
+
     @Transactional
     public Order createOrder(OrderRequestDTO dto) {
         Customer customer = customerRepository.findById(dto.customerId())
@@ -49,18 +117,30 @@ public class OrderService {
         Address address = addressRepository.findById(dto.deliveryAddressId())
                 .orElseThrow(() -> new ResourceNotFoundException("Address not found with this id."));
 
+        Map<Long, Product> products = findAllByIds(productRepository, Product::getId, "Products",
+                dto.items().stream().map(OrderItemRequestDTO::productId).toList());
+        Order order = newOrder(customer, address, dto.items(), products);
+
+        Order savedOrder = orderRepository.save(order);
+        salesAggregator.recordCreated(savedOrder);
+        return savedOrder;
+    }
+
+    /**
+     * A new order dated now, with the items priced from the given products.
+     */
+    static Order newOrder(Customer customer, Address address, List<OrderItemRequestDTO> itemRequests, Map<Long, Product> products) {
         Order order = new Order();
         order.setOrderDate(LocalDateTime.now());
         order.setCustomer(customer);
         order.setDeliveryAddress(address);
 
-        List<OrderItem> items = dto.items().stream().map(itemDto -> {
-            Product product = productRepository.findById(itemDto.productId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with this id."));
+        List<OrderItem> items = itemRequests.stream().map(itemDto -> {
+            Product product = products.get(itemDto.productId());
             OrderItem item = new OrderItem();
             item.setProduct(product);
             item.setQuantity(itemDto.quantity());
-            item.setPrice(product.getPrice());
+            item.setPriceInCents(product.getPriceInCents());
             item.calculateTotalPrice();
             item.setOrder(order);
             return item;
@@ -68,33 +148,48 @@ public class OrderService {
 
         order.setItems(items);
         order.calculateTotalAmount();
-
-        return orderRepository.save(order);
+        return order;
     }
 
     @Transactional
     public Order replaceOrder(OrderUpdateDTO dto) {
+        return replaceOrder(dto, null);
+    }
+
+    /**
+     * Replaces the order only when the If-Match header, if any, matches its current ETag (see
+     * OrderView#entityTag). The version is always bumped, since item changes alone would not
+     * touch the orders row.
+     */
+    @Transactional
+    public Order replaceOrder(OrderUpdateDTO dto, String ifMatch) {
         Order order = orderRepository.findById(dto.id())
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with this id."));
+        EntityTags.checkIfMatch(ifMatch, OrderView.of(order).entityTag());
+        entityManager.lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        OrderSales before = OrderSales.of(order);
 
         Address address = addressRepository.findById(dto.deliveryAddressId())
                 .orElseThrow(() -> new ResourceNotFoundException("Address not found with this id."));
         order.setDeliveryAddress(address);
 
+        Map<Long, Product> products = findAllByIds(productRepository, Product::getId, "Products",
+                dto.items().stream().map(OrderItemUpdateDTO::productId).toList());
+        Map<Long, OrderItem> existingItems = findAllByIds(orderItemRepository, OrderItem::getId, "OrderItems",
+                dto.items().stream().map(OrderItemUpdateDTO::id).filter(Objects::nonNull).toList());
+
         List<OrderItem> items = dto.items().stream().map(itemDto -> {
-            Product product = productRepository.findById(itemDto.productId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with this id."));
+            Product product = products.get(itemDto.productId());
             OrderItem item;
             if (itemDto.id() != null) {
-                item = orderItemRepository.findById(itemDto.id())
-                        .orElseThrow(() -> new ResourceNotFoundException("OrderItem not found with this id."));
+                item = existingItems.get(itemDto.id());
             } else {
                 item = new OrderItem();
                 item.setOrder(order);
             }
             item.setProduct(product);
             item.setQuantity(itemDto.quantity());
-            item.setPrice(product.getPrice());
+            item.setPriceInCents(product.getPriceInCents());
             item.calculateTotalPrice();
             return item;
         }).collect(Collectors.toList());
@@ -102,12 +197,66 @@ public class OrderService {
         order.setItems(items);
         order.calculateTotalAmount();
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        salesAggregator.recordReplaced(before, savedOrder);
+        return savedOrder;
     }
 
 
     @Transactional
     public void deleteOrder(Long id) {
-        orderRepository.delete(findOrderById(id));
+        Order order = findOrderById(id);
+        salesAggregator.recordDeleted(order);
+        orderRepository.delete(order);
+    }
+
+    /**
+     * Loads the items of all the given orders in one query.
+     */
+    private List<OrderView> withItems(List<OrderRow> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        return OrderViews.assemble(orders, orderRepository.findItemRows(orders.stream().map(OrderRow::id).toList()));
+    }
+
+    private List<OrderSummaryDTO> findSummariesBefore(UUID customerId, String token, int limit) {
+        String[] position = ContinuationToken.decode(token).split(",", 2);
+        if (position.length != 2) {
+            throw new BadRequestException("Invalid continuation token.");
+        }
+        try {
+            return orderRepository.findSummariesByCustomerBefore(customerId, LocalDateTime.parse(position[0]),
+                    Long.valueOf(position[1]), Limit.of(limit));
+        } catch (DateTimeParseException | NumberFormatException exception) {
+            throw new BadRequestException("Invalid continuation token.");
+        }
+    }
+
+    private Long decodeOrderId(String token) {
+        try {
+            return Long.valueOf(ContinuationToken.decode(token));
+        } catch (NumberFormatException exception) {
+            throw new BadRequestException("Invalid continuation token.");
+        }
+    }
+
+    private <T> Map<Long, T> findAllByIds(JpaRepository<T, Long> repository, Function<T, Long> idGetter, String label, Collection<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, T> found = repository.findAllById(uniqueIds).stream()
+                .collect(Collectors.toMap(idGetter, Function.identity()));
+
+        String missingIds = uniqueIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+        if (!missingIds.isEmpty()) {
+            throw new ResourceNotFoundException(label + " not found with these ids: " + missingIds + ".");
+        }
+        return found;
     }
 }
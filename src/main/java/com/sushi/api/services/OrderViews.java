@@ -0,0 +1,69 @@
+package com.sushi.api.services;
+
+import com.sushi.api.model.dto.address.AddressView;
+import com.sushi.api.model.dto.order.OrderView;
+import com.sushi.api.model.dto.order_item.OrderItemView;
+import com.sushi.api.repositories.projections.OrderItemRow;
+import com.sushi.api.repositories.projections.OrderLineRow;
+import com.sushi.api.repositories.projections.OrderRow;
+import com.sushi.api.utils.Money;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Folds order projection rows into OrderViews, keeping the order of the rows.
+ */
+final class OrderViews {
+
+    private OrderViews() {
+    }
+
+    static List<OrderView> fromLines(List<OrderLineRow> lines) {
+        Map<Long, OrderRow> orders = new LinkedHashMap<>();
+        List<OrderItemRow> items = new ArrayList<>();
+        for (OrderLineRow line : lines) {
+            orders.putIfAbsent(line.order().id(), line.order());
+            if (line.item() != null) {
+                items.add(line.item());
+            }
+        }
+        return assemble(List.copyOf(orders.values()), items);
+    }
+
+    /**
+     * Folds a stream of lines sorted by order id into views, one order at a time, so only the
+     * lines of the current order are held in memory.
+     */
+    static void forEachView(Stream<OrderLineRow> lines, Consumer<OrderView> consumer) {
+        List<OrderLineRow> current = new ArrayList<>();
+        try (lines) {
+            lines.forEach(line -> {
+                if (!current.isEmpty() && !current.get(0).order().id().equals(line.order().id())) {
+                    fromLines(current).forEach(consumer);
+                    current.clear();
+                }
+                current.add(line);
+            });
+        }
+        fromLines(current).forEach(consumer);
+    }
+
+    static List<OrderView> assemble(List<OrderRow> orders, List<OrderItemRow> items) {
+        Map<Long, List<OrderItemView>> itemsByOrder = items.stream()
+                .collect(Collectors.groupingBy(OrderItemRow::orderId,
+                        Collectors.mapping(OrderViews::item, Collectors.toList())));
+        return orders.stream()
+                .map(order -> new OrderView(order.id(), order.orderDate(), Money.fromCents(order.totalAmount()),
+                        new AddressView(order.addressId(), order.number(), order.street(), order.neighborhood()),
+                        itemsByOrder.getOrDefault(order.id(), List.of()),
+                        order.version()))
+                .toList();
+    }
+
+    private static OrderItemView item(OrderItemRow row) {
+        return new OrderItemView(row.id(), row.quantity(), Money.fromCents(row.price()), Money.fromCents(row.totalPrice()));
+    }
+}
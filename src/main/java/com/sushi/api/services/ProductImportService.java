@@ -0,0 +1,175 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.dto.product.ProductImportErrorDTO;
+import com.sushi.api.model.dto.product.ProductImportReportDTO;
+import com.sushi.api.model.dto.product.ProductImportRow;
+import com.sushi.api.model.dto.product.ProductRequestDTO;
+import com.sushi.api.services.imports.ProductBulkStore;
+import com.sushi.api.services.imports.ProductFileFormat;
+import com.sushi.api.services.imports.ProductFileReader;
+import com.sushi.api.services.imports.ProductFileRow;
+import com.sushi.api.services.imports.ProductFileWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk product import and export. The upload is read as a stream and written in chunks, each in
+ * its own transaction, so a large menu never sits in memory and a bad row only costs its own
+ * entry in the report. Categories are referenced by name and resolved from one read of the table.
+ */
+@Service
+@Timed("api.service")
+public class ProductImportService {
+    private final ProductBulkStore productBulkStore;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int chunkSize;
+
+    public ProductImportService(ProductBulkStore productBulkStore, ObjectMapper objectMapper, Validator validator,
+                                ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                                @Value("${api.import.chunk-size:500}") int chunkSize) {
+        this.productBulkStore = productBulkStore;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    /**
+     * Creates the products whose name is new, ignoring case, and updates the others. Rows that
+     * cannot be read, fail validation, name an unknown category or repeat an earlier name are
+     * skipped and listed in the report.
+     */
+    public ProductImportReportDTO importProducts(InputStream input, ProductFileFormat format) {
+        ProductFileReader reader = ProductFileReader.open(format, input, objectMapper);
+        Map<String, Long> categories = readTransaction.execute(status -> productBulkStore.categoryIdsByName());
+        Map<String, Long> seen = new HashMap<>();
+        ImportTally tally = new ImportTally();
+        List<PendingProduct> chunk = new ArrayList<>(chunkSize);
+
+        ProductFileRow row;
+        while ((row = reader.next()) != null) {
+            tally.rows++;
+            try {
+                chunk.add(new PendingProduct(row.line(), resolve(row, categories, seen)));
+            } catch (BadRequestException exception) {
+                tally.fail(row.line(), row.product() == null ? null : row.product().name(), exception.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                write(chunk, tally);
+            }
+        }
+        write(chunk, tally);
+
+        if (tally.created + tally.updated > 0) {
+            eventPublisher.publishEvent(new MenuChangedEvent("product", null));
+        }
+        return tally.report();
+    }
+
+    /**
+     * Streams every product, with its category names, in the layout importProducts reads.
+     */
+    public void exportProducts(OutputStream output, ProductFileFormat format) {
+        ProductFileWriter writer = ProductFileWriter.open(format, output, objectMapper);
+        readTransaction.executeWithoutResult(status -> productBulkStore.forEachProduct(writer));
+        writer.flush();
+    }
+
+    private ProductRequestDTO resolve(ProductFileRow row, Map<String, Long> categories, Map<String, Long> seen) {
+        if (row.error() != null) {
+            throw new BadRequestException(row.error());
+        }
+        ProductImportRow product = row.product();
+        List<String> categoryNames = product.categories() == null ? List.of() : product.categories();
+        Set<Long> categoryIds = new HashSet<>();
+        for (String name : categoryNames) {
+            Long id = categories.get(name.trim().toUpperCase(Locale.ROOT));
+            if (id == null) {
+                throw new BadRequestException("Category not found: " + name);
+            }
+            categoryIds.add(id);
+        }
+        ProductRequestDTO dto = new ProductRequestDTO(product.name(), product.description(), product.price(),
+                product.portionQuantity(), product.portionUnit(), product.urlImage(), categoryIds);
+
+        Set<ConstraintViolation<ProductRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        Long firstLine = seen.putIfAbsent(dto.name().toUpperCase(Locale.ROOT), row.line());
+        if (firstLine != null) {
+            throw new BadRequestException("Duplicate of the product on line " + firstLine + ".");
+        }
+        return dto;
+    }
+
+    private void write(List<PendingProduct> chunk, ImportTally tally) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            tally.add(writeTransaction.execute(status -> productBulkStore.write(products(chunk))));
+        } catch (DataAccessException exception) {
+            // Replay the chunk one row at a time so the report points at the row the database refused.
+            for (PendingProduct pending : chunk) {
+                try {
+                    tally.add(writeTransaction.execute(status -> productBulkStore.write(List.of(pending.product()))));
+                } catch (DataAccessException rowException) {
+                    tally.fail(pending.line(), pending.product().name(), rowException.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private static List<ProductRequestDTO> products(List<PendingProduct> chunk) {
+        return chunk.stream().map(PendingProduct::product).toList();
+    }
+
+    private record PendingProduct(long line, ProductRequestDTO product) {
+    }
+
+    private static final class ImportTally {
+        private final List<ProductImportErrorDTO> errors = new ArrayList<>();
+        private long rows;
+        private long created;
+        private long updated;
+
+        void add(ProductBulkStore.ChunkResult result) {
+            created += result.created();
+            updated += result.updated();
+        }
+
+        void fail(long line, String name, String message) {
+            errors.add(new ProductImportErrorDTO(line, name, message));
+        }
+
+        ProductImportReportDTO report() {
+            return new ProductImportReportDTO(rows, created, updated, errors.size(), List.copyOf(errors));
+        }
+    }
+}
@@ -1,37 +1,81 @@
 package com.sushi.api.services;
 
+import com.sushi.api.exceptions.BadRequestException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Category;
 import com.sushi.api.model.Product;
 import com.sushi.api.model.dto.product.ProductRequestDTO;
 import com.sushi.api.model.dto.product.ProductUpdateDTO;
+import com.sushi.api.model.dto.product.ProductView;
+import com.sushi.api.model.dto.search.SuggestionDTO;
 import com.sushi.api.repositories.CategoryRepository;
 import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.services.search.CategoryMatch;
+import com.sushi.api.services.search.CategoryMembershipIndex;
+import com.sushi.api.services.search.ProductSearchEngine;
+import com.sushi.api.services.search.ProductSearchHit;
+import com.sushi.api.services.search.SuggestionIndex;
+import com.sushi.api.utils.EntityTags;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("api.service")
 public class ProductService {
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int MAX_SUGGESTIONS = 20;
+
     @Autowired
     private ProductRepository productRepository;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
-    public List<Product> listAllNonPageable() {
-        return productRepository.findAll();
+    @Autowired
+    private ProductSearchEngine productSearchEngine;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private CategoryMembershipIndex categoryMembershipIndex;
+
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public List<ProductView> listAllNonPageable() {
+        return productRepository.findAllViews();
     }
 
-    public Page<Product> listAllPageable(Pageable pageable) {
-        return productRepository.findAll(pageable);
+    @Transactional
+    public void streamAll(Consumer<ProductView> consumer) {
+        try (Stream<ProductView> products = productRepository.streamAllViews()) {
+            products.forEach(consumer);
+        }
+    }
+
+    public Page<ProductView> listAllPageable(Pageable pageable) {
+        return productRepository.findViews(pageable);
     }
 
     public Product findProductById(Long id) {
@@ -39,19 +83,82 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with this id."));
     }
 
-    public List<Product> findProductByName(String name) {
-        List<Product> products = productRepository.findByNameContainingIgnoreCase(name);
+    public ProductView findProductViewById(Long id) {
+        return productRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with this id."));
+    }
+
+    /**
+     * Every product whose name contains the given text, ignoring case, ordered by id. Unlike
+     * {@link #searchProducts}, descriptions and category names are not matched and nothing is cut.
+     */
+    public List<ProductView> findProductByName(String name) {
+        List<ProductView> products = productRepository.findViewsByNameContaining(name);
         if (products.isEmpty()) {
             throw new ResourceNotFoundException("No products found with this name.");
         }
         return products;
     }
 
+    /**
+     * Relevance-ranked search over names, descriptions and category names, best match first.
+     */
+    public List<ProductView> searchProducts(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("The search query must not be blank.");
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT);
+        List<ProductSearchHit> hits = productSearchEngine.search(query.trim(), size);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ProductView> products = productRepository.findViewsByIdIn(hits.stream().map(ProductSearchHit::productId).toList())
+                .stream()
+                .collect(Collectors.toMap(ProductView::id, Function.identity()));
+        return hits.stream()
+                .map(hit -> products.get(hit.productId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Products in all (or any) of the given categories, ordered by id. Membership comes from the
+     * in-memory category index and the products from the menu snapshot when it is loaded.
+     */
+    public List<ProductView> filterByCategories(List<Long> categoryIds, String match) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            throw new BadRequestException("At least one category must be given.");
+        }
+        BitSet ids = categoryMembershipIndex.match(categoryIds, CategoryMatch.of(match));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        MenuSnapshot snapshot = menuSnapshotService.current();
+        if (snapshot != null) {
+            return snapshot.products().items().stream()
+                    .filter(product -> ids.get(Math.toIntExact(product.id())))
+                    .toList();
+        }
+        return productRepository.findViewsByIdIn(ids.stream().mapToObj(Long::valueOf).toList()).stream()
+                .sorted(Comparator.comparing(ProductView::id))
+                .toList();
+    }
+
+    /**
+     * Product and category names starting with the typed prefix, served from memory.
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return suggestionIndex.suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
     @Transactional
     public Product createProduct(ProductRequestDTO dto) {
-        List<Product> existingProducts = productRepository.findByNameContainingIgnoreCase(dto.name());
-
-        if (!existingProducts.isEmpty()) {
+        if (productRepository.existsByNameIgnoreCase(dto.name())) {
             throw new DataIntegrityViolationException("Data integrity violation error occurred.");
         }
 
@@ -69,12 +176,23 @@ public class ProductService {
                 .collect(Collectors.toSet());
         product.setCategories(categories);
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new MenuChangedEvent("product", product.getId()));
+        return savedProduct;
     }
 
     @Transactional
     public void replaceProduct(ProductUpdateDTO dto) {
+        replaceProduct(dto, null);
+    }
+
+    /**
+     * Replaces the product only when the If-Match header, if any, matches its current version.
+     */
+    @Transactional
+    public void replaceProduct(ProductUpdateDTO dto, String ifMatch) {
         Product product = findProductById(dto.id());
+        EntityTags.checkIfMatch(ifMatch, product.getVersion());
 
         product.setName(dto.name());
         product.setDescription(dto.description());
@@ -90,10 +208,12 @@ public class ProductService {
         product.setCategories(categories);
 
         productRepository.save(product);
+        eventPublisher.publishEvent(new MenuChangedEvent("product", dto.id()));
     }
 
     @Transactional
     public void deleteProduct(Long id) {
         productRepository.delete(findProductById(id));
+        eventPublisher.publishEvent(new MenuChangedEvent("product", id));
     }
 }
\ No newline at end of file
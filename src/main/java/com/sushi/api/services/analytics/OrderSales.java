@@ -0,0 +1,46 @@
+package com.sushi.api.services.analytics;
+
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Quantity and revenue (in cents) per product, and per category the lines are credited to, that
+ * one order counts for at the order's date. Taken before and after a change, so the aggregates
+ * move by the difference.
+ */
+public record OrderSales(LocalDateTime orderDate, Map<Long, Sales> products, Map<Long, Sales> categories) {
+    public static final OrderSales NONE = new OrderSales(null, Map.of(), Map.of());
+
+    public static OrderSales of(Order order) {
+        Map<Long, Sales> products = new HashMap<>();
+        Map<Long, Sales> categories = new HashMap<>();
+        for (OrderItem item : order.getItems()) {
+            if (item.getProduct() != null) {
+                Sales sales = new Sales(item.getQuantity(), item.getTotalPriceInCents());
+                products.merge(item.getProduct().getId(), sales, Sales::plus);
+                for (Long categoryId : item.getSalesCategoryIds()) {
+                    categories.merge(categoryId, sales, Sales::plus);
+                }
+            }
+        }
+        return new OrderSales(order.getOrderDate(), Map.copyOf(products), Map.copyOf(categories));
+    }
+
+    public record Sales(long quantity, long revenue) {
+
+        Sales plus(Sales other) {
+            return new Sales(Math.addExact(quantity, other.quantity), Math.addExact(revenue, other.revenue));
+        }
+
+        /**
+         * The totals to add for one order, negated when the order is taken out.
+         */
+        SalesTotals totals(int sign) {
+            return new SalesTotals(sign * revenue, sign * quantity, sign);
+        }
+    }
+}
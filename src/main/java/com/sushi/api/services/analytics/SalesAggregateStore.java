@@ -0,0 +1,130 @@
+package com.sushi.api.services.analytics;
+
+import com.sushi.api.model.dto.analytics.SalesBucketDTO;
+import com.sushi.api.model.dto.analytics.SalesTotalsDTO;
+import com.sushi.api.utils.Money;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * sales_aggregates (V7). Changes are added with ON CONFLICT upserts, so concurrent orders for the
+ * same bucket never race on the insert; reads group the buckets of a range, never order_item.
+ * On other databases (H2 in tests) changes are added with a standard MERGE instead.
+ */
+@Component
+public class SalesAggregateStore {
+    private static final String UPSERT_SQL = """
+            INSERT INTO sales_aggregates (granularity, dimension, bucket_start, dimension_id, revenue, quantity, order_count)
+            VALUES (:granularity, :dimension, :bucketStart, :dimensionId, :revenue, :quantity, :orders)
+            ON CONFLICT (granularity, dimension, bucket_start, dimension_id) DO UPDATE
+            SET revenue = sales_aggregates.revenue + EXCLUDED.revenue,
+                quantity = sales_aggregates.quantity + EXCLUDED.quantity,
+                order_count = sales_aggregates.order_count + EXCLUDED.order_count
+            """;
+    private static final String MERGE_SQL = """
+            MERGE INTO sales_aggregates s
+            USING (SELECT CAST(:granularity AS VARCHAR(8)) AS granularity, CAST(:dimension AS VARCHAR(16)) AS dimension,
+                          CAST(:bucketStart AS TIMESTAMP) AS bucket_start, CAST(:dimensionId AS BIGINT) AS dimension_id,
+                          CAST(:revenue AS NUMERIC(14, 2)) AS revenue, CAST(:quantity AS BIGINT) AS quantity,
+                          CAST(:orders AS BIGINT) AS order_count) c
+            ON s.granularity = c.granularity AND s.dimension = c.dimension
+               AND s.bucket_start = c.bucket_start AND s.dimension_id = c.dimension_id
+            WHEN MATCHED THEN UPDATE
+            SET revenue = s.revenue + c.revenue, quantity = s.quantity + c.quantity, order_count = s.order_count + c.order_count
+            WHEN NOT MATCHED THEN INSERT (granularity, dimension, bucket_start, dimension_id, revenue, quantity, order_count)
+            VALUES (c.granularity, c.dimension, c.bucket_start, c.dimension_id, c.revenue, c.quantity, c.order_count)
+            """;
+    private static final String TOP_SQL = """
+            SELECT s.dimension_id AS id, max(n.name) AS name, sum(s.revenue) AS revenue,
+                   sum(s.quantity) AS quantity, sum(s.order_count) AS orders
+            FROM sales_aggregates s
+            LEFT JOIN %s n ON n.id = s.dimension_id
+            WHERE s.granularity = :granularity AND s.dimension = :dimension
+              AND s.bucket_start >= :from AND s.bucket_start < :to
+            GROUP BY s.dimension_id
+            HAVING sum(s.order_count) > 0
+            ORDER BY revenue DESC, s.dimension_id
+            LIMIT :limit
+            """;
+    private static final String SERIES_SQL = """
+            SELECT bucket_start, revenue, quantity, order_count AS orders
+            FROM sales_aggregates
+            WHERE dimension = :dimension AND dimension_id = :id AND granularity = :granularity
+              AND bucket_start >= :from AND bucket_start < :to AND order_count > 0
+            ORDER BY bucket_start
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Map<SalesDimension, String> topSql = new EnumMap<>(SalesDimension.class);
+    private volatile String addSql;
+
+    public SalesAggregateStore(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (SalesDimension dimension : SalesDimension.values()) {
+            topSql.put(dimension, TOP_SQL.formatted(dimension.table()));
+        }
+    }
+
+    void add(SortedMap<SalesKey, SalesTotals> changes) {
+        SqlParameterSource[] batch = changes.entrySet().stream()
+                .map(change -> new MapSqlParameterSource()
+                        .addValue("granularity", change.getKey().granularity().name())
+                        .addValue("dimension", change.getKey().dimension().name())
+                        .addValue("bucketStart", change.getKey().bucketStart())
+                        .addValue("dimensionId", change.getKey().dimensionId())
+                        .addValue("revenue", Money.fromCents(change.getValue().revenue()))
+                        .addValue("quantity", change.getValue().quantity())
+                        .addValue("orders", change.getValue().orders()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(addSql(), batch);
+    }
+
+    private String addSql() {
+        if (addSql == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getJdbcTemplate().getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                addSql = "PostgreSQL".equals(product) ? UPSERT_SQL : MERGE_SQL;
+            } catch (MetaDataAccessException exception) {
+                throw new IllegalStateException("Could not read the database product", exception);
+            }
+        }
+        return addSql;
+    }
+
+    public List<SalesTotalsDTO> top(SalesDimension dimension, SalesGranularity granularity,
+                                    LocalDateTime from, LocalDateTime to, int limit) {
+        MapSqlParameterSource parameters = range(dimension, granularity, from, to).addValue("limit", limit);
+        return jdbcTemplate.query(topSql.get(dimension), parameters, (resultSet, rowNum) -> new SalesTotalsDTO(
+                resultSet.getLong("id"), resultSet.getString("name"), resultSet.getBigDecimal("revenue"),
+                resultSet.getLong("quantity"), resultSet.getLong("orders")));
+    }
+
+    public List<SalesBucketDTO> series(SalesDimension dimension, Long id, SalesGranularity granularity,
+                                       LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource parameters = range(dimension, granularity, from, to).addValue("id", id);
+        return jdbcTemplate.query(SERIES_SQL, parameters, (resultSet, rowNum) -> new SalesBucketDTO(
+                resultSet.getTimestamp("bucket_start").toLocalDateTime(), resultSet.getBigDecimal("revenue"),
+                resultSet.getLong("quantity"), resultSet.getLong("orders")));
+    }
+
+    private static MapSqlParameterSource range(SalesDimension dimension, SalesGranularity granularity,
+                                               LocalDateTime from, LocalDateTime to) {
+        return new MapSqlParameterSource()
+                .addValue("dimension", dimension.name())
+                .addValue("granularity", granularity.name())
+                .addValue("from", from)
+                .addValue("to", to);
+    }
+}
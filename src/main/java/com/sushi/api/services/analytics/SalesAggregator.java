@@ -0,0 +1,98 @@
+package com.sushi.api.services.analytics;
+
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.repositories.projections.CategoryMembershipRow;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Moves the sales aggregates by the difference an order change makes, inside the caller's
+ * transaction, so the read model commits or rolls back with the order. Each line is credited to
+ * the categories its product is in when the line is written, and those are stored on the line
+ * (OrderItem#getSalesCategoryIds), so a later change or delete takes it out of the same ones.
+ */
+@Component
+public class SalesAggregator {
+    private final ProductRepository productRepository;
+    private final SalesAggregateStore salesAggregateStore;
+
+    public SalesAggregator(ProductRepository productRepository, SalesAggregateStore salesAggregateStore) {
+        this.productRepository = productRepository;
+        this.salesAggregateStore = salesAggregateStore;
+    }
+
+    public void recordCreated(Order order) {
+        record(List.of(), List.of(order));
+    }
+
+    /**
+     * Records several new orders with one category lookup and one batch of upserts.
+     */
+    public void recordCreated(Collection<Order> orders) {
+        record(List.of(), orders);
+    }
+
+    /**
+     * Records a replaced order: {@code before} is OrderSales.of the order taken before the change.
+     */
+    public void recordReplaced(OrderSales before, Order after) {
+        record(List.of(before), List.of(after));
+    }
+
+    public void recordDeleted(Order order) {
+        record(List.of(OrderSales.of(order)), List.of());
+    }
+
+    private void record(Collection<OrderSales> before, Collection<Order> after) {
+        credit(after);
+        SortedMap<SalesKey, SalesTotals> changes = new TreeMap<>();
+        before.forEach(sales -> add(changes, sales, -1));
+        after.forEach(order -> add(changes, OrderSales.of(order), 1));
+        changes.values().removeIf(SalesTotals::isZero);
+        if (!changes.isEmpty()) {
+            salesAggregateStore.add(changes);
+        }
+    }
+
+    /**
+     * Credits every line of the orders to the categories its product is in now.
+     */
+    private void credit(Collection<Order> orders) {
+        List<OrderItem> items = orders.stream()
+                .flatMap(order -> order.getItems().stream())
+                .filter(item -> item.getProduct() != null)
+                .toList();
+        if (items.isEmpty()) {
+            return;
+        }
+        Set<Long> productIds = items.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet());
+        Map<Long, Set<Long>> categoriesByProduct = productRepository.findCategoryMembershipsByProductIdIn(productIds).stream()
+                .collect(Collectors.groupingBy(CategoryMembershipRow::productId,
+                        Collectors.mapping(CategoryMembershipRow::categoryId, Collectors.toSet())));
+        for (OrderItem item : items) {
+            Set<Long> categoryIds = categoriesByProduct.getOrDefault(item.getProduct().getId(), Set.of());
+            if (!categoryIds.equals(item.getSalesCategoryIds())) {
+                item.setSalesCategoryIds(new HashSet<>(categoryIds));
+            }
+        }
+    }
+
+    private static void add(Map<SalesKey, SalesTotals> changes, OrderSales sales, int sign) {
+        if (sales.products().isEmpty()) {
+            return;
+        }
+        for (SalesGranularity granularity : SalesGranularity.values()) {
+            LocalDateTime bucket = granularity.bucketOf(sales.orderDate());
+            sales.products().forEach((productId, product) -> changes.merge(
+                    new SalesKey(granularity, SalesDimension.PRODUCT, bucket, productId), product.totals(sign), SalesTotals::plus));
+            // An order counts once per category, however many of its lines are credited to it.
+            sales.categories().forEach((categoryId, category) -> changes.merge(
+                    new SalesKey(granularity, SalesDimension.CATEGORY, bucket, categoryId), category.totals(sign), SalesTotals::plus));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sushi.api.services.analytics;
+
+/**
+ * What a sales aggregate is counted for, with the table its names come from.
+ */
+public enum SalesDimension {
+    PRODUCT("products"), CATEGORY("categories");
+
+    private final String table;
+
+    SalesDimension(String table) {
+        this.table = table;
+    }
+
+    String table() {
+        return table;
+    }
+}
@@ -0,0 +1,32 @@
+package com.sushi.api.services.analytics;
+
+import com.sushi.api.exceptions.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Width of a sales bucket. Buckets start at the truncated order date, like date_trunc in V7.
+ */
+public enum SalesGranularity {
+    HOUR(ChronoUnit.HOURS), DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    SalesGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime bucketOf(LocalDateTime date) {
+        return date.truncatedTo(unit);
+    }
+
+    public static SalesGranularity of(String value) {
+        for (SalesGranularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        throw new BadRequestException("The granularity must be 'hour' or 'day'.");
+    }
+}
@@ -0,0 +1,20 @@
+package com.sushi.api.services.analytics;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * One row of sales_aggregates. Ordered so that every transaction upserts rows in the same order.
+ */
+record SalesKey(SalesGranularity granularity, SalesDimension dimension, LocalDateTime bucketStart, Long dimensionId)
+        implements Comparable<SalesKey> {
+    private static final Comparator<SalesKey> ORDER = Comparator.comparing(SalesKey::granularity)
+            .thenComparing(SalesKey::dimension)
+            .thenComparing(SalesKey::bucketStart)
+            .thenComparing(SalesKey::dimensionId);
+
+    @Override
+    public int compareTo(SalesKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,16 @@
+package com.sushi.api.services.analytics;
+
+/**
+ * Amounts added to one sales aggregate row; negative when orders are removed. Revenue in cents.
+ */
+record SalesTotals(long revenue, long quantity, long orders) {
+
+    SalesTotals plus(SalesTotals other) {
+        return new SalesTotals(Math.addExact(revenue, other.revenue), Math.addExact(quantity, other.quantity),
+                Math.addExact(orders, other.orders));
+    }
+
+    boolean isZero() {
+        return revenue == 0 && quantity == 0 && orders == 0;
+    }
+}
@@ -0,0 +1,179 @@
+package com.sushi.api.services.imports;
+
+import com.sushi.api.model.dto.product.ProductImportRow;
+import com.sushi.api.model.dto.product.ProductRequestDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Bulk writes and reads of products over plain JDBC. A chunk of imported products costs a fixed
+ * number of round trips whatever its size: one lookup of the existing names (through the
+ * upper(name) index from V9), one batch each of updates, inserts and category links.
+ */
+@Component
+public class ProductBulkStore {
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String CATEGORIES_SQL = "SELECT id, name FROM categories";
+    private static final String IDS_BY_NAME_SQL = "SELECT id, name FROM products WHERE upper(name) IN (:names) ORDER BY id";
+    private static final String INSERT_SQL = """
+            INSERT INTO products (name, description, price, portion_quantity, portion_unit, url_image, version)
+            VALUES (:name, :description, :price, :portionQuantity, :portionUnit, :urlImage, 0)
+            """;
+    private static final String UPDATE_SQL = """
+            UPDATE products
+            SET name = :name, description = :description, price = :price, portion_quantity = :portionQuantity,
+                portion_unit = :portionUnit, url_image = :urlImage, version = version + 1
+            WHERE id = :id
+            """;
+    private static final String DELETE_CATEGORIES_SQL = "DELETE FROM category_product WHERE product_id IN (:ids)";
+    private static final String INSERT_CATEGORY_SQL = "INSERT INTO category_product (category_id, product_id) VALUES (:categoryId, :productId)";
+    private static final String EXPORT_SQL = """
+            SELECT p.id, p.name, p.description, p.price, p.portion_quantity, p.portion_unit, p.url_image, c.name AS category
+            FROM products p
+            LEFT JOIN category_product cp ON cp.product_id = p.id
+            LEFT JOIN categories c ON c.id = cp.category_id
+            ORDER BY p.id, c.name
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductBulkStore(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(EXPORT_FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Category ids by upper-cased name; the whole table, read once per import.
+     */
+    public Map<String, Long> categoryIdsByName() {
+        Map<String, Long> categories = new HashMap<>();
+        jdbcTemplate.query(CATEGORIES_SQL, resultSet -> {
+            categories.put(resultSet.getString("name").toUpperCase(Locale.ROOT), resultSet.getLong("id"));
+        });
+        return categories;
+    }
+
+    /**
+     * Inserts the products whose name is new (ignoring case) and updates the others, then
+     * replaces their category links. Must run in a transaction.
+     */
+    public ChunkResult write(List<ProductRequestDTO> products) {
+        List<String> names = products.stream().map(product -> key(product.name())).toList();
+        Map<String, Long> existing = idsByName(names);
+
+        List<SqlParameterSource> updates = new ArrayList<>();
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        for (ProductRequestDTO product : products) {
+            Long id = existing.get(key(product.name()));
+            MapSqlParameterSource parameters = parameters(product);
+            if (id == null) {
+                inserts.add(parameters);
+            } else {
+                updates.add(parameters.addValue("id", id));
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates.toArray(SqlParameterSource[]::new));
+        }
+        Map<String, Long> ids = existing;
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts.toArray(SqlParameterSource[]::new));
+            ids = idsByName(names);
+        }
+
+        jdbcTemplate.update(DELETE_CATEGORIES_SQL, new MapSqlParameterSource("ids", ids.values()));
+        List<SqlParameterSource> links = new ArrayList<>();
+        for (ProductRequestDTO product : products) {
+            Long productId = ids.get(key(product.name()));
+            product.categoriesId().forEach(categoryId -> links.add(new MapSqlParameterSource()
+                    .addValue("categoryId", categoryId)
+                    .addValue("productId", productId)));
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY_SQL, links.toArray(SqlParameterSource[]::new));
+        }
+        return new ChunkResult(inserts.size(), updates.size());
+    }
+
+    /**
+     * Streams every product with its category names, ordered by id. Must run in a transaction for
+     * the driver to fetch the rows in batches instead of all at once.
+     */
+    public void forEachProduct(Consumer<ProductImportRow> consumer) {
+        ExportRows rows = new ExportRows(consumer);
+        jdbcTemplate.getJdbcOperations().query(EXPORT_SQL, rows);
+        rows.finish();
+    }
+
+    private Map<String, Long> idsByName(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(IDS_BY_NAME_SQL, new MapSqlParameterSource("names", names), resultSet -> {
+            ids.putIfAbsent(key(resultSet.getString("name")), resultSet.getLong("id"));
+        });
+        return ids;
+    }
+
+    private static MapSqlParameterSource parameters(ProductRequestDTO product) {
+        return new MapSqlParameterSource()
+                .addValue("name", product.name())
+                .addValue("description", product.description())
+                .addValue("price", product.price())
+                .addValue("portionQuantity", product.portionQuantity())
+                .addValue("portionUnit", product.portionUnit())
+                .addValue("urlImage", product.urlImage());
+    }
+
+    static String key(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Folds the one row per product and category of EXPORT_SQL back into one product each.
+     */
+    private static final class ExportRows implements RowCallbackHandler {
+        private final Consumer<ProductImportRow> consumer;
+        private long productId = -1;
+        private ProductImportRow product;
+
+        ExportRows(Consumer<ProductImportRow> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long id = resultSet.getLong("id");
+            if (id != productId) {
+                finish();
+                productId = id;
+                product = new ProductImportRow(resultSet.getString("name"), resultSet.getString("description"),
+                        resultSet.getBigDecimal("price"), resultSet.getInt("portion_quantity"),
+                        resultSet.getString("portion_unit"), resultSet.getString("url_image"), new ArrayList<>());
+            }
+            String category = resultSet.getString("category");
+            if (category != null) {
+                product.categories().add(category);
+            }
+        }
+
+        void finish() {
+            if (product != null) {
+                consumer.accept(product);
+                product = null;
+            }
+        }
+    }
+
+    public record ChunkResult(int created, int updated) {
+    }
+}
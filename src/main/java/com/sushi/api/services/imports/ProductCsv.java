@@ -0,0 +1,39 @@
+package com.sushi.api.services.imports;
+
+import com.sushi.api.model.dto.product.ProductImportRow;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV layout of the product import and export. Header names are matched ignoring case, spaces
+ * and underscores, so "portion_quantity" reads as portionQuantity; categories are names separated by |.
+ */
+final class ProductCsv {
+    static final List<String> REQUIRED = List.of("name", "description", "price", "portionQuantity", "portionUnit", "urlImage");
+    static final List<String> HEADER = List.of("name", "description", "price", "portionQuantity", "portionUnit", "urlImage", "categories");
+
+    private ProductCsv() {
+    }
+
+    static String column(String header) {
+        return header.replace("\uFEFF", "").replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> categories(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split("\\|"))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+    }
+
+    static List<String> fields(ProductImportRow product) {
+        return List.of(product.name(), product.description(), product.price().toPlainString(),
+                product.portionQuantity().toString(), product.portionUnit(), product.urlImage(),
+                String.join("|", product.categories()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.sushi.api.services.imports;
+
+import com.sushi.api.exceptions.BadRequestException;
+import org.springframework.http.MediaType;
+
+/**
+ * File formats of the bulk product import and export: CSV with a header row, or one JSON
+ * object per line.
+ */
+public enum ProductFileFormat {
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ProductFileFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String fileName() {
+        return "products." + extension;
+    }
+
+    public static ProductFileFormat of(String value) {
+        for (ProductFileFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("The format must be 'csv' or 'ndjson'.");
+    }
+
+    public static ProductFileFormat of(MediaType contentType) {
+        for (ProductFileFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("The file must be text/csv or application/x-ndjson.");
+    }
+}
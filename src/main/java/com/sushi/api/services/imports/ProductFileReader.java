@@ -0,0 +1,124 @@
+package com.sushi.api.services.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.dto.product.ProductImportRow;
+import com.sushi.api.utils.CsvReader;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads an uploaded product file one row at a time. A row that cannot be read comes back with
+ * an error instead of failing the upload; only a file that cannot be read at all (no CSV header,
+ * missing columns) is rejected.
+ */
+public abstract class ProductFileReader {
+
+    /**
+     * The next row, or null at the end of the file.
+     */
+    public abstract ProductFileRow next();
+
+    public static ProductFileReader open(ProductFileFormat format, InputStream input, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return format == ProductFileFormat.CSV ? new Csv(new CsvReader(reader)) : new Ndjson(reader, objectMapper);
+    }
+
+    static final class Csv extends ProductFileReader {
+        private final CsvReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final int width;
+
+        Csv(CsvReader reader) {
+            this.reader = reader;
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new BadRequestException("The file is empty.");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(ProductCsv.column(header.get(i)), i);
+            }
+            List<String> missing = ProductCsv.REQUIRED.stream()
+                    .filter(column -> !columns.containsKey(ProductCsv.column(column)))
+                    .toList();
+            if (!missing.isEmpty()) {
+                throw new BadRequestException("Missing CSV columns: " + String.join(", ", missing) + ".");
+            }
+            width = header.size();
+        }
+
+        @Override
+        public ProductFileRow next() {
+            List<String> fields = reader.next();
+            if (fields == null) {
+                return null;
+            }
+            long line = reader.line();
+            if (fields.size() != width) {
+                return ProductFileRow.failed(line, "Expected " + width + " fields, found " + fields.size() + ".");
+            }
+            BigDecimal price;
+            Integer portionQuantity;
+            try {
+                String value = field(fields, "price");
+                price = value == null ? null : new BigDecimal(value);
+            } catch (NumberFormatException exception) {
+                return ProductFileRow.failed(line, "Invalid price: " + field(fields, "price"));
+            }
+            try {
+                String value = field(fields, "portionQuantity");
+                portionQuantity = value == null ? null : Integer.valueOf(value);
+            } catch (NumberFormatException exception) {
+                return ProductFileRow.failed(line, "Invalid portion quantity: " + field(fields, "portionQuantity"));
+            }
+            return ProductFileRow.of(line, new ProductImportRow(field(fields, "name"), field(fields, "description"), price,
+                    portionQuantity, field(fields, "portionUnit"), field(fields, "urlImage"),
+                    ProductCsv.categories(field(fields, "categories"))));
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(ProductCsv.column(column));
+            if (index == null) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    static final class Ndjson extends ProductFileReader {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long line;
+
+        Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public ProductFileRow next() {
+            String text;
+            do {
+                try {
+                    text = reader.readLine();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                return ProductFileRow.of(line, objectMapper.readValue(text, ProductImportRow.class));
+            } catch (JsonProcessingException exception) {
+                return ProductFileRow.failed(line, "Invalid JSON: " + exception.getOriginalMessage());
+            }
+        }
+    }
+}
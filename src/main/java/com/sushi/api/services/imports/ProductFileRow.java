@@ -0,0 +1,17 @@
+package com.sushi.api.services.imports;
+
+import com.sushi.api.model.dto.product.ProductImportRow;
+
+/**
+ * A row read from an uploaded file: the product, or why the row could not be read.
+ */
+public record ProductFileRow(long line, ProductImportRow product, String error) {
+
+    static ProductFileRow of(long line, ProductImportRow product) {
+        return new ProductFileRow(line, product, null);
+    }
+
+    static ProductFileRow failed(long line, String error) {
+        return new ProductFileRow(line, null, error);
+    }
+}
@@ -0,0 +1,50 @@
+package com.sushi.api.services.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.model.dto.product.ProductImportRow;
+import com.sushi.api.utils.CsvWriter;
+import com.sushi.api.utils.NdjsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported products straight to the response stream, in the layout the import reads back.
+ */
+public abstract class ProductFileWriter implements Consumer<ProductImportRow> {
+
+    public abstract void flush();
+
+    public static ProductFileWriter open(ProductFileFormat format, OutputStream output, ObjectMapper objectMapper) {
+        if (format == ProductFileFormat.CSV) {
+            CsvWriter writer = new CsvWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+            writer.write(ProductCsv.HEADER);
+            return new ProductFileWriter() {
+                @Override
+                public void accept(ProductImportRow product) {
+                    writer.write(ProductCsv.fields(product));
+                }
+
+                @Override
+                public void flush() {
+                    writer.flush();
+                }
+            };
+        }
+        NdjsonWriter<ProductImportRow> writer = NdjsonWriter.to(output, objectMapper);
+        return new ProductFileWriter() {
+            @Override
+            public void accept(ProductImportRow product) {
+                writer.accept(product);
+            }
+
+            @Override
+            public void flush() {
+                writer.flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.exceptions.BadRequestException;
+
+/**
+ * How a category filter combines its categories: products in all of them, or in any of them.
+ */
+public enum CategoryMatch {
+    ALL, ANY;
+
+    public static CategoryMatch of(String value) {
+        for (CategoryMatch match : values()) {
+            if (match.name().equalsIgnoreCase(value)) {
+                return match;
+            }
+        }
+        throw new BadRequestException("The match parameter must be 'all' or 'any'.");
+    }
+}
@@ -0,0 +1,131 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.repositories.projections.CategoryMembershipRow;
+import com.sushi.api.services.MenuChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One bitmap of product ids per category, so a filter over several categories is a few word-wide
+ * ANDs or ORs instead of walking the category_product sets. Product ids come from an identity
+ * column and stay dense, which keeps the bitmaps small. Built at startup; a committed product
+ * change only patches the bitmaps of the categories that product left or joined, and category
+ * changes rebuild the whole index. Published bitmaps are never modified.
+ */
+@Component
+public class CategoryMembershipIndex {
+    private static final BitSet NONE = new BitSet();
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Map<Long, BitSet> members = Map.of();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public CategoryMembershipIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if ("product".equals(event.entity()) && event.id() != null) {
+            update(event.id());
+        } else {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<CategoryMembershipRow> rows = transactionTemplate.execute(status -> productRepository.findCategoryMemberships());
+            Map<Long, BitSet> built = new HashMap<>();
+            for (CategoryMembershipRow row : rows) {
+                built.computeIfAbsent(row.categoryId(), id -> new BitSet()).set(bit(row.productId()));
+            }
+            members = Map.copyOf(built);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Moves one product to the categories it has now; a deleted product has none and is cleared.
+     */
+    public void update(Long productId) {
+        rebuildLock.lock();
+        try {
+            Set<Long> categoryIds = new HashSet<>(transactionTemplate.execute(status -> productRepository.findCategoryIdsById(productId)));
+            int bit = bit(productId);
+            Map<Long, BitSet> updated = new HashMap<>(members);
+            members.forEach((categoryId, products) -> {
+                if (products.get(bit) && !categoryIds.contains(categoryId)) {
+                    BitSet copy = (BitSet) products.clone();
+                    copy.clear(bit);
+                    if (copy.isEmpty()) {
+                        updated.remove(categoryId);
+                    } else {
+                        updated.put(categoryId, copy);
+                    }
+                }
+            });
+            for (Long categoryId : categoryIds) {
+                BitSet products = updated.getOrDefault(categoryId, NONE);
+                if (!products.get(bit)) {
+                    BitSet copy = (BitSet) products.clone();
+                    copy.set(bit);
+                    updated.put(categoryId, copy);
+                }
+            }
+            members = Map.copyOf(updated);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Ids of the products in all or any of the given categories. Unknown categories hold no products.
+     */
+    public BitSet match(Collection<Long> categoryIds, CategoryMatch match) {
+        Map<Long, BitSet> current = members;
+        BitSet result = null;
+        for (Long categoryId : categoryIds) {
+            BitSet products = current.getOrDefault(categoryId, NONE);
+            if (result == null) {
+                result = (BitSet) products.clone();
+            } else if (match == CategoryMatch.ALL) {
+                result.and(products);
+            } else {
+                result.or(products);
+            }
+            if (match == CategoryMatch.ALL && result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? new BitSet() : result;
+    }
+
+    public int categories() {
+        return members.size();
+    }
+
+    private static int bit(Long productId) {
+        return Math.toIntExact(productId);
+    }
+}
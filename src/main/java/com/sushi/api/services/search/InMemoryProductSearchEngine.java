@@ -0,0 +1,132 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.model.Category;
+import com.sushi.api.model.Product;
+import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.services.MenuChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Trigram index kept in memory, for runs without Postgres (H2 tests, local runs).
+ * Ranks like the Postgres engine: name matches first, then category names, then descriptions.
+ */
+@Component
+@ConditionalOnProperty(name = "api.search.engine", havingValue = "memory")
+public class InMemoryProductSearchEngine implements ProductSearchEngine {
+    private static final double MATCH_THRESHOLD = 0.5;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Map<String, List<IndexedProduct>> index = Map.of();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public InMemoryProductSearchEngine(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<IndexedProduct> products = transactionTemplate.execute(status ->
+                    productRepository.findAllWithCategories().stream().map(InMemoryProductSearchEngine::indexed).toList());
+
+            Map<String, List<IndexedProduct>> byTrigram = new HashMap<>();
+            for (IndexedProduct product : products) {
+                Set<String> trigrams = new HashSet<>(product.name());
+                trigrams.addAll(product.description());
+                trigrams.addAll(product.categories());
+                trigrams.forEach(trigram -> byTrigram.computeIfAbsent(trigram, key -> new ArrayList<>()).add(product));
+            }
+            index = Map.copyOf(byTrigram);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public List<ProductSearchHit> search(String query, int limit) {
+        Set<String> queryTrigrams = trigrams(String.join(" ", SearchText.words(query)));
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<IndexedProduct>> current = index;
+        Map<Long, IndexedProduct> candidates = new HashMap<>();
+        queryTrigrams.forEach(trigram -> current.getOrDefault(trigram, List.of())
+                .forEach(product -> candidates.putIfAbsent(product.id(), product)));
+
+        return candidates.values().stream()
+                .map(product -> score(product, queryTrigrams))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(ProductSearchHit::score).reversed()
+                        .thenComparing(ProductSearchHit::productId))
+                .limit(limit)
+                .toList();
+    }
+
+    private static ProductSearchHit score(IndexedProduct product, Set<String> queryTrigrams) {
+        double name = wordSimilarity(queryTrigrams, product.name());
+        double categories = wordSimilarity(queryTrigrams, product.categories());
+        double description = wordSimilarity(queryTrigrams, product.description());
+        if (name < MATCH_THRESHOLD && categories < MATCH_THRESHOLD && description < MATCH_THRESHOLD) {
+            return null;
+        }
+        return new ProductSearchHit(product.id(), name + 0.5 * categories + 0.25 * description);
+    }
+
+    /**
+     * Share of the query trigrams found in the text, close to pg_trgm's word_similarity.
+     */
+    static double wordSimilarity(Set<String> queryTrigrams, Set<String> textTrigrams) {
+        long shared = queryTrigrams.stream().filter(textTrigrams::contains).count();
+        return (double) shared / queryTrigrams.size();
+    }
+
+    /**
+     * pg_trgm style trigrams: each word is folded and padded with two spaces before and one after.
+     */
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : SearchText.words(SearchText.fold(text == null ? "" : text))) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static IndexedProduct indexed(Product product) {
+        String categoryNames = product.getCategories().stream()
+                .map(Category::getName)
+                .collect(Collectors.joining(" "));
+        return new IndexedProduct(product.getId(), trigrams(product.getName()),
+                trigrams(product.getDescription()), trigrams(categoryNames));
+    }
+
+    private record IndexedProduct(Long id, Set<String> name, Set<String> description, Set<String> categories) {
+    }
+}
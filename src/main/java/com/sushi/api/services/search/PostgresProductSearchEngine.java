@@ -0,0 +1,67 @@
+package com.sushi.api.services.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Searches with the indexes added in V4 and rebuilt accent-insensitive in V10: prefix matches on
+ * the weighted name/description vector, and pg_trgm word similarity on product and category names
+ * for typos and partial words. Both sides go through immutable_unaccent, so results agree with the
+ * in-memory engine. Each candidate branch can use its own GIN index; only the candidates are ranked.
+ */
+@Component
+@ConditionalOnProperty(name = "api.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresProductSearchEngine implements ProductSearchEngine {
+    private static final String SEARCH_SQL = """
+            WITH q AS (SELECT to_tsquery('simple', immutable_unaccent(:tsquery)) AS ts),
+            candidates AS (
+                SELECT p.id FROM products p, q WHERE p.search_vector @@ q.ts
+                UNION
+                SELECT p.id FROM products p WHERE immutable_unaccent(:text) <% immutable_unaccent(p.name)
+                UNION
+                SELECT cp.product_id FROM categories c
+                JOIN category_product cp ON cp.category_id = c.id
+                WHERE immutable_unaccent(:text) <% immutable_unaccent(c.name)
+            )
+            SELECT p.id,
+                   ts_rank(p.search_vector, q.ts)
+                       + word_similarity(immutable_unaccent(:text), immutable_unaccent(p.name))
+                       + 0.5 * coalesce((SELECT max(word_similarity(immutable_unaccent(:text), immutable_unaccent(c.name)))
+                                         FROM category_product cp
+                                         JOIN categories c ON c.id = cp.category_id
+                                         WHERE cp.product_id = p.id), 0) AS score
+            FROM candidates
+            JOIN products p ON p.id = candidates.id
+            CROSS JOIN q
+            ORDER BY score DESC, p.id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PostgresProductSearchEngine(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<ProductSearchHit> search(String query, int limit) {
+        List<String> words = SearchText.words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        // Every word must match, the last ones as a prefix since the user may still be typing.
+        String tsquery = words.stream().map(word -> word + ":*").collect(Collectors.joining(" & "));
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("tsquery", tsquery)
+                .addValue("text", String.join(" ", words))
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SEARCH_SQL, parameters,
+                (resultSet, rowNum) -> new ProductSearchHit(resultSet.getLong("id"), resultSet.getDouble("score")));
+    }
+}
@@ -0,0 +1,110 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.model.dto.search.SuggestionDTO;
+
+import java.util.*;
+
+/**
+ * Immutable sorted-array prefix index. Every name is stored once per word start, folded,
+ * so "salm" finds "Temaki Salmão"; a lookup is one binary search plus a scan of the matches.
+ */
+final class PrefixIndex {
+    private static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new SuggestionDTO[0]);
+    private static final Comparator<Map.Entry<String, SuggestionDTO>> ORDER = Map.Entry.<String, SuggestionDTO>comparingByKey()
+            .thenComparing(entry -> entry.getValue().id())
+            .thenComparing(entry -> entry.getValue().type());
+
+    private final String[] keys;
+    private final SuggestionDTO[] values;
+
+    private PrefixIndex(String[] keys, SuggestionDTO[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    static PrefixIndex empty() {
+        return EMPTY;
+    }
+
+    static PrefixIndex build(Collection<SuggestionDTO> suggestions) {
+        List<Map.Entry<String, SuggestionDTO>> entries = entries(suggestions);
+        String[] keys = new String[entries.size()];
+        SuggestionDTO[] values = new SuggestionDTO[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).getKey();
+            values[i] = entries.get(i).getValue();
+        }
+        return new PrefixIndex(keys, values);
+    }
+
+    /**
+     * A copy without the entries of the given product or category and with those of its
+     * replacement, if any. The few new entries are merged into the sorted arrays, so nothing is
+     * re-sorted and the result is the same index build would return.
+     */
+    PrefixIndex replace(String type, Long id, SuggestionDTO replacement) {
+        List<Map.Entry<String, SuggestionDTO>> added = entries(replacement == null ? List.of() : List.of(replacement));
+        String[] newKeys = new String[keys.length + added.size()];
+        SuggestionDTO[] newValues = new SuggestionDTO[keys.length + added.size()];
+        int size = 0;
+        int next = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i].id().equals(id) && values[i].type().equals(type)) {
+                continue;
+            }
+            Map.Entry<String, SuggestionDTO> existing = Map.entry(keys[i], values[i]);
+            for (; next < added.size() && ORDER.compare(added.get(next), existing) < 0; next++, size++) {
+                newKeys[size] = added.get(next).getKey();
+                newValues[size] = added.get(next).getValue();
+            }
+            newKeys[size] = keys[i];
+            newValues[size] = values[i];
+            size++;
+        }
+        for (; next < added.size(); next++, size++) {
+            newKeys[size] = added.get(next).getKey();
+            newValues[size] = added.get(next).getValue();
+        }
+        return new PrefixIndex(Arrays.copyOf(newKeys, size), Arrays.copyOf(newValues, size));
+    }
+
+    List<SuggestionDTO> lookup(String prefix, int limit) {
+        String key = SearchText.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int position = Arrays.binarySearch(keys, key);
+        int from = position >= 0 ? firstEqual(position) : -position - 1;
+
+        Set<SuggestionDTO> results = new LinkedHashSet<>();
+        for (int i = from; i < keys.length && results.size() < limit && keys[i].startsWith(key); i++) {
+            results.add(values[i]);
+        }
+        return List.copyOf(results);
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    private static List<Map.Entry<String, SuggestionDTO>> entries(Collection<SuggestionDTO> suggestions) {
+        List<Map.Entry<String, SuggestionDTO>> entries = new ArrayList<>();
+        for (SuggestionDTO suggestion : suggestions) {
+            String name = SearchText.normalize(suggestion.name());
+            for (int i = 0; i < name.length(); i++) {
+                if (i == 0 || name.charAt(i - 1) == ' ') {
+                    entries.add(Map.entry(name.substring(i), suggestion));
+                }
+            }
+        }
+        entries.sort(ORDER);
+        return entries;
+    }
+
+    private int firstEqual(int position) {
+        while (position > 0 && keys[position - 1].equals(keys[position])) {
+            position--;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sushi.api.services.search;
+
+import java.util.List;
+
+/**
+ * Relevance-ranked product search over product names, descriptions and category names.
+ * The implementation is selected with {@code api.search.engine} ({@code postgres} or {@code memory}).
+ */
+public interface ProductSearchEngine {
+
+    /**
+     * Returns at most {@code limit} hits, best match first.
+     */
+    List<ProductSearchHit> search(String query, int limit);
+}
@@ -0,0 +1,4 @@
+package com.sushi.api.services.search;
+
+public record ProductSearchHit(Long productId, double score) {
+}
@@ -0,0 +1,88 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.model.dto.search.SuggestionDTO;
+import com.sushi.api.repositories.CategoryRepository;
+import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.services.MenuChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Type-ahead over product and category names, so lookups never touch the database. Built at
+ * startup from the names alone; a committed change to one product or category only re-reads that
+ * name and patches the index, and changes without an id (bulk imports) rebuild it.
+ */
+@Component
+public class SuggestionIndex {
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile PrefixIndex index = PrefixIndex.empty();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public SuggestionIndex(ProductRepository productRepository, CategoryRepository categoryRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if (event.id() != null) {
+            update(event.entity(), event.id());
+        } else {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<SuggestionDTO> suggestions = transactionTemplate.execute(status -> {
+                List<SuggestionDTO> names = new ArrayList<>(productRepository.findSuggestions());
+                names.addAll(categoryRepository.findSuggestions());
+                return names;
+            });
+            index = PrefixIndex.build(suggestions);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the name of one product or category; a deleted one is dropped.
+     */
+    public void update(String type, Long id) {
+        rebuildLock.lock();
+        try {
+            Optional<SuggestionDTO> suggestion = transactionTemplate.execute(status -> "product".equals(type)
+                    ? productRepository.findSuggestionById(id)
+                    : categoryRepository.findSuggestionById(id));
+            index = index.replace(type, id, suggestion.orElse(null));
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return index.lookup(prefix, limit);
+    }
+}
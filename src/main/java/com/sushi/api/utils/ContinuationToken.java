@@ -0,0 +1,33 @@
+package com.sushi.api.utils;
+
+import com.sushi.api.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor handed to clients of keyset-paginated endpoints.
+ */
+public final class ContinuationToken {
+    private static final String PREFIX = "v1:";
+
+    private ContinuationToken() {
+    }
+
+    public static String encode(String position) {
+        byte[] bytes = (PREFIX + position).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static String decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new BadRequestException("Invalid continuation token.");
+            }
+            return decoded.substring(PREFIX.length());
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Invalid continuation token.");
+        }
+    }
+}
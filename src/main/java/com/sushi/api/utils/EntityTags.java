@@ -0,0 +1,75 @@
+package com.sushi.api.utils;
+
+import com.sushi.api.exceptions.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Strong entity tags derived from the JPA version column, e.g. {@code "3"}, or, for responses that
+ * also carry rows with versions of their own, a digest of everything serialized.
+ */
+public final class EntityTags {
+    private EntityTags() {
+    }
+
+    public static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Tag over the given values, in order, e.g. {@code "3-5f1c09a2b7e4d8c6"}. Use it when the body
+     * includes data that can change without bumping the entity version.
+     */
+    public static String digest(Long version, Object... values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object value : values) {
+                digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return "\"" + version + "-" + HexFormat.of().formatHex(digest.digest(), 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    /**
+     * Builds a 200 response tagged with the entity version. For GET requests Spring answers
+     * 304 without writing the body when the tag matches If-None-Match.
+     */
+    public static <T> ResponseEntity<T> ok(T body, Long version) {
+        return ok(body, of(version));
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, String tag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (tag != null) {
+            response.eTag(tag);
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Checks an If-Match header against the current version. A missing header or {@code *}
+     * matches any version; weak tags never match because If-Match uses strong comparison.
+     */
+    public static void checkIfMatch(String ifMatch, Long currentVersion) {
+        checkIfMatch(ifMatch, of(currentVersion));
+    }
+
+    public static void checkIfMatch(String ifMatch, String current) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return;
+        }
+        for (String tag : ifMatch.split(",")) {
+            if (tag.trim().equals(current)) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException("The resource was modified since it was last read.");
+    }
+}
@@ -0,0 +1,26 @@
+package com.sushi.api.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amounts are held as a long number of cents, so totals are exact and summed without
+ * allocating. BigDecimal is only used at the edges: JSON/XML, request DTOs and the NUMERIC(12,2) columns.
+ */
+public final class Money {
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Converts an amount with at most two decimal places; anything finer throws ArithmeticException.
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
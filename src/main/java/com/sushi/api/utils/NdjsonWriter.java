@@ -0,0 +1,50 @@
+package com.sushi.api.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes each accepted value as one JSON line, straight to the response stream.
+ */
+public class NdjsonWriter<T> implements Consumer<T> {
+    private final ObjectMapper objectMapper;
+    private final JsonGenerator generator;
+
+    private NdjsonWriter(ObjectMapper objectMapper, JsonGenerator generator) {
+        this.objectMapper = objectMapper;
+        this.generator = generator;
+    }
+
+    public static <T> NdjsonWriter<T> to(OutputStream outputStream, ObjectMapper objectMapper) {
+        try {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            return new NdjsonWriter<>(objectMapper, generator);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void accept(T value) {
+        try {
+            objectMapper.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public void flush() {
+        try {
+            generator.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Accent-insensitive search, matching the in-memory engine (SearchText.fold): "salmao" finds
+-- "Temaki Salmão". unaccent() is only STABLE because its dictionary can be changed, so the
+-- generated column and the expression indexes go through an IMMUTABLE wrapper that pins it.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE OR REPLACE FUNCTION immutable_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+-- Dropping the column drops idx_products_search_vector with it.
+ALTER TABLE products DROP COLUMN search_vector;
+ALTER TABLE products ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', immutable_unaccent(coalesce(name, ''))), 'A') ||
+        setweight(to_tsvector('simple', immutable_unaccent(coalesce(description, ''))), 'B')
+    ) STORED;
+CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector);
+
+DROP INDEX idx_products_name_trgm;
+DROP INDEX idx_categories_name_trgm;
+CREATE INDEX idx_products_name_trgm ON products USING GIN (immutable_unaccent(name) gin_trgm_ops);
+CREATE INDEX idx_categories_name_trgm ON categories USING GIN (immutable_unaccent(name) gin_trgm_ops);
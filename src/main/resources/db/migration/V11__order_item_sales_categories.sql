@@ -0,0 +1,15 @@
+-- Categories each order line was counted under in sales_aggregates (V7). Replacing or deleting an
+-- order takes its lines out of these, not out of the categories their products are in by then.
+CREATE TABLE order_item_category (
+    order_item_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    PRIMARY KEY (order_item_id, category_id),
+    FOREIGN KEY (order_item_id) REFERENCES order_item(id) ON DELETE CASCADE
+);
+
+-- Lines placed before this migration were backfilled in V7 from the products' categories at the
+-- time; the current memberships are the closest record of those.
+INSERT INTO order_item_category (order_item_id, category_id)
+SELECT i.id, cp.category_id
+FROM order_item i
+JOIN category_product cp ON cp.product_id = i.product_id;
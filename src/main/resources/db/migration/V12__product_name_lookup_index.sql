@@ -0,0 +1,4 @@
+-- GET /api/products/find/by-name matches upper(name) LIKE '%...%'. The trigram index from V10
+-- is over immutable_unaccent(name) for the ranked search, so this lookup gets its own. Built
+-- concurrently so products stay writable; Flyway runs this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_name_upper_trgm ON products USING GIN (upper(name) gin_trgm_ops);
@@ -0,0 +1,4 @@
+-- Order and OrderItem ids come from Hibernate's pooled optimizer (allocationSize = 50),
+-- which reserves a block of 50 ids per nextval call. The sequences must advance by the same step.
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_item_id_seq INCREMENT BY 50;
@@ -0,0 +1,15 @@
+-- Money moves from DOUBLE PRECISION to exact NUMERIC(12,2). Line and order totals are
+-- recomputed from the rounded prices, which removes the drift accumulated by double sums.
+ALTER TABLE products ALTER COLUMN price TYPE NUMERIC(12, 2) USING round(price::numeric, 2);
+
+ALTER TABLE order_item
+    ALTER COLUMN price TYPE NUMERIC(12, 2) USING round(price::numeric, 2),
+    ALTER COLUMN total_price TYPE NUMERIC(12, 2) USING round(price::numeric, 2) * quantity;
+
+ALTER TABLE orders ALTER COLUMN total_amount TYPE NUMERIC(12, 2) USING round(total_amount::numeric, 2);
+
+UPDATE orders o
+SET total_amount = items.total
+FROM (SELECT order_id, sum(total_price) AS total FROM order_item GROUP BY order_id) items
+WHERE items.order_id = o.id
+  AND o.total_amount <> items.total;
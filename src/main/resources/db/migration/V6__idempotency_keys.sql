@@ -0,0 +1,15 @@
+-- Idempotency-Key of POST requests. The unique key makes a retry wait for the first attempt's
+-- transaction and then fail, so it replays the stored response instead of creating the order again.
+CREATE TABLE idempotency_keys (
+    id BIGSERIAL PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    scope VARCHAR(64) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status_code INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_idempotency_keys UNIQUE (owner, scope, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
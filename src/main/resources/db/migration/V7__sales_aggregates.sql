@@ -0,0 +1,34 @@
+-- Sales read model: revenue, quantity and order count per product and per category, in hourly
+-- and daily buckets. OrderService keeps it up to date in the same transaction as each order change.
+-- The unique key is both the upsert target and the index for "top N over a date range".
+CREATE TABLE sales_aggregates (
+    id BIGSERIAL PRIMARY KEY,
+    granularity VARCHAR(8) NOT NULL,
+    dimension VARCHAR(16) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    dimension_id BIGINT NOT NULL,
+    revenue NUMERIC(14, 2) NOT NULL,
+    quantity BIGINT NOT NULL,
+    order_count BIGINT NOT NULL,
+    CONSTRAINT uk_sales_aggregates UNIQUE (granularity, dimension, bucket_start, dimension_id)
+);
+
+CREATE INDEX idx_sales_aggregates_series ON sales_aggregates (dimension, dimension_id, granularity, bucket_start);
+
+-- Backfill from the orders placed before this migration.
+INSERT INTO sales_aggregates (granularity, dimension, bucket_start, dimension_id, revenue, quantity, order_count)
+SELECT g.granularity, 'PRODUCT', date_trunc(lower(g.granularity), o.order_date), i.product_id,
+       sum(i.total_price), sum(i.quantity), count(DISTINCT o.id)
+FROM orders o
+JOIN order_item i ON i.order_id = o.id
+CROSS JOIN (VALUES ('HOUR'), ('DAY')) AS g(granularity)
+GROUP BY g.granularity, date_trunc(lower(g.granularity), o.order_date), i.product_id;
+
+INSERT INTO sales_aggregates (granularity, dimension, bucket_start, dimension_id, revenue, quantity, order_count)
+SELECT g.granularity, 'CATEGORY', date_trunc(lower(g.granularity), o.order_date), cp.category_id,
+       sum(i.total_price), sum(i.quantity), count(DISTINCT o.id)
+FROM orders o
+JOIN order_item i ON i.order_id = o.id
+JOIN category_product cp ON cp.product_id = i.product_id
+CROSS JOIN (VALUES ('HOUR'), ('DAY')) AS g(granularity)
+GROUP BY g.granularity, date_trunc(lower(g.granularity), o.order_date), cp.category_id;
@@ -0,0 +1,4 @@
+-- Customer order history, newest first, paged by (order_date, id). Both keys descend so the
+-- row comparison of the next page is one index seek; total_amount is included so a page is
+-- read from the index alone.
+CREATE INDEX idx_orders_customer_history ON orders (customer_id, order_date DESC, id DESC) INCLUDE (total_amount);
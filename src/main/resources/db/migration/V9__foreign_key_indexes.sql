@@ -0,0 +1,13 @@
+-- PostgreSQL does not index the referencing side of a foreign key, so each cascade delete and
+-- each join from the parent scanned these tables. orders.customer_id already leads
+-- idx_orders_customer_history (V8). Built concurrently so the tables stay writable; Flyway runs
+-- this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_delivery_address_id ON orders (delivery_address_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_item_order_id ON order_item (order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_item_product_id ON order_item (product_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_addresses_customer_id ON addresses (customer_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_phone_customer_id ON phone (customer_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_category_product_product_id ON category_product (product_id);
+
+-- existsByNameIgnoreCase compares upper(name), which the unique index on name cannot serve.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_upper_name ON products (upper(name));
@@ -0,0 +1,35 @@
+package com.sushi.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the whole application with the production properties (and the test database), so a
+ * property Spring cannot bind fails here instead of at deploy time.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+public class ApplicationTest {
+    @Autowired
+    private ScheduledTaskHolder scheduledTaskHolder;
+
+    @Test
+    @DisplayName("Should start the application and schedule the idempotency key purge")
+    void contextLoads() {
+        assertTrue(scheduledTaskHolder.getScheduledTasks().stream()
+                .map(scheduledTask -> scheduledTask.getTask())
+                .anyMatch(task -> task instanceof FixedDelayTask fixedDelay
+                        && fixedDelay.getIntervalDuration().equals(Duration.ofHours(1))));
+    }
+}
@@ -1,12 +1,17 @@
 package com.sushi.api.common;
 
 import com.sushi.api.model.dto.login.LoginRequestDTO;
+import com.sushi.api.model.dto.login.LoginResponseDTO;
 import com.sushi.api.model.dto.login.RegisterRequestDTO;
+import com.sushi.api.model.dto.login.RegisterResponseDTO;
 
 import static com.sushi.api.common.CustomerConstants.EMAIL;
 import static com.sushi.api.common.CustomerConstants.PASSWORD;
+import static com.sushi.api.common.CustomerConstants.TOKEN;
 
 public class AuthConstants {
     public static final LoginRequestDTO LOGIN_REQUEST_DTO = new LoginRequestDTO(EMAIL, PASSWORD);
     public static final RegisterRequestDTO REGISTER_REQUEST_DTO = new RegisterRequestDTO("Mario", "mario@gmail.com", PASSWORD);
+    public static final LoginResponseDTO LOGIN_RESPONSE_DTO = new LoginResponseDTO("ana", TOKEN, "2030-01-01T00:00:00Z");
+    public static final RegisterResponseDTO REGISTER_RESPONSE_DTO = new RegisterResponseDTO("Mario", TOKEN, "2030-01-01T00:00:00Z");
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.sushi.api.common;
 
 import com.sushi.api.model.Category;
+import com.sushi.api.model.dto.category.CategoryView;
+import com.sushi.api.repositories.projections.CategoryLineRow;
+import com.sushi.api.repositories.projections.CategoryRow;
 
 import java.util.List;
 import java.util.Set;
@@ -10,5 +13,10 @@ public class CategoryConstants {
     public static final Category CATEGORY2 = new Category(2L, "Comida chinesa", "Uma seleção dos pratos chineses tradicionais mais populares, incluindo Pato de Pequim, Frango Kung Pao e Carne com Brócolis, preparados com receitas autênticas.");
     public static final Category CATEGORY3 = new Category(3L, "Sushi Fusion", "Inovadores e deliciosos sushis de fusão, combinando sabores tradicionais japoneses com ingredientes modernos e internacionais para uma experiência única.");
     public static final List<Category> CATEGORIES = List.of(CATEGORY, CATEGORY2, CATEGORY3);
+    public static final CategoryView CATEGORY_VIEW = CategoryView.of(CATEGORY);
+    public static final List<CategoryView> CATEGORY_VIEWS = CATEGORIES.stream().map(CategoryView::of).toList();
+    public static final List<CategoryLineRow> CATEGORY_LINES = CATEGORIES.stream()
+            .map(category -> new CategoryLineRow(new CategoryRow(category.getId(), category.getName(), category.getDescription(), category.getVersion()), null))
+            .toList();
     public static final Set<Category> CATEGORIES_FOR_PRODUCTS = Set.of(CATEGORY, CATEGORY2);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.sushi.api.model.Address;
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.Phone;
 import com.sushi.api.model.dto.address.AddressDTO;
+import com.sushi.api.model.dto.customer.CustomerView;
 import com.sushi.api.model.dto.phone.PhoneDTO;
 
 import java.util.List;
@@ -28,6 +29,8 @@ public class CustomerConstants {
     public static final Customer CUSTOMER3 = new Customer(UUID.randomUUID(), "maria", "maria@gmail.com", "1234", PHONE);
     public static final Customer CUSTOMER4 = new Customer(UUID.randomUUID(), "mariana", "mariana@gmail.com", "1234", PHONE);
     public static final List<Customer> CUSTOMERS = List.of(CUSTOMER2, CUSTOMER3, CUSTOMER4);
+    public static final CustomerView CUSTOMER_VIEW = CustomerView.of(CUSTOMER);
+    public static final List<CustomerView> CUSTOMER_VIEWS = CUSTOMERS.stream().map(CustomerView::of).toList();
     static {
         CUSTOMER_ADDRESS.setAddresses(Set.of((ADDRESS)));
     }
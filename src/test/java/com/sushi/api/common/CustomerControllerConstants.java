@@ -3,6 +3,7 @@ package com.sushi.api.common;
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.dto.customer.CustomerRequestDTO;
 import com.sushi.api.model.dto.customer.CustomerUpdateDTO;
+import com.sushi.api.model.dto.customer.CustomerView;
 
 import java.util.List;
 import java.util.Set;
@@ -16,6 +17,7 @@ public class CustomerControllerConstants {
     static {
         CUSTOMER_WITH_ADDRESS.setAddresses(Set.of((ADDRESS)));
     }
+    public static final List<CustomerView> CUSTOMER_VIEWS_WITH_ADDRESS = CUSTOMERS_WITH_ADDRESS.stream().map(CustomerView::of).toList();
 
     public static final CustomerRequestDTO CUSTOMER_REQUEST_DTO = new CustomerRequestDTO("isabel", "isabel@gmail.com", "1234", PHONE_DTO, Set.of(ADDRESS_DTO));
     public static final CustomerUpdateDTO CUSTOMER_UPDATE_DTO = new CustomerUpdateDTO(UUID.randomUUID(), "isabel", "isabel@gmail.com", "1234", PHONE_DTO, Set.of(ADDRESS_DTO));
@@ -3,6 +3,7 @@ package com.sushi.api.common;
 import com.sushi.api.model.Employee;
 import com.sushi.api.model.dto.employee.EmployeeRequestDTO;
 import com.sushi.api.model.dto.employee.EmployeeUpdateDTO;
+import com.sushi.api.model.dto.employee.EmployeeView;
 
 import java.util.List;
 import java.util.UUID;
@@ -17,6 +18,8 @@ public class EmployeeConstants {
     public static final Employee EMPLOYEE3 = new Employee(UUID.randomUUID(), "maria", "maria@gmail.com", "1234");
     public static final Employee EMPLOYEE4 = new Employee(UUID.randomUUID(), "mariana", "mariana@gmail.com", "1234");
     public static final List<Employee> EMPLOYEES = List.of(EMPLOYEE2, EMPLOYEE3, EMPLOYEE4);
+    public static final EmployeeView EMPLOYEE_VIEW = EmployeeView.of(EMPLOYEE);
+    public static final List<EmployeeView> EMPLOYEE_VIEWS = EMPLOYEES.stream().map(EmployeeView::of).toList();
     public static final EmployeeRequestDTO EMPLOYEE_REQUEST_DTO = new EmployeeRequestDTO("isabel", "isabel@gmail.com", "1234");
     public static final EmployeeUpdateDTO EMPLOYEE_UPDATE_DTO = new EmployeeUpdateDTO(UUID.randomUUID(), "isabel", "isabel@gmail.com", "1234");
 }
\ No newline at end of file
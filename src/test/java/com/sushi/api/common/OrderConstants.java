@@ -4,9 +4,13 @@ import com.sushi.api.model.Order;
 import com.sushi.api.model.OrderItem;
 import com.sushi.api.model.dto.order.OrderRequestDTO;
 import com.sushi.api.model.dto.order.OrderUpdateDTO;
+import com.sushi.api.model.dto.order.OrderView;
 import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
 import com.sushi.api.model.dto.order_item.OrderItemUpdateDTO;
+import com.sushi.api.repositories.projections.OrderItemRow;
+import com.sushi.api.repositories.projections.OrderRow;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static com.sushi.api.common.CustomerConstants.ADDRESS;
@@ -14,11 +18,17 @@ import static com.sushi.api.common.CustomerConstants.CUSTOMER;
 import static com.sushi.api.common.ProductConstants.PRODUCT;
 
 public class OrderConstants {
-    public static final List<OrderItem> ITEMS = List.of(new OrderItem(1L, 2, 8.99));
-    public static final OrderItem ORDER_ITEM = new OrderItem(1L, 1, 10.00);
+    public static final List<OrderItem> ITEMS = List.of(new OrderItem(1L, 2, new BigDecimal("8.99")));
+    public static final OrderItem ORDER_ITEM = new OrderItem(1L, 1, new BigDecimal("10.00"));
 
     public static final Order ORDER = new Order(1L, CUSTOMER, ADDRESS, ITEMS);
     public static final List<Order> ORDERS = List.of(ORDER);
+    public static final OrderView ORDER_VIEW = OrderView.of(ORDER);
+    public static final List<OrderView> ORDER_VIEWS = List.of(ORDER_VIEW);
+    // The projection rows ORDER is read as, amounts in cents.
+    public static final OrderRow ORDER_ROW = new OrderRow(ORDER.getId(), null, 0L, null,
+            ADDRESS.getId(), ADDRESS.getNumber(), ADDRESS.getStreet(), ADDRESS.getNeighborhood());
+    public static final OrderItemRow ORDER_ITEM_ROW = new OrderItemRow(ORDER.getId(), 1L, 2, 899L, 0L);
 
     public static final OrderItemRequestDTO ORDER_ITEM_REQUEST_DTO = new OrderItemRequestDTO(PRODUCT.getId(), 2);
     public static final OrderItemUpdateDTO ORDER_ITEM_UPDATE_DTO = new OrderItemUpdateDTO(1L, PRODUCT.getId(), 2);
@@ -0,0 +1,39 @@
+package com.sushi.api.config.metrics;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MockMvc assertions on the statements a request issued. Needs the full filter chain
+ * (@SpringBootTest with @AutoConfigureMockMvc), since RequestQueryMetricsFilter does the counting.
+ */
+public final class QueryBudgetMatchers {
+
+    private QueryBudgetMatchers() {
+    }
+
+    public static ResultMatcher withinQueryBudget() {
+        return result -> {
+            QueryBudget budget = ((HandlerMethod) result.getHandler()).getMethodAnnotation(QueryBudget.class);
+            assertNotNull(budget, () -> result.getRequest().getRequestURI() + " declares no @QueryBudget");
+            RequestQueryStatistics statistics = statistics(result);
+            assertTrue(statistics.statements() <= budget.value(), () -> result.getRequest().getRequestURI()
+                    + " issued " + statistics.statements() + " statements, budget is " + budget.value()
+                    + ". Repeated statements: " + statistics.repeatedShapes());
+        };
+    }
+
+    public static ResultMatcher statements(int expected) {
+        return result -> assertEquals(expected, statistics(result).statements(),
+                () -> "Statements issued by " + result.getRequest().getRequestURI());
+    }
+
+    private static RequestQueryStatistics statistics(MvcResult result) {
+        Object statistics = result.getRequest().getAttribute(RequestQueryStatistics.class.getName());
+        assertNotNull(statistics, "No statement counter on the request; is RequestQueryMetricsFilter registered?");
+        return (RequestQueryStatistics) statistics;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sushi.api.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestQueryMetricsFilterTest {
+    private SimpleMeterRegistry meterRegistry;
+    private RequestQueryMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestQueryMetricsFilter(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should record the statements and entity loads of a request under its endpoint pattern")
+    void doFilter_RecordsQueryCounts_WhenRequestRunsQueries() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{id}");
+            RequestQueryStatistics.statementPrepared("select * from orders where id=?");
+            RequestQueryStatistics.statementPrepared("select * from order_item where order_id=?");
+            RequestQueryStatistics.entityLoaded();
+        });
+
+        DistributionSummary statements = meterRegistry.get("hibernate.request.statements")
+                .tag("method", "GET").tag("uri", "/api/orders/{id}").summary();
+        DistributionSummary entityLoads = meterRegistry.get("hibernate.request.entity.loads")
+                .tag("uri", "/api/orders/{id}").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+        assertEquals(1, entityLoads.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should not count statements issued outside of a request")
+    void inspect_IgnoresStatement_WhenNoRequestIsActive() throws Exception {
+        RequestQueryStatistics.statementPrepared("select * from products");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/list"), new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> {
+                });
+
+        assertEquals(0, meterRegistry.get("hibernate.request.statements").tag("uri", "UNKNOWN").summary().totalAmount());
+    }
+}
@@ -0,0 +1,58 @@
+package com.sushi.api.config.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestQueryStatisticsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestQueryStatistics.end();
+    }
+
+    @Test
+    @DisplayName("Should group statements that only differ by literals or IN list length")
+    void repeatedShapes_GroupsStatementsBySqlShape() {
+        RequestQueryStatistics statistics = RequestQueryStatistics.begin();
+
+        RequestQueryStatistics.statementPrepared("select p1_0.id from products p1_0 where p1_0.id=?");
+        RequestQueryStatistics.statementPrepared("select p1_0.id from products p1_0 where p1_0.id=?");
+        RequestQueryStatistics.statementPrepared("select c1_0.id from categories c1_0 where c1_0.id in (?,?)");
+        RequestQueryStatistics.statementPrepared("select c1_0.id from categories c1_0 where c1_0.id in (?, ?, ?)");
+        RequestQueryStatistics.statementPrepared("select e1_0.id from employees e1_0 where e1_0.email='ana@gmail.com'");
+
+        assertEquals(5, statistics.statements());
+        assertEquals(Map.of(
+                "select p1_0.id from products p1_0 where p1_0.id=?", 2,
+                "select c1_0.id from categories c1_0 where c1_0.id in (?...)", 2), statistics.repeatedShapes());
+    }
+
+    @Test
+    @DisplayName("Should throw on the first statement over the budget when failing")
+    void statementPrepared_ThrowsQueryBudgetExceededException_WhenBudgetIsExceededInFailMode() {
+        RequestQueryStatistics statistics = RequestQueryStatistics.begin();
+        statistics.limit(1, true);
+
+        RequestQueryStatistics.statementPrepared("select o1_0.id from orders o1_0");
+        assertThrows(QueryBudgetExceededException.class,
+                () -> RequestQueryStatistics.statementPrepared("select o1_0.id from order_item o1_0 where o1_0.order_id=?"));
+        assertTrue(statistics.exceeded());
+    }
+
+    @Test
+    @DisplayName("Should only report an overrun when logging")
+    void statementPrepared_DoesNotThrow_WhenBudgetIsExceededInLogMode() {
+        RequestQueryStatistics statistics = RequestQueryStatistics.begin();
+        statistics.limit(0, false);
+
+        RequestQueryStatistics.statementPrepared("select o1_0.id from orders o1_0");
+
+        assertTrue(statistics.exceeded());
+        assertEquals(1, statistics.statements());
+    }
+}
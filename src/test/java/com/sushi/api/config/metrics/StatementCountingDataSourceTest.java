@@ -0,0 +1,49 @@
+package com.sushi.api.config.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementCountingDataSourceTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new StatementCountingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:statement-counting;DB_CLOSE_DELAY=-1")));
+        jdbcTemplate.execute("create table if not exists tags (name varchar(20))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestQueryStatistics.end();
+    }
+
+    @Test
+    @DisplayName("Should count JdbcTemplate statements, a batch once per statement")
+    void jdbcTemplate_CountsStatements_WhenRequestIsActive() {
+        RequestQueryStatistics statistics = RequestQueryStatistics.begin();
+
+        jdbcTemplate.queryForObject("select count(*) from tags", Integer.class);
+        jdbcTemplate.queryForObject("select count(*) from tags where name = ?", Integer.class, "salmon");
+        jdbcTemplate.batchUpdate("insert into tags (name) values (?)", List.of(new Object[]{"a"}, new Object[]{"b"}));
+
+        assertEquals(3, statistics.statements());
+    }
+
+    @Test
+    @DisplayName("Should fail the statement over the budget before it reaches the database")
+    void jdbcTemplate_ThrowsQueryBudgetExceededException_WhenBudgetIsExceeded() {
+        RequestQueryStatistics.begin().limit(0, true);
+
+        assertThrows(QueryBudgetExceededException.class,
+                () -> jdbcTemplate.queryForObject("select count(*) from tags", Integer.class));
+    }
+}
@@ -0,0 +1,50 @@
+package com.sushi.api.config.schema;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexCatalogTest {
+
+    @Test
+    @DisplayName("Should read the leading key of B-tree indexes, ignoring casts, ordering and included columns")
+    void leadingKey_ReturnsFirstKey_WhenIndexIsBtree() {
+        assertEquals("order_id", IndexCatalog.leadingKey(
+                "CREATE INDEX idx_order_item_order ON public.order_item USING btree (order_id)"));
+        assertEquals("customer_id", IndexCatalog.leadingKey(
+                "CREATE INDEX idx_orders_customer_history ON public.orders USING btree (customer_id, order_date DESC, id DESC) INCLUDE (total_amount)"));
+        assertEquals("upper(name)", IndexCatalog.leadingKey(
+                "CREATE INDEX idx_products_upper_name ON public.products USING btree (upper((name)::text))"));
+        assertEquals("email", IndexCatalog.leadingKey(
+                "CREATE UNIQUE INDEX customers_email_key ON public.customers USING btree (\"email\")"));
+    }
+
+    @Test
+    @DisplayName("Should skip GIN and GiST indexes, which cannot serve equality lookups on a column")
+    void leadingKey_ReturnsNull_WhenIndexIsNotBtree() {
+        assertNull(IndexCatalog.leadingKey(
+                "CREATE INDEX idx_products_name_trgm ON public.products USING gin (name gin_trgm_ops)"));
+        assertNull(IndexCatalog.leadingKey(
+                "CREATE INDEX idx_products_search ON public.products USING gist (search_vector)"));
+    }
+
+    @Test
+    @DisplayName("Should report only lookups with no indexed column")
+    void unindexed_ReturnsLookupsWithoutIndex_WhenCatalogIsMissingColumns() {
+        IndexCatalog catalog = IndexCatalog.of(Map.of(
+                "orders", List.of("CREATE INDEX idx ON public.orders USING btree (customer_id, order_date DESC)"),
+                "public.products", List.of("CREATE INDEX idx ON public.products USING btree (upper((name)::text))")));
+        Lookup history = new Lookup("history", List.of(new LookupColumn("orders", "customer_id", false)));
+        Lookup name = new Lookup("name", List.of(new LookupColumn("products", "name", true)));
+        Lookup address = new Lookup("address", List.of(new LookupColumn("orders", "delivery_address_id", false)));
+        Lookup either = new Lookup("either", List.of(new LookupColumn("orders", "delivery_address_id", false),
+                new LookupColumn("orders", "customer_id", false)));
+
+        assertEquals(List.of(address), IndexVerifier.unindexed(List.of(history, name, address, either), catalog));
+        assertEquals(2, catalog.size());
+    }
+}
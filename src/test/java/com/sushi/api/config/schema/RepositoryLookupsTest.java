@@ -0,0 +1,38 @@
+package com.sushi.api.config.schema;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class RepositoryLookupsTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should find the columns of derived and JPQL query methods")
+    void find_ReturnsFilteredColumns_WhenRepositoriesAreLoaded() {
+        Map<String, List<LookupColumn>> lookups = new RepositoryLookups(new Repositories(applicationContext), entityManagerFactory)
+                .find().stream()
+                .collect(Collectors.toMap(Lookup::source, Lookup::columns, (first, second) -> first));
+
+        assertEquals(List.of(new LookupColumn("customers", "email", false)), lookups.get("CustomerRepository.findByEmail"));
+        assertEquals(List.of(new LookupColumn("products", "name", true)), lookups.get("ProductRepository.existsByNameIgnoreCase"));
+        assertEquals(List.of(new LookupColumn("order_item", "order_id", false)), lookups.get("OrderRepository.findItemRows"));
+        assertEquals(List.of(new LookupColumn("orders", "customer_id", false)), lookups.get("OrderRepository.findSummariesByCustomer"));
+    }
+}
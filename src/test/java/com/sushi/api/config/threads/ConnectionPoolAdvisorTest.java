@@ -0,0 +1,29 @@
+package com.sushi.api.config.threads;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolAdvisorTest {
+
+    @Test
+    @DisplayName("Should have no advice when the pool matches the cores")
+    void advise_ReturnsNothing_WhenPoolIsSized() {
+        assertEquals(9, ConnectionPoolAdvisor.recommendedPoolSize(4));
+        assertTrue(ConnectionPoolAdvisor.advise(10, 5000, 4, true).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should warn about an oversized pool with any kind of thread")
+    void advise_WarnsAboutOversizedPool_WhenPoolIsTooLarge() {
+        assertEquals(1, ConnectionPoolAdvisor.advise(50, 5000, 4, false).size());
+    }
+
+    @Test
+    @DisplayName("Should warn about a small pool and a long timeout only with virtual threads")
+    void advise_WarnsAboutPoolAndTimeout_WhenVirtualThreadsAreOn() {
+        assertTrue(ConnectionPoolAdvisor.advise(4, 30000, 8, false).isEmpty());
+        assertEquals(2, ConnectionPoolAdvisor.advise(4, 30000, 8, true).size());
+    }
+}
@@ -0,0 +1,56 @@
+package com.sushi.api.config.threads;
+
+import com.sushi.api.model.dto.diagnostics.PinnedThreadSiteDTO;
+import com.sushi.api.model.dto.diagnostics.PinnedThreadsReportDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PinnedThreadMonitorTest {
+    private static final List<String> DRIVER_STACK = List.of(
+            "java.lang.VirtualThread.parkOnCarrierThread:675",
+            "org.postgresql.core.v3.QueryExecutorImpl.execute:350",
+            "com.zaxxer.hikari.pool.ProxyPreparedStatement.executeQuery:52");
+
+    @Test
+    @DisplayName("Should group pinned events by their first frame outside the JDK")
+    void report_GroupsEventsBySite_WhenThreadsArePinned() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(true, true, Duration.ofMillis(20), meterRegistry);
+
+        monitor.record(Duration.ofMillis(30), DRIVER_STACK);
+        monitor.record(Duration.ofMillis(50), DRIVER_STACK);
+
+        PinnedThreadsReportDTO report = monitor.report();
+        assertTrue(report.enabled());
+        PinnedThreadSiteDTO site = report.sites().get(0);
+        assertEquals("org.postgresql.core.v3.QueryExecutorImpl.execute:350", site.site());
+        assertEquals(2, site.count());
+        assertEquals(50.0, site.maxMillis());
+        assertEquals(80.0, site.totalMillis());
+        assertEquals(2, meterRegistry.get("jvm.threads.virtual.pinned").tag("site", site.site()).timer().count());
+    }
+
+    @Test
+    @DisplayName("Should stay disabled when virtual threads are off")
+    void report_IsDisabled_WhenVirtualThreadsAreOff() {
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(false, true, Duration.ofMillis(20), new SimpleMeterRegistry());
+
+        monitor.start();
+
+        assertFalse(monitor.report().enabled());
+        assertTrue(monitor.report().sites().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the top frame when the whole stack is in the JDK")
+    void site_ReturnsTopFrame_WhenNoApplicationFrame() {
+        assertEquals("java.lang.Object.wait:10", PinnedThreadMonitor.site(List.of("java.lang.Object.wait:10")));
+        assertEquals("unknown", PinnedThreadMonitor.site(List.of()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.sushi.api.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.ServiceUnavailableException;
 import com.sushi.api.security.TokenService;
 import com.sushi.api.services.AuthService;
 import org.junit.jupiter.api.DisplayName;
@@ -8,14 +9,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-import static com.sushi.api.common.AuthConstants.LOGIN_REQUEST_DTO;
-import static com.sushi.api.common.AuthConstants.REGISTER_REQUEST_DTO;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sushi.api.common.AuthConstants.*;
+import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AuthController.class)
@@ -35,13 +44,19 @@ public class AuthControllerTest {
     @DisplayName("Login customer with valid data should return token")
     public void loginCustomer_WithValidData_ReturnsToken() throws Exception {
         String customerJson = objectMapper.writeValueAsString(LOGIN_REQUEST_DTO);
+        when(authService.loginCustomer(LOGIN_REQUEST_DTO)).thenReturn(CompletableFuture.completedFuture(LOGIN_RESPONSE_DTO));
 
-        mockMvc
+        MvcResult result = mockMvc
                 .perform(post("/api/auth/customers/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(customerJson)
                         .with(csrf()))
-                .andExpect(status().isOk());
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(LOGIN_RESPONSE_DTO)));
     }
 
     @Test
@@ -49,13 +64,19 @@ public class AuthControllerTest {
     @DisplayName("Register customer with valid data should return token")
     public void registerCustomer_WithValidData_ReturnsToken() throws Exception {
         String customerJson = objectMapper.writeValueAsString(REGISTER_REQUEST_DTO);
+        when(authService.registerCustomer(REGISTER_REQUEST_DTO)).thenReturn(CompletableFuture.completedFuture(REGISTER_RESPONSE_DTO));
 
-        mockMvc
+        MvcResult result = mockMvc
                 .perform(post("/api/auth/customers/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(customerJson)
                         .with(csrf()))
-                .andExpect(status().isOk());
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(REGISTER_RESPONSE_DTO)));
     }
 
     @Test
@@ -63,13 +84,19 @@ public class AuthControllerTest {
     @DisplayName("Login employee with valid data should return token")
     public void loginEmployee_WithValidData_ReturnsToken() throws Exception {
         String customerJson = objectMapper.writeValueAsString(LOGIN_REQUEST_DTO);
+        when(authService.loginEmployee(LOGIN_REQUEST_DTO)).thenReturn(CompletableFuture.completedFuture(LOGIN_RESPONSE_DTO));
 
-        mockMvc
+        MvcResult result = mockMvc
                 .perform(post("/api/auth/employees/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(customerJson)
                         .with(csrf()))
-                .andExpect(status().isOk());
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(LOGIN_RESPONSE_DTO)));
     }
 
     @Test
@@ -77,12 +104,39 @@ public class AuthControllerTest {
     @DisplayName("Register employee with valid data should return token")
     public void registerEmployee_WithValidData_ReturnsToken() throws Exception {
         String customerJson = objectMapper.writeValueAsString(REGISTER_REQUEST_DTO);
+        when(authService.registerEmployee(REGISTER_REQUEST_DTO)).thenReturn(CompletableFuture.completedFuture(REGISTER_RESPONSE_DTO));
 
-        mockMvc
+        MvcResult result = mockMvc
                 .perform(post("/api/auth/employees/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(customerJson)
                         .with(csrf()))
-                .andExpect(status().isOk());
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(REGISTER_RESPONSE_DTO)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Login customer should return Service Unavailable with Retry-After when hashing is at capacity")
+    public void loginCustomer_ReturnsServiceUnavailable_WhenHashingIsAtCapacity() throws Exception {
+        String customerJson = objectMapper.writeValueAsString(LOGIN_REQUEST_DTO);
+        when(authService.loginCustomer(LOGIN_REQUEST_DTO)).thenReturn(CompletableFuture.failedFuture(
+                new ServiceUnavailableException("Password hashing is at capacity, try again shortly.", 2)));
+
+        MvcResult result = mockMvc
+                .perform(post("/api/auth/customers/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(customerJson)
+                        .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
     }
 }
@@ -3,8 +3,10 @@ package com.sushi.api.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Category;
+import com.sushi.api.model.dto.category.CategoryView;
 import com.sushi.api.security.TokenService;
 import com.sushi.api.services.CategoryService;
+import com.sushi.api.services.MenuSnapshotService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,18 +16,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
-import static com.sushi.api.common.CategoryConstants.CATEGORIES;
-import static com.sushi.api.common.CategoryConstants.CATEGORY;
+import static com.sushi.api.common.CategoryConstants.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CategoryController.class)
@@ -38,13 +41,15 @@ public class CategoryControllerTest {
     private TokenService tokenService;
     @MockBean
     private CategoryService categoryService;
+    @MockBean
+    private MenuSnapshotService menuSnapshotService;
 
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a list of categories inside page object when successful")
     public void listAllPageable_ReturnsAllCategoriesWithPagination() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Category> page = new PageImpl<>(CATEGORIES, pageable, CATEGORIES.size());
+        Page<CategoryView> page = new PageImpl<>(CATEGORY_VIEWS, pageable, CATEGORY_VIEWS.size());
 
         when(categoryService.listAllPageable(pageable)).thenReturn(page);
 
@@ -66,7 +71,7 @@ public class CategoryControllerTest {
     public void listAllNonPageable_ReturnsAllCategories() throws Exception {
         String expectedJson = objectMapper.writeValueAsString(CATEGORIES);
 
-        when(categoryService.listAllNonPageable()).thenReturn(CATEGORIES);
+        when(categoryService.listAllNonPageable()).thenReturn(CATEGORY_VIEWS);
 
         mockMvc.perform(get("/api/categories/list")
                         .accept(MediaType.APPLICATION_JSON))
@@ -79,7 +84,7 @@ public class CategoryControllerTest {
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a category by id when successful")
     public void findCategoryById_ReturnsCategoryById() throws Exception {
-        when(categoryService.findCategoryById(CATEGORY.getId())).thenReturn(CATEGORY);
+        when(categoryService.findCategoryViewById(CATEGORY.getId())).thenReturn(CATEGORY_VIEW);
 
         String expectedJson = objectMapper.writeValueAsString(CATEGORY);
 
@@ -87,6 +92,7 @@ public class CategoryControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, CATEGORY_VIEW.entityTag()))
                 .andExpect(content().json(expectedJson));
     }
 
@@ -94,7 +100,7 @@ public class CategoryControllerTest {
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return ResourceNotFoundException when trying to find a category by id that does not exist")
     public void findCategoryById_ReturnsNotFound_WhenCategoryDoesNotExist() throws Exception {
-        when(categoryService.findCategoryById(5L)).thenThrow(new ResourceNotFoundException("Category not found"));
+        when(categoryService.findCategoryViewById(5L)).thenThrow(new ResourceNotFoundException("Category not found"));
 
         mockMvc.perform(get("/api/categories/{id}", 5L)
                         .accept(MediaType.APPLICATION_JSON))
@@ -109,7 +115,7 @@ public class CategoryControllerTest {
         String name = "sushi";
         List<Category> categories = List.of(new Category("Sushi", "Delicious sushi"));
 
-        when(categoryService.findCategoryByName(name)).thenReturn(categories);
+        when(categoryService.findCategoryByName(name)).thenReturn(categories.stream().map(CategoryView::of).toList());
 
         String expectedJson = objectMapper.writeValueAsString(categories);
 
@@ -0,0 +1,193 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.model.*;
+import com.sushi.api.repositories.*;
+import com.sushi.api.services.MenuSnapshotService;
+import com.sushi.api.services.search.InMemoryProductSearchEngine;
+import com.sushi.api.services.search.SuggestionIndex;
+import com.sushi.api.utils.ContinuationToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Set;
+
+import static com.sushi.api.config.metrics.QueryBudgetMatchers.statements;
+import static com.sushi.api.config.metrics.QueryBudgetMatchers.withinQueryBudget;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the read endpoints against an in-memory database and checks each one stays within
+ * its @QueryBudget, lazy loads during serialization included.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ADMIN")
+public class ControllerQueryBudgetTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+    @Autowired
+    private InMemoryProductSearchEngine productSearchEngine;
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    // Seeded once for the whole class; the application context is shared between tests.
+    private static Long categoryId;
+    private static Long productId;
+    private static Customer customer;
+    private static Long orderId;
+    private static Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        if (categoryRepository.count() > 0) {
+            return;
+        }
+        Category rolls = categoryRepository.save(new Category("Rolls", "Rice rolls"));
+        Category hot = categoryRepository.save(new Category("Hot", "Fried pieces"));
+        categoryId = rolls.getId();
+
+        Product product = null;
+        for (int i = 1; i <= 3; i++) {
+            product = productRepository.save(new Product(null, "Roll " + i, "Salmon roll", BigDecimal.TEN, 8, "pieces",
+                    "https://example.com/roll.png", Set.of(rolls, hot)));
+        }
+        productId = product.getId();
+
+        Order order = null;
+        for (int i = 1; i <= 3; i++) {
+            Customer newCustomer = new Customer(null, "customer" + i, "customer" + i + "@gmail.com", "1234", null);
+            Phone phone = new Phone("11111111" + i);
+            phone.setCustomer(newCustomer);
+            newCustomer.setPhone(phone);
+            newCustomer.getAddresses().add(new Address(String.valueOf(i), "Main St", "Downtown", newCustomer));
+            customer = customerRepository.save(newCustomer);
+            Address address = customer.getAddresses().iterator().next();
+
+            order = new Order(null, customer, address, new ArrayList<>());
+            order.setOrderDate(LocalDateTime.now());
+            OrderItem item = new OrderItem(null, 2, BigDecimal.TEN);
+            item.setProduct(product);
+            item.setOrder(order);
+            item.calculateTotalPrice();
+            order.getItems().add(item);
+            order.calculateTotalAmount();
+            order = orderRepository.save(order);
+        }
+        orderId = order.getId();
+
+        employee = employeeRepository.save(new Employee(null, "ana", "ana@gmail.com", "1234"));
+
+        menuSnapshotService.rebuild();
+        productSearchEngine.rebuild();
+        suggestionIndex.rebuild();
+    }
+
+    private void assertWithinBudget(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    @DisplayName("Should keep category endpoints within their statement budgets")
+    void categoryEndpoints_StayWithinQueryBudget() throws Exception {
+        assertWithinBudget("/api/categories/list");
+        assertWithinBudget("/api/categories?sort=id");
+        assertWithinBudget("/api/categories/" + categoryId);
+        assertWithinBudget("/api/categories/find/by-name?name=roll");
+    }
+
+    @Test
+    @DisplayName("Should keep product endpoints within their statement budgets")
+    void productEndpoints_StayWithinQueryBudget() throws Exception {
+        assertWithinBudget("/api/products/list");
+        assertWithinBudget("/api/products?sort=id");
+        assertWithinBudget("/api/products/" + productId);
+        assertWithinBudget("/api/products/find/by-name?name=roll");
+        assertWithinBudget("/api/products/search?q=roll");
+        assertWithinBudget("/api/products/suggest?q=ro");
+    }
+
+    @Test
+    @DisplayName("Should serve the menu listing from the snapshot without touching the database")
+    void productList_IssuesNoStatements_WhenSnapshotIsLoaded() throws Exception {
+        mockMvc.perform(get("/api/products/list"))
+                .andExpect(status().isOk())
+                .andExpect(statements(0));
+    }
+
+    @Test
+    @DisplayName("Should keep customer endpoints within their statement budgets")
+    void customerEndpoints_StayWithinQueryBudget() throws Exception {
+        assertWithinBudget("/api/customers");
+        assertWithinBudget("/api/customers/list");
+        assertWithinBudget("/api/customers/scroll");
+        assertWithinBudget("/api/customers/" + customer.getId());
+        assertWithinBudget("/api/customers/find/by-name?name=customer");
+        assertWithinBudget("/api/customers/find/by-email?email=" + customer.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should keep the customer order history within its statement budget, next pages included")
+    void customerOrderHistory_StaysWithinQueryBudget() throws Exception {
+        String after = ContinuationToken.encode(LocalDateTime.now().plusDays(1) + "," + Long.MAX_VALUE);
+
+        mockMvc.perform(get("/api/customers/me/orders")
+                        .with(user(customer.getEmail()).authorities(new SimpleGrantedAuthority("USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(withinQueryBudget());
+        mockMvc.perform(get("/api/customers/me/orders").param("after", after)
+                        .with(user(customer.getEmail()).authorities(new SimpleGrantedAuthority("USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    @DisplayName("Should keep employee endpoints within their statement budgets")
+    void employeeEndpoints_StayWithinQueryBudget() throws Exception {
+        assertWithinBudget("/api/employees");
+        assertWithinBudget("/api/employees/list");
+        assertWithinBudget("/api/employees/" + employee.getId());
+        assertWithinBudget("/api/employees/find/by-email?email=" + employee.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should keep order endpoints within their statement budgets")
+    void orderEndpoints_StayWithinQueryBudget() throws Exception {
+        assertWithinBudget("/api/orders");
+        assertWithinBudget("/api/orders/list");
+        assertWithinBudget("/api/orders/scroll");
+        assertWithinBudget("/api/orders/" + orderId);
+    }
+}
@@ -2,9 +2,12 @@ package com.sushi.api.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sushi.api.exceptions.ResourceNotFoundException;
-import com.sushi.api.model.Customer;
+import com.sushi.api.model.dto.customer.CustomerView;
+import com.sushi.api.model.dto.order.OrderSummaryDTO;
+import com.sushi.api.model.dto.page.CursorPageDTO;
 import com.sushi.api.security.TokenService;
 import com.sushi.api.services.CustomerService;
+import com.sushi.api.services.OrderService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,10 +20,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static com.sushi.api.common.CustomerConstants.*;
 import static com.sushi.api.common.CustomerControllerConstants.*;
@@ -28,6 +35,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CustomerController.class)
@@ -41,13 +49,29 @@ public class CustomerControllerTest {
     private TokenService tokenService;
     @MockBean
     private CustomerService customerService;
+    @MockBean
+    private OrderService orderService;
+
+    @Test
+    @WithMockUser(username = "customer@gmail.com", roles = {"USER"})
+    @DisplayName("Should return the order history of the authenticated customer")
+    void listMyOrders_ReturnsOrdersOfAuthenticatedCustomer() throws Exception {
+        CursorPageDTO<OrderSummaryDTO> page = new CursorPageDTO<>(
+                List.of(new OrderSummaryDTO(2L, LocalDateTime.of(2024, 7, 1, 19, 30), new BigDecimal("59.90"))), "djE6MjA");
+        when(orderService.listCustomerOrders("customer@gmail.com", null, 20)).thenReturn(page);
+
+        mockMvc
+                .perform(get("/api/customers/me/orders").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"content\":[{\"id\":2,\"orderDate\":\"01/07/2024 07:30\",\"totalAmount\":59.90}],\"next\":\"djE6MjA\"}"));
+    }
 
     @Test
     @WithMockUser(roles = {"ADMIN"})
     @DisplayName("Should return a list of customers inside page object when successful")
     public void listAllPageable_ReturnsAllCustomersWithPagination() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Customer> page = new PageImpl<>(CUSTOMERS_WITH_ADDRESS, pageable, CUSTOMERS_WITH_ADDRESS.size());
+        Page<CustomerView> page = new PageImpl<>(CUSTOMER_VIEWS_WITH_ADDRESS, pageable, CUSTOMER_VIEWS_WITH_ADDRESS.size());
 
         when(customerService.listAllPageable(pageable)).thenReturn(page);
 
@@ -68,7 +92,7 @@ public class CustomerControllerTest {
     @DisplayName("Should return an empty list of customers inside page object when there are no customers")
     void listAllPageable_ReturnsEmptyListOfCustomersInsidePageObject_WhenThereAreNoCustomers() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Customer> emptyCustomerPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        Page<CustomerView> emptyCustomerPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
         when(customerService.listAllPageable(pageable)).thenReturn(emptyCustomerPage);
 
@@ -86,7 +110,7 @@ public class CustomerControllerTest {
     public void listAllNonPageable_ReturnsAllCustomers() throws Exception {
         String expectedJson = objectMapper.writeValueAsString(CUSTOMERS_WITH_ADDRESS);
 
-        when(customerService.listAllNonPageable()).thenReturn(CUSTOMERS_WITH_ADDRESS);
+        when(customerService.listAllNonPageable()).thenReturn(CUSTOMER_VIEWS_WITH_ADDRESS);
 
         mockMvc.perform(get("/api/customers/list")
                         .accept(MediaType.APPLICATION_JSON))
@@ -99,7 +123,7 @@ public class CustomerControllerTest {
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a customer by id when successful")
     public void findCustomerById_ReturnsCustomerById() throws Exception {
-        when(customerService.findCustomerById(CUSTOMER.getId())).thenReturn(CUSTOMER);
+        when(customerService.findCustomerViewById(CUSTOMER.getId())).thenReturn(CUSTOMER_VIEW);
 
         String expectedJson = objectMapper.writeValueAsString(CUSTOMER);
 
@@ -115,7 +139,7 @@ public class CustomerControllerTest {
     @DisplayName("Should return ResourceNotFoundException when trying to find a customer by id that does not exist")
     public void findCustomerById_ReturnsNotFound_WhenCustomerDoesNotExist() throws Exception {
         UUID nonExistentId = UUID.randomUUID();
-        when(customerService.findCustomerById(nonExistentId)).thenThrow(new ResourceNotFoundException("Customer not found"));
+        when(customerService.findCustomerViewById(nonExistentId)).thenThrow(new ResourceNotFoundException("Customer not found"));
 
         mockMvc.perform(get("/api/customers/{id}", nonExistentId)
                         .accept(MediaType.APPLICATION_JSON))
@@ -128,7 +152,7 @@ public class CustomerControllerTest {
     @DisplayName("Should return a list of customers by name when successful")
     public void findCustomersByName_ReturnsListOfCustomers_WhenSuccessful() throws Exception {
         String name = "mar";
-        List<Customer> customers = List.of(CUSTOMER3, CUSTOMER4);
+        List<CustomerView> customers = List.of(CustomerView.of(CUSTOMER3), CustomerView.of(CUSTOMER4));
 
         when(customerService.findCustomerByName(name)).thenReturn(customers);
 
@@ -148,7 +172,7 @@ public class CustomerControllerTest {
     public void findCustomerByEmail_ReturnsCustomerByEmail_WhenSuccessful() throws Exception {
         String email = "isabel@gmail.com";
 
-        when(customerService.findCustomerByEmail(email)).thenReturn(CUSTOMER);
+        when(customerService.findCustomerByEmail(email)).thenReturn(CUSTOMER_VIEW);
 
         String expectedJson = objectMapper.writeValueAsString(CUSTOMER);
 
@@ -165,11 +189,16 @@ public class CustomerControllerTest {
     @DisplayName("Should create a new customer and return Created")
     public void createCustomer_WithValidData_ReturnsCustomerCreated() throws Exception {
         String customerJson = objectMapper.writeValueAsString(CUSTOMER_REQUEST_DTO);
+        when(customerService.createCustomer(CUSTOMER_REQUEST_DTO)).thenReturn(CompletableFuture.completedFuture(CUSTOMER));
 
-        mockMvc.perform(post("/api/customers")
+        MvcResult result = mockMvc.perform(post("/api/customers")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(customerJson)
                         .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated());
     }
 
@@ -178,12 +207,17 @@ public class CustomerControllerTest {
     @DisplayName("Should replace an existing customer and returns No Content")
     public void replaceCustomer_WithValidData_ReturnsNoContent() throws Exception {
         String employeeJson = objectMapper.writeValueAsString(CUSTOMER_UPDATE_DTO);
+        when(customerService.replaceCustomer(CUSTOMER_UPDATE_DTO)).thenReturn(CompletableFuture.completedFuture(null));
 
-        mockMvc
+        MvcResult result = mockMvc
                 .perform(put("/api/customers")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(employeeJson)
                         .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isNoContent());
     }
 
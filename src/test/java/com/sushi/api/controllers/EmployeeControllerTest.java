@@ -2,7 +2,7 @@ package com.sushi.api.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sushi.api.exceptions.ResourceNotFoundException;
-import com.sushi.api.model.Employee;
+import com.sushi.api.model.dto.employee.EmployeeView;
 import com.sushi.api.security.TokenService;
 import com.sushi.api.services.EmployeeService;
 import org.junit.jupiter.api.DisplayName;
@@ -43,7 +43,7 @@ public class EmployeeControllerTest {
     @DisplayName("Should return a list of employees inside page object when successful")
     public void listAllPageable_ReturnsAllEmployeesWithPagination() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Employee> page = new PageImpl<>(EMPLOYEES, pageable, EMPLOYEES.size());
+        Page<EmployeeView> page = new PageImpl<>(EMPLOYEE_VIEWS, pageable, EMPLOYEE_VIEWS.size());
 
         when(employeeService.listAllPageable(pageable)).thenReturn(page);
 
@@ -65,7 +65,7 @@ public class EmployeeControllerTest {
     public void listAllNonPageable_ReturnsAllEmployees() throws Exception {
         String expectedJson = objectMapper.writeValueAsString(EMPLOYEES);
 
-        when(employeeService.listAllNonPageable()).thenReturn(EMPLOYEES);
+        when(employeeService.listAllNonPageable()).thenReturn(EMPLOYEE_VIEWS);
 
         mockMvc.perform(get("/api/employees/list")
                         .accept(MediaType.APPLICATION_JSON))
@@ -78,7 +78,7 @@ public class EmployeeControllerTest {
     @WithMockUser(roles = {"ADMIN"})
     @DisplayName("Should return an employee by id when successful")
     public void findEmployeeById_ReturnsEmployeeById() throws Exception {
-        when(employeeService.findEmployeeById(EMPLOYEE.getId())).thenReturn(EMPLOYEE);
+        when(employeeService.findEmployeeViewById(EMPLOYEE.getId())).thenReturn(EMPLOYEE_VIEW);
 
         String expectedJson = objectMapper.writeValueAsString(EMPLOYEE);
 
@@ -94,7 +94,7 @@ public class EmployeeControllerTest {
     @DisplayName("Should return ResourceNotFoundException when trying to find a employee by id that does not exist")
     public void findEmployeeById_ReturnsNotFound_WhenEmployeeDoesNotExist() throws Exception {
         UUID nonExistentId = UUID.randomUUID();
-        when(employeeService.findEmployeeById(nonExistentId)).thenThrow(new ResourceNotFoundException("Employee not found"));
+        when(employeeService.findEmployeeViewById(nonExistentId)).thenThrow(new ResourceNotFoundException("Employee not found"));
 
         mockMvc.perform(get("/api/employees/{id}", nonExistentId)
                         .accept(MediaType.APPLICATION_JSON))
@@ -108,7 +108,7 @@ public class EmployeeControllerTest {
     public void findEmployeeByEmail_ReturnsEmployeeByEmail() throws Exception {
         String email = "isabel@gmail.com";
 
-        when(employeeService.findEmployeeByEmail(email)).thenReturn(EMPLOYEE);
+        when(employeeService.findEmployeeByEmail(email)).thenReturn(EMPLOYEE_VIEW);
 
         String expectedJson = objectMapper.writeValueAsString(EMPLOYEE);
 
@@ -2,8 +2,15 @@ package com.sushi.api.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sushi.api.exceptions.ResourceNotFoundException;
-import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.order.OrderBatchItemDTO;
+import com.sushi.api.model.dto.order.OrderBatchRequestDTO;
+import com.sushi.api.model.dto.order.OrderBatchResultDTO;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order.OrderView;
 import com.sushi.api.security.TokenService;
+import com.sushi.api.services.IdempotencyService;
+import com.sushi.api.services.OrderBatchMode;
+import com.sushi.api.services.OrderBatchService;
 import com.sushi.api.services.OrderService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,15 +21,27 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 import static com.sushi.api.common.OrderConstants.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
@@ -35,13 +54,17 @@ public class OrderControllerTest {
     private TokenService tokenService;
     @MockBean
     private OrderService orderService;
+    @MockBean
+    private OrderBatchService orderBatchService;
+    @MockBean
+    private IdempotencyService idempotencyService;
 
     @Test
     @WithMockUser(roles = {"ADMIN"})
     @DisplayName("Should return a list of orders inside page object when successful")
     public void listAllPageable_ReturnsAllOrdersWithPagination() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> page = new PageImpl<>(ORDERS, pageable, ORDERS.size());
+        Page<OrderView> page = new PageImpl<>(ORDER_VIEWS, pageable, ORDER_VIEWS.size());
 
         when(orderService.listAllPageable(pageable)).thenReturn(page);
 
@@ -63,7 +86,7 @@ public class OrderControllerTest {
     public void listAllNonPageable_ReturnsAllOrders() throws Exception {
         String expectedJson = objectMapper.writeValueAsString(ORDERS);
 
-        when(orderService.listAllNonPageable()).thenReturn(ORDERS);
+        when(orderService.listAllNonPageable()).thenReturn(ORDER_VIEWS);
 
         mockMvc.perform(get("/api/orders/list")
                         .accept(MediaType.APPLICATION_JSON))
@@ -72,11 +95,34 @@ public class OrderControllerTest {
                 .andExpect(content().json(expectedJson));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should stream every order as a JSON line when NDJSON is requested")
+    public void streamAll_ReturnsOrdersAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<OrderView> consumer = invocation.getArgument(0);
+            ORDER_VIEWS.forEach(consumer);
+            return null;
+        }).when(orderService).streamAll(any());
+
+        String expectedBody = objectMapper.writeValueAsString(ORDER_VIEW) + "\n";
+
+        MvcResult result = mockMvc.perform(get("/api/orders/list")
+                        .param("mediaType", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expectedBody));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a order by id when successful")
     public void findOrderById_ReturnsOrderById() throws Exception {
-        when(orderService.findOrderById(ORDER.getId())).thenReturn(ORDER);
+        when(orderService.findOrderViewById(ORDER.getId())).thenReturn(ORDER_VIEW);
 
         String expectedJson = objectMapper.writeValueAsString(ORDER);
 
@@ -91,7 +137,7 @@ public class OrderControllerTest {
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return ResourceNotFoundException when trying to find a order by id that does not exist")
     public void findOrderById_ReturnsNotFound_WhenOrderDoesNotExist() throws Exception {
-        when(orderService.findOrderById(5L)).thenThrow(new ResourceNotFoundException("Order not found"));
+        when(orderService.findOrderViewById(5L)).thenThrow(new ResourceNotFoundException("Order not found"));
 
         mockMvc.perform(get("/api/orders/{id}", 5L)
                         .accept(MediaType.APPLICATION_JSON))
@@ -113,18 +159,62 @@ public class OrderControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return the stored response when the Idempotency-Key was already used")
+    public void createOrder_WithIdempotencyKey_ReturnsStoredResponse() throws Exception {
+        String orderJson = objectMapper.writeValueAsString(ORDER_REQUEST_DTO);
+        String storedJson = objectMapper.writeValueAsString(ORDER);
+        doReturn(ResponseEntity.status(201).contentType(MediaType.APPLICATION_JSON)
+                .header(IdempotencyService.REPLAYED_HEADER, "true").body(storedJson))
+                .when(idempotencyService).execute(eq("POST /api/orders"), eq("retry-1"), eq(ORDER_REQUEST_DTO), any());
+
+        mockMvc
+                .perform(post("/api/orders")
+                        .header(IdempotencyService.HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson)
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(storedJson));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return Multi-Status when a best-effort batch creates only some orders")
+    public void createOrders_WithBestEffortMode_ReturnsMultiStatus() throws Exception {
+        List<OrderRequestDTO> orders = List.of(ORDER_REQUEST_DTO, ORDER_REQUEST_DTO);
+        OrderBatchResultDTO result = OrderBatchResultDTO.of(List.of(
+                OrderBatchItemDTO.created(0, ORDER.getId(), ORDER.getTotalAmount()),
+                OrderBatchItemDTO.failed(1, "Address not found with this id.")));
+        when(orderBatchService.createOrders(orders, OrderBatchMode.BEST_EFFORT)).thenReturn(result);
+
+        mockMvc
+                .perform(post("/api/orders/batch")
+                        .param("mode", "best-effort")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderBatchRequestDTO(orders)))
+                        .with(csrf()))
+                .andExpect(status().isMultiStatus())
+                .andExpect(content().json(objectMapper.writeValueAsString(result)));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should replace an existing order")
     public void replaceOrder_WithValidData() throws Exception {
         String orderJson = objectMapper.writeValueAsString(ORDER_UPDATE_DTO);
+        when(orderService.replaceOrder(ORDER_UPDATE_DTO, "\"0\"")).thenReturn(ORDER);
 
         mockMvc
                 .perform(put("/api/orders")
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(orderJson)
                         .with(csrf()))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ORDER_VIEW.entityTag()));
     }
 
     @Test
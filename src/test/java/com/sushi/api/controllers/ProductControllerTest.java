@@ -3,8 +3,16 @@ package com.sushi.api.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.product.ProductImportErrorDTO;
+import com.sushi.api.model.dto.product.ProductImportReportDTO;
+import com.sushi.api.model.dto.product.ProductView;
 import com.sushi.api.security.TokenService;
+import com.sushi.api.services.MenuListing;
+import com.sushi.api.services.MenuSnapshot;
+import com.sushi.api.services.MenuSnapshotService;
+import com.sushi.api.services.ProductImportService;
 import com.sushi.api.services.ProductService;
+import com.sushi.api.services.imports.ProductFileFormat;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,17 +22,29 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
+import static com.sushi.api.common.CategoryConstants.CATEGORY_VIEWS;
 import static com.sushi.api.common.ProductConstants.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductController.class)
@@ -37,13 +57,17 @@ public class ProductControllerTest {
     private TokenService tokenService;
     @MockBean
     private ProductService productService;
+    @MockBean
+    private ProductImportService productImportService;
+    @MockBean
+    private MenuSnapshotService menuSnapshotService;
 
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a list of products inside page object when successful")
     public void listAllPageable_ReturnsAllProductsWithPagination() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> page = new PageImpl<>(PRODUCTS, pageable, PRODUCTS.size());
+        Page<ProductView> page = new PageImpl<>(PRODUCT_VIEWS, pageable, PRODUCT_VIEWS.size());
 
         when(productService.listAllPageable(pageable)).thenReturn(page);
 
@@ -59,13 +83,29 @@ public class ProductControllerTest {
                 .andExpect(content().json(expectedJson));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return the products of the given categories")
+    public void filterByCategories_ReturnsMatchingProducts() throws Exception {
+        when(productService.filterByCategories(List.of(1L, 4L), "any")).thenReturn(List.of(ProductView.of(PRODUCT)));
+
+        mockMvc
+                .perform(get("/api/products")
+                        .param("categories", "1,4")
+                        .param("match", "any")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(PRODUCT))));
+        verifyNoInteractions(menuSnapshotService);
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a list of products when successful")
     public void listAllNonPageable_ReturnsAllProducts() throws Exception {
         String expectedJson = objectMapper.writeValueAsString(PRODUCTS);
 
-        when(productService.listAllNonPageable()).thenReturn(PRODUCTS);
+        when(productService.listAllNonPageable()).thenReturn(PRODUCT_VIEWS);
 
         mockMvc.perform(get("/api/products/list")
                         .accept(MediaType.APPLICATION_JSON))
@@ -74,11 +114,33 @@ public class ProductControllerTest {
                 .andExpect(content().json(expectedJson));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should serve the pre-serialized products from the menu snapshot when it is loaded")
+    public void listAllNonPageable_ReturnsSnapshotBody_WhenSnapshotIsLoaded() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(PRODUCTS);
+        byte[] xml = "<List><item><id>1</id></item></List>".getBytes(StandardCharsets.UTF_8);
+        MenuSnapshot snapshot = new MenuSnapshot(new MenuListing<>(PRODUCT_VIEWS, json, xml),
+                new MenuListing<>(CATEGORY_VIEWS, new byte[0], new byte[0]), Instant.now(), Duration.ZERO);
+
+        when(menuSnapshotService.current()).thenReturn(snapshot);
+
+        mockMvc.perform(get("/api/products/list"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(json));
+        mockMvc.perform(get("/api/products/list").param("mediaType", "xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_XML))
+                .andExpect(content().bytes(xml));
+        verifyNoInteractions(productService);
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a product by id when successful")
     public void findProductById_ReturnsProductById() throws Exception {
-        when(productService.findProductById(PRODUCT.getId())).thenReturn(PRODUCT);
+        when(productService.findProductViewById(PRODUCT.getId())).thenReturn(ProductView.of(PRODUCT));
 
         String expectedJson = objectMapper.writeValueAsString(PRODUCT);
 
@@ -89,11 +151,28 @@ public class ProductControllerTest {
                 .andExpect(content().json(expectedJson));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return Not Modified when If-None-Match matches the product version")
+    public void findProductById_ReturnsNotModified_WhenETagMatches() throws Exception {
+        Product product = new Product(3L, "Hot Roll", "Fried salmon roll");
+        product.setVersion(4L);
+        when(productService.findProductViewById(product.getId())).thenReturn(ProductView.of(product));
+
+        mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        mockMvc.perform(get("/api/products/{id}", product.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return ResourceNotFoundException when trying to find a product by id that does not exist")
     public void findProductById_ReturnsNotFound_WhenProductDoesNotExist() throws Exception {
-        when(productService.findProductById(5L)).thenThrow(new ResourceNotFoundException("Product not found"));
+        when(productService.findProductViewById(5L)).thenThrow(new ResourceNotFoundException("Product not found"));
 
         mockMvc.perform(get("/api/products/{id}", 5L)
                         .accept(MediaType.APPLICATION_JSON))
@@ -108,7 +187,7 @@ public class ProductControllerTest {
         String name = "roll";
         List<Product> products = List.of(PRODUCT, PRODUCT2);
 
-        when(productService.findProductByName(name)).thenReturn(products);
+        when(productService.findProductByName(name)).thenReturn(products.stream().map(ProductView::of).toList());
 
         String expectedJson = objectMapper.writeValueAsString(products);
 
@@ -120,6 +199,19 @@ public class ProductControllerTest {
                 .andExpect(content().json(expectedJson));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return the ranked search results when successful")
+    public void searchProducts_ReturnsRankedProducts() throws Exception {
+        when(productService.searchProducts("tuna", 5)).thenReturn(List.of(ProductView.of(PRODUCT2), ProductView.of(PRODUCT)));
+
+        mockMvc.perform(get("/api/products/search")
+                        .param("q", "tuna")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(PRODUCT2, PRODUCT)), true));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     @DisplayName("Should create a new product when successful")
@@ -160,4 +252,55 @@ public class ProductControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should import the uploaded CSV and return the per-row report")
+    public void importProducts_ReturnsReport_WhenFileIsCsv() throws Exception {
+        ProductImportReportDTO report = new ProductImportReportDTO(2, 1, 0, 1,
+                List.of(new ProductImportErrorDTO(3, "Spicy Tuna Roll", "Category not found: Temaki")));
+        when(productImportService.importProducts(any(), eq(ProductFileFormat.CSV))).thenReturn(report);
+
+        mockMvc
+                .perform(post("/api/products/import")
+                        .contentType("text/csv")
+                        .content("name,description,price,portionQuantity,portionUnit,urlImage,categories\n")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(report)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should stream the export as a download in the requested format")
+    public void exportProducts_StreamsAttachment_WhenFormatIsNdjson() throws Exception {
+        MvcResult result = mockMvc
+                .perform(get("/api/products/export")
+                        .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\""));
+        verify(productImportService).exportProducts(any(), eq(ProductFileFormat.NDJSON));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should stream the export as CSV when no format is given")
+    public void exportProducts_StreamsCsv_WhenFormatIsMissing() throws Exception {
+        MvcResult result = mockMvc
+                .perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.csv\""));
+        verify(productImportService).exportProducts(any(), eq(ProductFileFormat.CSV));
+    }
+}
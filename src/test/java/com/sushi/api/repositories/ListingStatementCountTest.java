@@ -0,0 +1,223 @@
+package com.sushi.api.repositories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.model.*;
+import com.sushi.api.repositories.projections.CategoryRow;
+import com.sushi.api.repositories.projections.CustomerRow;
+import com.sushi.api.repositories.projections.OrderLineRow;
+import com.sushi.api.repositories.projections.OrderRow;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the statements each listing issues, including the lazy loads Jackson triggers
+ * while serializing the response, so an association fan-out shows up as a failing count.
+ */
+@DataJpaTest
+@AutoConfigureJson
+@ActiveProfiles("test")
+public class ListingStatementCountTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Statistics statistics;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        Category rolls = entityManager.persist(new Category("Rolls", "Rice rolls"));
+        Category hot = entityManager.persist(new Category("Hot", "Fried pieces"));
+
+        Product product = null;
+        for (int i = 1; i <= 3; i++) {
+            product = entityManager.persist(new Product(null, "Roll " + i, "Salmon roll", BigDecimal.TEN, 8, "pieces",
+                    "https://example.com/roll.png", Set.of(rolls, hot)));
+        }
+
+        Order order = null;
+        for (int i = 1; i <= 3; i++) {
+            Customer customer = new Customer(null, "customer" + i, "customer" + i + "@gmail.com", "1234", null);
+            Phone phone = new Phone("11111111" + i);
+            phone.setCustomer(customer);
+            customer.setPhone(phone);
+            Address address = new Address(String.valueOf(i), "Main St", "Downtown", customer);
+            customer.getAddresses().add(address);
+            entityManager.persist(customer);
+
+            order = new Order(null, customer, address, new ArrayList<>());
+            order.setOrderDate(LocalDateTime.now());
+            OrderItem item = new OrderItem(null, 2, BigDecimal.TEN);
+            item.setProduct(product);
+            item.setOrder(order);
+            item.calculateTotalPrice();
+            order.getItems().add(item);
+            order.calculateTotalAmount();
+            entityManager.persist(order);
+        }
+        orderId = order.getId();
+
+        entityManager.persist(new Employee(null, "ana", "ana@gmail.com", "1234"));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    private long statementsFor(Supplier<Object> listing) throws Exception {
+        entityManager.clear();
+        statistics.clear();
+        objectMapper.writeValueAsString(listing.get());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Should list categories with their products in a single statement")
+    void categoryFindAll_UsesOneStatement() throws Exception {
+        assertEquals(1, statementsFor(() -> categoryRepository.findAll()));
+    }
+
+    @Test
+    @DisplayName("Should page categories and batch-load their products in one extra statement")
+    void categoryFindAllPaged_UsesTwoStatements() throws Exception {
+        assertEquals(2, statementsFor(() -> categoryRepository.findAll(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    @DisplayName("Should read category views in a single statement")
+    void categoryViews_UseOneStatement() throws Exception {
+        Long categoryId = categoryRepository.findAll().get(0).getId();
+        assertEquals(1, statementsFor(() -> categoryRepository.findAllLines()));
+        assertEquals(1, statementsFor(() -> categoryRepository.findLinesById(categoryId)));
+    }
+
+    @Test
+    @DisplayName("Should page category rows and read their products in one extra statement")
+    void categoryRowsPaged_UseTwoStatements() throws Exception {
+        assertEquals(2, statementsFor(() -> categoryRepository.findProductRows(
+                categoryRepository.findRows(PageRequest.of(0, 10)).map(CategoryRow::id).getContent())));
+    }
+
+    @Test
+    @DisplayName("Should list products in a single statement")
+    void productFindAll_UsesOneStatement() throws Exception {
+        assertEquals(1, statementsFor(() -> productRepository.findAll()));
+        assertEquals(1, statementsFor(() -> productRepository.findAll(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    @DisplayName("Should list orders with their items and address in a single statement")
+    void orderFindAll_UsesOneStatement() throws Exception {
+        assertEquals(1, statementsFor(() -> orderRepository.findAll()));
+        assertEquals(1, statementsFor(() -> orderRepository.findById(orderId)));
+    }
+
+    @Test
+    @DisplayName("Should page orders and batch-load their items in one extra statement")
+    void orderFindAllPaged_UsesTwoStatements() throws Exception {
+        assertEquals(2, statementsFor(() -> orderRepository.findAll(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    @DisplayName("Should read order views in a single statement")
+    void orderViews_UseOneStatement() throws Exception {
+        assertEquals(1, statementsFor(() -> orderRepository.findAllLines()));
+        assertEquals(1, statementsFor(() -> orderRepository.findLinesById(orderId)));
+    }
+
+    @Test
+    @DisplayName("Should stream every order line, address and item included, from a single statement")
+    void orderLineStream_UsesOneStatement() throws Exception {
+        assertEquals(1, statementsFor(() -> {
+            try (Stream<OrderLineRow> lines = orderRepository.streamAllLines()) {
+                return lines.toList();
+            }
+        }));
+    }
+
+    @Test
+    @DisplayName("Should page order rows and read their items in one extra statement")
+    void orderRowsPaged_UseTwoStatements() throws Exception {
+        assertEquals(2, statementsFor(() -> orderRepository.findItemRows(
+                orderRepository.findRows(PageRequest.of(0, 10)).map(OrderRow::id).getContent())));
+    }
+
+    @Test
+    @DisplayName("Should read a product view in a single statement")
+    void productView_UsesOneStatement() throws Exception {
+        Long productId = productRepository.findAll().get(0).getId();
+        assertEquals(1, statementsFor(() -> productRepository.findViewById(productId)));
+    }
+
+    @Test
+    @DisplayName("Should list customers with their phone and addresses in a single statement")
+    void customerFindAll_UsesOneStatement() throws Exception {
+        assertEquals(1, statementsFor(() -> customerRepository.findAll()));
+    }
+
+    @Test
+    @DisplayName("Should page customers and batch-load their addresses in one extra statement")
+    void customerFindAllPaged_UsesTwoStatements() throws Exception {
+        assertEquals(2, statementsFor(() -> customerRepository.findAll(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    @DisplayName("Should read customer views in a single statement")
+    void customerViews_UseOneStatement() throws Exception {
+        UUID customerId = customerRepository.findAll().get(0).getId();
+        assertEquals(1, statementsFor(() -> customerRepository.findAllLines()));
+        assertEquals(1, statementsFor(() -> customerRepository.findLinesById(customerId)));
+    }
+
+    @Test
+    @DisplayName("Should page customer rows and read their addresses in one extra statement")
+    void customerRowsPaged_UseTwoStatements() throws Exception {
+        assertEquals(2, statementsFor(() -> customerRepository.findAddressRows(
+                customerRepository.findRows(PageRequest.of(0, 10)).map(CustomerRow::id).getContent())));
+    }
+
+    @Test
+    @DisplayName("Should list employees in a single statement")
+    void employeeFindAll_UsesOneStatement() throws Exception {
+        assertEquals(1, statementsFor(() -> employeeRepository.findAll()));
+    }
+
+    @Test
+    @DisplayName("Should read employee views in a single statement")
+    void employeeViews_UseOneStatement() throws Exception {
+        assertEquals(1, statementsFor(() -> employeeRepository.findAllViews()));
+        assertEquals(1, statementsFor(() -> employeeRepository.findViewByEmail("ana@gmail.com")));
+    }
+}
@@ -0,0 +1,128 @@
+package com.sushi.api.security;
+
+import com.sushi.api.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+    private SimpleMeterRegistry meterRegistry;
+    private CountDownLatch release;
+    private CountDownLatch started;
+    private AtomicInteger hashes;
+    private PasswordEncoder blocking;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+        started = new CountDownLatch(1);
+        hashes = new AtomicInteger();
+        blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashes.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(5), 3, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.close();
+    }
+
+    @Test
+    @DisplayName("Should hash on the pool and return the result to the caller")
+    void encode_ReturnsHash_WhenPoolIsIdle() {
+        release.countDown();
+
+        assertEquals("hashed:123", passwordEncoder.encode("123"));
+        assertTrue(passwordEncoder.matches("123", "hashed:123"));
+        assertEquals(1, meterRegistry.get("security.password.hashing").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject with a Retry-After when the pool and its queue are full")
+    void encode_ThrowsServiceUnavailableException_WhenQueueIsFull() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+        while (passwordEncoder.queueSize() < 1) {
+            Thread.onSpinWait();
+        }
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> passwordEncoder.encode("third"));
+
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("security.password.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("security.password.queue.size").gauge().value());
+
+        release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should answer a hash that waited in the queue past the timeout with a 503 without running it")
+    void encodeAsync_SkipsHash_WhenQueuedPastWaitTimeout() throws Exception {
+        passwordEncoder.close();
+        passwordEncoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofMillis(50), 3, meterRegistry);
+        CompletableFuture<String> running = passwordEncoder.encodeAsync("first");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = passwordEncoder.encodeAsync("second");
+
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+        assertEquals(1, hashes.get());
+        assertEquals(1.0, meterRegistry.get("security.password.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should raise the strength by one for every doubling of the target")
+    void strengthFor_ScalesWithTarget_WhenCalibrating() {
+        long probe = Duration.ofMillis(2).toNanos();
+
+        assertEquals(11, BCryptCalibration.strengthFor(probe, Duration.ofMillis(64)));
+        assertEquals(12, BCryptCalibration.strengthFor(probe, Duration.ofMillis(150)));
+        assertEquals(BCryptCalibration.MIN_STRENGTH, BCryptCalibration.strengthFor(probe, Duration.ofMillis(1)));
+        assertEquals(BCryptCalibration.MAX_STRENGTH, BCryptCalibration.strengthFor(probe, Duration.ofHours(1)));
+    }
+
+    @Test
+    @DisplayName("Should use the configured strength when calibration is off")
+    void resolveStrength_ReturnsConfiguredStrength_WhenNotAuto() {
+        assertEquals(12, BCryptCalibration.resolveStrength("12", Duration.ofMillis(100)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.sushi.api.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsScrapeAuthorizationManagerTest {
+    private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken("key", "anonymous",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+    @Test
+    @DisplayName("Should let the scraper in with the configured token")
+    void check_Grants_WhenScrapeTokenMatches() {
+        MetricsScrapeAuthorizationManager manager = new MetricsScrapeAuthorizationManager("scrape-secret");
+
+        assertTrue(manager.check(() -> ANONYMOUS, context("Bearer scrape-secret")).isGranted());
+        assertFalse(manager.check(() -> ANONYMOUS, context("Bearer other-secret")).isGranted());
+        assertFalse(manager.check(() -> ANONYMOUS, context(null)).isGranted());
+    }
+
+    @Test
+    @DisplayName("Should still accept an ADMIN and only an ADMIN when no token is configured")
+    void check_FallsBackToAdmin_WhenNoScrapeTokenIsConfigured() {
+        MetricsScrapeAuthorizationManager manager = new MetricsScrapeAuthorizationManager("");
+        Authentication admin = new UsernamePasswordAuthenticationToken("admin", null, AuthorityUtils.createAuthorityList("ADMIN"));
+        Authentication user = new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.createAuthorityList("USER"));
+
+        assertTrue(manager.check(() -> admin, context(null)).isGranted());
+        assertFalse(manager.check(() -> user, context(null)).isGranted());
+        assertFalse(manager.check(() -> ANONYMOUS, context("Bearer ")).isGranted());
+    }
+
+    private static RequestAuthorizationContext context(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return new RequestAuthorizationContext(request);
+    }
+}
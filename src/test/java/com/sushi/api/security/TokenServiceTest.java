@@ -0,0 +1,75 @@
+package com.sushi.api.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static com.sushi.api.common.EmployeeConstants.EMPLOYEE_LOGIN;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceTest {
+    private SimpleMeterRegistry meterRegistry;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenService = new TokenService("test-secret", 100, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should return the subject, role and expiry when the token is valid")
+    void verifyToken_ReturnsPrincipal_WhenTokenIsValid() {
+        String token = tokenService.generateCustomerToken(CUSTOMER);
+
+        Optional<TokenPrincipal> result = tokenService.verifyToken(token);
+
+        assertTrue(result.isPresent());
+        assertEquals(CUSTOMER.getEmail(), result.get().subject());
+        assertEquals("USER", result.get().role());
+        assertEquals(tokenService.getExpirationDateFromToken(token), result.get().expiresAt());
+    }
+
+    @Test
+    @DisplayName("Should serve a token verified before from the cache")
+    void verifyToken_UsesCache_WhenTokenWasAlreadyVerified() {
+        String token = tokenService.generateEmployeeToken(EMPLOYEE_LOGIN);
+
+        tokenService.verifyToken(token);
+        Optional<TokenPrincipal> result = tokenService.verifyToken(token);
+
+        assertTrue(result.isPresent());
+        assertEquals("ADMIN", result.get().role());
+        assertEquals(1.0, meterRegistry.counter("security.token.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("security.token.cache", "result", "miss").count());
+        assertEquals(1L, meterRegistry.timer("security.token.verification", "outcome", "valid").count());
+    }
+
+    @Test
+    @DisplayName("Should return empty when the token was signed with another secret")
+    void verifyToken_ReturnsEmpty_WhenSignatureIsInvalid() {
+        TokenService otherService = new TokenService("other-secret", 100, new SimpleMeterRegistry());
+        String token = otherService.generateCustomerToken(CUSTOMER);
+
+        Optional<TokenPrincipal> result = tokenService.verifyToken(token);
+
+        assertTrue(result.isEmpty());
+        assertEquals(1L, meterRegistry.timer("security.token.verification", "outcome", "invalid").count());
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens when the cache is disabled")
+    void verifyToken_AlwaysVerifies_WhenCacheIsDisabled() {
+        TokenService uncachedService = new TokenService("test-secret", 0, meterRegistry);
+        String token = uncachedService.generateCustomerToken(CUSTOMER);
+
+        uncachedService.verifyToken(token);
+        uncachedService.verifyToken(token);
+
+        assertEquals(2L, meterRegistry.timer("security.token.verification", "outcome", "valid").count());
+    }
+}
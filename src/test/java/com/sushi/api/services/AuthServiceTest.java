@@ -10,17 +10,15 @@ import com.sushi.api.model.dto.login.RegisterResponseDTO;
 import com.sushi.api.repositories.CustomerRepository;
 import com.sushi.api.repositories.EmployeeRepository;
 import com.sushi.api.security.TokenService;
+import com.sushi.api.security.BoundedPasswordEncoder;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static com.sushi.api.common.CustomerConstants.*;
 import static com.sushi.api.common.EmployeeConstants.EMPLOYEE_LOGIN;
@@ -29,19 +27,22 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.never;
 
-@ExtendWith(SpringExtension.class)
 public class AuthServiceTest {
-    @InjectMocks
     private AuthService authService;
-    @Mock
-    private PasswordEncoder passwordEncoder;
-    @Mock
+    private BoundedPasswordEncoder passwordEncoder;
     private TokenService tokenService;
-    @Mock
     private CustomerRepository customerRepository;
-    @Mock
     private EmployeeRepository employeeRepository;
 
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = mock(BoundedPasswordEncoder.class);
+        tokenService = mock(TokenService.class);
+        customerRepository = mock(CustomerRepository.class);
+        employeeRepository = mock(EmployeeRepository.class);
+        authService = new AuthService(tokenService, passwordEncoder, customerRepository, employeeRepository, Runnable::run);
+    }
+
     @Test
     @DisplayName("Should return a LoginResponseDTO with a token when credentials are valid")
     void loginCustomer_WithValidCredentials_ReturnsToken() {
@@ -49,11 +50,11 @@ public class AuthServiceTest {
         Instant expirationDate = Instant.now().plus(1, ChronoUnit.HOURS);
 
         when(customerRepository.findByEmail(EMAIL)).thenReturn(Optional.of(CUSTOMER_LOGIN));
-        when(passwordEncoder.matches(PASSWORD, CUSTOMER_LOGIN.getPassword())).thenReturn(true);
+        when(passwordEncoder.matchesAsync(PASSWORD, CUSTOMER_LOGIN.getPassword())).thenReturn(CompletableFuture.completedFuture(true));
         when(tokenService.generateCustomerToken(CUSTOMER_LOGIN)).thenReturn(TOKEN);
         when(tokenService.getExpirationDateFromToken(TOKEN)).thenReturn(expirationDate);
 
-        LoginResponseDTO response = authService.loginCustomer(request);
+        LoginResponseDTO response = authService.loginCustomer(request).join();
 
         assertNotNull(response);
         assertEquals(CUSTOMER_LOGIN.getName(), response.name());
@@ -67,9 +68,9 @@ public class AuthServiceTest {
         LoginRequestDTO request = new LoginRequestDTO(EMAIL, "senhaerrada");
 
         when(customerRepository.findByEmail(EMAIL)).thenReturn(Optional.of(CUSTOMER_LOGIN));
-        when(passwordEncoder.matches("senhaerrada", CUSTOMER_LOGIN.getPassword())).thenReturn(false);
+        when(passwordEncoder.matchesAsync("senhaerrada", CUSTOMER_LOGIN.getPassword())).thenReturn(CompletableFuture.completedFuture(false));
 
-        LoginResponseDTO response = authService.loginCustomer(request);
+        LoginResponseDTO response = authService.loginCustomer(request).join();
 
         assertNotNull(response);
         assertEquals("Invalid credentials", response.name());
@@ -93,11 +94,11 @@ public class AuthServiceTest {
         Instant expirationDate = Instant.now().plus(1, ChronoUnit.HOURS);
 
         when(customerRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCODED_PASSWORD);
+        when(passwordEncoder.encodeAsync(PASSWORD)).thenReturn(CompletableFuture.completedFuture(ENCODED_PASSWORD));
         when(tokenService.generateCustomerToken(any(Customer.class))).thenReturn(TOKEN);
         when(tokenService.getExpirationDateFromToken(TOKEN)).thenReturn(expirationDate);
 
-        RegisterResponseDTO response = authService.registerCustomer(request);
+        RegisterResponseDTO response = authService.registerCustomer(request).join();
 
         assertNotNull(response);
         assertEquals("ana", response.name());
@@ -114,7 +115,7 @@ public class AuthServiceTest {
 
         when(customerRepository.findByEmail(EMAIL)).thenReturn(Optional.of(new Customer()));
 
-        RegisterResponseDTO response = authService.registerCustomer(request);
+        RegisterResponseDTO response = authService.registerCustomer(request).join();
 
         assertNotNull(response);
         assertEquals("Customer already exists", response.name());
@@ -130,11 +131,11 @@ public class AuthServiceTest {
         Instant expirationDate = Instant.now().plus(1, ChronoUnit.HOURS);
 
         when(employeeRepository.findByEmail(EMAIL)).thenReturn(Optional.of(EMPLOYEE_LOGIN));
-        when(passwordEncoder.matches(PASSWORD, EMPLOYEE_LOGIN.getPassword())).thenReturn(true);
+        when(passwordEncoder.matchesAsync(PASSWORD, EMPLOYEE_LOGIN.getPassword())).thenReturn(CompletableFuture.completedFuture(true));
         when(tokenService.generateEmployeeToken(EMPLOYEE_LOGIN)).thenReturn(TOKEN);
         when(tokenService.getExpirationDateFromToken(TOKEN)).thenReturn(expirationDate);
 
-        LoginResponseDTO response = authService.loginEmployee(request);
+        LoginResponseDTO response = authService.loginEmployee(request).join();
 
         assertNotNull(response);
         assertEquals(EMPLOYEE_LOGIN.getName(), response.name());
@@ -148,9 +149,9 @@ public class AuthServiceTest {
         LoginRequestDTO request = new LoginRequestDTO(EMAIL, "senhaerrada");
 
         when(employeeRepository.findByEmail(EMAIL)).thenReturn(Optional.of(EMPLOYEE_LOGIN));
-        when(passwordEncoder.matches("senhaerrada", EMPLOYEE_LOGIN.getPassword())).thenReturn(false);
+        when(passwordEncoder.matchesAsync("senhaerrada", EMPLOYEE_LOGIN.getPassword())).thenReturn(CompletableFuture.completedFuture(false));
 
-        LoginResponseDTO response = authService.loginEmployee(request);
+        LoginResponseDTO response = authService.loginEmployee(request).join();
 
         assertNotNull(response);
         assertEquals("Invalid credentials", response.name());
@@ -174,11 +175,11 @@ public class AuthServiceTest {
         Instant expirationDate = Instant.now().plus(1, ChronoUnit.HOURS);
 
         when(employeeRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCODED_PASSWORD);
+        when(passwordEncoder.encodeAsync(PASSWORD)).thenReturn(CompletableFuture.completedFuture(ENCODED_PASSWORD));
         when(tokenService.generateEmployeeToken(any(Employee.class))).thenReturn(TOKEN);
         when(tokenService.getExpirationDateFromToken(TOKEN)).thenReturn(expirationDate);
 
-        RegisterResponseDTO response = authService.registerEmployee(request);
+        RegisterResponseDTO response = authService.registerEmployee(request).join();
 
         assertNotNull(response);
         assertEquals("ana", response.name());
@@ -195,7 +196,7 @@ public class AuthServiceTest {
 
         when(employeeRepository.findByEmail(EMAIL)).thenReturn(Optional.of(new Employee()));
 
-        RegisterResponseDTO response = authService.registerEmployee(request);
+        RegisterResponseDTO response = authService.registerEmployee(request).join();
 
         assertNotNull(response);
         assertEquals("Employee already exists", response.name());
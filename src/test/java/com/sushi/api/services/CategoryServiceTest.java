@@ -1,18 +1,26 @@
 package com.sushi.api.services;
 
+import com.sushi.api.exceptions.PreconditionFailedException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Category;
 import com.sushi.api.model.dto.category.CategoryRequestDTO;
 import com.sushi.api.model.dto.category.CategoryUpdateDTO;
+import com.sushi.api.model.dto.category.CategoryView;
+import com.sushi.api.model.dto.product.ProductView;
 import com.sushi.api.repositories.CategoryRepository;
+import com.sushi.api.repositories.projections.CategoryLineRow;
+import com.sushi.api.repositories.projections.CategoryProductRow;
+import com.sushi.api.repositories.projections.CategoryRow;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -21,6 +29,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static com.sushi.api.common.CategoryConstants.*;
+import static com.sushi.api.common.ProductConstants.PRODUCT;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,51 +41,57 @@ public class CategoryServiceTest {
     private CategoryService categoryService;
     @Mock
     private CategoryRepository categoryRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Test
-    @DisplayName("Should return a list of categories inside page object when successful")
+    @DisplayName("Should return a page of category views with their products when successful")
     void listAll_ReturnsListOfCategoriesInsidePageObject_WhenSuccessful() {
-        Page<Category> categoryPage = mock(Page.class);
-        Pageable pageable = mock(Pageable.class);
-
-        when(categoryRepository.findAll(pageable)).thenReturn(categoryPage);
-        Page<Category> result = categoryService.listAllPageable(pageable);
-
-        assertNotNull(result);
-        assertEquals(categoryPage, result);
+        Pageable pageable = PageRequest.of(0, 10);
+        CategoryRow row = new CategoryRow(CATEGORY.getId(), CATEGORY.getName(), CATEGORY.getDescription(), CATEGORY.getVersion());
+        CategoryProductRow product = new CategoryProductRow(CATEGORY.getId(), PRODUCT.getId(), PRODUCT.getName(),
+                PRODUCT.getDescription(), PRODUCT.getPriceInCents(), PRODUCT.getPortionQuantity(), PRODUCT.getPortionUnit(),
+                PRODUCT.getUrlImage(), PRODUCT.getVersion());
+
+        when(categoryRepository.findRows(pageable)).thenReturn(new PageImpl<>(List.of(row), pageable, 1));
+        when(categoryRepository.findProductRows(List.of(CATEGORY.getId()))).thenReturn(List.of(product));
+        Page<CategoryView> result = categoryService.listAllPageable(pageable);
+
+        assertEquals(List.of(new CategoryView(CATEGORY.getId(), CATEGORY.getName(), CATEGORY.getDescription(),
+                List.of(ProductView.of(PRODUCT)), CATEGORY.getVersion())), result.getContent());
+        assertEquals(1, result.getTotalElements());
     }
 
     @Test
     @DisplayName("Should return an empty list of categories inside page object when there are no categories")
     void listAllPageable_ReturnsEmptyListOfCategoriesInsidePageObject_WhenThereAreNoCategories() {
-        Page<Category> emptyCategoryPage = new PageImpl<>(Collections.emptyList());
-        Pageable pageable = mock(Pageable.class);
+        Pageable pageable = PageRequest.of(0, 10);
 
-        when(categoryRepository.findAll(pageable)).thenReturn(emptyCategoryPage);
+        when(categoryRepository.findRows(pageable)).thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
 
-        Page<Category> result = categoryService.listAllPageable(pageable);
+        Page<CategoryView> result = categoryService.listAllPageable(pageable);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
+        verify(categoryRepository, never()).findProductRows(any());
     }
 
     @Test
     @DisplayName("Should return a list of categories when successful")
     void listAllNonPageable_ReturnsListOfCategories_WhenSuccessful() {
-        when(categoryRepository.findAll()).thenReturn(CATEGORIES);
+        when(categoryRepository.findAllLines()).thenReturn(CATEGORY_LINES);
 
-        List<Category> result = categoryService.listAllNonPageable();
+        List<CategoryView> result = categoryService.listAllNonPageable();
 
-        assertNotNull(result);
-        assertEquals(CATEGORIES.size(), result.size());
+        assertEquals(CATEGORY_VIEWS, result);
     }
 
     @Test
     @DisplayName("Should return an empty list of categories when there are no categories")
     void listAllNonPageable_ReturnsEmptyListOfCategories_WhenThereAreNoCategories() {
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryRepository.findAllLines()).thenReturn(Collections.emptyList());
 
-        List<Category> result = categoryService.listAllNonPageable();
+        List<CategoryView> result = categoryService.listAllNonPageable();
 
         assertEquals(0, result.size());
     }
@@ -100,18 +115,36 @@ public class CategoryServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> categoryService.findCategoryById(CATEGORY.getId()));
     }
 
+    @Test
+    @DisplayName("Should return a category view by id when successful")
+    void findCategoryViewById_ReturnsView_WhenSuccessful() {
+        when(categoryRepository.findLinesById(CATEGORY.getId())).thenReturn(List.of(CATEGORY_LINES.get(0)));
+
+        CategoryView result = categoryService.findCategoryViewById(CATEGORY.getId());
+
+        assertEquals(CATEGORY_VIEW, result);
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException when there is no category view with the id")
+    void findCategoryViewById_ThrowsResourceNotFoundException_WhenCategoryIdDoesNotExist() {
+        when(categoryRepository.findLinesById(CATEGORY.getId())).thenReturn(Collections.emptyList());
+
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.findCategoryViewById(CATEGORY.getId()));
+    }
+
     @Test
     @DisplayName("Should return a category by name when successful")
     void findCategoryByName_ReturnsCategory_WhenSuccessful() {
         String name = "sushi";
-        List<Category> categories = List.of(CATEGORY, CATEGORY3);
 
-        when(categoryRepository.findByNameContainingIgnoreCase(name)).thenReturn(categories);
+        Category category = new Category(1L, "Sushi Tradicional", "Sushis tradicionais");
+        Category category3 = new Category(3L, "Sushi Fusion", "Sushis de fusão");
+        when(categoryRepository.findLinesByNameContaining(name)).thenReturn(List.of(line(category), line(category3)));
 
-        List<Category> result = categoryService.findCategoryByName(name);
+        List<CategoryView> result = categoryService.findCategoryByName(name);
 
-        assertNotNull(result);
-        assertEquals(categories, result);
+        assertEquals(List.of(CategoryView.of(category), CategoryView.of(category3)), result);
     }
 
     @Test
@@ -119,9 +152,9 @@ public class CategoryServiceTest {
     void findCategoryByName_ThrowsResourceNotFoundException_WhenCategoryNameDoesNotExist() {
         String name = "doces";
 
-        when(categoryRepository.findByNameContainingIgnoreCase(name)).thenReturn(Collections.emptyList());
+        when(categoryRepository.findLinesByNameContaining(name)).thenReturn(Collections.emptyList());
 
-        assertThrows(ResourceNotFoundException.class, () -> categoryService.findCategoryByName(CATEGORY.getName()));
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.findCategoryByName(name));
     }
 
     @Test
@@ -154,18 +187,45 @@ public class CategoryServiceTest {
     @Test
     @DisplayName("Should replace an existing category when provided with valid CategoryUpdateDTO")
     void replaceCategory_WhenSuccessful() {
-        when(categoryRepository.findById(CATEGORY.getId())).thenReturn(Optional.of(CATEGORY));
+        Category category = new Category(CATEGORY.getId(), CATEGORY.getName(), CATEGORY.getDescription());
+        when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
 
         CategoryUpdateDTO updateDTO = new CategoryUpdateDTO(
-                CATEGORY.getId(),
+                category.getId(),
                 "newName",
                 "newDescription"
         );
 
         categoryService.replaceCategory(updateDTO);
 
-        verify(categoryRepository).findById(CATEGORY.getId());
-        verify(categoryRepository).save(CATEGORY);
+        verify(categoryRepository).findById(category.getId());
+        verify(categoryRepository).save(category);
+    }
+
+    @Test
+    @DisplayName("Should replace the category when If-Match carries the ETag its GET returned")
+    void replaceCategory_WhenIfMatchIsTheReadETag() {
+        Category category = new Category(CATEGORY.getId(), CATEGORY.getName(), CATEGORY.getDescription());
+        category.getProducts().add(PRODUCT);
+        String entityTag = CategoryView.of(category).entityTag();
+        when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
+
+        categoryService.replaceCategory(new CategoryUpdateDTO(category.getId(), "newName", "newDescription"), entityTag);
+
+        verify(categoryRepository).save(category);
+    }
+
+    @Test
+    @DisplayName("Should throw a PreconditionFailedException when a product of the category changed since the ETag was read")
+    void replaceCategory_ThrowsPreconditionFailedException_WhenETagIsStale() {
+        Category category = new Category(CATEGORY.getId(), CATEGORY.getName(), CATEGORY.getDescription());
+        String entityTag = CategoryView.of(category).entityTag();
+        category.getProducts().add(PRODUCT);
+        when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
+
+        assertThrows(PreconditionFailedException.class, () -> categoryService.replaceCategory(
+                new CategoryUpdateDTO(category.getId(), "newName", "newDescription"), entityTag));
+        verify(categoryRepository, never()).save(any());
     }
 
     @Test
@@ -176,6 +236,7 @@ public class CategoryServiceTest {
         assertThatCode(() -> categoryService.deleteCategory(CATEGORY.getId())).doesNotThrowAnyException();
 
         verify(categoryRepository, times(1)).delete(CATEGORY);
+        verify(eventPublisher).publishEvent(new MenuChangedEvent("category", CATEGORY.getId()));
     }
 
     @Test
@@ -185,4 +246,8 @@ public class CategoryServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> categoryService.deleteCategory(CATEGORY.getId()));
     }
+
+    private static CategoryLineRow line(Category category) {
+        return new CategoryLineRow(new CategoryRow(category.getId(), category.getName(), category.getDescription(), category.getVersion()), null);
+    }
 }
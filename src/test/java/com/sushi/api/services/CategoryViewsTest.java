@@ -0,0 +1,100 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.sushi.api.model.Category;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.category.CategoryView;
+import com.sushi.api.repositories.projections.CategoryLineRow;
+import com.sushi.api.repositories.projections.CategoryProductRow;
+import com.sushi.api.repositories.projections.CategoryRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CategoryViewsTest {
+    private final ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+    private final XmlMapper xmlMapper = new Jackson2ObjectMapperBuilder().createXmlMapper(true).build();
+
+    @Test
+    @DisplayName("Should serialize a category view exactly like the category entity")
+    void fromLines_MatchesEntityJson_WhenCategoryHasProducts() throws Exception {
+        Category category = category();
+
+        List<CategoryView> views = CategoryViews.fromLines(lines(category));
+
+        assertEquals(1, views.size());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(category)),
+                objectMapper.readTree(objectMapper.writeValueAsString(views.get(0))));
+        assertEquals(CategoryView.of(category), views.get(0));
+    }
+
+    @Test
+    @DisplayName("Should serialize a category view to the same XML as the category entity")
+    void fromLines_MatchesEntityXml_WhenCategoryHasProducts() throws Exception {
+        Category category = category();
+
+        String xml = xmlMapper.writeValueAsString(CategoryViews.fromLines(lines(category)).get(0));
+
+        assertTrue(xml.startsWith("<Category>"));
+        assertEquals(xmlMapper.readTree(xmlMapper.writeValueAsString(category)), xmlMapper.readTree(xml));
+    }
+
+    @Test
+    @DisplayName("Should keep categories without products and the order of the rows")
+    void assemble_KeepsRowOrder_WhenSomeCategoriesHaveNoProducts() {
+        List<CategoryView> views = CategoryViews.assemble(
+                List.of(new CategoryRow(2L, "Hot", "Fried pieces", 0L), new CategoryRow(1L, "Rolls", "Rice rolls", 0L)),
+                List.of(new CategoryProductRow(1L, 10L, "Roll", "Salmon roll", 899L, 8, "pieces", null, 0L)));
+
+        assertEquals(List.of(2L, 1L), views.stream().map(CategoryView::id).toList());
+        assertEquals(List.of(), views.get(0).products());
+        assertEquals(new BigDecimal("8.99"), views.get(1).products().get(0).price());
+    }
+
+    @Test
+    @DisplayName("Should fold a stream of lines into one view per category, like the list")
+    void forEachView_FoldsLinesPerCategory_WhenStreamed() {
+        CategoryRow first = new CategoryRow(1L, "Rolls", "Rice rolls", 0L);
+        CategoryRow second = new CategoryRow(2L, "Hot", "Fried pieces", 0L);
+        List<CategoryLineRow> lines = List.of(
+                new CategoryLineRow(first, new CategoryProductRow(1L, 10L, "Roll", "Salmon roll", 899L, 8, "pieces", null, 0L)),
+                new CategoryLineRow(first, new CategoryProductRow(1L, 11L, "Hot roll", "Fried roll", 1049L, 6, "pieces", null, 0L)),
+                new CategoryLineRow(second, null));
+        List<CategoryView> streamed = new ArrayList<>();
+
+        CategoryViews.forEachView(lines.stream(), streamed::add);
+
+        assertEquals(CategoryViews.fromLines(lines), streamed);
+        assertEquals(2, streamed.get(0).products().size());
+    }
+
+    private static List<CategoryLineRow> lines(Category category) {
+        CategoryRow row = new CategoryRow(category.getId(), category.getName(), category.getDescription(), category.getVersion());
+        return category.getProducts().stream()
+                .map(product -> new CategoryLineRow(row, new CategoryProductRow(category.getId(), product.getId(),
+                        product.getName(), product.getDescription(), product.getPriceInCents(), product.getPortionQuantity(),
+                        product.getPortionUnit(), product.getUrlImage(), product.getVersion())))
+                .toList();
+    }
+
+    private static Category category() {
+        Category category = new Category(1L, "Rolls", "Rice rolls");
+        LinkedHashSet<Product> products = new LinkedHashSet<>();
+        products.add(new Product(1L, "California Roll", "Crab meat, avocado and cucumber", new BigDecimal("8.99"), 8,
+                "pieces", "http://example.com/images/california_roll.jpg", Set.of(category)));
+        products.add(new Product(2L, "Spicy Tuna Roll", "Spicy tuna and cucumber", new BigDecimal("10.49"), 6,
+                "pieces", "http://example.com/images/spicy_tuna_roll.jpg", Set.of(category)));
+        category.setProducts(products);
+        return category;
+    }
+}
@@ -1,10 +1,19 @@
 package com.sushi.api.services;
 
+import com.sushi.api.exceptions.BadRequestException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Customer;
+import com.sushi.api.model.Phone;
 import com.sushi.api.model.dto.customer.CustomerRequestDTO;
 import com.sushi.api.model.dto.customer.CustomerUpdateDTO;
+import com.sushi.api.model.dto.customer.CustomerView;
+import com.sushi.api.model.dto.page.CursorPageDTO;
 import com.sushi.api.repositories.CustomerRepository;
+import com.sushi.api.repositories.projections.CustomerAddressRow;
+import com.sushi.api.repositories.projections.CustomerLineRow;
+import com.sushi.api.repositories.projections.CustomerRow;
+import com.sushi.api.security.BoundedPasswordEncoder;
+import com.sushi.api.utils.ContinuationToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,17 +21,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static com.sushi.api.common.CustomerConstants.*;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -37,7 +52,11 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private BoundedPasswordEncoder passwordEncoder;
+    @Spy
+    private Executor taskExecutor = new SyncTaskExecutor();
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @BeforeEach
     void setUp() {
@@ -45,53 +64,84 @@ class CustomerServiceTest {
     }
 
     @Test
-    @DisplayName("Should return a list of customers inside page object when successful")
+    @DisplayName("Should return a page of customer views with their addresses when successful")
     void listAll_ReturnsListOfCustomersInsidePageObject_WhenSuccessful() {
-        Page<Customer> customerPage = mock(Page.class);
-        Pageable pageable = mock(Pageable.class);
+        Pageable pageable = PageRequest.of(0, 10);
 
-        when(customerRepository.findAll(pageable)).thenReturn(customerPage);
-        Page<Customer> result = customerService.listAllPageable(pageable);
+        when(customerRepository.findRows(pageable)).thenReturn(new PageImpl<>(List.of(row(CUSTOMER_ADDRESS)), pageable, 1));
+        when(customerRepository.findAddressRows(List.of(CUSTOMER_ADDRESS.getId()))).thenReturn(List.of(addressRow(CUSTOMER_ADDRESS)));
+        Page<CustomerView> result = customerService.listAllPageable(pageable);
 
-        assertNotNull(result);
-        assertEquals(customerPage, result);
+        assertEquals(List.of(CustomerView.of(CUSTOMER_ADDRESS)), result.getContent());
+        assertEquals(1, result.getTotalElements());
     }
 
     @Test
     @DisplayName("Should return an empty list of customers inside page object when there are no customers")
     void listAllPageable_ReturnsEmptyListOfCustomersInsidePageObject_WhenThereAreNoCustomers() {
-        Page<Customer> emptyCustomerPage = new PageImpl<>(Collections.emptyList());
-        Pageable pageable = mock(Pageable.class);
+        Pageable pageable = PageRequest.of(0, 10);
 
-        when(customerRepository.findAll(pageable)).thenReturn(emptyCustomerPage);
+        when(customerRepository.findRows(pageable)).thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
 
-        Page<Customer> result = customerService.listAllPageable(pageable);
+        Page<CustomerView> result = customerService.listAllPageable(pageable);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
+        verify(customerRepository, never()).findAddressRows(any());
     }
 
     @Test
     @DisplayName("Should return a list of customers when successful")
     void listAllNonPageable_ReturnsListOfCustomers_WhenSuccessful() {
-        when(customerRepository.findAll()).thenReturn(CUSTOMERS);
+        when(customerRepository.findAllLines()).thenReturn(CUSTOMERS.stream().map(CustomerServiceTest::line).toList());
 
-        List<Customer> result = customerService.listAllNonPageable();
+        List<CustomerView> result = customerService.listAllNonPageable();
 
-        assertNotNull(result);
-        assertEquals(CUSTOMERS.size(), result.size());
+        assertEquals(CUSTOMER_VIEWS, result);
     }
 
     @Test
     @DisplayName("Should return an empty list of customers when there are no customers")
     void listAllNonPageable_ReturnsEmptyListOfCustomers_WhenThereAreNoCustomers() {
-        when(customerRepository.findAll()).thenReturn(Collections.emptyList());
+        when(customerRepository.findAllLines()).thenReturn(Collections.emptyList());
 
-        List<Customer> result = customerService.listAllNonPageable();
+        List<CustomerView> result = customerService.listAllNonPageable();
 
         assertEquals(0, result.size());
     }
 
+    @Test
+    @DisplayName("Should return a page of customers with a continuation token when more customers exist")
+    void listAllByCursor_ReturnsPageWithNextToken_WhenMoreCustomersExist() {
+        when(customerRepository.findRowsOrderById(Limit.of(3))).thenReturn(CUSTOMERS.stream().map(CustomerServiceTest::row).toList());
+
+        CursorPageDTO<CustomerView> result = customerService.listAllByCursor(null, 2);
+
+        assertEquals(List.of(CustomerView.of(CUSTOMER2), CustomerView.of(CUSTOMER3)), result.content());
+        assertEquals(ContinuationToken.encode(CUSTOMER3.getId().toString()), result.next());
+        verify(customerRepository).findAddressRows(List.of(CUSTOMER2.getId(), CUSTOMER3.getId()));
+    }
+
+    @Test
+    @DisplayName("Should read customers after the id carried by the continuation token")
+    void listAllByCursor_ReadsAfterTokenPosition_WhenTokenIsGiven() {
+        String after = ContinuationToken.encode(CUSTOMER2.getId().toString());
+        when(customerRepository.findRowsAfter(CUSTOMER2.getId(), Limit.of(21))).thenReturn(List.of(row(CUSTOMER3)));
+
+        CursorPageDTO<CustomerView> result = customerService.listAllByCursor(after, 20);
+
+        assertEquals(List.of(CustomerView.of(CUSTOMER3)), result.content());
+        assertNull(result.next());
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when the continuation token does not hold a customer id")
+    void listAllByCursor_ThrowsBadRequestException_WhenTokenIsInvalid() {
+        String after = ContinuationToken.encode("42");
+
+        assertThrows(BadRequestException.class, () -> customerService.listAllByCursor(after, 20));
+    }
+
     @Test
     @DisplayName("Should return a customer by id when successful")
     void findCustomerById_ReturnsCustomer_WhenSuccessful() {
@@ -111,18 +161,34 @@ class CustomerServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> customerService.findCustomerById(CUSTOMER.getId()));
     }
 
+    @Test
+    @DisplayName("Should return a customer view by id when successful")
+    void findCustomerViewById_ReturnsView_WhenSuccessful() {
+        when(customerRepository.findLinesById(CUSTOMER.getId())).thenReturn(List.of(line(CUSTOMER)));
+
+        CustomerView result = customerService.findCustomerViewById(CUSTOMER.getId());
+
+        assertEquals(CUSTOMER_VIEW, result);
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException when there is no customer view with the id")
+    void findCustomerViewById_ThrowsResourceNotFoundException_WhenCustomerIdDoesNotExist() {
+        when(customerRepository.findLinesById(CUSTOMER.getId())).thenReturn(Collections.emptyList());
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.findCustomerViewById(CUSTOMER.getId()));
+    }
+
     @Test
     @DisplayName("Should return a list of customers by name when successful")
     void findCustomerByName_ReturnsListOfCustomers_WhenSuccessful() {
         String name = "mar";
-        List<Customer> customers = List.of(CUSTOMER3, CUSTOMER4);
 
-        when(customerRepository.findByNameContainingIgnoreCase(name)).thenReturn(customers);
+        when(customerRepository.findLinesByNameContaining(name)).thenReturn(List.of(line(CUSTOMER3), line(CUSTOMER4)));
 
-        List<Customer> result = customerService.findCustomerByName(name);
+        List<CustomerView> result = customerService.findCustomerByName(name);
 
-        assertNotNull(result);
-        assertEquals(customers, result);
+        assertEquals(List.of(CustomerView.of(CUSTOMER3), CustomerView.of(CUSTOMER4)), result);
     }
 
     @Test
@@ -130,9 +196,9 @@ class CustomerServiceTest {
     void findCustomerByName_ReturnsResourceNotFoundException_WhenThereAreNoCustomersWithTheName() {
         String name = "joao";
 
-        when(customerRepository.findByNameContainingIgnoreCase(name)).thenReturn(Collections.emptyList());
+        when(customerRepository.findLinesByNameContaining(name)).thenReturn(Collections.emptyList());
 
-        assertThrows(ResourceNotFoundException.class, () -> customerService.findCustomerByName(CUSTOMER.getName()));
+        assertThrows(ResourceNotFoundException.class, () -> customerService.findCustomerByName(name));
     }
 
     @Test
@@ -140,25 +206,22 @@ class CustomerServiceTest {
     void findCustomerByEmail_ReturnsCustomer_WhenSuccessful() {
         String email = "isabel@gmail.com";
 
-        when(customerRepository.findByEmail(email)).thenReturn(Optional.of(CUSTOMER));
+        when(customerRepository.findLinesByEmail(email)).thenReturn(List.of(line(CUSTOMER)));
 
-        Customer result = customerService.findCustomerByEmail(email);
+        CustomerView result = customerService.findCustomerByEmail(email);
 
         assertNotNull(result);
-        assertEquals(email, result.getEmail());
+        assertEquals(email, result.email());
     }
 
     @Test
     @DisplayName("Should throw a ResourceNotFoundException when customer email does not exist")
     void findCustomerByEmail_ThrowsResourceNotFoundException_WhenCustomerEmailDoesNotExist() {
-        String email = "joao@gmail.com";
+        String email = "nobody@gmail.com";
 
-        when(customerRepository.findByEmail(email)).thenReturn(Optional.of(CUSTOMER2));
+        when(customerRepository.findLinesByEmail(email)).thenReturn(Collections.emptyList());
 
-        Customer result = customerService.findCustomerByEmail(email);
-
-        assertNotNull(result);
-        assertEquals(email, result.getEmail());
+        assertThrows(ResourceNotFoundException.class, () -> customerService.findCustomerByEmail(email));
     }
 
     @Test
@@ -166,10 +229,10 @@ class CustomerServiceTest {
     void createCustomer_WithValidData_CreatesCustomer() {
         CustomerRequestDTO request = new CustomerRequestDTO(CUSTOMER_ADDRESS.getName(), CUSTOMER_ADDRESS.getEmail(), CUSTOMER_ADDRESS.getPassword(), PHONE_DTO, Set.of(ADDRESS_DTO));
 
-        when(passwordEncoder.encode(request.password())).thenReturn("encodedPassword");
+        when(passwordEncoder.encodeAsync(request.password())).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
         when(customerRepository.save(any(Customer.class))).thenReturn(CUSTOMER_ADDRESS);
 
-        Customer result = customerService.createCustomer(request);
+        Customer result = customerService.createCustomer(request).join();
 
         assertNotNull(result);
         assertEquals(CUSTOMER_ADDRESS.getName(), result.getName());
@@ -190,27 +253,30 @@ class CustomerServiceTest {
         when(customerRepository.findByEmail(request.email())).thenReturn(Optional.of(CUSTOMER_ADDRESS));
 
         assertThrows(DataIntegrityViolationException.class, () -> customerService.createCustomer(request));
+        verifyNoInteractions(passwordEncoder);
     }
 
     @Test
     @DisplayName("Should replace an existing customer when provided with valid CustomerUpdateDTO")
     void replaceCustomer_WhenSuccessful() {
-        when(customerRepository.findById(CUSTOMER.getId())).thenReturn(Optional.of(CUSTOMER));
-        when(passwordEncoder.encode(CUSTOMER.getPassword())).thenReturn("encodedPassword");
+        Customer customer = new Customer(CUSTOMER.getId(), CUSTOMER.getName(), CUSTOMER.getEmail(), CUSTOMER.getPassword(), new Phone(PHONE.getNumber()));
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        when(passwordEncoder.encodeAsync(customer.getPassword())).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
 
         CustomerUpdateDTO updateDTO = new CustomerUpdateDTO(
-                CUSTOMER.getId(),
+                customer.getId(),
                 "newName",
                 "newEmail",
-                CUSTOMER.getPassword(),
+                customer.getPassword(),
                 PHONE_DTO,
                 Set.of(ADDRESS_DTO)
         );
 
-        customerService.replaceCustomer(updateDTO);
+        customerService.replaceCustomer(updateDTO).join();
 
-        verify(customerRepository).findById(CUSTOMER.getId());
-        verify(customerRepository).save(CUSTOMER);
+        verify(customerRepository).findById(customer.getId());
+        verify(customerRepository).save(customer);
+        assertEquals("encodedPassword", customer.getPassword());
     }
 
     @Test
@@ -230,4 +296,17 @@ class CustomerServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> customerService.deleteCustomer(CUSTOMER.getId()));
     }
-}
\ No newline at end of file
+
+    private static CustomerRow row(Customer customer) {
+        return new CustomerRow(customer.getId(), customer.getName(), customer.getEmail(),
+                customer.getPhone().getId(), customer.getPhone().getNumber());
+    }
+
+    private static CustomerAddressRow addressRow(Customer customer) {
+        return new CustomerAddressRow(customer.getId(), ADDRESS.getId(), ADDRESS.getNumber(), ADDRESS.getStreet(), ADDRESS.getNeighborhood());
+    }
+
+    private static CustomerLineRow line(Customer customer) {
+        return new CustomerLineRow(row(customer), null);
+    }
+}
@@ -0,0 +1,91 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Customer;
+import com.sushi.api.model.Phone;
+import com.sushi.api.model.dto.customer.CustomerView;
+import com.sushi.api.repositories.projections.CustomerAddressRow;
+import com.sushi.api.repositories.projections.CustomerLineRow;
+import com.sushi.api.repositories.projections.CustomerRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CustomerViewsTest {
+    private final ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+
+    @Test
+    @DisplayName("Should serialize a customer view exactly like the customer entity")
+    void fromLines_MatchesEntityJson_WhenCustomerHasPhoneAndAddresses() throws Exception {
+        Customer customer = customer();
+        CustomerRow row = new CustomerRow(customer.getId(), customer.getName(), customer.getEmail(),
+                customer.getPhone().getId(), customer.getPhone().getNumber());
+        List<CustomerLineRow> lines = customer.getAddresses().stream()
+                .map(address -> new CustomerLineRow(row, new CustomerAddressRow(customer.getId(), address.getId(),
+                        address.getNumber(), address.getStreet(), address.getNeighborhood())))
+                .toList();
+
+        List<CustomerView> views = CustomerViews.fromLines(lines);
+
+        assertEquals(1, views.size());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(customer)),
+                objectMapper.readTree(objectMapper.writeValueAsString(views.get(0))));
+        assertEquals(CustomerView.of(customer), views.get(0));
+    }
+
+    @Test
+    @DisplayName("Should keep customers without phone or addresses and the order of the rows")
+    void assemble_KeepsRowOrder_WhenSomeCustomersHaveNoAddresses() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        List<CustomerView> views = CustomerViews.assemble(
+                List.of(new CustomerRow(first, "ana", "ana@gmail.com", null, null),
+                        new CustomerRow(second, "joao", "joao@gmail.com", 1L, "111111111")),
+                List.of(new CustomerAddressRow(second, 1L, "123", "Main St", "Downtown")));
+
+        assertEquals(List.of(first, second), views.stream().map(CustomerView::id).toList());
+        assertNull(views.get(0).phone());
+        assertEquals(List.of(), views.get(0).addresses());
+        assertEquals(1, views.get(1).addresses().size());
+    }
+
+    @Test
+    @DisplayName("Should fold a stream of lines into one view per customer, like the list")
+    void forEachView_FoldsLinesPerCustomer_WhenStreamed() {
+        CustomerRow first = new CustomerRow(UUID.randomUUID(), "ana", "ana@gmail.com", 1L, "111111111");
+        CustomerRow second = new CustomerRow(UUID.randomUUID(), "joao", "joao@gmail.com", null, null);
+        List<CustomerLineRow> lines = List.of(
+                new CustomerLineRow(first, new CustomerAddressRow(first.id(), 1L, "123", "Main St", "Downtown")),
+                new CustomerLineRow(first, new CustomerAddressRow(first.id(), 2L, "456", "Main St", "Downtown")),
+                new CustomerLineRow(second, null));
+        List<CustomerView> streamed = new ArrayList<>();
+
+        CustomerViews.forEachView(lines.stream(), streamed::add);
+
+        assertEquals(CustomerViews.fromLines(lines), streamed);
+        assertEquals(2, streamed.get(0).addresses().size());
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer(UUID.randomUUID(), "isabel", "isabel@gmail.com", "1234", null);
+        Phone phone = new Phone("111111111");
+        phone.setId(1L);
+        phone.setCustomer(customer);
+        customer.setPhone(phone);
+        LinkedHashSet<Address> addresses = new LinkedHashSet<>();
+        addresses.add(new Address(1L, "123", "Main St", "Downtown"));
+        addresses.add(new Address(2L, "456", "Rua Nova", "Centro"));
+        customer.setAddresses(addresses);
+        return customer;
+    }
+}
@@ -1,9 +1,11 @@
 package com.sushi.api.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Employee;
 import com.sushi.api.model.dto.employee.EmployeeRequestDTO;
 import com.sushi.api.model.dto.employee.EmployeeUpdateDTO;
+import com.sushi.api.model.dto.employee.EmployeeView;
 import com.sushi.api.repositories.EmployeeRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,12 +16,14 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static com.sushi.api.common.EmployeeConstants.*;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -39,11 +43,11 @@ public class EmployeeServiceTest {
     @Test
     @DisplayName("Should return a list of employees inside page object when successful")
     void listAll_ReturnsListOfEmployeesInsidePageObject_WhenSuccessful() {
-        Page<Employee> employeePage = mock(Page.class);
+        Page<EmployeeView> employeePage = mock(Page.class);
         Pageable pageable = mock(Pageable.class);
 
-        when(employeeRepository.findAll(pageable)).thenReturn(employeePage);
-        Page<Employee> result = employeeService.listAllPageable(pageable);
+        when(employeeRepository.findViews(pageable)).thenReturn(employeePage);
+        Page<EmployeeView> result = employeeService.listAllPageable(pageable);
 
         assertNotNull(result);
         assertEquals(employeePage, result);
@@ -52,12 +56,12 @@ public class EmployeeServiceTest {
     @Test
     @DisplayName("Should return an empty list of employees inside page object when there are no employees")
     void listAllPageable_ReturnsEmptyListOfEmployeesInsidePageObject_WhenThereAreNoEmployees() {
-        Page<Employee> emptyEmployeePage = new PageImpl<>(Collections.emptyList());
+        Page<EmployeeView> emptyEmployeePage = new PageImpl<>(Collections.emptyList());
         Pageable pageable = mock(Pageable.class);
 
-        when(employeeRepository.findAll(pageable)).thenReturn(emptyEmployeePage);
+        when(employeeRepository.findViews(pageable)).thenReturn(emptyEmployeePage);
 
-        Page<Employee> result = employeeService.listAllPageable(pageable);
+        Page<EmployeeView> result = employeeService.listAllPageable(pageable);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -66,20 +70,20 @@ public class EmployeeServiceTest {
     @Test
     @DisplayName("Should return a list of employees when successful")
     void listAllNonPageable_ReturnsListOfEmployees_WhenSuccessful() {
-        when(employeeRepository.findAll()).thenReturn(EMPLOYEES);
+        when(employeeRepository.findAllViews()).thenReturn(EMPLOYEE_VIEWS);
 
-        List<Employee> result = employeeService.listAllNonPageable();
+        List<EmployeeView> result = employeeService.listAllNonPageable();
 
         assertNotNull(result);
-        assertEquals(EMPLOYEES.size(), result.size());
+        assertEquals(EMPLOYEE_VIEWS.size(), result.size());
     }
 
     @Test
     @DisplayName("Should return an empty list of employees when there are no employees")
     void listAllNonPageable_ReturnsEmptyListOfEmployees_WhenThereAreNoEmployees() {
-        when(employeeRepository.findAll()).thenReturn(Collections.emptyList());
+        when(employeeRepository.findAllViews()).thenReturn(Collections.emptyList());
 
-        List<Employee> result = employeeService.listAllNonPageable();
+        List<EmployeeView> result = employeeService.listAllNonPageable();
 
         assertEquals(0, result.size());
     }
@@ -103,17 +107,36 @@ public class EmployeeServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> employeeService.findEmployeeById(EMPLOYEE.getId()));
     }
 
+    @Test
+    @DisplayName("Should return an employee view by id when successful")
+    void findEmployeeViewById_ReturnsView_WhenSuccessful() {
+        when(employeeRepository.findViewById(EMPLOYEE.getId())).thenReturn(Optional.of(EMPLOYEE_VIEW));
+
+        EmployeeView result = employeeService.findEmployeeViewById(EMPLOYEE.getId());
+
+        assertEquals(EMPLOYEE_VIEW, result);
+        verify(employeeRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException when the employee view id does not exist")
+    void findEmployeeViewById_ThrowsResourceNotFoundException_WhenEmployeeIdDoesNotExist() {
+        when(employeeRepository.findViewById(EMPLOYEE.getId())).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.findEmployeeViewById(EMPLOYEE.getId()));
+    }
+
     @Test
     @DisplayName("Should return an employee by email when successful")
     void findEmployeeByEmail_ReturnsEmployee_WhenSuccessful() {
         String email = "isabel@gmail.com";
 
-        when(employeeRepository.findByEmail(email)).thenReturn(Optional.of(EMPLOYEE));
+        when(employeeRepository.findViewByEmail(email)).thenReturn(Optional.of(EMPLOYEE_VIEW));
 
-        Employee result = employeeService.findEmployeeByEmail(email);
+        EmployeeView result = employeeService.findEmployeeByEmail(email);
 
         assertNotNull(result);
-        assertEquals(email, result.getEmail());
+        assertEquals(email, result.email());
     }
 
     @Test
@@ -121,12 +144,9 @@ public class EmployeeServiceTest {
     void findEmployeeByEmail_ThrowsResourceNotFoundException_WhenEmployeeEmailDoesNotExist() {
         String email = "joao@gmail.com";
 
-        when(employeeRepository.findByEmail(email)).thenReturn(Optional.of(EMPLOYEE2));
-
-        Employee result = employeeService.findEmployeeByEmail(email);
+        when(employeeRepository.findViewByEmail(email)).thenReturn(Optional.empty());
 
-        assertNotNull(result);
-        assertEquals(email, result.getEmail());
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.findEmployeeByEmail(email));
     }
 
     @Test
@@ -159,20 +179,21 @@ public class EmployeeServiceTest {
     @Test
     @DisplayName("Should replace an existing employee when provided with valid EmployeeUpdateDTO")
     void replaceEmployee_WhenSuccessful() {
-        when(employeeRepository.findById(EMPLOYEE.getId())).thenReturn(Optional.of(EMPLOYEE));
-        when(passwordEncoder.encode(EMPLOYEE.getPassword())).thenReturn("encodedPassword");
+        Employee employee = new Employee(EMPLOYEE.getId(), EMPLOYEE.getName(), EMPLOYEE.getEmail(), EMPLOYEE.getPassword());
+        when(employeeRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
+        when(passwordEncoder.encode(employee.getPassword())).thenReturn("encodedPassword");
 
         EmployeeUpdateDTO updateDTO = new EmployeeUpdateDTO(
-                EMPLOYEE.getId(),
+                employee.getId(),
                 "newName",
                 "newEmail",
-                EMPLOYEE.getPassword()
+                employee.getPassword()
         );
 
         employeeService.replaceEmployee(updateDTO);
 
-        verify(employeeRepository).findById(EMPLOYEE.getId());
-        verify(employeeRepository).save(EMPLOYEE);
+        verify(employeeRepository).findById(employee.getId());
+        verify(employeeRepository).save(employee);
     }
 
     @Test
@@ -192,4 +213,14 @@ public class EmployeeServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(EMPLOYEE.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should serialize an employee view exactly like the employee entity")
+    void employeeView_MatchesEntityJson() throws Exception {
+        ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+        Employee employee = new Employee(UUID.randomUUID(), "isabel", "isabel@gmail.com", "1234");
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(employee)),
+                objectMapper.readTree(objectMapper.writeValueAsString(EmployeeView.of(employee))));
+    }
+}
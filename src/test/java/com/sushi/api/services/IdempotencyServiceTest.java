@@ -0,0 +1,110 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.UnprocessableEntityException;
+import com.sushi.api.model.IdempotencyKey;
+import com.sushi.api.repositories.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.sushi.api.common.OrderConstants.ORDER_REQUEST_DTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class IdempotencyServiceTest {
+    private static final String SCOPE = "POST /api/orders";
+
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    private ObjectMapper objectMapper;
+    private IdempotencyService idempotencyService;
+    private AtomicInteger calls;
+    private Supplier<ResponseEntity<?>> action;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyKeyRepository = mock(IdempotencyKeyRepository.class);
+        objectMapper = new Jackson2ObjectMapperBuilder().build();
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository, objectMapper,
+                mock(PlatformTransactionManager.class), Duration.ofMinutes(10), 100, Duration.ofHours(24));
+        calls = new AtomicInteger();
+        action = () -> ResponseEntity.status(201).body(Map.of("id", calls.incrementAndGet()));
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Should run the action once and replay its response for a repeated key")
+    void execute_RunsActionOnce_WhenKeyIsRepeated() {
+        ResponseEntity<?> first = idempotencyService.execute(SCOPE, "key-1", ORDER_REQUEST_DTO, action);
+        ResponseEntity<?> retry = idempotencyService.execute(SCOPE, "key-1", ORDER_REQUEST_DTO, action);
+
+        assertEquals(1, calls.get());
+        assertEquals(201, first.getStatusCode().value());
+        assertEquals(201, retry.getStatusCode().value());
+        assertEquals("{\"id\":1}", retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        verify(idempotencyKeyRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response when another attempt with the key committed first")
+    void execute_ReplaysStoredResponse_WhenKeyAlreadyExists() throws Exception {
+        IdempotencyKey existing = new IdempotencyKey("anonymous", SCOPE, "key-2",
+                fingerprint(ORDER_REQUEST_DTO), LocalDateTime.now());
+        existing.complete(201, "{\"id\":7}");
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findByOwnerAndScopeAndKey("anonymous", SCOPE, "key-2")).thenReturn(Optional.of(existing));
+
+        ResponseEntity<?> response = idempotencyService.execute(SCOPE, "key-2", ORDER_REQUEST_DTO, action);
+
+        assertEquals(0, calls.get());
+        assertEquals("{\"id\":7}", response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the constraint violation when it came from the action itself")
+    void execute_RethrowsViolation_WhenNoKeyWasStored() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("orders constraint");
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(violation);
+        when(idempotencyKeyRepository.findByOwnerAndScopeAndKey("anonymous", SCOPE, "key-3")).thenReturn(Optional.empty());
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> idempotencyService.execute(SCOPE, "key-3", ORDER_REQUEST_DTO, action)));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request body")
+    void execute_ThrowsUnprocessableEntityException_WhenBodyDiffers() {
+        idempotencyService.execute(SCOPE, "key-4", ORDER_REQUEST_DTO, action);
+
+        assertThrows(UnprocessableEntityException.class,
+                () -> idempotencyService.execute(SCOPE, "key-4", Map.of("other", "body"), action));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a blank key")
+    void execute_ThrowsBadRequestException_WhenKeyIsBlank() {
+        assertThrows(BadRequestException.class, () -> idempotencyService.execute(SCOPE, " ", ORDER_REQUEST_DTO, action));
+    }
+
+    private String fingerprint(Object request) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        return HexFormat.of().formatHex(digest);
+    }
+}
@@ -0,0 +1,96 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.model.dto.menu.MenuSnapshotStatusDTO;
+import com.sushi.api.repositories.CategoryRepository;
+import com.sushi.api.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.sushi.api.common.CategoryConstants.*;
+import static com.sushi.api.common.ProductConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MenuSnapshotServiceTest {
+    private ProductRepository productRepository;
+    private CategoryRepository categoryRepository;
+    private ObjectMapper objectMapper;
+    private MenuSnapshotService menuSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        categoryRepository = mock(CategoryRepository.class);
+        objectMapper = new Jackson2ObjectMapperBuilder().build();
+        menuSnapshotService = new MenuSnapshotService(productRepository, categoryRepository, objectMapper,
+                new Jackson2ObjectMapperBuilder(), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("Should hold the serialized products and categories after a rebuild")
+    void rebuild_SerializesMenu_WhenSuccessful() throws Exception {
+        when(productRepository.findAllViews()).thenReturn(PRODUCT_VIEWS);
+        when(categoryRepository.findAllLines()).thenReturn(CATEGORY_LINES);
+
+        MenuSnapshot snapshot = menuSnapshotService.rebuild();
+
+        assertSame(snapshot, menuSnapshotService.current());
+        assertEquals(PRODUCT_VIEWS, snapshot.products().items());
+        assertArrayEquals(objectMapper.writeValueAsBytes(PRODUCTS), snapshot.products().json());
+        assertEquals(CATEGORY_VIEWS, snapshot.categories().items());
+        assertArrayEquals(objectMapper.writeValueAsBytes(CATEGORIES), snapshot.categories().json());
+        assertTrue(new String(snapshot.products().xml(), StandardCharsets.UTF_8).startsWith("<List>"));
+    }
+
+    @Test
+    @DisplayName("Should slice pages from the snapshot without reading the database again")
+    void page_ReturnsSliceOfSnapshot_WhenSnapshotIsLoaded() {
+        when(productRepository.findAllViews()).thenReturn(PRODUCT_VIEWS);
+        when(categoryRepository.findAllLines()).thenReturn(CATEGORY_LINES);
+
+        MenuSnapshot snapshot = menuSnapshotService.rebuild();
+
+        assertEquals(List.of(PRODUCT_VIEWS.get(1)), snapshot.products().page(PageRequest.of(1, 1)));
+        assertEquals(List.of(), snapshot.products().page(PageRequest.of(5, 10)));
+        verify(productRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should drop the snapshot and fall back to the database when a rebuild fails")
+    void onMenuChanged_ClearsSnapshot_WhenRebuildFails() {
+        when(productRepository.findAllViews()).thenReturn(PRODUCT_VIEWS);
+        when(categoryRepository.findAllLines()).thenReturn(CATEGORY_LINES);
+        menuSnapshotService.rebuild();
+
+        when(productRepository.findAllViews()).thenThrow(new IllegalStateException("database is down"));
+        menuSnapshotService.onMenuChanged(new MenuChangedEvent("product", PRODUCT.getId()));
+
+        assertNull(menuSnapshotService.current());
+        MenuSnapshotStatusDTO status = menuSnapshotService.status();
+        assertFalse(status.loaded());
+    }
+
+    @Test
+    @DisplayName("Should report the snapshot size and contents")
+    void status_ReportsSnapshot_WhenSnapshotIsLoaded() {
+        when(productRepository.findAllViews()).thenReturn(PRODUCT_VIEWS);
+        when(categoryRepository.findAllLines()).thenReturn(CATEGORY_LINES);
+        MenuSnapshot snapshot = menuSnapshotService.rebuild();
+
+        MenuSnapshotStatusDTO status = menuSnapshotService.status();
+
+        assertTrue(status.loaded());
+        assertEquals(PRODUCTS.size(), status.products());
+        assertEquals(CATEGORIES.size(), status.categories());
+        assertEquals(snapshot.sizeInBytes(), status.sizeBytes());
+        assertEquals(snapshot.builtAt(), status.builtAt());
+    }
+}
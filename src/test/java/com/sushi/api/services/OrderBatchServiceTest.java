@@ -0,0 +1,140 @@
+package com.sushi.api.services;
+
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Customer;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.order.OrderBatchItemDTO;
+import com.sushi.api.model.dto.order.OrderBatchResultDTO;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.repositories.AddressRepository;
+import com.sushi.api.repositories.CustomerRepository;
+import com.sushi.api.repositories.OrderRepository;
+import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.services.analytics.SalesAggregator;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.sushi.api.common.CustomerConstants.ADDRESS;
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static com.sushi.api.common.OrderConstants.ORDER_ITEM_REQUEST_DTO;
+import static com.sushi.api.common.OrderConstants.ORDER_REQUEST_DTO;
+import static com.sushi.api.common.ProductConstants.PRODUCT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OrderBatchServiceTest {
+    private static final UUID UNKNOWN_CUSTOMER = UUID.randomUUID();
+
+    private OrderRepository orderRepository;
+    private CustomerRepository customerRepository;
+    private AddressRepository addressRepository;
+    private ProductRepository productRepository;
+    private SalesAggregator salesAggregator;
+    private OrderBatchService orderBatchService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        customerRepository = mock(CustomerRepository.class);
+        addressRepository = mock(AddressRepository.class);
+        productRepository = mock(ProductRepository.class);
+        salesAggregator = mock(SalesAggregator.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.getReference(eq(Customer.class), any())).thenReturn(CUSTOMER);
+        when(entityManager.getReference(eq(Address.class), any())).thenReturn(ADDRESS);
+        when(customerRepository.findExistingIds(anyCollection())).thenReturn(List.of(CUSTOMER.getId()));
+        when(addressRepository.findExistingIds(anyCollection())).thenReturn(List.of(ADDRESS.getId()));
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(PRODUCT));
+        orderBatchService = new OrderBatchService(orderRepository, customerRepository, addressRepository, productRepository,
+                entityManager, salesAggregator, mock(PlatformTransactionManager.class), 3);
+    }
+
+    @Test
+    @DisplayName("Should look up customers, addresses and products once for the whole batch")
+    void createOrders_CreatesEveryOrder_WithOneLookupPerEntity() {
+        OrderRequestDTO second = new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(),
+                List.of(ORDER_ITEM_REQUEST_DTO, new OrderItemRequestDTO(PRODUCT.getId(), 1)));
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(List.of(ORDER_REQUEST_DTO, second), OrderBatchMode.ALL_OR_NOTHING);
+
+        assertEquals(2, result.created());
+        assertEquals(0, result.rejected());
+        assertEquals(0, PRODUCT.getPrice().multiply(BigDecimal.valueOf(3)).compareTo(result.orders().get(1).totalAmount()));
+        verify(customerRepository).findExistingIds(Set.of(CUSTOMER.getId()));
+        verify(addressRepository).findExistingIds(Set.of(ADDRESS.getId()));
+        verify(productRepository).findAllById(Set.of(PRODUCT.getId()));
+        verify(orderRepository).saveAllAndFlush(argThat(orders -> ((List<Order>) orders).size() == 2));
+        verify(salesAggregator).recordCreated(argThat((Collection<Order> orders) -> orders.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should create nothing and skip the valid orders when one order of an all-or-nothing batch is invalid")
+    void createOrders_SkipsValidOrders_WhenAllOrNothingBatchHasInvalidOrder() {
+        OrderRequestDTO invalid = new OrderRequestDTO(UNKNOWN_CUSTOMER, ADDRESS.getId(), List.of(ORDER_ITEM_REQUEST_DTO));
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(List.of(ORDER_REQUEST_DTO, invalid), OrderBatchMode.ALL_OR_NOTHING);
+
+        assertEquals(0, result.created());
+        assertEquals(OrderBatchItemDTO.skipped(0), result.orders().get(0));
+        assertEquals(OrderBatchItemDTO.failed(1, "Customer not found with this id."), result.orders().get(1));
+        verify(orderRepository, never()).saveAllAndFlush(anyIterable());
+        verifyNoInteractions(salesAggregator);
+    }
+
+    @Test
+    @DisplayName("Should create the valid orders and report the invalid ones in a best-effort batch")
+    void createOrders_CreatesValidOrders_WhenBestEffortBatchHasInvalidOrders() {
+        OrderRequestDTO missingProducts = new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(),
+                List.of(new OrderItemRequestDTO(7L, 1), new OrderItemRequestDTO(9L, 1)));
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(List.of(missingProducts, ORDER_REQUEST_DTO), OrderBatchMode.BEST_EFFORT);
+
+        assertEquals(1, result.created());
+        assertEquals(OrderBatchItemDTO.failed(0, "Products not found with these ids: 7, 9."), result.orders().get(0));
+        assertEquals(OrderBatchItemDTO.Status.CREATED, result.orders().get(1).status());
+        verify(orderRepository).saveAllAndFlush(argThat(orders -> ((List<Order>) orders).size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should retry each order on its own when the database refuses a best-effort batch")
+    void createOrders_RetriesOrdersOneByOne_WhenBestEffortBatchIsRefused() {
+        OrderRequestDTO refused = new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(), List.of(new OrderItemRequestDTO(PRODUCT.getId(), 5)));
+        when(orderRepository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.size() > 1 || orders.get(0).getItems().get(0).getQuantity() == 5) {
+                throw new DataIntegrityViolationException("check constraint");
+            }
+            return orders;
+        });
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(List.of(ORDER_REQUEST_DTO, refused), OrderBatchMode.BEST_EFFORT);
+
+        assertEquals(1, result.created());
+        assertEquals(OrderBatchItemDTO.Status.CREATED, result.orders().get(0).status());
+        assertEquals(OrderBatchItemDTO.failed(1, "check constraint"), result.orders().get(1));
+        verify(orderRepository, times(3)).saveAllAndFlush(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when the batch is larger than the configured maximum")
+    void createOrders_ThrowsBadRequestException_WhenBatchIsTooLarge() {
+        List<OrderRequestDTO> requests = Collections.nCopies(4, ORDER_REQUEST_DTO);
+
+        assertThrows(BadRequestException.class, () -> orderBatchService.createOrders(requests, OrderBatchMode.BEST_EFFORT));
+        verifyNoInteractions(orderRepository);
+    }
+}
@@ -1,23 +1,39 @@
 package com.sushi.api.services;
 
+import com.sushi.api.exceptions.BadRequestException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Order;
 import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order.OrderSummaryDTO;
 import com.sushi.api.model.dto.order.OrderUpdateDTO;
+import com.sushi.api.model.dto.order.OrderView;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.model.dto.page.CursorPageDTO;
 import com.sushi.api.repositories.*;
+import com.sushi.api.repositories.projections.OrderLineRow;
+import com.sushi.api.repositories.projections.OrderRow;
+import com.sushi.api.services.analytics.SalesAggregator;
+import com.sushi.api.utils.ContinuationToken;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.sushi.api.common.CustomerConstants.*;
 import static com.sushi.api.common.CustomerConstants.CUSTOMER;
@@ -41,55 +57,136 @@ public class OrderServiceTest {
     private ProductRepository productRepository;
     @Mock
     private OrderItemRepository orderItemRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private SalesAggregator salesAggregator;
 
     @Test
-    @DisplayName("Should return a list of orders inside page object when successful")
+    @DisplayName("Should return a page of order views with their items when successful")
     void listAll_ReturnsListOfOrdersInsidePageObject_WhenSuccessful() {
-        Page<Order> orderPage = mock(Page.class);
-        Pageable pageable = mock(Pageable.class);
+        Pageable pageable = PageRequest.of(0, 10);
 
-        when(orderRepository.findAll(pageable)).thenReturn(orderPage);
-        Page<Order> result = orderService.listAllPageable(pageable);
+        when(orderRepository.findRows(pageable)).thenReturn(new PageImpl<>(List.of(ORDER_ROW), pageable, 1));
+        when(orderRepository.findItemRows(List.of(ORDER.getId()))).thenReturn(List.of(ORDER_ITEM_ROW));
+        Page<OrderView> result = orderService.listAllPageable(pageable);
 
-        assertNotNull(result);
-        assertEquals(orderPage, result);
+        assertEquals(ORDER_VIEWS, result.getContent());
+        assertEquals(1, result.getTotalElements());
     }
 
     @Test
     @DisplayName("Should return an empty list of orders inside page object when there are no orders")
     void listAllPageable_ReturnsEmptyListOfOrdersInsidePageObject_WhenThereAreNoOrders() {
-        Page<Order> emptyOrderPage = new PageImpl<>(Collections.emptyList());
-        Pageable pageable = mock(Pageable.class);
+        Pageable pageable = PageRequest.of(0, 10);
 
-        when(orderRepository.findAll(pageable)).thenReturn(emptyOrderPage);
+        when(orderRepository.findRows(pageable)).thenReturn(Page.empty(pageable));
 
-        Page<Order> result = orderService.listAllPageable(pageable);
+        Page<OrderView> result = orderService.listAllPageable(pageable);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
+        verify(orderRepository, never()).findItemRows(any());
     }
 
     @Test
-    @DisplayName("Should return a list of orders when successful")
+    @DisplayName("Should return a list of order views when successful")
     void listAllNonPageable_ReturnsListOfOrders_WhenSuccessful() {
-        when(orderRepository.findAll()).thenReturn(ORDERS);
+        when(orderRepository.findAllLines()).thenReturn(List.of(new OrderLineRow(ORDER_ROW, ORDER_ITEM_ROW)));
 
-        List<Order> result = orderService.listAllNonPageable();
+        List<OrderView> result = orderService.listAllNonPageable();
 
-        assertNotNull(result);
-        assertEquals(ORDERS.size(), result.size());
+        assertEquals(ORDER_VIEWS, result);
     }
 
     @Test
     @DisplayName("Should return an empty list of orders when there are no orders")
     void listAllNonPageable_ReturnsEmptyListOfOrders_WhenThereAreNoOrders() {
-        when(orderRepository.findAll()).thenReturn(Collections.emptyList());
+        when(orderRepository.findAllLines()).thenReturn(Collections.emptyList());
 
-        List<Order> result = orderService.listAllNonPageable();
+        List<OrderView> result = orderService.listAllNonPageable();
 
         assertEquals(0, result.size());
     }
 
+    @Test
+    @DisplayName("Should return a page of orders with a continuation token when more orders exist")
+    void listAllByCursor_ReturnsPageWithNextToken_WhenMoreOrdersExist() {
+        OrderRow next = new OrderRow(2L, null, 0L, null, ADDRESS.getId(), ADDRESS.getNumber(), ADDRESS.getStreet(), ADDRESS.getNeighborhood());
+        when(orderRepository.findRowsOrderById(Limit.of(2))).thenReturn(List.of(ORDER_ROW, next));
+        when(orderRepository.findItemRows(List.of(ORDER.getId()))).thenReturn(List.of(ORDER_ITEM_ROW));
+
+        CursorPageDTO<OrderView> result = orderService.listAllByCursor(null, 1);
+
+        assertEquals(ORDER_VIEWS, result.content());
+        assertEquals(ContinuationToken.encode(ORDER.getId().toString()), result.next());
+        verify(orderRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Should read orders after the id carried by the continuation token")
+    void listAllByCursor_ReadsAfterTokenPosition_WhenTokenIsGiven() {
+        String after = ContinuationToken.encode(ORDER.getId().toString());
+        when(orderRepository.findRowsAfter(ORDER.getId(), Limit.of(21))).thenReturn(Collections.emptyList());
+
+        CursorPageDTO<OrderView> result = orderService.listAllByCursor(after, 20);
+
+        assertTrue(result.content().isEmpty());
+        assertNull(result.next());
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when the continuation token is malformed")
+    void listAllByCursor_ThrowsBadRequestException_WhenTokenIsMalformed() {
+        assertThrows(BadRequestException.class, () -> orderService.listAllByCursor("not-a-token", 20));
+    }
+
+    @Test
+    @DisplayName("Should return the newest orders of a customer with a token pointing at the last one")
+    void listCustomerOrders_ReturnsFirstPage_WhenNoTokenIsGiven() {
+        OrderSummaryDTO newest = new OrderSummaryDTO(3L, LocalDateTime.of(2024, 7, 2, 12, 0), 5990L);
+        OrderSummaryDTO older = new OrderSummaryDTO(1L, LocalDateTime.of(2024, 7, 1, 19, 30), 899L);
+        when(customerRepository.findIdByEmail(CUSTOMER.getEmail())).thenReturn(Optional.of(CUSTOMER.getId()));
+        when(orderRepository.findSummariesByCustomer(CUSTOMER.getId(), Limit.of(2))).thenReturn(List.of(newest, older));
+
+        CursorPageDTO<OrderSummaryDTO> result = orderService.listCustomerOrders(CUSTOMER.getEmail(), null, 1);
+
+        assertEquals(List.of(newest), result.content());
+        assertEquals(ContinuationToken.encode("2024-07-02T12:00,3"), result.next());
+    }
+
+    @Test
+    @DisplayName("Should read the orders placed before the position carried by the token")
+    void listCustomerOrders_ReadsBeforeTokenPosition_WhenTokenIsGiven() {
+        when(customerRepository.findIdByEmail(CUSTOMER.getEmail())).thenReturn(Optional.of(CUSTOMER.getId()));
+        when(orderRepository.findSummariesByCustomerBefore(CUSTOMER.getId(), LocalDateTime.of(2024, 7, 2, 12, 0), 3L, Limit.of(21)))
+                .thenReturn(List.of());
+
+        CursorPageDTO<OrderSummaryDTO> result = orderService.listCustomerOrders(CUSTOMER.getEmail(),
+                ContinuationToken.encode("2024-07-02T12:00,3"), 20);
+
+        assertTrue(result.content().isEmpty());
+        assertNull(result.next());
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when the history token is malformed")
+    void listCustomerOrders_ThrowsBadRequestException_WhenTokenIsMalformed() {
+        when(customerRepository.findIdByEmail(CUSTOMER.getEmail())).thenReturn(Optional.of(CUSTOMER.getId()));
+
+        assertThrows(BadRequestException.class, () -> orderService.listCustomerOrders(CUSTOMER.getEmail(), ContinuationToken.encode("3"), 20));
+        assertThrows(BadRequestException.class, () -> orderService.listCustomerOrders(CUSTOMER.getEmail(), ContinuationToken.encode("yesterday,3"), 20));
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException when the authenticated user is not a customer")
+    void listCustomerOrders_ThrowsResourceNotFoundException_WhenCustomerDoesNotExist() {
+        when(customerRepository.findIdByEmail("ana@gmail.com")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.listCustomerOrders("ana@gmail.com", null, 20));
+        verifyNoInteractions(orderRepository);
+    }
+
     @Test
     @DisplayName("Should return an order by id when successful")
     void findOrderById_ReturnsOrder_WhenSuccessful() {
@@ -109,6 +206,24 @@ public class OrderServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> orderService.findOrderById(ORDER.getId()));
     }
 
+    @Test
+    @DisplayName("Should return an order view by id when successful")
+    void findOrderViewById_ReturnsView_WhenSuccessful() {
+        when(orderRepository.findLinesById(ORDER.getId())).thenReturn(List.of(new OrderLineRow(ORDER_ROW, ORDER_ITEM_ROW)));
+
+        OrderView result = orderService.findOrderViewById(ORDER.getId());
+
+        assertEquals(ORDER_VIEW, result);
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException when there is no order view with this id")
+    void findOrderViewById_ThrowsResourceNotFoundException_WhenOrderIdDoesNotExist() {
+        when(orderRepository.findLinesById(ORDER.getId())).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.findOrderViewById(ORDER.getId()));
+    }
+
     @Test
     @DisplayName("Should create a new order when provided with valid OrderRequestDTO")
     void createOrder_WithValidData_CreatesOrder() {
@@ -116,7 +231,7 @@ public class OrderServiceTest {
 
         when(customerRepository.findById(CUSTOMER.getId())).thenReturn(Optional.of(CUSTOMER_ADDRESS));
         when(addressRepository.findById(ADDRESS.getId())).thenReturn(Optional.of(ADDRESS));
-        when(productRepository.findById(PRODUCT.getId())).thenReturn(Optional.of(PRODUCT));
+        when(productRepository.findAllById(Set.of(PRODUCT.getId()))).thenReturn(List.of(PRODUCT));
         when(orderRepository.save(any(Order.class))).thenReturn(ORDER);
 
         Order result = orderService.createOrder(request);
@@ -126,25 +241,49 @@ public class OrderServiceTest {
         assertEquals(ORDER.getDeliveryAddress(), result.getDeliveryAddress());
         assertEquals(ORDER.getItems(), result.getItems());
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(productRepository, never()).findById(any());
+        verify(salesAggregator).recordCreated(ORDER);
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException listing every missing product id")
+    void createOrder_ThrowsResourceNotFoundException_WhenProductsDoNotExist() {
+        OrderRequestDTO request = new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(), List.of(
+                ORDER_ITEM_REQUEST_DTO,
+                new OrderItemRequestDTO(7L, 1),
+                new OrderItemRequestDTO(9L, 3)));
+
+        when(customerRepository.findById(CUSTOMER.getId())).thenReturn(Optional.of(CUSTOMER_ADDRESS));
+        when(addressRepository.findById(ADDRESS.getId())).thenReturn(Optional.of(ADDRESS));
+        when(productRepository.findAllById(Set.of(PRODUCT.getId(), 7L, 9L))).thenReturn(List.of(PRODUCT));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> orderService.createOrder(request));
+
+        assertEquals("Products not found with these ids: 7, 9.", exception.getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(salesAggregator);
     }
 
     @Test
     @DisplayName("Should replace an existing order when provided with valid OrderUpdateDTO")
     void replaceOrder_WhenSuccessful() {
         OrderUpdateDTO updateDTO = new OrderUpdateDTO(PRODUCT.getId(), ADDRESS.getId(), List.of(ORDER_ITEM_UPDATE_DTO));
+        Order order = new Order(ORDER.getId(), CUSTOMER, ADDRESS, new ArrayList<>(ITEMS));
 
-        when(orderRepository.findById(ORDER.getId())).thenReturn(Optional.of(ORDER));
+        when(orderRepository.findById(ORDER.getId())).thenReturn(Optional.of(order));
         when(addressRepository.findById(ADDRESS.getId())).thenReturn(Optional.of(ADDRESS));
-        when(productRepository.findById(PRODUCT.getId())).thenReturn(Optional.of(PRODUCT));
-        when(orderItemRepository.findById(ORDER_ITEM.getId())).thenReturn(Optional.of(ORDER_ITEM));
-        when(orderRepository.save(any(Order.class))).thenReturn(ORDER);
+        when(productRepository.findAllById(Set.of(PRODUCT.getId()))).thenReturn(List.of(PRODUCT));
+        when(orderItemRepository.findAllById(Set.of(ORDER_ITEM.getId()))).thenReturn(List.of(ORDER_ITEM));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         Order result = orderService.replaceOrder(updateDTO);
 
         assertNotNull(result);
         assertEquals(ORDER.getId(), result.getId());
+        assertEquals(List.of(ORDER_ITEM), result.getItems());
 
         verify(orderRepository).findById(ORDER.getId());
+        verify(entityManager).lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
         verify(orderRepository).save(any(Order.class));
     }
 
@@ -156,6 +295,7 @@ public class OrderServiceTest {
         assertThatCode(() -> orderService.deleteOrder(ORDER.getId())).doesNotThrowAnyException();
 
         verify(orderRepository, times(1)).delete(ORDER);
+        verify(salesAggregator).recordDeleted(ORDER);
     }
 
     @Test
@@ -0,0 +1,108 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import com.sushi.api.model.dto.order.OrderView;
+import com.sushi.api.repositories.projections.OrderItemRow;
+import com.sushi.api.repositories.projections.OrderLineRow;
+import com.sushi.api.repositories.projections.OrderRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class OrderViewsTest {
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 7, 1, 19, 30);
+
+    private final ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+
+    @Test
+    @DisplayName("Should serialize an order view exactly like the order entity")
+    void fromLines_MatchesEntityJson_WhenOrderHasItems() throws Exception {
+        Order order = order();
+        OrderRow row = new OrderRow(order.getId(), ORDER_DATE, order.getTotalAmountInCents(), 0L, 1L, "123", "Main St", "Downtown");
+        List<OrderLineRow> lines = order.getItems().stream()
+                .map(item -> new OrderLineRow(row, new OrderItemRow(order.getId(), item.getId(), item.getQuantity(),
+                        item.getPriceInCents(), item.getTotalPriceInCents())))
+                .toList();
+
+        List<OrderView> views = OrderViews.fromLines(lines);
+
+        assertEquals(1, views.size());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(order)),
+                objectMapper.readTree(objectMapper.writeValueAsString(views.get(0))));
+    }
+
+    @Test
+    @DisplayName("Should keep orders without items and the order of the rows")
+    void assemble_KeepsRowOrder_WhenSomeOrdersHaveNoItems() {
+        OrderRow first = new OrderRow(2L, ORDER_DATE, 0L, 0L, 1L, "123", "Main St", "Downtown");
+        OrderRow second = new OrderRow(1L, ORDER_DATE, 1798L, 0L, 1L, "123", "Main St", "Downtown");
+
+        List<OrderView> views = OrderViews.assemble(List.of(first, second),
+                List.of(new OrderItemRow(1L, 10L, 2, 899L, 1798L)));
+
+        assertEquals(List.of(2L, 1L), views.stream().map(OrderView::id).toList());
+        assertEquals(List.of(), views.get(0).items());
+        assertEquals(new BigDecimal("17.98"), views.get(1).totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should fold a stream of lines into one view per order, like the list")
+    void forEachView_FoldsLinesPerOrder_WhenStreamed() {
+        OrderRow first = new OrderRow(1L, ORDER_DATE, 1798L, 0L, 1L, "123", "Main St", "Downtown");
+        OrderRow second = new OrderRow(2L, ORDER_DATE, 0L, 0L, 1L, "123", "Main St", "Downtown");
+        List<OrderLineRow> lines = List.of(
+                new OrderLineRow(first, new OrderItemRow(1L, 10L, 1, 899L, 899L)),
+                new OrderLineRow(first, new OrderItemRow(1L, 11L, 1, 899L, 899L)),
+                new OrderLineRow(second, null));
+        List<OrderView> streamed = new ArrayList<>();
+
+        OrderViews.forEachView(lines.stream(), streamed::add);
+
+        assertEquals(OrderViews.fromLines(lines), streamed);
+        assertEquals(2, streamed.get(0).items().size());
+    }
+
+    @Test
+    @DisplayName("Should tag a view read from rows like the entity, and change the tag when only the address changes")
+    void entityTag_CoversAddress_WhenOrderVersionIsUnchanged() {
+        Order order = order();
+        order.setVersion(3L);
+        OrderRow row = new OrderRow(order.getId(), ORDER_DATE, order.getTotalAmountInCents(), 3L, 1L, "123", "Main St", "Downtown");
+        OrderRow moved = new OrderRow(order.getId(), ORDER_DATE, order.getTotalAmountInCents(), 3L, 1L, "123", "Rua Nova", "Downtown");
+        List<OrderItem> newestFirst = new ArrayList<>(order.getItems());
+        Collections.reverse(newestFirst);
+        List<OrderItemRow> items = newestFirst.stream()
+                .map(item -> new OrderItemRow(order.getId(), item.getId(), item.getQuantity(), item.getPriceInCents(), item.getTotalPriceInCents()))
+                .toList();
+
+        String tag = OrderViews.assemble(List.of(row), items).get(0).entityTag();
+
+        assertEquals(OrderView.of(order).entityTag(), tag);
+        assertNotEquals(tag, OrderViews.assemble(List.of(moved), items).get(0).entityTag());
+    }
+
+    private static Order order() {
+        Order order = new Order(1L, CUSTOMER, new Address(1L, "123", "Main St", "Downtown"), new ArrayList<>());
+        order.setOrderDate(ORDER_DATE);
+        for (long id = 1; id <= 2; id++) {
+            OrderItem item = new OrderItem(id, (int) id, new BigDecimal("8.99"));
+            item.calculateTotalPrice();
+            order.getItems().add(item);
+        }
+        order.calculateTotalAmount();
+        return order;
+    }
+}
@@ -0,0 +1,144 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.dto.product.ProductImportErrorDTO;
+import com.sushi.api.model.dto.product.ProductImportReportDTO;
+import com.sushi.api.model.dto.product.ProductImportRow;
+import com.sushi.api.model.dto.product.ProductRequestDTO;
+import com.sushi.api.services.imports.ProductBulkStore;
+import com.sushi.api.services.imports.ProductBulkStore.ChunkResult;
+import com.sushi.api.services.imports.ProductFileFormat;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class ProductImportServiceTest {
+    private static final String HEADER = "name,description,price,portion_quantity,portion_unit,url_image,categories\n";
+
+    private ProductBulkStore productBulkStore;
+    private ApplicationEventPublisher eventPublisher;
+    private ObjectMapper objectMapper;
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productBulkStore = mock(ProductBulkStore.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        objectMapper = new Jackson2ObjectMapperBuilder().build();
+        productImportService = new ProductImportService(productBulkStore, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher,
+                mock(PlatformTransactionManager.class), 2);
+        when(productBulkStore.categoryIdsByName()).thenReturn(Map.of("URAMAKI", 1L, "TEMAKI", 2L));
+        when(productBulkStore.write(any())).thenAnswer(invocation -> new ChunkResult(invocation.<List<?>>getArgument(0).size(), 0));
+    }
+
+    @Test
+    @DisplayName("Should write valid rows in chunks, resolving category names, and report the others by line")
+    void importProducts_ReportsRejectedRows_WhenSomeRowsAreInvalid() {
+        String csv = HEADER
+                + "California Roll,Crab and avocado,8.99,8,pieces,http://img/1.jpg,Uramaki\n"
+                + "Spicy Tuna Roll,Tuna and chili,nine,8,pieces,http://img/2.jpg,\n"
+                + "Temaki Salmão,Salmon cone,12.50,1,unit,http://img/3.jpg,temaki|Uramaki\n"
+                + "Hot Roll,Fried roll,7.50,10,pieces,http://img/4.jpg,Hot\n"
+                + "Ebi Nigiri,,6.00,2,pieces,http://img/5.jpg,\n"
+                + "california roll,Again,8.99,8,pieces,http://img/1.jpg,\n"
+                + "Shimeji,Mushrooms,9.90,1,portion,http://img/6.jpg,\n";
+
+        ProductImportReportDTO report = importCsv(csv);
+
+        assertEquals(7, report.rows());
+        assertEquals(3, report.created());
+        assertEquals(4, report.failed());
+        assertEquals(List.of(
+                new ProductImportErrorDTO(3, null, "Invalid price: nine"),
+                new ProductImportErrorDTO(5, "Hot Roll", "Category not found: Hot"),
+                new ProductImportErrorDTO(6, "Ebi Nigiri", "Description cannot be blank"),
+                new ProductImportErrorDTO(7, "california roll", "Duplicate of the product on line 2.")), report.errors());
+        verify(productBulkStore).write(argThat(products -> products.size() == 2
+                && products.get(1).categoriesId().equals(Set.of(1L, 2L))));
+        verify(productBulkStore).write(argThat(products -> products.size() == 1
+                && products.get(0).name().equals("Shimeji")));
+        verify(eventPublisher).publishEvent(new MenuChangedEvent("product", null));
+    }
+
+    @Test
+    @DisplayName("Should replay a chunk the database refused one row at a time to find the offending row")
+    void importProducts_ReportsRefusedRow_WhenChunkFails() {
+        doAnswer(invocation -> {
+            List<ProductRequestDTO> products = invocation.getArgument(0);
+            if (products.stream().anyMatch(product -> product.name().equals("Hot Roll"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return new ChunkResult(0, products.size());
+        }).when(productBulkStore).write(any());
+        String ndjson = """
+                {"name":"Hot Roll","description":"Fried roll","price":7.50,"portionQuantity":10,"portionUnit":"pieces","urlImage":"http://img/4.jpg"}
+                {"name":"Shimeji","description":"Mushrooms","price":9.90,"portionQuantity":1,"portionUnit":"portion","urlImage":"http://img/6.jpg","categories":["Temaki"]}
+                {"name":
+                """;
+
+        ProductImportReportDTO report = productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ProductFileFormat.NDJSON);
+
+        assertEquals(3, report.rows());
+        assertEquals(1, report.updated());
+        assertEquals(2, report.failed());
+        assertEquals(new ProductImportErrorDTO(1, "Hot Roll", "value too long"), report.errors().get(0));
+        assertEquals(3, report.errors().get(1).line());
+        assertTrue(report.errors().get(1).message().startsWith("Invalid JSON"));
+        verify(productBulkStore, times(3)).write(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV file missing required columns before writing anything")
+    void importProducts_ThrowsBadRequestException_WhenColumnsAreMissing() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> importCsv("name,price\nCalifornia Roll,8.99\n"));
+
+        assertEquals("Missing CSV columns: description, portionQuantity, portionUnit, urlImage.", exception.getMessage());
+        verify(productBulkStore, never()).write(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should export products in the CSV layout the import reads")
+    void exportProducts_WritesCsv_WhenFormatIsCsv() {
+        doAnswer(invocation -> {
+            Consumer<ProductImportRow> consumer = invocation.getArgument(0);
+            consumer.accept(new ProductImportRow("Roll, California", "Crab and avocado", new BigDecimal("8.99"), 8,
+                    "pieces", "http://img/1.jpg", List.of("Temaki", "Uramaki")));
+            return null;
+        }).when(productBulkStore).forEachProduct(any());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        productImportService.exportProducts(output, ProductFileFormat.CSV);
+
+        assertEquals("name,description,price,portionQuantity,portionUnit,urlImage,categories\r\n"
+                        + "\"Roll, California\",Crab and avocado,8.99,8,pieces,http://img/1.jpg,Temaki|Uramaki\r\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    private ProductImportReportDTO importCsv(String csv) {
+        return productImportService.importProducts(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductFileFormat.CSV);
+    }
+}
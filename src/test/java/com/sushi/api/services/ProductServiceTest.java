@@ -1,22 +1,35 @@
 package com.sushi.api.services;
 
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.PreconditionFailedException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Product;
 import com.sushi.api.model.dto.product.ProductRequestDTO;
 import com.sushi.api.model.dto.product.ProductUpdateDTO;
+import com.sushi.api.model.dto.product.ProductView;
 import com.sushi.api.repositories.CategoryRepository;
 import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.services.search.CategoryMatch;
+import com.sushi.api.services.search.CategoryMembershipIndex;
+import com.sushi.api.services.search.ProductSearchEngine;
+import com.sushi.api.services.search.ProductSearchHit;
+import com.sushi.api.services.search.SuggestionIndex;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -38,15 +51,25 @@ public class ProductServiceTest {
     private ProductRepository productRepository;
     @Mock
     private CategoryRepository categoryRepository;
+    @Mock
+    private ProductSearchEngine productSearchEngine;
+    @Mock
+    private SuggestionIndex suggestionIndex;
+    @Mock
+    private CategoryMembershipIndex categoryMembershipIndex;
+    @Mock
+    private MenuSnapshotService menuSnapshotService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Test
     @DisplayName("Should return a list of products inside page object when successful")
     void listAll_ReturnsListOfProductsInsidePageObject_WhenSuccessful() {
-        Page<Product> productPage = mock(Page.class);
+        Page<ProductView> productPage = mock(Page.class);
         Pageable pageable = mock(Pageable.class);
 
-        when(productRepository.findAll(pageable)).thenReturn(productPage);
-        Page<Product> result = productService.listAllPageable(pageable);
+        when(productRepository.findViews(pageable)).thenReturn(productPage);
+        Page<ProductView> result = productService.listAllPageable(pageable);
 
         assertNotNull(result);
         assertEquals(productPage, result);
@@ -55,12 +78,12 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should return an empty list of products inside page object when there are no products")
     void listAllPageable_ReturnsEmptyListOfProductsInsidePageObject_WhenThereAreNoProducts() {
-        Page<Product> emptyProductPage = new PageImpl<>(Collections.emptyList());
+        Page<ProductView> emptyProductPage = new PageImpl<>(Collections.emptyList());
         Pageable pageable = mock(Pageable.class);
 
-        when(productRepository.findAll(pageable)).thenReturn(emptyProductPage);
+        when(productRepository.findViews(pageable)).thenReturn(emptyProductPage);
 
-        Page<Product> result = productService.listAllPageable(pageable);
+        Page<ProductView> result = productService.listAllPageable(pageable);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -69,9 +92,9 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should return a list of products when successful")
     void listAllNonPageable_ReturnsListOfProducts_WhenSuccessful() {
-        when(productRepository.findAll()).thenReturn(PRODUCTS);
+        when(productRepository.findAllViews()).thenReturn(PRODUCT_VIEWS);
 
-        List<Product> result = productService.listAllNonPageable();
+        List<ProductView> result = productService.listAllNonPageable();
 
         assertNotNull(result);
         assertEquals(PRODUCTS.size(), result.size());
@@ -80,9 +103,9 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should return an empty list of products when there are no products")
     void listAllNonPageable_ReturnsEmptyListOfProducts_WhenThereAreNoProducts() {
-        when(productRepository.findAll()).thenReturn(Collections.emptyList());
+        when(productRepository.findAllViews()).thenReturn(Collections.emptyList());
 
-        List<Product> result = productService.listAllNonPageable();
+        List<ProductView> result = productService.listAllNonPageable();
 
         assertEquals(0, result.size());
     }
@@ -106,18 +129,58 @@ public class ProductServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> productService.findProductById(PRODUCT.getId()));
     }
 
+    @Test
+    @DisplayName("Should return a product view by id when successful")
+    void findProductViewById_ReturnsView_WhenSuccessful() {
+        when(productRepository.findViewById(PRODUCT.getId())).thenReturn(Optional.of(ProductView.of(PRODUCT)));
+
+        ProductView result = productService.findProductViewById(PRODUCT.getId());
+
+        assertEquals(PRODUCT.getId(), result.id());
+        assertEquals(PRODUCT.getPrice(), result.price());
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException when there is no product view with this id")
+    void findProductViewById_ThrowsResourceNotFoundException_WhenProductIdDoesNotExist() {
+        when(productRepository.findViewById(PRODUCT.getId())).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.findProductViewById(PRODUCT.getId()));
+    }
+
     @Test
     @DisplayName("Should return a product by name when successful")
     void findProductByName_ReturnsProduct_WhenSuccessful() {
         String name = "roll";
-        List<Product> products = List.of(PRODUCT, PRODUCT2);
+        List<ProductView> products = List.of(ProductView.of(PRODUCT), ProductView.of(PRODUCT2));
 
-        when(productRepository.findByNameContainingIgnoreCase(name)).thenReturn(products);
+        when(productRepository.findViewsByNameContaining(name)).thenReturn(products);
 
-        List<Product> result = productService.findProductByName(name);
+        List<ProductView> result = productService.findProductByName(name);
 
         assertNotNull(result);
         assertEquals(products, result);
+        verifyNoInteractions(productSearchEngine);
+    }
+
+    @Test
+    @DisplayName("Should return products in the relevance order given by the search engine")
+    void searchProducts_ReturnsProductsInRankOrder_WhenSuccessful() {
+        when(productSearchEngine.search("tuna", 10))
+                .thenReturn(List.of(new ProductSearchHit(PRODUCT2.getId(), 1.2), new ProductSearchHit(PRODUCT.getId(), 0.3)));
+        when(productRepository.findViewsByIdIn(List.of(PRODUCT2.getId(), PRODUCT.getId())))
+                .thenReturn(PRODUCTS.stream().map(ProductView::of).toList());
+
+        List<ProductView> result = productService.searchProducts(" tuna ", 10);
+
+        assertEquals(List.of(ProductView.of(PRODUCT2), ProductView.of(PRODUCT)), result);
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when the search query is blank")
+    void searchProducts_ThrowsBadRequestException_WhenQueryIsBlank() {
+        assertThrows(BadRequestException.class, () -> productService.searchProducts("  ", 10));
+        verifyNoInteractions(productSearchEngine);
     }
 
     @Test
@@ -125,37 +188,55 @@ public class ProductServiceTest {
     void findProductByName_ThrowsResourceNotFoundException_WhenProductNameDoesNotExist() {
         String name = "vegetariano";
 
-        when(productRepository.findByNameContainingIgnoreCase(name)).thenReturn(Collections.emptyList());
+        when(productRepository.findViewsByNameContaining(name)).thenReturn(Collections.emptyList());
 
-        assertThrows(ResourceNotFoundException.class, () -> productService.findProductByName(PRODUCT.getName()));
+        assertThrows(ResourceNotFoundException.class, () -> productService.findProductByName(name));
     }
 
     @Test
     @DisplayName("Should create a new product when provided with valid ProductRequestDTO")
     void createProduct_WithValidData_CreatesProduct() {
         ProductRequestDTO dto = new ProductRequestDTO(
-                "newName", "newDescription", 10.49, 6, "pieces", "http://example.com/images/spicy_tuna_roll.jpg",
+                "newName", "newDescription", new BigDecimal("10.49"), 6, "pieces", "http://example.com/images/spicy_tuna_roll.jpg",
                 Set.of(1L, 2L)
         );
 
-        when(productRepository.findByNameContainingIgnoreCase(dto.name())).thenReturn(List.of());
+        when(productRepository.existsByNameIgnoreCase(dto.name())).thenReturn(false);
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(CATEGORY));
         when(categoryRepository.findById(2L)).thenReturn(Optional.of(CATEGORY2));
         when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         productService.createProduct(dto);
 
-        verify(productRepository).findByNameContainingIgnoreCase(dto.name());
+        verify(productRepository).existsByNameIgnoreCase(dto.name());
         verify(productRepository).save(any(Product.class));
     }
 
+    @Test
+    @DisplayName("Should throw a PreconditionFailedException when If-Match does not match the product version")
+    void replaceProduct_ThrowsPreconditionFailedException_WhenVersionDoesNotMatch() {
+        Product product = new Product(3L, "Hot Roll", "Fried salmon roll");
+        product.setVersion(2L);
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(categoryRepository.findById(CATEGORY.getId())).thenReturn(Optional.of(CATEGORY));
+
+        ProductUpdateDTO updateDTO = new ProductUpdateDTO(
+                product.getId(),
+                "newName", "newDescription", new BigDecimal("10.49"), 6, "pieces", "http://example.com/images/hot_roll.jpg",
+                Set.of(CATEGORY.getId())
+        );
+
+        assertThrows(PreconditionFailedException.class, () -> productService.replaceProduct(updateDTO, "\"1\""));
+        assertThatCode(() -> productService.replaceProduct(updateDTO, "\"1\", \"2\"")).doesNotThrowAnyException();
+        verify(productRepository, times(1)).save(product);
+    }
+
     @Test
     @DisplayName("Should throw a DataIntegrityViolationException when name already exists")
     void createProduct_WithExistingName_ThrowsDataIntegrityViolationException() {
         ProductRequestDTO request = new ProductRequestDTO(PRODUCT.getName(), PRODUCT.getDescription(), PRODUCT.getPrice(), PRODUCT.getPortionQuantity(), PRODUCT.getPortionUnit(), PRODUCT.getUrlImage(), Set.of(CATEGORY.getId(), CATEGORY2.getId()));
-        Product existingProduct = new Product(2L, PRODUCT.getName(), PRODUCT.getDescription());
 
-        when(productRepository.findByNameContainingIgnoreCase(request.name())).thenReturn(List.of(existingProduct));
+        when(productRepository.existsByNameIgnoreCase(request.name())).thenReturn(true);
 
         assertThrows(DataIntegrityViolationException.class, () -> productService.createProduct(request));
     }
@@ -163,19 +244,20 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should replace an existing product when provided with valid ProductUpdateDTO")
     void replaceProduct_WhenSuccessful() {
-        when(productRepository.findById(PRODUCT.getId())).thenReturn(Optional.of(PRODUCT));
+        Product product = new Product(PRODUCT.getId(), PRODUCT.getName(), PRODUCT.getDescription());
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
         when(categoryRepository.findById(CATEGORY.getId())).thenReturn(Optional.of(CATEGORY));
         when(categoryRepository.findById(CATEGORY2.getId())).thenReturn(Optional.of(CATEGORY2));
 
         ProductUpdateDTO updateDTO = new ProductUpdateDTO(
-                PRODUCT.getId(),
-                "newName", "newDescription", 10.49, 6, "pieces", "http://example.com/images/spicy_tuna_roll.jpg",
+                product.getId(),
+                "newName", "newDescription", new BigDecimal("10.49"), 6, "pieces", "http://example.com/images/spicy_tuna_roll.jpg",
                 Set.of(CATEGORY.getId(), CATEGORY2.getId())
         );
 
         productService.replaceProduct(updateDTO);
 
-        verify(productRepository).findById(PRODUCT.getId());
+        verify(productRepository).findById(product.getId());
         verify(categoryRepository).findById(CATEGORY.getId());
         verify(categoryRepository).findById(CATEGORY2.getId());
         verify(productRepository).save(any(Product.class));
@@ -189,6 +271,7 @@ public class ProductServiceTest {
         assertThatCode(() -> productService.deleteProduct(PRODUCT.getId())).doesNotThrowAnyException();
 
         verify(productRepository, times(1)).delete(PRODUCT);
+        verify(eventPublisher).publishEvent(new MenuChangedEvent("product", PRODUCT.getId()));
     }
 
     @Test
@@ -198,4 +281,52 @@ public class ProductServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(PRODUCT.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the products of the matching categories from the menu snapshot")
+    void filterByCategories_ReturnsSnapshotProducts_WhenSnapshotIsLoaded() {
+        BitSet ids = new BitSet();
+        ids.set(PRODUCT2.getId().intValue());
+        when(categoryMembershipIndex.match(List.of(1L, 2L), CategoryMatch.ALL)).thenReturn(ids);
+        when(menuSnapshotService.current()).thenReturn(new MenuSnapshot(
+                new MenuListing<>(PRODUCT_VIEWS, new byte[0], new byte[0]), new MenuListing<>(List.of(), new byte[0], new byte[0]),
+                Instant.now(), Duration.ZERO));
+
+        List<ProductView> result = productService.filterByCategories(List.of(1L, 2L), "all");
+
+        assertEquals(List.of(ProductView.of(PRODUCT2)), result);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should read the matching products by id when the menu snapshot is not loaded")
+    void filterByCategories_ReadsViewsById_WhenSnapshotIsNotLoaded() {
+        BitSet ids = new BitSet();
+        ids.set(PRODUCT.getId().intValue());
+        ids.set(PRODUCT2.getId().intValue());
+        when(categoryMembershipIndex.match(List.of(1L), CategoryMatch.ANY)).thenReturn(ids);
+        when(productRepository.findViewsByIdIn(List.of(PRODUCT.getId(), PRODUCT2.getId())))
+                .thenReturn(List.of(ProductView.of(PRODUCT2), ProductView.of(PRODUCT)));
+
+        List<ProductView> result = productService.filterByCategories(List.of(1L), "ANY");
+
+        assertEquals(List.of(ProductView.of(PRODUCT), ProductView.of(PRODUCT2)), result);
+    }
+
+    @Test
+    @DisplayName("Should return an empty list without reading products when no product matches")
+    void filterByCategories_ReturnsEmptyList_WhenNothingMatches() {
+        when(categoryMembershipIndex.match(List.of(1L), CategoryMatch.ALL)).thenReturn(new BitSet());
+
+        assertTrue(productService.filterByCategories(List.of(1L), "all").isEmpty());
+        verifyNoInteractions(productRepository, menuSnapshotService);
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when no categories or an unknown match mode are given")
+    void filterByCategories_ThrowsBadRequestException_WhenFilterIsInvalid() {
+        assertThrows(BadRequestException.class, () -> productService.filterByCategories(List.of(), "all"));
+        assertThrows(BadRequestException.class, () -> productService.filterByCategories(List.of(1L), "some"));
+        verifyNoInteractions(categoryMembershipIndex);
+    }
+}
@@ -0,0 +1,161 @@
+package com.sushi.api.services.analytics;
+
+import com.sushi.api.model.*;
+import com.sushi.api.model.dto.analytics.SalesTotalsDTO;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order.OrderUpdateDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemUpdateDTO;
+import com.sushi.api.services.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Order writes against the in-memory schema, reading the aggregates back the way the analytics
+ * endpoints do.
+ */
+@DataJpaTest
+@Import({OrderService.class, SalesAggregator.class, SalesAggregateStore.class})
+@ActiveProfiles("test")
+public class OrderSalesAggregatesTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private SalesAggregateStore salesAggregateStore;
+
+    private Category rolls;
+    private Category hot;
+    private Product salmonRoll;
+    private Product tunaRoll;
+    private Customer customer;
+    private Address address;
+
+    @BeforeEach
+    void setUp() {
+        rolls = entityManager.persist(new Category("Rolls", "Rice rolls"));
+        hot = entityManager.persist(new Category("Hot", "Fried pieces"));
+        salmonRoll = entityManager.persist(new Product(null, "Salmon Roll", "Salmon and rice", BigDecimal.TEN, 8, "pieces",
+                "https://example.com/salmon.png", new HashSet<>(Set.of(rolls))));
+        tunaRoll = entityManager.persist(new Product(null, "Tuna Roll", "Tuna and rice", BigDecimal.ONE, 8, "pieces",
+                "https://example.com/tuna.png", new HashSet<>(Set.of(hot))));
+
+        customer = new Customer(null, "ana", "ana@gmail.com", "1234", null);
+        address = new Address("1", "Main St", "Downtown", customer);
+        customer.getAddresses().add(address);
+        entityManager.persist(customer);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should keep the aggregates in step with an order through create, replace and delete")
+    void orderChanges_MoveAggregates_WhenOrderIsCreatedReplacedAndDeleted() {
+        Order order = orderService.createOrder(new OrderRequestDTO(customer.getId(), address.getId(),
+                List.of(new OrderItemRequestDTO(salmonRoll.getId(), 2))));
+        Long itemId = order.getItems().get(0).getId();
+        flushAndClear();
+
+        assertEquals(List.of(totals(salmonRoll.getId(), "Salmon Roll", "20.00", 2)), top(SalesDimension.PRODUCT));
+        assertEquals(List.of(totals(rolls.getId(), "Rolls", "20.00", 2)), top(SalesDimension.CATEGORY));
+
+        orderService.replaceOrder(new OrderUpdateDTO(order.getId(), address.getId(),
+                List.of(new OrderItemUpdateDTO(itemId, salmonRoll.getId(), 3))));
+        flushAndClear();
+
+        assertEquals(List.of(totals(salmonRoll.getId(), "Salmon Roll", "30.00", 3)), top(SalesDimension.PRODUCT));
+        assertEquals(List.of(totals(rolls.getId(), "Rolls", "30.00", 3)), top(SalesDimension.CATEGORY));
+
+        orderService.deleteOrder(order.getId());
+        flushAndClear();
+
+        assertEquals(List.of(), top(SalesDimension.PRODUCT));
+        assertEquals(List.of(), top(SalesDimension.CATEGORY));
+    }
+
+    @Test
+    @DisplayName("Should take a replaced or deleted order out of the categories it was credited to, after its product moved")
+    void orderChanges_SubtractCreditedCategories_WhenProductMovesCategory() {
+        Order order = orderService.createOrder(new OrderRequestDTO(customer.getId(), address.getId(),
+                List.of(new OrderItemRequestDTO(salmonRoll.getId(), 2))));
+        Long itemId = order.getItems().get(0).getId();
+        flushAndClear();
+        moveToCategory(salmonRoll, hot);
+
+        orderService.replaceOrder(new OrderUpdateDTO(order.getId(), address.getId(),
+                List.of(new OrderItemUpdateDTO(itemId, salmonRoll.getId(), 3))));
+        flushAndClear();
+
+        assertEquals(List.of(totals(hot.getId(), "Hot", "30.00", 3)), top(SalesDimension.CATEGORY));
+        assertEquals(Set.of(hot.getId()), entityManager.find(OrderItem.class, itemId).getSalesCategoryIds());
+        entityManager.clear();
+        moveToCategory(salmonRoll, rolls);
+
+        orderService.deleteOrder(order.getId());
+        flushAndClear();
+
+        assertEquals(List.of(), top(SalesDimension.CATEGORY));
+    }
+
+    @Test
+    @DisplayName("Should delete the items a replace drops, so deleting the order later does not subtract them twice")
+    void orderChanges_ReturnAggregatesToZero_WhenReplaceDropsAnItemAndOrderIsDeleted() {
+        Order order = orderService.createOrder(new OrderRequestDTO(customer.getId(), address.getId(),
+                List.of(new OrderItemRequestDTO(salmonRoll.getId(), 2), new OrderItemRequestDTO(tunaRoll.getId(), 1))));
+        Long salmonItemId = order.getItems().get(0).getId();
+        Long tunaItemId = order.getItems().get(1).getId();
+        flushAndClear();
+
+        orderService.replaceOrder(new OrderUpdateDTO(order.getId(), address.getId(),
+                List.of(new OrderItemUpdateDTO(salmonItemId, salmonRoll.getId(), 2))));
+        flushAndClear();
+
+        assertNull(entityManager.find(OrderItem.class, tunaItemId));
+        assertEquals(List.of(totals(salmonRoll.getId(), "Salmon Roll", "20.00", 2)), top(SalesDimension.PRODUCT));
+        assertEquals(List.of(totals(rolls.getId(), "Rolls", "20.00", 2)), top(SalesDimension.CATEGORY));
+
+        orderService.deleteOrder(order.getId());
+        flushAndClear();
+
+        assertEquals(List.of(), top(SalesDimension.PRODUCT));
+        assertEquals(List.of(), top(SalesDimension.CATEGORY));
+    }
+
+    private void moveToCategory(Product product, Category category) {
+        entityManager.find(Product.class, product.getId()).setCategories(new HashSet<>(Set.of(category)));
+        flushAndClear();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<SalesTotalsDTO> top(SalesDimension dimension) {
+        LocalDateTime now = LocalDateTime.now();
+        return salesAggregateStore.top(dimension, SalesGranularity.DAY, now.minusDays(1), now.plusDays(1), 10).stream()
+                .map(totals -> new SalesTotalsDTO(totals.id(), totals.name(), totals.revenue().setScale(2),
+                        totals.quantity(), totals.orders()))
+                .toList();
+    }
+
+    private static SalesTotalsDTO totals(Long id, String name, String revenue, long quantity) {
+        return new SalesTotalsDTO(id, name, new BigDecimal(revenue), quantity, 1);
+    }
+}
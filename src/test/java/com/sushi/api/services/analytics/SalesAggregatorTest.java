@@ -0,0 +1,125 @@
+package com.sushi.api.services.analytics;
+
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import com.sushi.api.model.Product;
+import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.repositories.projections.CategoryMembershipRow;
+import com.sushi.api.services.analytics.OrderSales.Sales;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SalesAggregatorTest {
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 7, 1, 19, 30);
+    private static final LocalDateTime HOUR = LocalDateTime.of(2024, 7, 1, 19, 0);
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 7, 1, 0, 0);
+
+    private ProductRepository productRepository;
+    private SalesAggregateStore salesAggregateStore;
+    private SalesAggregator salesAggregator;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        salesAggregateStore = mock(SalesAggregateStore.class);
+        salesAggregator = new SalesAggregator(productRepository, salesAggregateStore);
+        // Products 1 and 2 are both in category 10; product 2 is also in category 20.
+        when(productRepository.findCategoryMembershipsByProductIdIn(any())).thenReturn(List.of(
+                new CategoryMembershipRow(10L, 1L), new CategoryMembershipRow(10L, 2L), new CategoryMembershipRow(20L, 2L)));
+    }
+
+    @Test
+    @DisplayName("Should add a new order to the hourly and daily buckets of its products and categories, and credit its lines")
+    void recordCreated_AddsOrder_WhenOrderIsCreated() {
+        Order order = order(item(1L, 2, "8.99"), item(2L, 1, "10.49"));
+
+        salesAggregator.recordCreated(order);
+        SortedMap<SalesKey, SalesTotals> changes = changes();
+
+        assertEquals(8, changes.size());
+        for (var bucket : Map.of(SalesGranularity.HOUR, HOUR, SalesGranularity.DAY, DAY).entrySet()) {
+            assertEquals(new SalesTotals(1798, 2, 1), changes.get(new SalesKey(bucket.getKey(), SalesDimension.PRODUCT, bucket.getValue(), 1L)));
+            assertEquals(new SalesTotals(1049, 1, 1), changes.get(new SalesKey(bucket.getKey(), SalesDimension.PRODUCT, bucket.getValue(), 2L)));
+            // Both products are in category 10, but the order counts once.
+            assertEquals(new SalesTotals(2847, 3, 1), changes.get(new SalesKey(bucket.getKey(), SalesDimension.CATEGORY, bucket.getValue(), 10L)));
+            assertEquals(new SalesTotals(1049, 1, 1), changes.get(new SalesKey(bucket.getKey(), SalesDimension.CATEGORY, bucket.getValue(), 20L)));
+        }
+        assertEquals(Set.of(10L), order.getItems().get(0).getSalesCategoryIds());
+        assertEquals(Set.of(10L, 20L), order.getItems().get(1).getSalesCategoryIds());
+        verify(productRepository).findCategoryMembershipsByProductIdIn(Set.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should write only the difference when an order is replaced")
+    void recordReplaced_AddsDifference_WhenOrderIsReplaced() {
+        OrderSales before = new OrderSales(ORDER_DATE,
+                Map.of(1L, new Sales(2, 1798), 2L, new Sales(1, 1049)),
+                Map.of(10L, new Sales(3, 2847), 20L, new Sales(1, 1049)));
+
+        salesAggregator.recordReplaced(before, order(item(1L, 3, "8.99")));
+        SortedMap<SalesKey, SalesTotals> changes = changes();
+
+        assertEquals(new SalesTotals(899, 1, 0), changes.get(new SalesKey(SalesGranularity.DAY, SalesDimension.PRODUCT, DAY, 1L)));
+        assertEquals(new SalesTotals(-1049, -1, -1), changes.get(new SalesKey(SalesGranularity.DAY, SalesDimension.PRODUCT, DAY, 2L)));
+        assertEquals(new SalesTotals(-150, 0, 0), changes.get(new SalesKey(SalesGranularity.DAY, SalesDimension.CATEGORY, DAY, 10L)));
+        assertEquals(new SalesTotals(-1049, -1, -1), changes.get(new SalesKey(SalesGranularity.DAY, SalesDimension.CATEGORY, DAY, 20L)));
+    }
+
+    @Test
+    @DisplayName("Should take a deleted order out of the categories its lines were credited to, not the current ones")
+    void recordDeleted_SubtractsCreditedCategories_WhenProductMovedSince() {
+        OrderItem item = item(2L, 1, "10.49");
+        item.setSalesCategoryIds(Set.of(30L));
+
+        salesAggregator.recordDeleted(order(item));
+        SortedMap<SalesKey, SalesTotals> changes = changes();
+
+        assertEquals(4, changes.size());
+        assertEquals(new SalesTotals(-1049, -1, -1), changes.get(new SalesKey(SalesGranularity.DAY, SalesDimension.CATEGORY, DAY, 30L)));
+        assertNull(changes.get(new SalesKey(SalesGranularity.DAY, SalesDimension.CATEGORY, DAY, 10L)));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should write nothing when a change leaves the sales as they were")
+    void recordReplaced_WritesNothing_WhenSalesAreUnchanged() {
+        Order order = order(item(1L, 2, "8.99"));
+        order.getItems().get(0).setSalesCategoryIds(new HashSet<>(Set.of(10L)));
+
+        salesAggregator.recordReplaced(OrderSales.of(order), order);
+        salesAggregator.recordCreated(List.of());
+
+        verifyNoInteractions(salesAggregateStore);
+        verify(productRepository, times(1)).findCategoryMembershipsByProductIdIn(any());
+    }
+
+    private static Order order(OrderItem... items) {
+        Order order = new Order(1L, null, null, List.of(items));
+        order.setOrderDate(ORDER_DATE);
+        return order;
+    }
+
+    private static OrderItem item(Long productId, int quantity, String price) {
+        OrderItem item = new OrderItem(null, quantity, new BigDecimal(price));
+        item.setProduct(new Product(productId, "Roll " + productId, "Salmon roll"));
+        item.calculateTotalPrice();
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private SortedMap<SalesKey, SalesTotals> changes() {
+        ArgumentCaptor<SortedMap<SalesKey, SalesTotals>> changes = ArgumentCaptor.forClass(SortedMap.class);
+        verify(salesAggregateStore).add(changes.capture());
+        return changes.getValue();
+    }
+}
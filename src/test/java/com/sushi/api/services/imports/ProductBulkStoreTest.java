@@ -0,0 +1,78 @@
+package com.sushi.api.services.imports;
+
+import com.sushi.api.model.Category;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.product.ProductImportRow;
+import com.sushi.api.model.dto.product.ProductRequestDTO;
+import com.sushi.api.services.imports.ProductBulkStore.ChunkResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(ProductBulkStore.class)
+@ActiveProfiles("test")
+public class ProductBulkStoreTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ProductBulkStore productBulkStore;
+
+    private Category rolls;
+    private Category hot;
+
+    @BeforeEach
+    void setUp() {
+        rolls = entityManager.persist(new Category("Rolls", "Rice rolls"));
+        hot = entityManager.persist(new Category("Hot", "Fried pieces"));
+        entityManager.persist(new Product(null, "California Roll", "Crab and avocado", BigDecimal.TEN, 8, "pieces",
+                "https://example.com/california.png", Set.of(rolls)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should update products matched by name ignoring case, insert the others and replace their categories")
+    void write_UpsertsProductsAndCategories_WhenChunkMixesNewAndExisting() {
+        ChunkResult result = productBulkStore.write(List.of(
+                new ProductRequestDTO("california roll", "Crab, avocado and cucumber", new BigDecimal("8.99"), 8, "pieces",
+                        "https://example.com/california.png", Set.of(hot.getId())),
+                new ProductRequestDTO("Hot Roll", "Fried salmon roll", new BigDecimal("7.50"), 10, "pieces",
+                        "https://example.com/hot.png", Set.of(rolls.getId(), hot.getId()))));
+
+        assertEquals(new ChunkResult(1, 1), result);
+        assertEquals(List.of(
+                new ProductImportRow("california roll", "Crab, avocado and cucumber", new BigDecimal("8.99"), 8, "pieces",
+                        "https://example.com/california.png", List.of("Hot")),
+                new ProductImportRow("Hot Roll", "Fried salmon roll", new BigDecimal("7.50"), 10, "pieces",
+                        "https://example.com/hot.png", List.of("Hot", "Rolls"))), export());
+        assertEquals(1L, entityManager.getEntityManager()
+                .createQuery("select p.version from Product p where p.name = 'california roll'", Long.class)
+                .getSingleResult());
+    }
+
+    @Test
+    @DisplayName("Should read categories by upper-cased name")
+    void categoryIdsByName_ReturnsAllCategories() {
+        assertEquals(Map.of("ROLLS", rolls.getId(), "HOT", hot.getId()), productBulkStore.categoryIdsByName());
+    }
+
+    private List<ProductImportRow> export() {
+        List<ProductImportRow> products = new ArrayList<>();
+        productBulkStore.forEachProduct(products::add);
+        return products;
+    }
+}
@@ -0,0 +1,104 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.repositories.projections.CategoryMembershipRow;
+import com.sushi.api.services.MenuChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CategoryMembershipIndexTest {
+    private ProductRepository productRepository;
+    private CategoryMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        index = new CategoryMembershipIndex(productRepository, mock(PlatformTransactionManager.class));
+        // Category 1 holds products 1, 2 and 3; category 4 holds products 2 and 5.
+        when(productRepository.findCategoryMemberships()).thenReturn(List.of(
+                new CategoryMembershipRow(1L, 1L), new CategoryMembershipRow(1L, 2L), new CategoryMembershipRow(1L, 3L),
+                new CategoryMembershipRow(4L, 2L), new CategoryMembershipRow(4L, 5L)));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should intersect the categories when every category must match")
+    void match_IntersectsCategories_WhenMatchIsAll() {
+        assertEquals(bits(2), index.match(List.of(1L, 4L), CategoryMatch.ALL));
+        assertEquals(bits(1, 2, 3), index.match(List.of(1L), CategoryMatch.ALL));
+        assertTrue(index.match(List.of(1L, 9L), CategoryMatch.ALL).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should unite the categories when any category may match")
+    void match_UnitesCategories_WhenMatchIsAny() {
+        assertEquals(bits(1, 2, 3, 5), index.match(List.of(1L, 4L), CategoryMatch.ANY));
+        assertEquals(bits(2, 5), index.match(List.of(9L, 4L), CategoryMatch.ANY));
+    }
+
+    @Test
+    @DisplayName("Should not let callers modify the index through a result")
+    void match_ReturnsCopy_WhenSingleCategory() {
+        index.match(List.of(1L), CategoryMatch.ALL).clear();
+
+        assertEquals(bits(1, 2, 3), index.match(List.of(1L), CategoryMatch.ALL));
+    }
+
+    @Test
+    @DisplayName("Should move only the changed product when a product changes")
+    void onMenuChanged_PatchesOneProduct_WhenProductChanges() {
+        when(productRepository.findCategoryIdsById(3L)).thenReturn(List.of(4L, 7L));
+
+        index.onMenuChanged(new MenuChangedEvent("product", 3L));
+
+        assertEquals(bits(1, 2), index.match(List.of(1L), CategoryMatch.ALL));
+        assertEquals(bits(2, 3, 5), index.match(List.of(4L), CategoryMatch.ALL));
+        assertEquals(bits(3), index.match(List.of(7L), CategoryMatch.ALL));
+        verify(productRepository, times(1)).findCategoryMemberships();
+    }
+
+    @Test
+    @DisplayName("Should clear a deleted product and drop categories left empty")
+    void onMenuChanged_ClearsProduct_WhenProductIsDeleted() {
+        when(productRepository.findCategoryIdsById(5L)).thenReturn(List.of());
+        when(productRepository.findCategoryIdsById(2L)).thenReturn(List.of());
+
+        index.onMenuChanged(new MenuChangedEvent("product", 5L));
+        index.onMenuChanged(new MenuChangedEvent("product", 2L));
+
+        assertEquals(bits(1, 3), index.match(List.of(1L, 4L), CategoryMatch.ANY));
+        assertEquals(1, index.categories());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the whole index when a category changes")
+    void onMenuChanged_Rebuilds_WhenCategoryChanges() {
+        index.onMenuChanged(new MenuChangedEvent("category", 4L));
+
+        verify(productRepository, times(2)).findCategoryMemberships();
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown match mode")
+    void of_ThrowsBadRequestException_WhenModeIsUnknown() {
+        assertEquals(CategoryMatch.ANY, CategoryMatch.of("any"));
+        assertThrows(BadRequestException.class, () -> CategoryMatch.of("some"));
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+}
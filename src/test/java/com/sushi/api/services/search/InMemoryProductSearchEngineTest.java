@@ -0,0 +1,73 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.model.Category;
+import com.sushi.api.model.Product;
+import com.sushi.api.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InMemoryProductSearchEngineTest {
+    private static final Category HOT = new Category(1L, "Hot Rolls", "Fried rolls");
+    private static final Category TEMAKI = new Category(2L, "Temaki", "Hand rolls");
+
+    private static final Product SALMON_ROLL = new Product(1L, "Salmon Roll", "Rice and fresh salmon",
+            new BigDecimal("9.99"), 8, "pieces", "http://example.com/salmon.jpg", Set.of(HOT));
+    private static final Product TEMAKI_SALMAO = new Product(2L, "Temaki Salmão", "Cone with salmon and cream cheese",
+            new BigDecimal("12.50"), 1, "unit", "http://example.com/temaki.jpg", Set.of(TEMAKI));
+    private static final Product TUNA_ROLL = new Product(3L, "Tuna Roll", "Rice and tuna",
+            new BigDecimal("10.49"), 8, "pieces", "http://example.com/tuna.jpg", Set.of(HOT));
+
+    private InMemoryProductSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllWithCategories()).thenReturn(List.of(SALMON_ROLL, TEMAKI_SALMAO, TUNA_ROLL));
+
+        searchEngine = new InMemoryProductSearchEngine(productRepository, mock(PlatformTransactionManager.class));
+        searchEngine.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void search_RanksNameMatchesFirst_WhenQueryMatchesSeveralFields() {
+        List<ProductSearchHit> hits = searchEngine.search("salmon", 10);
+
+        assertEquals(List.of(SALMON_ROLL.getId(), TEMAKI_SALMAO.getId()), hits.stream().map(ProductSearchHit::productId).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("Should match partial words and ignore accents")
+    void search_MatchesPrefixesAndFoldedAccents() {
+        assertEquals(TEMAKI_SALMAO.getId(), searchEngine.search("salmao", 10).get(0).productId());
+        assertEquals(TUNA_ROLL.getId(), searchEngine.search("tun", 10).get(0).productId());
+    }
+
+    @Test
+    @DisplayName("Should find products through their category names")
+    void search_MatchesCategoryNames() {
+        List<Long> ids = searchEngine.search("temaki", 10).stream().map(ProductSearchHit::productId).toList();
+
+        assertEquals(List.of(TEMAKI_SALMAO.getId()), ids);
+        assertEquals(2, searchEngine.search("hot rolls", 10).size());
+    }
+
+    @Test
+    @DisplayName("Should honour the limit and return nothing for unrelated queries")
+    void search_AppliesLimit_AndReturnsEmptyWhenNothingMatches() {
+        assertEquals(1, searchEngine.search("roll", 1).size());
+        assertTrue(searchEngine.search("yakisoba", 10).isEmpty());
+        assertTrue(searchEngine.search("!!", 10).isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.model.dto.search.SuggestionDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixIndexTest {
+    private static final SuggestionDTO TEMAKI_SALMAO = new SuggestionDTO("product", 1L, "Temaki Salmão");
+    private static final SuggestionDTO SALMON_ROLL = new SuggestionDTO("product", 2L, "Salmon  Roll");
+    private static final SuggestionDTO SASHIMI = new SuggestionDTO("category", 3L, "Sashimi");
+
+    private final PrefixIndex index = PrefixIndex.build(List.of(TEMAKI_SALMAO, SALMON_ROLL, SASHIMI));
+
+    @Test
+    @DisplayName("Should match the start of any word, ignoring case and accents")
+    void lookup_MatchesWordStarts_IgnoringCaseAndAccents() {
+        assertEquals(List.of(TEMAKI_SALMAO, SALMON_ROLL), index.lookup("SALM", 10));
+        assertEquals(List.of(TEMAKI_SALMAO), index.lookup("salmã", 10));
+        assertEquals(List.of(TEMAKI_SALMAO), index.lookup("temaki  sal", 10));
+        assertEquals(List.of(SALMON_ROLL), index.lookup("rol", 10));
+    }
+
+    @Test
+    @DisplayName("Should return each name once and stop at the limit")
+    void lookup_DeduplicatesAndAppliesLimit() {
+        assertEquals(List.of(TEMAKI_SALMAO, SALMON_ROLL, SASHIMI), index.lookup("s", 10));
+        assertEquals(List.of(TEMAKI_SALMAO), index.lookup("s", 1));
+    }
+
+    @Test
+    @DisplayName("Should return nothing for blank or unknown prefixes")
+    void lookup_ReturnsEmpty_WhenNothingMatches() {
+        assertTrue(index.lookup(" ", 10).isEmpty());
+        assertTrue(index.lookup("yaki", 10).isEmpty());
+        assertTrue(PrefixIndex.empty().lookup("sal", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should patch one name into the same index a full build returns")
+    void replace_MatchesBuild_WhenNameIsAddedRenamedOrRemoved() {
+        SuggestionDTO renamed = new SuggestionDTO("product", 2L, "Salmon Skin Roll");
+        SuggestionDTO added = new SuggestionDTO("category", 2L, "Rolls");
+
+        PrefixIndex patched = index.replace("product", 2L, renamed)
+                .replace("category", 2L, added)
+                .replace("category", 3L, null);
+
+        PrefixIndex built = PrefixIndex.build(List.of(TEMAKI_SALMAO, renamed, added));
+        for (String prefix : List.of("s", "salm", "sk", "rol", "temaki", "sashimi")) {
+            assertEquals(built.lookup(prefix, 10), patched.lookup(prefix, 10), prefix);
+        }
+        assertEquals(built.size(), patched.size());
+        assertEquals(List.of(SALMON_ROLL), index.lookup("salmon", 10));
+    }
+}
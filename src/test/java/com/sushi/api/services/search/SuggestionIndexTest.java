@@ -0,0 +1,71 @@
+package com.sushi.api.services.search;
+
+import com.sushi.api.model.dto.search.SuggestionDTO;
+import com.sushi.api.repositories.CategoryRepository;
+import com.sushi.api.repositories.ProductRepository;
+import com.sushi.api.services.MenuChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SuggestionIndexTest {
+    private static final SuggestionDTO SALMON_ROLL = new SuggestionDTO("product", 1L, "Salmon Roll");
+    private static final SuggestionDTO TUNA_ROLL = new SuggestionDTO("product", 2L, "Tuna Roll");
+    private static final SuggestionDTO ROLLS = new SuggestionDTO("category", 1L, "Rolls");
+
+    private ProductRepository productRepository;
+    private CategoryRepository categoryRepository;
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        categoryRepository = mock(CategoryRepository.class);
+        index = new SuggestionIndex(productRepository, categoryRepository, mock(PlatformTransactionManager.class));
+        when(productRepository.findSuggestions()).thenReturn(List.of(SALMON_ROLL, TUNA_ROLL));
+        when(categoryRepository.findSuggestions()).thenReturn(List.of(ROLLS));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should re-read only the changed product when a product is renamed")
+    void onMenuChanged_PatchesOneProduct_WhenProductChanges() {
+        SuggestionDTO renamed = new SuggestionDTO("product", 2L, "Spicy Tuna Roll");
+        when(productRepository.findSuggestionById(2L)).thenReturn(Optional.of(renamed));
+
+        index.onMenuChanged(new MenuChangedEvent("product", 2L));
+
+        assertEquals(List.of(renamed), index.suggest("spi", 10));
+        assertEquals(List.of(renamed), index.suggest("tuna", 10));
+        assertEquals(List.of(SALMON_ROLL, renamed, ROLLS), index.suggest("rol", 10));
+        verify(productRepository, times(1)).findSuggestions();
+        verify(categoryRepository, times(1)).findSuggestions();
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted category and keep the product with the same id")
+    void onMenuChanged_DropsCategory_WhenCategoryIsDeleted() {
+        when(categoryRepository.findSuggestionById(1L)).thenReturn(Optional.empty());
+
+        index.onMenuChanged(new MenuChangedEvent("category", 1L));
+
+        assertEquals(List.of(SALMON_ROLL, TUNA_ROLL), index.suggest("rol", 10));
+        verify(productRepository, never()).findSuggestionById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the names when the change has no id")
+    void onMenuChanged_Rebuilds_WhenChangeHasNoId() {
+        index.onMenuChanged(new MenuChangedEvent("product", null));
+
+        verify(productRepository, times(2)).findSuggestions();
+        verify(categoryRepository, times(2)).findSuggestions();
+    }
+}
@@ -0,0 +1,42 @@
+package com.sushi.api.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvReaderTest {
+
+    @Test
+    @DisplayName("Should read quoted fields with commas, quotes and line breaks, and report where each record starts")
+    void next_ReadsRecords_WhenFieldsAreQuoted() {
+        CsvReader reader = new CsvReader(new StringReader(
+                "name,description\r\n\"Roll, California\",\"Crab \"\"kani\"\"\nand avocado\"\r\n\r\nTemaki,\n"));
+
+        assertEquals(List.of("name", "description"), reader.next());
+        assertEquals(List.of("Roll, California", "Crab \"kani\"\nand avocado"), reader.next());
+        assertEquals(2, reader.line());
+        assertEquals(List.of("Temaki", ""), reader.next());
+        assertEquals(5, reader.line());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should write records the reader reads back unchanged")
+    void write_RoundTripsRecords_WhenFieldsNeedQuoting() {
+        List<String> record = List.of("Roll, California", "Crab \"kani\"\nand avocado", "8.99", "");
+        StringWriter output = new StringWriter();
+        CsvWriter writer = new CsvWriter(output);
+        writer.write(record);
+        writer.flush();
+
+        CsvReader reader = new CsvReader(new StringReader(output.toString()));
+
+        assertEquals(record, reader.next());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,46 @@
+package com.sushi.api.utils;
+
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    @DisplayName("Should round-trip amounts through cents without losing precision")
+    void toCents_RoundTripsAmount_WhenAmountHasTwoDecimals() {
+        assertEquals(899L, Money.toCents(new BigDecimal("8.99")));
+        assertEquals(1000L, Money.toCents(BigDecimal.TEN));
+        assertEquals(new BigDecimal("8.99"), Money.fromCents(899L));
+    }
+
+    @Test
+    @DisplayName("Should reject amounts with fractions of a cent")
+    void toCents_ThrowsArithmeticException_WhenAmountHasMoreThanTwoDecimals() {
+        assertThrows(ArithmeticException.class, () -> Money.toCents(new BigDecimal("8.999")));
+    }
+
+    @Test
+    @DisplayName("Should total a large order exactly")
+    void calculateTotalAmount_IsExact_WhenOrderHasManyItems() {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            OrderItem item = new OrderItem(null, 3, new BigDecimal("0.10"));
+            item.calculateTotalPrice();
+            items.add(item);
+        }
+        Order order = new Order(null, null, null, items);
+
+        order.calculateTotalAmount();
+
+        assertEquals(new BigDecimal("300.00"), order.getTotalAmount());
+        assertEquals(30000L, order.getTotalAmountInCents());
+    }
+}
@@ -0,0 +1,2 @@
+-- sales_aggregates (V7) for the in-memory schema: it is written over JDBC, so Hibernate does not create it.
+CREATE TABLE IF NOT EXISTS sales_aggregates (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, granularity VARCHAR(8) NOT NULL, dimension VARCHAR(16) NOT NULL, bucket_start TIMESTAMP NOT NULL, dimension_id BIGINT NOT NULL, revenue NUMERIC(14, 2) NOT NULL, quantity BIGINT NOT NULL, order_count BIGINT NOT NULL, CONSTRAINT uk_sales_aggregates UNIQUE (granularity, dimension, bucket_start, dimension_id));